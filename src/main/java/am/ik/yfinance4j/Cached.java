@@ -0,0 +1,28 @@
+package am.ik.yfinance4j;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A value served by a {@link RevalidatingCache} together with the time it was fetched. A
+ * stale value is older than {@link RevalidatingCache.Builder#maxAge(Duration) maxAge}; a
+ * refresh of it is running in the background.
+ *
+ * @param <T> the type of the value
+ * @param value the value
+ * @param fetchedAt the time the response of the value was received
+ * @param stale whether the value is older than the maximum age
+ */
+public record Cached<T>(T value, Instant fetchedAt, boolean stale) {
+
+	/**
+	 * Returns the age of the value at the given time.
+	 * @param now the current time
+	 * @return the age, or zero if {@code now} is before the fetch time
+	 */
+	public Duration age(Instant now) {
+		Duration age = Duration.between(this.fetchedAt, now);
+		return age.isNegative() ? Duration.ZERO : age;
+	}
+
+}
@@ -0,0 +1,449 @@
+package am.ik.yfinance4j;
+
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.jspecify.annotations.Nullable;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.json.JsonFactory;
+
+/**
+ * Reusable buffers holding the first result of a chart response, filled by a streaming
+ * parser straight from the response body. Prices and volumes are kept as the number text
+ * of the response in one shared char array, so nothing is allocated per data point and
+ * the text can be copied to an export as is. The buffers grow to the largest response
+ * read and are reused by the next one.
+ * <p>
+ * Instances are not thread-safe.
+ */
+final class ChartColumns {
+
+	static final int OPEN = 0;
+
+	static final int HIGH = 1;
+
+	static final int LOW = 2;
+
+	static final int CLOSE = 3;
+
+	static final int ADJ_CLOSE = 4;
+
+	static final int VOLUME = 5;
+
+	private static final int COLUMNS = 6;
+
+	private static final JsonFactory JSON = new JsonFactory();
+
+	private int size;
+
+	private long[] timestamps = new long[256];
+
+	private final int[] counts = new int[COLUMNS];
+
+	private final int[][] starts = new int[COLUMNS][256];
+
+	// -1 for a null value
+	private final int[][] lengths = new int[COLUMNS][256];
+
+	private char[] text = new char[8192];
+
+	private int textLength;
+
+	private int dividendCount;
+
+	private long[] dividendDates = new long[16];
+
+	private int[] dividendStarts = new int[16];
+
+	private int[] dividendLengths = new int[16];
+
+	private int splitCount;
+
+	private long[] splitDates = new long[4];
+
+	private double[] splitRatios = new double[4];
+
+	private @Nullable String errorCode;
+
+	private @Nullable String errorDescription;
+
+	void clear() {
+		this.size = 0;
+		Arrays.fill(this.counts, 0);
+		this.textLength = 0;
+		this.dividendCount = 0;
+		this.splitCount = 0;
+		this.errorCode = null;
+		this.errorDescription = null;
+	}
+
+	/**
+	 * Clears the buffers and reads a chart response into them.
+	 * @param body the response body
+	 * @return this instance
+	 */
+	ChartColumns read(InputStream body) {
+		clear();
+		try (JsonParser parser = JSON.createParser(ObjectReadContext.empty(), body)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new YFinanceException("Malformed chart response");
+			}
+			while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+				String name = parser.currentName();
+				if (parser.nextToken() == JsonToken.START_OBJECT && name.equals("chart")) {
+					readChart(parser);
+				}
+				else {
+					parser.skipChildren();
+				}
+			}
+		}
+		catch (JacksonException ex) {
+			throw new YFinanceException("Malformed chart response", ex);
+		}
+		sortEvents();
+		return this;
+	}
+
+	private void readChart(JsonParser parser) {
+		while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+			String name = parser.currentName();
+			JsonToken token = parser.nextToken();
+			if (token == JsonToken.START_ARRAY && name.equals("result")) {
+				if (parser.nextToken() == JsonToken.START_OBJECT) {
+					readResult(parser);
+				}
+				skipRest(parser);
+			}
+			else if (token == JsonToken.START_OBJECT && name.equals("error")) {
+				while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+					String field = parser.currentName();
+					parser.nextToken();
+					if (field.equals("code")) {
+						this.errorCode = parser.getValueAsString();
+					}
+					else if (field.equals("description")) {
+						this.errorDescription = parser.getValueAsString();
+					}
+					else {
+						parser.skipChildren();
+					}
+				}
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	private void readResult(JsonParser parser) {
+		while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+			String name = parser.currentName();
+			JsonToken token = parser.nextToken();
+			if (token == JsonToken.START_ARRAY && name.equals("timestamp")) {
+				while (parser.nextToken() != JsonToken.END_ARRAY) {
+					if (this.size == this.timestamps.length) {
+						this.timestamps = Arrays.copyOf(this.timestamps, this.size * 2);
+					}
+					this.timestamps[this.size++] = parser.getLongValue();
+				}
+			}
+			else if (token == JsonToken.START_OBJECT && name.equals("indicators")) {
+				readIndicators(parser);
+			}
+			else if (token == JsonToken.START_OBJECT && name.equals("events")) {
+				readEvents(parser);
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	private void readIndicators(JsonParser parser) {
+		while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+			String name = parser.currentName();
+			JsonToken token = parser.nextToken();
+			if (token == JsonToken.START_ARRAY && (name.equals("quote") || name.equals("adjclose"))) {
+				if (parser.nextToken() == JsonToken.START_OBJECT) {
+					while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+						int column = column(parser.currentName());
+						if (parser.nextToken() == JsonToken.START_ARRAY && column >= 0) {
+							readColumn(parser, column);
+						}
+						else {
+							parser.skipChildren();
+						}
+					}
+				}
+				skipRest(parser);
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	/**
+	 * Skips the remaining elements of an array whose first element has been read; only
+	 * the first result and the first indicator set are used.
+	 */
+	private static void skipRest(JsonParser parser) {
+		if (parser.currentToken() == JsonToken.END_ARRAY) {
+			return;
+		}
+		parser.skipChildren();
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			parser.skipChildren();
+		}
+	}
+
+	private static int column(String name) {
+		return switch (name) {
+			case "open" -> OPEN;
+			case "high" -> HIGH;
+			case "low" -> LOW;
+			case "close" -> CLOSE;
+			case "adjclose" -> ADJ_CLOSE;
+			case "volume" -> VOLUME;
+			default -> -1;
+		};
+	}
+
+	private void readColumn(JsonParser parser, int column) {
+		JsonToken token;
+		while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+			int i = this.counts[column]++;
+			if (i == this.starts[column].length) {
+				this.starts[column] = Arrays.copyOf(this.starts[column], i * 2);
+				this.lengths[column] = Arrays.copyOf(this.lengths[column], i * 2);
+			}
+			if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+				this.starts[column][i] = this.textLength;
+				this.lengths[column][i] = appendText(parser);
+			}
+			else {
+				parser.skipChildren();
+				this.lengths[column][i] = -1;
+			}
+		}
+	}
+
+	private int appendText(JsonParser parser) {
+		int length = parser.getStringLength();
+		if (this.textLength + length > this.text.length) {
+			this.text = Arrays.copyOf(this.text, Math.max(this.text.length * 2, this.textLength + length));
+		}
+		System.arraycopy(parser.getStringCharacters(), parser.getStringOffset(), this.text, this.textLength, length);
+		this.textLength += length;
+		return length;
+	}
+
+	private void readEvents(JsonParser parser) {
+		while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+			String name = parser.currentName();
+			JsonToken token = parser.nextToken();
+			if (token != JsonToken.START_OBJECT || !(name.equals("dividends") || name.equals("splits"))) {
+				parser.skipChildren();
+				continue;
+			}
+			// keyed by the timestamp as a string
+			while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+				if (parser.nextToken() != JsonToken.START_OBJECT) {
+					parser.skipChildren();
+				}
+				else if (name.equals("dividends")) {
+					readDividend(parser);
+				}
+				else {
+					readSplit(parser);
+				}
+			}
+		}
+	}
+
+	private void readDividend(JsonParser parser) {
+		long date = Long.MIN_VALUE;
+		int start = -1;
+		int length = 0;
+		while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+			String field = parser.currentName();
+			JsonToken token = parser.nextToken();
+			if (field.equals("date") && token == JsonToken.VALUE_NUMBER_INT) {
+				date = parser.getLongValue();
+			}
+			else if (field.equals("amount")
+					&& (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT)) {
+				start = this.textLength;
+				length = appendText(parser);
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+		if (date == Long.MIN_VALUE || start < 0) {
+			return;
+		}
+		if (this.dividendCount == this.dividendDates.length) {
+			int capacity = this.dividendCount * 2;
+			this.dividendDates = Arrays.copyOf(this.dividendDates, capacity);
+			this.dividendStarts = Arrays.copyOf(this.dividendStarts, capacity);
+			this.dividendLengths = Arrays.copyOf(this.dividendLengths, capacity);
+		}
+		this.dividendDates[this.dividendCount] = date;
+		this.dividendStarts[this.dividendCount] = start;
+		this.dividendLengths[this.dividendCount] = length;
+		this.dividendCount++;
+	}
+
+	private void readSplit(JsonParser parser) {
+		long date = Long.MIN_VALUE;
+		double numerator = Double.NaN;
+		double denominator = Double.NaN;
+		while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+			String field = parser.currentName();
+			JsonToken token = parser.nextToken();
+			if (field.equals("date") && token == JsonToken.VALUE_NUMBER_INT) {
+				date = parser.getLongValue();
+			}
+			else if (field.equals("numerator") || field.equals("denominator")) {
+				double value = splitTerm(parser, token);
+				if (field.equals("numerator")) {
+					numerator = value;
+				}
+				else {
+					denominator = value;
+				}
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+		// splits with invalid ratios are skipped, as in CorporateActions
+		if (date == Long.MIN_VALUE || Double.isNaN(numerator) || Double.isNaN(denominator) || denominator == 0) {
+			return;
+		}
+		if (this.splitCount == this.splitDates.length) {
+			this.splitDates = Arrays.copyOf(this.splitDates, this.splitCount * 2);
+			this.splitRatios = Arrays.copyOf(this.splitRatios, this.splitCount * 2);
+		}
+		this.splitDates[this.splitCount] = date;
+		this.splitRatios[this.splitCount] = numerator / denominator;
+		this.splitCount++;
+	}
+
+	private static double splitTerm(JsonParser parser, JsonToken token) {
+		if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+			return parser.getDoubleValue();
+		}
+		if (token == JsonToken.VALUE_STRING) {
+			try {
+				return Double.parseDouble(parser.getString());
+			}
+			catch (NumberFormatException ex) {
+				return Double.NaN;
+			}
+		}
+		parser.skipChildren();
+		return Double.NaN;
+	}
+
+	/**
+	 * Sorts the events by date, so that they can be merged with the ascending timestamps.
+	 * There are few events, so insertion sort will do.
+	 */
+	private void sortEvents() {
+		for (int i = 1; i < this.dividendCount; i++) {
+			long date = this.dividendDates[i];
+			int start = this.dividendStarts[i];
+			int length = this.dividendLengths[i];
+			int j = i - 1;
+			for (; j >= 0 && this.dividendDates[j] > date; j--) {
+				this.dividendDates[j + 1] = this.dividendDates[j];
+				this.dividendStarts[j + 1] = this.dividendStarts[j];
+				this.dividendLengths[j + 1] = this.dividendLengths[j];
+			}
+			this.dividendDates[j + 1] = date;
+			this.dividendStarts[j + 1] = start;
+			this.dividendLengths[j + 1] = length;
+		}
+		for (int i = 1; i < this.splitCount; i++) {
+			long date = this.splitDates[i];
+			double ratio = this.splitRatios[i];
+			int j = i - 1;
+			for (; j >= 0 && this.splitDates[j] > date; j--) {
+				this.splitDates[j + 1] = this.splitDates[j];
+				this.splitRatios[j + 1] = this.splitRatios[j];
+			}
+			this.splitDates[j + 1] = date;
+			this.splitRatios[j + 1] = ratio;
+		}
+	}
+
+	int size() {
+		return this.size;
+	}
+
+	long timestamp(int i) {
+		return this.timestamps[i];
+	}
+
+	/**
+	 * Returns whether the column has a value at the index.
+	 */
+	boolean has(int column, int i) {
+		return i < this.counts[column] && this.lengths[column][i] >= 0;
+	}
+
+	int start(int column, int i) {
+		return this.starts[column][i];
+	}
+
+	int length(int column, int i) {
+		return this.lengths[column][i];
+	}
+
+	char[] text() {
+		return this.text;
+	}
+
+	int dividendCount() {
+		return this.dividendCount;
+	}
+
+	long dividendDate(int i) {
+		return this.dividendDates[i];
+	}
+
+	int dividendStart(int i) {
+		return this.dividendStarts[i];
+	}
+
+	int dividendLength(int i) {
+		return this.dividendLengths[i];
+	}
+
+	int splitCount() {
+		return this.splitCount;
+	}
+
+	long splitDate(int i) {
+		return this.splitDates[i];
+	}
+
+	double splitRatio(int i) {
+		return this.splitRatios[i];
+	}
+
+	@Nullable String errorCode() {
+		return this.errorCode;
+	}
+
+	@Nullable String errorDescription() {
+		return this.errorDescription;
+	}
+
+}
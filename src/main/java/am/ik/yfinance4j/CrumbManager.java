@@ -1,5 +1,8 @@
 package am.ik.yfinance4j;
 
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +12,9 @@ import org.springframework.web.client.RestClient;
 /**
  * Manages Yahoo Finance cookie and crumb authentication. The crumb is required for
  * authenticated API calls.
+ * <p>
+ * Instances are thread-safe and meant to be shared. Concurrent callers that find no
+ * crumb, or that all observe the same crumb being rejected, trigger a single refresh.
  */
 public class CrumbManager {
 
@@ -22,6 +28,8 @@ public class CrumbManager {
 
 	private volatile @Nullable String crumb;
 
+	private final AtomicLong refreshCount = new AtomicLong();
+
 	/**
 	 * Creates a new CrumbManager with default URLs.
 	 * @param restClient the RestClient to use for HTTP calls
@@ -47,7 +55,7 @@ public class CrumbManager {
 	public String cookie() {
 		String c = this.cookie;
 		if (c == null) {
-			refresh();
+			refreshIfAbsent();
 			c = this.cookie;
 		}
 		if (c == null) {
@@ -63,7 +71,7 @@ public class CrumbManager {
 	public String crumb() {
 		String c = this.crumb;
 		if (c == null) {
-			refresh();
+			refreshIfAbsent();
 			c = this.crumb;
 		}
 		if (c == null) {
@@ -77,11 +85,38 @@ public class CrumbManager {
 	 */
 	public synchronized void refresh() {
 		log.debug("Refreshing cookie and crumb");
+		this.refreshCount.incrementAndGet();
 		fetchCookie();
 		fetchCrumb();
 		log.debug("Cookie and crumb refreshed successfully");
 	}
 
+	/**
+	 * Refreshes the cookie and crumb if the given crumb is still the current one. Use
+	 * this when a request was rejected with 401: of all concurrent callers that saw the
+	 * same stale crumb, only the first one performs the refresh.
+	 * @param staleCrumb the crumb that was rejected
+	 */
+	public synchronized void refreshIfStale(String staleCrumb) {
+		if (Objects.equals(this.crumb, staleCrumb)) {
+			refresh();
+		}
+	}
+
+	/**
+	 * Returns how many times the cookie and crumb have been refreshed.
+	 * @return the refresh count
+	 */
+	public long refreshCount() {
+		return this.refreshCount.get();
+	}
+
+	private synchronized void refreshIfAbsent() {
+		if (this.cookie == null || this.crumb == null) {
+			refresh();
+		}
+	}
+
 	private void fetchCookie() {
 		this.cookie = this.restClient.get().uri(this.urls.cookieUrl()).exchange((request, response) -> {
 			String setCookie = response.getHeaders().getFirst(HttpHeaders.SET_COOKIE);
@@ -0,0 +1,40 @@
+package am.ik.yfinance4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket capping the number of hedged requests. Each request deposits a fraction of
+ * a token and each hedge withdraws a whole one.
+ */
+class HedgeBudget {
+
+	private static final long SCALE = 1000;
+
+	private final long deposit;
+
+	private final long capacity;
+
+	private final AtomicLong tokens = new AtomicLong();
+
+	HedgeBudget(double ratio, int maxBurst) {
+		this.deposit = Math.round(ratio * SCALE);
+		this.capacity = Math.max(1, maxBurst) * SCALE;
+	}
+
+	void deposit() {
+		this.tokens.accumulateAndGet(this.deposit, (current, d) -> Math.min(this.capacity, current + d));
+	}
+
+	boolean tryAcquire() {
+		while (true) {
+			long current = this.tokens.get();
+			if (current < SCALE) {
+				return false;
+			}
+			if (this.tokens.compareAndSet(current, current - SCALE)) {
+				return true;
+			}
+		}
+	}
+
+}
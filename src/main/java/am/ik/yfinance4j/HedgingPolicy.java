@@ -0,0 +1,232 @@
+package am.ik.yfinance4j;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Configuration for hedged requests. When a chart or quoteSummary call has not completed
+ * within the configured percentile of recent latencies, a second identical request is
+ * sent (to an alternate host when one is configured) and whichever completes first wins
+ * while the other one is cancelled. The number of extra requests is capped by a token
+ * budget that earns {@link #budgetRatio()} tokens per request. Other requests, such as
+ * batch quotes, options, fundamentals timeseries and search, are never hedged, since
+ * hedging those heavier requests would multiply them against the rate limit. Use
+ * {@link #builder()} to create an instance.
+ *
+ * <pre>{@code
+ * YFinance yf = YFinance.builder(restClient)
+ *     .hedging(HedgingPolicy.builder().percentile(0.95).budgetRatio(0.05).build())
+ *     .build();
+ * }</pre>
+ */
+public final class HedgingPolicy {
+
+	private final double percentile;
+
+	private final Duration minDelay;
+
+	private final double budgetRatio;
+
+	private final int maxBurst;
+
+	private final int window;
+
+	private final int minSamples;
+
+	private final ExecutorService executor;
+
+	private HedgingPolicy(Builder builder) {
+		this.percentile = builder.percentile;
+		this.minDelay = builder.minDelay;
+		this.budgetRatio = builder.budgetRatio;
+		this.maxBurst = builder.maxBurst;
+		this.window = builder.window;
+		this.minSamples = builder.minSamples;
+		this.executor = builder.executor != null ? builder.executor : Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "yfinance4j-hedging");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Returns the percentile of recent latencies after which a hedge is sent.
+	 * @return the percentile in {@code (0, 1)}, 0.95 by default
+	 */
+	public double percentile() {
+		return this.percentile;
+	}
+
+	/**
+	 * Returns the lower bound of the hedge delay.
+	 * @return the minimum delay, 10 milliseconds by default
+	 */
+	public Duration minDelay() {
+		return this.minDelay;
+	}
+
+	/**
+	 * Returns the number of hedge tokens earned per request.
+	 * @return the ratio in {@code [0, 1]}, 0.05 by default
+	 */
+	public double budgetRatio() {
+		return this.budgetRatio;
+	}
+
+	/**
+	 * Returns the maximum number of hedge tokens that can be saved up for bursts.
+	 * @return the maximum number of tokens, 10 by default
+	 */
+	public int maxBurst() {
+		return this.maxBurst;
+	}
+
+	/**
+	 * Returns the number of recent latencies kept per endpoint.
+	 * @return the number of samples, 1000 by default
+	 */
+	public int window() {
+		return this.window;
+	}
+
+	/**
+	 * Returns the number of samples required before hedging starts.
+	 * @return the number of samples, 20 by default
+	 */
+	public int minSamples() {
+		return this.minSamples;
+	}
+
+	/**
+	 * Returns the executor running the primary and hedged requests.
+	 * @return the executor, a cached pool of daemon threads by default
+	 */
+	public ExecutorService executor() {
+		return this.executor;
+	}
+
+	/**
+	 * Creates a new {@link Builder} with default settings (p95, 5% budget).
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder for {@link HedgingPolicy}.
+	 */
+	public static final class Builder {
+
+		private double percentile = 0.95;
+
+		private Duration minDelay = Duration.ofMillis(10);
+
+		private double budgetRatio = 0.05;
+
+		private int maxBurst = 10;
+
+		private int window = 1000;
+
+		private int minSamples = 20;
+
+		private @Nullable ExecutorService executor;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the percentile of recent latencies after which a hedge is sent. Defaults
+		 * to 0.95.
+		 * @param percentile the percentile in {@code (0, 1)}
+		 * @return this builder
+		 */
+		public Builder percentile(double percentile) {
+			if (!(percentile > 0 && percentile < 1)) {
+				throw new IllegalArgumentException("percentile must be in (0, 1)");
+			}
+			this.percentile = percentile;
+			return this;
+		}
+
+		/**
+		 * Sets the lower bound of the hedge delay, so that fast endpoints are not hedged
+		 * on every jitter. Defaults to 10 milliseconds.
+		 * @param minDelay the minimum delay
+		 * @return this builder
+		 */
+		public Builder minDelay(Duration minDelay) {
+			this.minDelay = minDelay;
+			return this;
+		}
+
+		/**
+		 * Sets the number of hedge tokens earned per request, i.e. the maximum ratio of
+		 * extra requests in the long run. Defaults to 0.05.
+		 * @param budgetRatio the ratio in {@code [0, 1]}
+		 * @return this builder
+		 */
+		public Builder budgetRatio(double budgetRatio) {
+			if (!(budgetRatio >= 0 && budgetRatio <= 1)) {
+				throw new IllegalArgumentException("budgetRatio must be in [0, 1]");
+			}
+			this.budgetRatio = budgetRatio;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of hedge tokens that can be saved up for bursts.
+		 * Defaults to 10.
+		 * @param maxBurst the maximum number of tokens
+		 * @return this builder
+		 */
+		public Builder maxBurst(int maxBurst) {
+			this.maxBurst = maxBurst;
+			return this;
+		}
+
+		/**
+		 * Sets the number of recent latencies kept per endpoint. Defaults to 1000.
+		 * @param window the number of samples
+		 * @return this builder
+		 */
+		public Builder window(int window) {
+			this.window = window;
+			return this;
+		}
+
+		/**
+		 * Sets the number of samples required before hedging starts. Defaults to 20.
+		 * @param minSamples the number of samples
+		 * @return this builder
+		 */
+		public Builder minSamples(int minSamples) {
+			this.minSamples = minSamples;
+			return this;
+		}
+
+		/**
+		 * Sets the executor running the primary and hedged requests. Defaults to a cached
+		 * pool of daemon threads.
+		 * @param executor the executor
+		 * @return this builder
+		 */
+		public Builder executor(ExecutorService executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		/**
+		 * Builds the {@link HedgingPolicy}.
+		 * @return the hedging policy
+		 */
+		public HedgingPolicy build() {
+			return new HedgingPolicy(this);
+		}
+
+	}
+
+}
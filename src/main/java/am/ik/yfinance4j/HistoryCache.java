@@ -0,0 +1,470 @@
+package am.ik.yfinance4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import am.ik.yfinance4j.chart.ChartRequest;
+import am.ik.yfinance4j.chart.ChartResponse;
+import am.ik.yfinance4j.chart.HistorySeries;
+import am.ik.yfinance4j.chart.Resampler;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Range-aware cache of historical price data. For every symbol, interval and pre/post
+ * setting it keeps one contiguous window of bars together with the time range that window
+ * covers. A request whose range lies within the window is answered by slicing; a request
+ * that overlaps it is answered by fetching only the missing edges and merging them in.
+ * The right edge always re-fetches the last cached bar, so a bar that was still forming
+ * is replaced by its final values.
+ * <p>
+ * Periods are resolved against the current time in the exchange time zone of the cached
+ * data, for example {@link Period#YEAR_TO_DATE} starts on January 1 at midnight local
+ * time and {@link Period#ONE_MONTH} one calendar month before now. {@link Period#ONE_DAY}
+ * and {@link Period#FIVE_DAYS} count trading days on the server side, so they are always
+ * fetched, but their results are merged into the cache for later requests. A window whose
+ * end is at most {@link Builder#maxAge(Duration) maxAge} old counts as reaching up to
+ * now.
+ * <p>
+ * Yahoo adjusts past prices when a split or dividend occurs, so bars fetched before and
+ * after one cannot be merged. When an edge fetch brings a split or dividend on or after
+ * the start of the window that the window does not have yet, the window is dropped and
+ * the whole request fetched again. Older actions only adjust prices before the window and
+ * keep it. A window is also dropped once it is {@link Builder#maxLifetime(Duration)
+ * maxLifetime} old.
+ * <p>
+ * Corporate actions are always requested and cleared in the returned series when the
+ * request does not ask for them.
+ *
+ * <pre>{@code
+ * YFinance yf = YFinance.builder(restClient)
+ *     .historyCache(HistoryCache.builder().maxAge(Duration.ofMinutes(1)).build())
+ *     .build();
+ * }</pre>
+ */
+public final class HistoryCache {
+
+	// the earliest start sent for Period.MAX, as in Python yfinance
+	private static final Instant MAX_START = Instant.parse("1900-01-01T00:00:00Z");
+
+	private final long maxAgeSeconds;
+
+	private final long maxLifetimeSeconds;
+
+	private final Clock clock;
+
+	private final Map<Key, Slot> slots;
+
+	private HistoryCache(Builder builder) {
+		this.maxAgeSeconds = builder.maxAge.toSeconds();
+		this.maxLifetimeSeconds = builder.maxLifetime.toSeconds();
+		this.clock = builder.clock;
+		int maxEntries = builder.maxEntries;
+		this.slots = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Slot> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Creates a new {@link Builder}.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns the bars of the request, answering as much of it as possible from the
+	 * cached window.
+	 * @param symbol the symbol
+	 * @param request the chart request
+	 * @param fetch the function that fetches a request from the API
+	 * @return the series
+	 */
+	HistorySeries get(String symbol, ChartRequest request, Function<ChartRequest, HistorySeries> fetch) {
+		Key key = new Key(symbol, request.interval(), request.prePost());
+		Slot slot;
+		synchronized (this.slots) {
+			slot = this.slots.computeIfAbsent(key, k -> new Slot());
+		}
+		HistorySeries series;
+		synchronized (slot) {
+			series = slot.get(request, fetch);
+		}
+		return request.actions() ? series : withoutActions(series);
+	}
+
+	/**
+	 * Drops the cached data of a symbol for all intervals.
+	 * @param symbol the symbol
+	 */
+	public void invalidate(String symbol) {
+		synchronized (this.slots) {
+			this.slots.keySet().removeIf(key -> key.symbol().equals(symbol));
+		}
+	}
+
+	/**
+	 * Drops all cached data.
+	 */
+	public void clear() {
+		synchronized (this.slots) {
+			this.slots.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of cached (symbol, interval, pre/post) windows.
+	 * @return the number of windows
+	 */
+	public int size() {
+		synchronized (this.slots) {
+			return this.slots.size();
+		}
+	}
+
+	private static HistorySeries withoutActions(HistorySeries series) {
+		int n = series.size();
+		return new HistorySeries(series.meta(), series.timestamps(), series.open(), series.high(), series.low(),
+				series.close(), series.adjClose(), series.volume(), new double[n], new double[n]);
+	}
+
+	/**
+	 * Returns the index of the first bar at or after the given time.
+	 */
+	private static int lowerBound(long[] timestamps, long epochSecond) {
+		int low = 0;
+		int high = timestamps.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (timestamps[mid] < epochSecond) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Merges two series ordered by timestamp; bars of {@code newer} replace bars of
+	 * {@code older} with the same timestamp.
+	 */
+	private static HistorySeries merge(HistorySeries older, HistorySeries newer) {
+		long[] a = older.timestamps();
+		long[] b = newer.timestamps();
+		int capacity = a.length + b.length;
+		long[] timestamps = new long[capacity];
+		double[] open = new double[capacity];
+		double[] high = new double[capacity];
+		double[] low = new double[capacity];
+		double[] close = new double[capacity];
+		double[] adjClose = new double[capacity];
+		long[] volume = new long[capacity];
+		double[] dividends = new double[capacity];
+		double[] splits = new double[capacity];
+		int i = 0;
+		int j = 0;
+		int n = 0;
+		while (i < a.length || j < b.length) {
+			HistorySeries source;
+			int index;
+			if (j == b.length || (i < a.length && a[i] < b[j])) {
+				source = older;
+				index = i++;
+			}
+			else {
+				if (i < a.length && a[i] == b[j]) {
+					i++;
+				}
+				source = newer;
+				index = j++;
+			}
+			timestamps[n] = source.timestamps()[index];
+			open[n] = source.open()[index];
+			high[n] = source.high()[index];
+			low[n] = source.low()[index];
+			close[n] = source.close()[index];
+			adjClose[n] = source.adjClose()[index];
+			volume[n] = source.volume()[index];
+			dividends[n] = source.dividends()[index];
+			splits[n] = source.splits()[index];
+			n++;
+		}
+		ChartResponse.@Nullable Meta meta = (newer.meta() != null) ? newer.meta() : older.meta();
+		HistorySeries merged = new HistorySeries(meta, timestamps, open, high, low, close, adjClose, volume, dividends,
+				splits);
+		return (n == capacity) ? merged : merged.slice(0, n);
+	}
+
+	/**
+	 * Returns whether {@code fetched} has a split or dividend at or after {@code from}
+	 * that {@code cached} does not have on the same bar. Yahoo adjusts the prices before
+	 * an action, so older actions cannot have changed the cached prices.
+	 */
+	private static boolean hasNewActions(HistorySeries cached, HistorySeries fetched, long from) {
+		long[] timestamps = cached.timestamps();
+		for (int i = lowerBound(fetched.timestamps(), from); i < fetched.size(); i++) {
+			double dividend = fetched.dividends()[i];
+			double split = fetched.splits()[i];
+			if (dividend == 0 && split == 0) {
+				continue;
+			}
+			int index = lowerBound(timestamps, fetched.timestamps()[i]);
+			if (index == timestamps.length || timestamps[index] != fetched.timestamps()[i]
+					|| cached.dividends()[index] != dividend || cached.splits()[index] != split) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private record Key(String symbol, Interval interval, boolean prePost) {
+	}
+
+	/**
+	 * The cached window of one key. Guarded by its own monitor, so that concurrent
+	 * requests for the same key wait for one fetch instead of sending their own.
+	 */
+	private final class Slot {
+
+		private @Nullable HistorySeries series;
+
+		// covered range [from, to) in epoch seconds
+		private long from;
+
+		private long to;
+
+		// when the window was fetched from scratch, in epoch seconds
+		private long created;
+
+		HistorySeries get(ChartRequest request, Function<ChartRequest, HistorySeries> fetch) {
+			long now = HistoryCache.this.clock.instant().getEpochSecond();
+			if (this.series != null && now - this.created >= HistoryCache.this.maxLifetimeSeconds) {
+				this.series = null;
+			}
+			HistorySeries cached = this.series;
+			long[] window = window(request, Resampler.zoneOf((cached != null) ? cached.meta() : null), now);
+			if (cached == null || window == null) {
+				HistorySeries fetched = fetch.apply(withActions(request));
+				// the exchange time zone is only known from the response
+				window = window(request, Resampler.zoneOf(fetched.meta()), now);
+				if (window == null) {
+					// trading-day periods end now and start at the first bar at the
+					// latest
+					window = new long[] { fetched.isEmpty() ? now : fetched.timestamps()[0], now };
+				}
+				absorb(fetched, window[0], window[1], now);
+				return fetched;
+			}
+			long start = window[0];
+			long end = window[1];
+			if (end < this.from || start > this.to) {
+				HistorySeries fetched = fetch.apply(withActions(request));
+				absorb(fetched, start, end, now);
+				return fetched;
+			}
+			boolean fresh = (request.start() == null || request.end() == null)
+					&& this.to + HistoryCache.this.maxAgeSeconds >= now;
+			HistorySeries merged = cached;
+			long from = this.from;
+			long to = this.to;
+			if (start < this.from) {
+				HistorySeries edge = fetch.apply(range(request, start, this.from));
+				if (hasNewActions(cached, edge, this.from)) {
+					return refetch(request, fetch, start, end, now);
+				}
+				merged = merge(merged, edge);
+				from = start;
+			}
+			if (end > this.to && !fresh) {
+				long[] timestamps = merged.timestamps();
+				// re-fetch the last bar, which may have been incomplete
+				long edgeStart = (timestamps.length > 0) ? Math.min(this.to, timestamps[timestamps.length - 1])
+						: this.to;
+				HistorySeries edge = fetch.apply(range(request, edgeStart, end));
+				if (hasNewActions(cached, edge, this.from)) {
+					return refetch(request, fetch, start, end, now);
+				}
+				merged = merge(merged, edge);
+				to = end;
+			}
+			if (merged != cached) {
+				store(merged, from, to, this.created);
+			}
+			long[] timestamps = merged.timestamps();
+			return merged.slice(lowerBound(timestamps, start), lowerBound(timestamps, end));
+		}
+
+		/**
+		 * Drops the window, whose prices were adjusted before a new split or dividend,
+		 * and replaces it with the whole request.
+		 */
+		private HistorySeries refetch(ChartRequest request, Function<ChartRequest, HistorySeries> fetch, long start,
+				long end, long now) {
+			HistorySeries fetched = fetch.apply(withActions(request));
+			store(fetched, start, end, now);
+			return fetched;
+		}
+
+		/**
+		 * Merges fetched bars covering {@code [from, to)} into the window if they
+		 * overlap, or replaces the window otherwise, so that it stays contiguous.
+		 */
+		private void absorb(HistorySeries fetched, long from, long to, long now) {
+			HistorySeries cached = this.series;
+			if (cached == null || to < this.from || from > this.to || hasNewActions(cached, fetched, this.from)) {
+				store(fetched, from, to, now);
+			}
+			else {
+				store(merge(cached, fetched), Math.min(from, this.from), Math.max(to, this.to), this.created);
+			}
+		}
+
+		private void store(HistorySeries series, long from, long to, long created) {
+			this.series = series;
+			this.from = from;
+			this.to = to;
+			this.created = created;
+		}
+
+		/**
+		 * Resolves the range of a request, or returns {@code null} if the period counts
+		 * trading days.
+		 */
+		private long @Nullable [] window(ChartRequest request, ZoneId zone, long now) {
+			Instant start = request.start();
+			Instant end = request.end();
+			if (start != null && end != null) {
+				return new long[] { start.getEpochSecond(), end.getEpochSecond() };
+			}
+			ZonedDateTime local = Instant.ofEpochSecond(now).atZone(zone);
+			ZonedDateTime from = switch (request.period()) {
+				case ONE_DAY, FIVE_DAYS -> null;
+				case ONE_MONTH -> local.minusMonths(1);
+				case THREE_MONTHS -> local.minusMonths(3);
+				case SIX_MONTHS -> local.minusMonths(6);
+				case ONE_YEAR -> local.minusYears(1);
+				case TWO_YEARS -> local.minusYears(2);
+				case FIVE_YEARS -> local.minusYears(5);
+				case TEN_YEARS -> local.minusYears(10);
+				case YEAR_TO_DATE -> local.toLocalDate().withDayOfYear(1).atStartOfDay(zone);
+				case MAX -> MAX_START.atZone(zone);
+			};
+			return (from != null) ? new long[] { from.toEpochSecond(), now } : null;
+		}
+
+		private ChartRequest withActions(ChartRequest request) {
+			return ChartRequest.builder()
+				.period(request.period())
+				.interval(request.interval())
+				.start(request.start())
+				.end(request.end())
+				.prePost(request.prePost())
+				.actions(true)
+				.build();
+		}
+
+		private ChartRequest range(ChartRequest request, long start, long end) {
+			return ChartRequest.builder()
+				.interval(request.interval())
+				.start(Instant.ofEpochSecond(start))
+				.end(Instant.ofEpochSecond(end))
+				.prePost(request.prePost())
+				.actions(true)
+				.build();
+		}
+
+	}
+
+	/**
+	 * Builder for {@link HistoryCache}.
+	 */
+	public static final class Builder {
+
+		private Duration maxAge = Duration.ofMinutes(1);
+
+		private Duration maxLifetime = Duration.ofDays(1);
+
+		private int maxEntries = 1000;
+
+		private Clock clock = Clock.systemUTC();
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets how old the end of a cached window may be for requests that end now, such
+		 * as period requests, to be answered without fetching the newest bars. Defaults
+		 * to 1 minute.
+		 * @param maxAge the maximum age
+		 * @return this builder
+		 */
+		public Builder maxAge(Duration maxAge) {
+			if (maxAge.isNegative()) {
+				throw new IllegalArgumentException("maxAge must not be negative");
+			}
+			this.maxAge = maxAge;
+			return this;
+		}
+
+		/**
+		 * Sets how long a window is extended with newly fetched bars before it is dropped
+		 * and fetched again as a whole, which bounds how long adjusted prices may be out
+		 * of date. Defaults to 1 day.
+		 * @param maxLifetime the maximum lifetime, positive
+		 * @return this builder
+		 */
+		public Builder maxLifetime(Duration maxLifetime) {
+			if (maxLifetime.isNegative() || maxLifetime.isZero()) {
+				throw new IllegalArgumentException("maxLifetime must be positive");
+			}
+			this.maxLifetime = maxLifetime;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of cached (symbol, interval, pre/post) windows. The
+		 * least recently used window is dropped first. Defaults to 1000.
+		 * @param maxEntries the maximum number of windows, at least 1
+		 * @return this builder
+		 */
+		public Builder maxEntries(int maxEntries) {
+			if (maxEntries < 1) {
+				throw new IllegalArgumentException("maxEntries must be at least 1");
+			}
+			this.maxEntries = maxEntries;
+			return this;
+		}
+
+		/**
+		 * Sets the clock that periods are resolved against. Defaults to the system UTC
+		 * clock.
+		 * @param clock the clock
+		 * @return this builder
+		 */
+		public Builder clock(Clock clock) {
+			this.clock = clock;
+			return this;
+		}
+
+		/**
+		 * Builds the {@link HistoryCache} instance.
+		 * @return a new HistoryCache
+		 */
+		public HistoryCache build() {
+			return new HistoryCache(this);
+		}
+
+	}
+
+}
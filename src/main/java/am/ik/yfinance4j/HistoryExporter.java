@@ -0,0 +1,512 @@
+package am.ik.yfinance4j;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import am.ik.yfinance4j.chart.ChartRequest;
+import am.ik.yfinance4j.chart.HistoryRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes historical price data as CSV or newline-delimited JSON straight from the chart
+ * response, for jobs that dump history to files for other tools. The response is parsed
+ * as a stream into reusable buffers, and the number text of the response is copied to the
+ * output as is, so no {@link HistoryRecord}, {@code BigDecimal} or other object is
+ * created per data point. Many symbols are exported one after another through the same
+ * buffers, so memory stays bounded by the largest single response.
+ * <p>
+ * Both formats have the columns {@code symbol}, {@code timestamp} (ISO-8601 in UTC),
+ * {@code open}, {@code high}, {@code low}, {@code close}, {@code adjClose},
+ * {@code volume}, {@code dividends} and {@code stockSplits}. A data point with a missing
+ * open, high, low or close is not written, so a symbol can have fewer rows than its chart
+ * response has timestamps; {@link Ticker#history(ChartRequest)} drops the same data
+ * points. A missing adjusted close is written as the close and a missing volume as 0.
+ *
+ * <pre>{@code
+ * HistoryExporter exporter = HistoryExporter.builder(yf).format(HistoryExporter.Format.CSV).build();
+ * try (Writer out = Files.newBufferedWriter(Path.of("history.csv"))) {
+ *     exporter.export(symbols, ChartRequest.builder().period(Period.MAX).build(), out);
+ * }
+ * }</pre>
+ * <p>
+ * An exporter reuses its buffers and is not thread-safe; use one per thread.
+ */
+public final class HistoryExporter {
+
+	private static final Logger log = LoggerFactory.getLogger(HistoryExporter.class);
+
+	private static final char[] ZERO = { '0' };
+
+	private static final String[] COLUMNS = { "symbol", "timestamp", "open", "high", "low", "close", "adjClose",
+			"volume", "dividends", "stockSplits" };
+
+	private final YFinance yf;
+
+	private final Format format;
+
+	private final boolean header;
+
+	private final AtomicReference<ChartColumns> spare = new AtomicReference<>();
+
+	private char[] buffer;
+
+	private int position;
+
+	private char[] symbol = new char[16];
+
+	private int symbolLength;
+
+	private HistoryExporter(Builder builder) {
+		this.yf = builder.yf;
+		this.format = builder.format;
+		this.header = builder.header;
+		this.buffer = new char[builder.bufferSize];
+	}
+
+	/**
+	 * Creates a new {@link Builder}.
+	 * @param yf the YFinance instance to send requests with
+	 * @return a new builder
+	 */
+	public static Builder builder(YFinance yf) {
+		return new Builder(yf);
+	}
+
+	/**
+	 * Exports the history of one symbol, preceded by the header line if the format is CSV
+	 * and headers are enabled.
+	 * @param symbol the symbol
+	 * @param request the chart request
+	 * @param out the writer to write to, which is neither flushed nor closed
+	 * @return the number of rows written
+	 * @throws IOException if writing fails
+	 * @throws SymbolNotFoundException if the symbol does not exist
+	 */
+	public long export(String symbol, ChartRequest request, Writer out) throws IOException {
+		writeHeader(out);
+		long rows = writeSymbol(symbol, request, out);
+		flush(out);
+		return rows;
+	}
+
+	/**
+	 * Exports the history of several symbols one after another, preceded by one header
+	 * line if the format is CSV and headers are enabled. Symbols that do not exist are
+	 * skipped; any other failure stops the export, leaving the rows of the symbols
+	 * exported so far in the writer. The rows of a symbol are written only after its
+	 * response has been read completely.
+	 * @param symbols the symbols
+	 * @param request the chart request sent for every symbol
+	 * @param out the writer to write to, which is neither flushed nor closed
+	 * @return the outcome of the export
+	 * @throws IOException if writing fails
+	 */
+	public Result export(List<String> symbols, ChartRequest request, Writer out) throws IOException {
+		writeHeader(out);
+		long rows = 0;
+		List<String> notFound = new ArrayList<>();
+		for (String symbol : symbols) {
+			try {
+				rows += writeSymbol(symbol, request, out);
+			}
+			catch (SymbolNotFoundException ex) {
+				log.debug("Skipping {}", symbol, ex);
+				notFound.add(symbol);
+			}
+		}
+		flush(out);
+		return new Result(symbols.size() - notFound.size(), rows, List.copyOf(notFound));
+	}
+
+	private void writeHeader(Writer out) throws IOException {
+		if (this.format != Format.CSV || !this.header) {
+			return;
+		}
+		ensure(out, 128);
+		for (int i = 0; i < COLUMNS.length; i++) {
+			if (i > 0) {
+				append(',');
+			}
+			append(COLUMNS[i]);
+		}
+		append('\n');
+	}
+
+	private long writeSymbol(String symbol, ChartRequest request, Writer out) throws IOException {
+		ChartColumns columns = this.yf.ticker(symbol).fetchColumns(request, this::takeBuffers);
+		try {
+			encodeSymbol(symbol);
+			return writeRows(columns, request.actions(), out);
+		}
+		finally {
+			// the buffers of a losing hedged attempt are left to the garbage collector
+			this.spare.set(columns);
+		}
+	}
+
+	private ChartColumns takeBuffers() {
+		ChartColumns columns = this.spare.getAndSet(null);
+		return (columns != null) ? columns : new ChartColumns();
+	}
+
+	private long writeRows(ChartColumns columns, boolean actions, Writer out) throws IOException {
+		char[] text = columns.text();
+		int dividend = 0;
+		int split = 0;
+		long rows = 0;
+		for (int i = 0; i < columns.size(); i++) {
+			if (!columns.has(ChartColumns.OPEN, i) || !columns.has(ChartColumns.HIGH, i)
+					|| !columns.has(ChartColumns.LOW, i) || !columns.has(ChartColumns.CLOSE, i)) {
+				continue;
+			}
+			long timestamp = columns.timestamp(i);
+			// the fixed text, timestamp and split ratio take less than 256 characters
+			int need = this.symbolLength + 256;
+			for (int column = ChartColumns.OPEN; column <= ChartColumns.VOLUME; column++) {
+				need += columns.has(column, i) ? columns.length(column, i) : 0;
+			}
+			int dividendStart = -1;
+			int dividendLength = 0;
+			double splitRatio = 0;
+			if (actions) {
+				while (dividend < columns.dividendCount() && columns.dividendDate(dividend) < timestamp) {
+					dividend++;
+				}
+				if (dividend < columns.dividendCount() && columns.dividendDate(dividend) == timestamp) {
+					dividendStart = columns.dividendStart(dividend);
+					dividendLength = columns.dividendLength(dividend);
+					need += dividendLength;
+				}
+				while (split < columns.splitCount() && columns.splitDate(split) < timestamp) {
+					split++;
+				}
+				if (split < columns.splitCount() && columns.splitDate(split) == timestamp) {
+					splitRatio = columns.splitRatio(split);
+				}
+			}
+			ensure(out, need);
+			int adjClose = columns.has(ChartColumns.ADJ_CLOSE, i) ? ChartColumns.ADJ_CLOSE : ChartColumns.CLOSE;
+			if (this.format == Format.CSV) {
+				append(this.symbol, 0, this.symbolLength);
+				append(',');
+				appendTimestamp(timestamp);
+				append(',');
+				append(text, columns.start(ChartColumns.OPEN, i), columns.length(ChartColumns.OPEN, i));
+				append(',');
+				append(text, columns.start(ChartColumns.HIGH, i), columns.length(ChartColumns.HIGH, i));
+				append(',');
+				append(text, columns.start(ChartColumns.LOW, i), columns.length(ChartColumns.LOW, i));
+				append(',');
+				append(text, columns.start(ChartColumns.CLOSE, i), columns.length(ChartColumns.CLOSE, i));
+				append(',');
+				append(text, columns.start(adjClose, i), columns.length(adjClose, i));
+				append(',');
+				appendVolume(columns, i);
+				append(',');
+				appendDividend(text, dividendStart, dividendLength);
+				append(',');
+				appendDecimal(splitRatio);
+				append('\n');
+			}
+			else {
+				append("{\"symbol\":\"");
+				append(this.symbol, 0, this.symbolLength);
+				append("\",\"timestamp\":\"");
+				appendTimestamp(timestamp);
+				append("\",\"open\":");
+				append(text, columns.start(ChartColumns.OPEN, i), columns.length(ChartColumns.OPEN, i));
+				append(",\"high\":");
+				append(text, columns.start(ChartColumns.HIGH, i), columns.length(ChartColumns.HIGH, i));
+				append(",\"low\":");
+				append(text, columns.start(ChartColumns.LOW, i), columns.length(ChartColumns.LOW, i));
+				append(",\"close\":");
+				append(text, columns.start(ChartColumns.CLOSE, i), columns.length(ChartColumns.CLOSE, i));
+				append(",\"adjClose\":");
+				append(text, columns.start(adjClose, i), columns.length(adjClose, i));
+				append(",\"volume\":");
+				appendVolume(columns, i);
+				append(",\"dividends\":");
+				appendDividend(text, dividendStart, dividendLength);
+				append(",\"stockSplits\":");
+				appendDecimal(splitRatio);
+				append("}\n");
+			}
+			rows++;
+		}
+		return rows;
+	}
+
+	/**
+	 * Escapes the symbol once for all of its rows: quoted if needed in CSV, and as the
+	 * contents of a string in JSON.
+	 */
+	private void encodeSymbol(String symbol) {
+		int length = 0;
+		char[] encoded = this.symbol;
+		if (encoded.length < 2 * symbol.length() + 2) {
+			encoded = new char[2 * symbol.length() + 2];
+			this.symbol = encoded;
+		}
+		if (this.format == Format.CSV) {
+			boolean quote = symbol.indexOf(',') >= 0 || symbol.indexOf('"') >= 0 || symbol.indexOf('\n') >= 0
+					|| symbol.indexOf('\r') >= 0;
+			if (quote) {
+				encoded[length++] = '"';
+			}
+			for (int i = 0; i < symbol.length(); i++) {
+				char c = symbol.charAt(i);
+				if (c == '"') {
+					encoded[length++] = '"';
+				}
+				encoded[length++] = c;
+			}
+			if (quote) {
+				encoded[length++] = '"';
+			}
+		}
+		else {
+			for (int i = 0; i < symbol.length(); i++) {
+				char c = symbol.charAt(i);
+				if (c < 0x20) {
+					// control characters never appear in symbols; drop them rather than
+					// escaping with unicode sequences
+					continue;
+				}
+				if (c == '"' || c == '\\') {
+					encoded[length++] = '\\';
+				}
+				encoded[length++] = c;
+			}
+		}
+		this.symbolLength = length;
+	}
+
+	private void appendVolume(ChartColumns columns, int i) {
+		if (columns.has(ChartColumns.VOLUME, i)) {
+			append(columns.text(), columns.start(ChartColumns.VOLUME, i), columns.length(ChartColumns.VOLUME, i));
+		}
+		else {
+			append(ZERO, 0, 1);
+		}
+	}
+
+	private void appendDividend(char[] text, int start, int length) {
+		if (start >= 0) {
+			append(text, start, length);
+		}
+		else {
+			append(ZERO, 0, 1);
+		}
+	}
+
+	/**
+	 * Appends an epoch second as an ISO-8601 instant in UTC, like
+	 * {@link Instant#toString()} does, without creating any objects.
+	 */
+	private void appendTimestamp(long epochSecond) {
+		long days = Math.floorDiv(epochSecond, 86400);
+		int secondOfDay = Math.floorMod(epochSecond, 86400);
+		// civil date from days since the epoch, after Howard Hinnant's algorithm
+		long z = days + 719468;
+		long era = Math.floorDiv(z, 146097);
+		long dayOfEra = z - era * 146097;
+		long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		long shiftedMonth = (5 * dayOfYear + 2) / 153;
+		int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+		int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+		long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+		if (year < 0 || year > 9999) {
+			append(Instant.ofEpochSecond(epochSecond).toString());
+			return;
+		}
+		char[] buffer = this.buffer;
+		int p = this.position;
+		p = digits(buffer, p, (int) year, 4);
+		buffer[p++] = '-';
+		p = digits(buffer, p, month, 2);
+		buffer[p++] = '-';
+		p = digits(buffer, p, day, 2);
+		buffer[p++] = 'T';
+		p = digits(buffer, p, secondOfDay / 3600, 2);
+		buffer[p++] = ':';
+		p = digits(buffer, p, secondOfDay / 60 % 60, 2);
+		buffer[p++] = ':';
+		p = digits(buffer, p, secondOfDay % 60, 2);
+		buffer[p++] = 'Z';
+		this.position = p;
+	}
+
+	private static int digits(char[] buffer, int position, int value, int width) {
+		for (int i = position + width - 1; i >= position; i--) {
+			buffer[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+		return position + width;
+	}
+
+	/**
+	 * Appends a non-negative value rounded to 6 decimal places, without trailing zeros.
+	 * Used for split ratios, which are computed rather than copied from the response.
+	 */
+	private void appendDecimal(double value) {
+		long scaled = Math.round(value * 1_000_000);
+		long integer = scaled / 1_000_000;
+		int fraction = (int) (scaled % 1_000_000);
+		appendLong(integer);
+		if (fraction == 0) {
+			return;
+		}
+		int width = 6;
+		while (fraction % 10 == 0) {
+			fraction /= 10;
+			width--;
+		}
+		this.buffer[this.position++] = '.';
+		this.position = digits(this.buffer, this.position, fraction, width);
+	}
+
+	private void appendLong(long value) {
+		if (value == 0) {
+			this.buffer[this.position++] = '0';
+			return;
+		}
+		int length = 0;
+		for (long v = value; v > 0; v /= 10) {
+			length++;
+		}
+		int p = this.position + length;
+		for (long v = value; v > 0; v /= 10) {
+			this.buffer[--p] = (char) ('0' + v % 10);
+		}
+		this.position += length;
+	}
+
+	private void append(char c) {
+		this.buffer[this.position++] = c;
+	}
+
+	private void append(String value) {
+		value.getChars(0, value.length(), this.buffer, this.position);
+		this.position += value.length();
+	}
+
+	private void append(char[] text, int start, int length) {
+		System.arraycopy(text, start, this.buffer, this.position, length);
+		this.position += length;
+	}
+
+	/**
+	 * Makes room for at least {@code need} more characters, flushing the buffer to the
+	 * writer when it is too full.
+	 */
+	private void ensure(Writer out, int need) throws IOException {
+		if (this.position + need <= this.buffer.length) {
+			return;
+		}
+		flush(out);
+		if (need > this.buffer.length) {
+			this.buffer = Arrays.copyOf(this.buffer, need);
+		}
+	}
+
+	private void flush(Writer out) throws IOException {
+		out.write(this.buffer, 0, this.position);
+		this.position = 0;
+	}
+
+	/**
+	 * Output formats.
+	 */
+	public enum Format {
+
+		/**
+		 * Comma-separated values, with an optional header line.
+		 */
+		CSV,
+
+		/**
+		 * Newline-delimited JSON, one object per data point.
+		 */
+		NDJSON
+
+	}
+
+	/**
+	 * The outcome of exporting several symbols.
+	 *
+	 * @param symbols the number of symbols exported
+	 * @param rows the number of rows written
+	 * @param notFound the symbols that were skipped because they do not exist
+	 */
+	public record Result(int symbols, long rows, List<String> notFound) {
+	}
+
+	/**
+	 * Builder for {@link HistoryExporter}.
+	 */
+	public static final class Builder {
+
+		private final YFinance yf;
+
+		private Format format = Format.CSV;
+
+		private boolean header = true;
+
+		private int bufferSize = 64 * 1024;
+
+		private Builder(YFinance yf) {
+			this.yf = yf;
+		}
+
+		/**
+		 * Sets the output format. Defaults to {@link Format#CSV}.
+		 * @param format the format
+		 * @return this builder
+		 */
+		public Builder format(Format format) {
+			this.format = format;
+			return this;
+		}
+
+		/**
+		 * Sets whether a CSV export starts with a header line. Defaults to {@code true}.
+		 * @param header whether to write the header line
+		 * @return this builder
+		 */
+		public Builder header(boolean header) {
+			this.header = header;
+			return this;
+		}
+
+		/**
+		 * Sets the size of the character buffer that rows are formatted into before they
+		 * are handed to the writer. Defaults to 65536.
+		 * @param bufferSize the buffer size in characters, at least 1024
+		 * @return this builder
+		 */
+		public Builder bufferSize(int bufferSize) {
+			if (bufferSize < 1024) {
+				throw new IllegalArgumentException("bufferSize must be at least 1024");
+			}
+			this.bufferSize = bufferSize;
+			return this;
+		}
+
+		/**
+		 * Builds the {@link HistoryExporter} instance.
+		 * @return a new HistoryExporter
+		 */
+		public HistoryExporter build() {
+			return new HistoryExporter(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,211 @@
+package am.ik.yfinance4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Routes requests across equivalent hosts of an endpoint (for example
+ * {@code query1.finance.yahoo.com} and {@code query2.finance.yahoo.com}). For every URL
+ * template the router tracks an exponentially weighted moving average (EWMA) of the
+ * latency and of the error rate, and orders the candidates so that the healthiest host is
+ * tried first and the others serve as failover targets.
+ * <p>
+ * A host whose error rate reaches the configured threshold is considered degraded and is
+ * only used when every other host is degraded too. Hosts that have not been used for the
+ * probe interval are tried once more so that a recovered host is eventually preferred
+ * again.
+ */
+public class HostRouter {
+
+	/**
+	 * Default EWMA smoothing factor.
+	 */
+	public static final double DEFAULT_ALPHA = 0.2;
+
+	/**
+	 * Default error rate at which a host is considered degraded.
+	 */
+	public static final double DEFAULT_ERROR_THRESHOLD = 0.5;
+
+	/**
+	 * Default interval after which an unused host is probed again.
+	 */
+	public static final Duration DEFAULT_PROBE_INTERVAL = Duration.ofSeconds(30);
+
+	private final double alpha;
+
+	private final double errorThreshold;
+
+	private final long probeIntervalNanos;
+
+	private final LongSupplier nanoClock;
+
+	private final Map<String, HostState> states = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new HostRouter with default settings.
+	 */
+	public HostRouter() {
+		this(DEFAULT_ALPHA, DEFAULT_ERROR_THRESHOLD, DEFAULT_PROBE_INTERVAL);
+	}
+
+	/**
+	 * Creates a new HostRouter.
+	 * @param alpha the EWMA smoothing factor in {@code (0, 1]}; higher values react
+	 * faster
+	 * @param errorThreshold the error rate in {@code (0, 1]} at which a host is degraded
+	 * @param probeInterval how long a host may stay unused before it is probed again
+	 */
+	public HostRouter(double alpha, double errorThreshold, Duration probeInterval) {
+		this(alpha, errorThreshold, probeInterval, System::nanoTime);
+	}
+
+	HostRouter(double alpha, double errorThreshold, Duration probeInterval, LongSupplier nanoClock) {
+		if (!(alpha > 0 && alpha <= 1)) {
+			throw new IllegalArgumentException("alpha must be in (0, 1]");
+		}
+		if (!(errorThreshold > 0 && errorThreshold <= 1)) {
+			throw new IllegalArgumentException("errorThreshold must be in (0, 1]");
+		}
+		this.alpha = alpha;
+		this.errorThreshold = errorThreshold;
+		this.probeIntervalNanos = probeInterval.toNanos();
+		this.nanoClock = nanoClock;
+	}
+
+	/**
+	 * Orders the given equivalent URLs by health, best first. Hosts without any samples
+	 * keep their configured order and are tried before measured ones.
+	 * @param urls the candidate URLs
+	 * @return the URLs in the order they should be tried
+	 */
+	public List<String> route(List<String> urls) {
+		if (urls.size() < 2) {
+			return urls;
+		}
+		long now = this.nanoClock.getAsLong();
+		List<Candidate> candidates = new ArrayList<>(urls.size());
+		for (int i = 0; i < urls.size(); i++) {
+			String url = urls.get(i);
+			candidates.add(new Candidate(url, i, state(url).snapshot(url, this.errorThreshold)));
+		}
+		candidates.sort(Comparator.comparing((Candidate c) -> c.stats.degraded())
+			.thenComparingDouble(Candidate::score)
+			.thenComparingInt(Candidate::order));
+		List<String> routed = new ArrayList<>(candidates.size());
+		for (int i = 1; i < candidates.size(); i++) {
+			Candidate candidate = candidates.get(i);
+			if (state(candidate.url).tryProbe(now, this.probeIntervalNanos)) {
+				routed.add(candidate.url);
+				break;
+			}
+		}
+		for (Candidate candidate : candidates) {
+			if (routed.isEmpty() || !routed.get(0).equals(candidate.url)) {
+				routed.add(candidate.url);
+			}
+		}
+		return routed;
+	}
+
+	/**
+	 * Records a successful request.
+	 * @param url the URL template the request was sent to
+	 * @param latencyNanos the observed latency in nanoseconds
+	 */
+	public void recordSuccess(String url, long latencyNanos) {
+		state(url).record(latencyNanos, false, this.alpha, this.nanoClock.getAsLong());
+	}
+
+	/**
+	 * Records a failed request (I/O error, 5xx or 429).
+	 * @param url the URL template the request was sent to
+	 * @param latencyNanos the time until the failure was observed in nanoseconds
+	 */
+	public void recordFailure(String url, long latencyNanos) {
+		state(url).record(latencyNanos, true, this.alpha, this.nanoClock.getAsLong());
+	}
+
+	/**
+	 * Returns a snapshot of the statistics tracked for the given URL template.
+	 * @param url the URL template
+	 * @return the host statistics
+	 */
+	public HostStats stats(String url) {
+		return state(url).snapshot(url, this.errorThreshold);
+	}
+
+	private HostState state(String url) {
+		return this.states.computeIfAbsent(url, k -> new HostState(this.nanoClock.getAsLong()));
+	}
+
+	/**
+	 * Snapshot of the health of a single host.
+	 *
+	 * @param url the URL template
+	 * @param latencyMillis the EWMA latency in milliseconds (0 if never used)
+	 * @param errorRate the EWMA error rate between 0 and 1
+	 * @param samples the number of recorded requests
+	 * @param degraded whether the error rate has reached the threshold
+	 */
+	public record HostStats(String url, double latencyMillis, double errorRate, long samples, boolean degraded) {
+	}
+
+	private record Candidate(String url, int order, HostStats stats) {
+
+		double score() {
+			// unmeasured hosts score 0 so they get sampled before measured ones
+			return this.stats.latencyMillis() * (1 + 10 * this.stats.errorRate());
+		}
+
+	}
+
+	private static final class HostState {
+
+		private double latencyNanos;
+
+		private double errorRate;
+
+		private long samples;
+
+		private long lastUsedNanos;
+
+		HostState(long now) {
+			this.lastUsedNanos = now;
+		}
+
+		synchronized void record(long latency, boolean failure, double alpha, long now) {
+			double error = failure ? 1 : 0;
+			if (this.samples == 0) {
+				this.latencyNanos = latency;
+				this.errorRate = error;
+			}
+			else {
+				this.latencyNanos += alpha * (latency - this.latencyNanos);
+				this.errorRate += alpha * (error - this.errorRate);
+			}
+			this.samples++;
+			this.lastUsedNanos = now;
+		}
+
+		synchronized boolean tryProbe(long now, long probeIntervalNanos) {
+			if (this.samples == 0 || now - this.lastUsedNanos < probeIntervalNanos) {
+				return false;
+			}
+			this.lastUsedNanos = now;
+			return true;
+		}
+
+		synchronized HostStats snapshot(String url, double errorThreshold) {
+			return new HostStats(url, this.latencyNanos / 1_000_000.0, this.errorRate, this.samples,
+					this.samples > 0 && this.errorRate >= errorThreshold);
+		}
+
+	}
+
+}
@@ -0,0 +1,61 @@
+package am.ik.yfinance4j;
+
+import java.util.Arrays;
+
+/**
+ * Keeps a ring buffer of recent latencies and answers percentile queries. The percentile
+ * is recomputed lazily at most every {@value #RECOMPUTE_EVERY} samples.
+ */
+class LatencyTracker {
+
+	private static final int RECOMPUTE_EVERY = 16;
+
+	private final long[] samples;
+
+	private int count;
+
+	private int next;
+
+	private int sinceRecompute = RECOMPUTE_EVERY;
+
+	private double cachedPercentile = Double.NaN;
+
+	private long cachedValue = -1;
+
+	LatencyTracker(int window) {
+		this.samples = new long[Math.max(1, window)];
+	}
+
+	synchronized void record(long latencyNanos) {
+		this.samples[this.next] = latencyNanos;
+		this.next = (this.next + 1) % this.samples.length;
+		if (this.count < this.samples.length) {
+			this.count++;
+		}
+		this.sinceRecompute++;
+	}
+
+	synchronized int count() {
+		return this.count;
+	}
+
+	/**
+	 * Returns the given percentile of the recorded latencies, or {@code -1} if fewer than
+	 * {@code minSamples} samples have been recorded.
+	 */
+	synchronized long percentile(double percentile, int minSamples) {
+		if (this.count == 0 || this.count < minSamples) {
+			return -1;
+		}
+		if (this.sinceRecompute >= RECOMPUTE_EVERY || this.cachedPercentile != percentile) {
+			long[] sorted = Arrays.copyOf(this.samples, this.count);
+			Arrays.sort(sorted);
+			int index = (int) Math.ceil(percentile * this.count) - 1;
+			this.cachedValue = sorted[Math.min(Math.max(index, 0), this.count - 1)];
+			this.cachedPercentile = percentile;
+			this.sinceRecompute = 0;
+		}
+		return this.cachedValue;
+	}
+
+}
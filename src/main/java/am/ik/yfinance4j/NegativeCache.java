@@ -0,0 +1,284 @@
+package am.ik.yfinance4j;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Remembers symbols that the API reported as not found, so that repeated requests for
+ * delisted or mistyped symbols fail immediately with a {@link SymbolNotFoundException}
+ * instead of paying a round trip. Entries expire after the configured TTL, after which
+ * the symbol is requested again.
+ * <p>
+ * For very large universes a Bloom filter can be placed in front of the map with
+ * {@link Builder#bloomFilter(int, double)}. Lookups of valid symbols, by far the common
+ * case, are then answered from a few bits without touching the map. The map stays
+ * authoritative, so a false positive of the filter never rejects a valid symbol.
+ *
+ * <pre>{@code
+ * YFinance yf = YFinance.builder(restClient)
+ *     .negativeCache(NegativeCache.builder().ttl(Duration.ofHours(6)).build())
+ *     .build();
+ * }</pre>
+ */
+public final class NegativeCache {
+
+	/**
+	 * Default time to live of an entry.
+	 */
+	public static final Duration DEFAULT_TTL = Duration.ofDays(1);
+
+	private final long ttlMillis;
+
+	private final Clock clock;
+
+	private final int expectedSymbols;
+
+	private final double falsePositiveRate;
+
+	// symbol -> expiry in epoch milliseconds
+	private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+
+	private volatile @Nullable BloomFilter bloomFilter;
+
+	private NegativeCache(Builder builder) {
+		this.ttlMillis = builder.ttl.toMillis();
+		this.clock = builder.clock;
+		this.expectedSymbols = builder.expectedSymbols;
+		this.falsePositiveRate = builder.falsePositiveRate;
+		this.bloomFilter = (this.expectedSymbols > 0) ? new BloomFilter(this.expectedSymbols, this.falsePositiveRate)
+				: null;
+	}
+
+	/**
+	 * Creates a new {@link Builder}.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns whether the symbol was reported as not found within the TTL.
+	 * @param symbol the symbol
+	 * @return {@code true} if requests for the symbol should be skipped
+	 */
+	public boolean contains(String symbol) {
+		BloomFilter bloomFilter = this.bloomFilter;
+		if (bloomFilter != null && !bloomFilter.mightContain(symbol)) {
+			return false;
+		}
+		Long expiry = this.expiries.get(symbol);
+		if (expiry == null) {
+			return false;
+		}
+		if (expiry <= this.clock.millis()) {
+			this.expiries.remove(symbol, expiry);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Records that the API reported the symbol as not found.
+	 * @param symbol the symbol
+	 */
+	public synchronized void put(String symbol) {
+		this.expiries.put(symbol, this.clock.millis() + this.ttlMillis);
+		BloomFilter bloomFilter = this.bloomFilter;
+		if (bloomFilter == null) {
+			return;
+		}
+		if (bloomFilter.insertions() < bloomFilter.capacity()) {
+			bloomFilter.add(symbol);
+			return;
+		}
+		// bits of expired entries cannot be cleared, so rebuild from the live entries
+		long now = this.clock.millis();
+		this.expiries.values().removeIf(expiry -> expiry <= now);
+		BloomFilter rebuilt = new BloomFilter(Math.max(this.expectedSymbols, this.expiries.size() * 2),
+				this.falsePositiveRate);
+		for (String entry : this.expiries.keySet()) {
+			rebuilt.add(entry);
+		}
+		this.bloomFilter = rebuilt;
+	}
+
+	/**
+	 * Forgets a symbol, e.g. after it was listed again.
+	 * @param symbol the symbol
+	 */
+	public void invalidate(String symbol) {
+		this.expiries.remove(symbol);
+	}
+
+	/**
+	 * Forgets all symbols.
+	 */
+	public synchronized void clear() {
+		this.expiries.clear();
+		if (this.bloomFilter != null) {
+			this.bloomFilter = new BloomFilter(this.expectedSymbols, this.falsePositiveRate);
+		}
+	}
+
+	/**
+	 * Returns the number of remembered symbols, including expired ones that were not
+	 * looked up since they expired.
+	 * @return the number of symbols
+	 */
+	public int size() {
+		return this.expiries.size();
+	}
+
+	/**
+	 * Builder for {@link NegativeCache}.
+	 */
+	public static final class Builder {
+
+		private Duration ttl = DEFAULT_TTL;
+
+		private int expectedSymbols;
+
+		private double falsePositiveRate;
+
+		private Clock clock = Clock.systemUTC();
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets how long a symbol is remembered. Defaults to {@link #DEFAULT_TTL}.
+		 * @param ttl the time to live
+		 * @return this builder
+		 */
+		public Builder ttl(Duration ttl) {
+			if (ttl.isNegative() || ttl.isZero()) {
+				throw new IllegalArgumentException("ttl must be positive");
+			}
+			this.ttl = ttl;
+			return this;
+		}
+
+		/**
+		 * Places a Bloom filter in front of the map. Disabled by default. The filter is
+		 * rebuilt from the live entries once more than {@code expectedSymbols} symbols
+		 * were added.
+		 * @param expectedSymbols the expected number of not found symbols
+		 * @param falsePositiveRate the false positive rate in {@code (0, 1)} at the
+		 * expected number of symbols
+		 * @return this builder
+		 */
+		public Builder bloomFilter(int expectedSymbols, double falsePositiveRate) {
+			if (expectedSymbols < 1) {
+				throw new IllegalArgumentException("expectedSymbols must be at least 1");
+			}
+			if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+				throw new IllegalArgumentException("falsePositiveRate must be in (0, 1)");
+			}
+			this.expectedSymbols = expectedSymbols;
+			this.falsePositiveRate = falsePositiveRate;
+			return this;
+		}
+
+		/**
+		 * Sets the clock used for expiry. Defaults to the system UTC clock.
+		 * @param clock the clock
+		 * @return this builder
+		 */
+		public Builder clock(Clock clock) {
+			this.clock = clock;
+			return this;
+		}
+
+		/**
+		 * Builds the {@link NegativeCache} instance.
+		 * @return a new NegativeCache
+		 */
+		public NegativeCache build() {
+			return new NegativeCache(this);
+		}
+
+	}
+
+	/**
+	 * Bloom filter over symbols using double hashing of a 64-bit FNV-1a hash. Bits are
+	 * set atomically, so {@link #mightContain(String)} may run concurrently with
+	 * {@link #add(String)}.
+	 */
+	private static final class BloomFilter {
+
+		private final AtomicLongArray bits;
+
+		private final long bitCount;
+
+		private final int hashCount;
+
+		private final int capacity;
+
+		private int insertions;
+
+		BloomFilter(int capacity, double falsePositiveRate) {
+			long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+			int words = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (optimalBits + 63) / 64));
+			this.bits = new AtomicLongArray(words);
+			this.bitCount = (long) words * 64;
+			this.hashCount = Math.max(1, (int) Math.round((double) this.bitCount / capacity * Math.log(2)));
+			this.capacity = capacity;
+		}
+
+		int capacity() {
+			return this.capacity;
+		}
+
+		int insertions() {
+			return this.insertions;
+		}
+
+		void add(String symbol) {
+			long hash = hash(symbol);
+			int h1 = (int) hash;
+			int h2 = (int) (hash >>> 32);
+			for (int i = 1; i <= this.hashCount; i++) {
+				long bit = Math.floorMod(h1 + (long) i * h2, this.bitCount);
+				int word = (int) (bit >>> 6);
+				long mask = 1L << bit;
+				long current;
+				do {
+					current = this.bits.get(word);
+				}
+				while ((current & mask) == 0 && !this.bits.compareAndSet(word, current, current | mask));
+			}
+			this.insertions++;
+		}
+
+		boolean mightContain(String symbol) {
+			long hash = hash(symbol);
+			int h1 = (int) hash;
+			int h2 = (int) (hash >>> 32);
+			for (int i = 1; i <= this.hashCount; i++) {
+				long bit = Math.floorMod(h1 + (long) i * h2, this.bitCount);
+				if ((this.bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static long hash(String symbol) {
+			long hash = 0xcbf29ce484222325L;
+			for (byte b : symbol.getBytes(StandardCharsets.UTF_8)) {
+				hash ^= (b & 0xff);
+				hash *= 0x100000001b3L;
+			}
+			return hash;
+		}
+
+	}
+
+}
@@ -0,0 +1,410 @@
+package am.ik.yfinance4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import am.ik.yfinance4j.chart.ChartRequest;
+import am.ik.yfinance4j.chart.ChartResponse.CurrentTradingPeriod;
+import am.ik.yfinance4j.chart.ChartResponse.Meta;
+import am.ik.yfinance4j.chart.ChartResponse.TradingPeriod;
+import am.ik.yfinance4j.quote.QuoteDelta;
+import am.ik.yfinance4j.quote.QuoteListener;
+import am.ik.yfinance4j.quote.StockInfo;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Keeps the quotes of a set of symbols fresh by polling the batch quote API on a fixed
+ * cadence and delivers only the fields that changed to the subscribed
+ * {@link QuoteListener}s.
+ * <p>
+ * Each poll requests the symbols in batches of {@link Builder#batchSize(int)}, so 2,000
+ * symbols cost 10 requests with the default batch size. Symbols whose exchange is closed
+ * are skipped. The exchange of a symbol is learned from its first quote; the trading
+ * period of each exchange is then taken from the {@code currentTradingPeriod} of the
+ * chart meta data of one of its symbols, so only one chart request per exchange is needed
+ * per trading day. An exchange is considered open from the start of its regular session
+ * (or pre-market session when {@link Builder#prePost(boolean) prePost} is enabled) until
+ * one poll interval after its end, so that the closing prices are picked up.
+ *
+ * <pre>{@code
+ * QuotePoller poller = QuotePoller.builder(yf, symbols)
+ *     .interval(Duration.ofSeconds(15))
+ *     .build();
+ * poller.subscribe(delta -> System.out.println(delta.symbol() + " " + delta.changes()));
+ * poller.start();
+ * ...
+ * poller.close();
+ * }</pre>
+ */
+public final class QuotePoller implements AutoCloseable {
+
+	/**
+	 * The quote fields requested by default.
+	 */
+	public static final List<String> DEFAULT_FIELDS = List.of("regularMarketPrice", "regularMarketChange",
+			"regularMarketChangePercent", "regularMarketVolume", "regularMarketTime", "regularMarketDayHigh",
+			"regularMarketDayLow", "bid", "ask", "bidSize", "askSize", "marketState");
+
+	private static final ChartRequest SESSION_REQUEST = ChartRequest.builder()
+		.period(Period.ONE_DAY)
+		.interval(Interval.ONE_DAY)
+		.actions(false)
+		.build();
+
+	private final YFinance yf;
+
+	private final List<String> symbols;
+
+	private final Duration interval;
+
+	private final int batchSize;
+
+	private final List<String> fields;
+
+	private final boolean prePost;
+
+	private final Duration sessionRefreshInterval;
+
+	private final Clock clock;
+
+	private final List<QuoteListener> listeners = new CopyOnWriteArrayList<>();
+
+	private final Object pollLock = new Object();
+
+	private final Map<String, Map<String, Object>> lastQuotes = new HashMap<>();
+
+	private final Map<String, String> exchanges = new HashMap<>();
+
+	private final Map<String, Session> sessions = new HashMap<>();
+
+	private @Nullable ScheduledExecutorService scheduler;
+
+	private QuotePoller(Builder builder) {
+		this.yf = builder.yf;
+		this.symbols = List.copyOf(new LinkedHashSet<>(builder.symbols));
+		this.interval = builder.interval;
+		this.batchSize = builder.batchSize;
+		List<String> fields = new ArrayList<>(builder.fields);
+		if (!fields.isEmpty() && !fields.contains("exchange")) {
+			// needed to look up the trading period
+			fields.add("exchange");
+		}
+		this.fields = List.copyOf(fields);
+		this.prePost = builder.prePost;
+		this.sessionRefreshInterval = builder.sessionRefreshInterval;
+		this.clock = builder.clock;
+	}
+
+	/**
+	 * Creates a new {@link Builder}.
+	 * @param yf the YFinance instance to send requests with
+	 * @param symbols the symbols to poll
+	 * @return a new builder
+	 */
+	public static Builder builder(YFinance yf, List<String> symbols) {
+		return new Builder(yf, symbols);
+	}
+
+	/**
+	 * Registers a listener for quote deltas.
+	 * @param listener the listener
+	 */
+	public void subscribe(QuoteListener listener) {
+		this.listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener.
+	 * @param listener the listener
+	 */
+	public void unsubscribe(QuoteListener listener) {
+		this.listeners.remove(listener);
+	}
+
+	/**
+	 * Starts polling on a daemon thread, beginning immediately. Does nothing if already
+	 * started.
+	 */
+	public synchronized void start() {
+		if (this.scheduler != null) {
+			return;
+		}
+		ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "yfinance4j-quote-poller");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleAtFixedRate(this::poll, 0, this.interval.toMillis(), TimeUnit.MILLISECONDS);
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Stops polling.
+	 */
+	@Override
+	public synchronized void close() {
+		ScheduledExecutorService scheduler = this.scheduler;
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			this.scheduler = null;
+		}
+	}
+
+	/**
+	 * Polls all symbols of open exchanges once and notifies the listeners of changed
+	 * quotes. This is what every scheduled run does; it can also be called directly to
+	 * drive the poller from an existing scheduler.
+	 * @return the number of quote requests sent
+	 */
+	public int poll() {
+		synchronized (this.pollLock) {
+			Instant now = this.clock.instant();
+			List<String> due = new ArrayList<>(this.symbols.size());
+			for (String symbol : this.symbols) {
+				if (isOpen(symbol, now)) {
+					due.add(symbol);
+				}
+			}
+			int requests = 0;
+			for (int from = 0; from < due.size(); from += this.batchSize) {
+				List<String> batch = due.subList(from, Math.min(from + this.batchSize, due.size()));
+				requests++;
+				List<StockInfo> quotes;
+				try {
+					quotes = this.yf.quotes(batch, this.fields);
+				}
+				catch (RuntimeException ex) {
+					notifyError(ex);
+					continue;
+				}
+				for (StockInfo quote : quotes) {
+					update(quote, now);
+				}
+			}
+			return requests;
+		}
+	}
+
+	private void update(StockInfo quote, Instant now) {
+		String symbol = quote.symbolNullable();
+		if (symbol == null) {
+			return;
+		}
+		String exchange = quote.exchangeNullable();
+		if (exchange != null) {
+			this.exchanges.put(symbol, exchange);
+		}
+		Map<String, Object> current = quote.raw();
+		Map<String, Object> previous = this.lastQuotes.getOrDefault(symbol, Map.of());
+		Map<String, @Nullable Object> changes = new LinkedHashMap<>();
+		for (Map.Entry<String, Object> entry : current.entrySet()) {
+			if (!Objects.equals(previous.get(entry.getKey()), entry.getValue())) {
+				changes.put(entry.getKey(), entry.getValue());
+			}
+		}
+		for (String key : previous.keySet()) {
+			if (!current.containsKey(key)) {
+				changes.put(key, null);
+			}
+		}
+		this.lastQuotes.put(symbol, current);
+		if (changes.isEmpty()) {
+			return;
+		}
+		QuoteDelta delta = new QuoteDelta(symbol, now, changes, quote);
+		for (QuoteListener listener : this.listeners) {
+			try {
+				listener.onDelta(delta);
+			}
+			catch (RuntimeException ex) {
+				notifyError(ex);
+			}
+		}
+	}
+
+	private boolean isOpen(String symbol, Instant now) {
+		String exchange = this.exchanges.get(symbol);
+		if (exchange == null) {
+			return true;
+		}
+		long epochSecond = now.getEpochSecond();
+		Session session = this.sessions.get(exchange);
+		if (session == null || (session.isStale(epochSecond) && !now.isBefore(session.nextRefresh()))) {
+			session = fetchSession(symbol, now);
+			this.sessions.put(exchange, session);
+		}
+		return session.isOpen(epochSecond);
+	}
+
+	private Session fetchSession(String symbol, Instant now) {
+		Instant nextRefresh = now.plus(this.sessionRefreshInterval);
+		Meta meta;
+		try {
+			meta = this.yf.ticker(symbol).historyWithMeta(SESSION_REQUEST).meta();
+		}
+		catch (RuntimeException ex) {
+			notifyError(ex);
+			return Session.unknown(nextRefresh);
+		}
+		CurrentTradingPeriod period = (meta != null) ? meta.currentTradingPeriod() : null;
+		TradingPeriod regular = (period != null) ? period.regular() : null;
+		if (period == null || regular == null) {
+			return Session.unknown(nextRefresh);
+		}
+		long start = regular.start();
+		long end = regular.end();
+		if (this.prePost) {
+			TradingPeriod pre = period.pre();
+			TradingPeriod post = period.post();
+			start = (pre != null) ? Math.min(start, pre.start()) : start;
+			end = (post != null) ? Math.max(end, post.end()) : end;
+		}
+		return new Session(start, end + this.interval.toSeconds(), nextRefresh);
+	}
+
+	private void notifyError(Throwable error) {
+		for (QuoteListener listener : this.listeners) {
+			try {
+				listener.onError(error);
+			}
+			catch (RuntimeException ex) {
+				// ignore failures of error handlers
+			}
+		}
+	}
+
+	/**
+	 * The open interval {@code [start, end)} of an exchange in epoch seconds, and the
+	 * earliest time to look it up again once it is over. A session that could not be
+	 * looked up is treated as always open until the next lookup.
+	 */
+	private record Session(long start, long end, Instant nextRefresh) {
+
+		static Session unknown(Instant nextRefresh) {
+			return new Session(Long.MIN_VALUE, Long.MAX_VALUE, nextRefresh);
+		}
+
+		boolean isOpen(long epochSecond) {
+			return epochSecond >= this.start && epochSecond < this.end;
+		}
+
+		boolean isStale(long epochSecond) {
+			return epochSecond >= this.end || this.end == Long.MAX_VALUE;
+		}
+
+	}
+
+	/**
+	 * Builder for {@link QuotePoller}.
+	 */
+	public static final class Builder {
+
+		private final YFinance yf;
+
+		private final List<String> symbols;
+
+		private Duration interval = Duration.ofSeconds(15);
+
+		private int batchSize = 200;
+
+		private List<String> fields = DEFAULT_FIELDS;
+
+		private boolean prePost = false;
+
+		private Duration sessionRefreshInterval = Duration.ofMinutes(30);
+
+		private Clock clock = Clock.systemUTC();
+
+		private Builder(YFinance yf, List<String> symbols) {
+			this.yf = yf;
+			this.symbols = symbols;
+		}
+
+		/**
+		 * Sets the polling interval. Defaults to 15 seconds.
+		 * @param interval the interval
+		 * @return this builder
+		 */
+		public Builder interval(Duration interval) {
+			if (interval.isNegative() || interval.isZero()) {
+				throw new IllegalArgumentException("interval must be positive");
+			}
+			this.interval = interval;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of symbols per quote request. Defaults to 200.
+		 * @param batchSize the batch size, at least 1
+		 * @return this builder
+		 */
+		public Builder batchSize(int batchSize) {
+			if (batchSize < 1) {
+				throw new IllegalArgumentException("batchSize must be at least 1");
+			}
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		/**
+		 * Sets the quote fields to request. Defaults to {@link #DEFAULT_FIELDS}; an empty
+		 * list requests all fields.
+		 * @param fields the quote fields
+		 * @return this builder
+		 */
+		public Builder fields(List<String> fields) {
+			this.fields = List.copyOf(fields);
+			return this;
+		}
+
+		/**
+		 * Sets whether to keep polling during pre-market and post-market sessions.
+		 * Defaults to {@code false}.
+		 * @param prePost {@code true} to include extended hours
+		 * @return this builder
+		 */
+		public Builder prePost(boolean prePost) {
+			this.prePost = prePost;
+			return this;
+		}
+
+		/**
+		 * Sets how often the trading period of a closed exchange is looked up again until
+		 * the next session is known. Defaults to 30 minutes.
+		 * @param sessionRefreshInterval the refresh interval
+		 * @return this builder
+		 */
+		public Builder sessionRefreshInterval(Duration sessionRefreshInterval) {
+			this.sessionRefreshInterval = sessionRefreshInterval;
+			return this;
+		}
+
+		Builder clock(Clock clock) {
+			this.clock = clock;
+			return this;
+		}
+
+		/**
+		 * Builds the poller. It does not poll until {@link QuotePoller#start()} or
+		 * {@link QuotePoller#poll()} is called.
+		 * @return the poller
+		 */
+		public QuotePoller build() {
+			return new QuotePoller(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,50 @@
+package am.ik.yfinance4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocking rate limiter that spaces permits evenly at a fixed rate, letting up to
+ * {@code burst} permits through at once after an idle period.
+ */
+class RateLimiter {
+
+	private final long intervalNanos;
+
+	private final long burstNanos;
+
+	private long next = System.nanoTime();
+
+	RateLimiter(double permitsPerSecond, int burst) {
+		this.intervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+		this.burstNanos = (Math.max(1, burst) - 1) * this.intervalNanos;
+	}
+
+	/**
+	 * Waits until a permit is available.
+	 */
+	void acquire() {
+		long waitNanos = reserve();
+		if (waitNanos <= 0) {
+			return;
+		}
+		try {
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new YFinanceException("Interrupted while waiting for a permit", ex);
+		}
+	}
+
+	private synchronized long reserve() {
+		long now = System.nanoTime();
+		// permits not taken while idle are kept up to the burst size
+		if (this.next < now - this.burstNanos) {
+			this.next = now - this.burstNanos;
+		}
+		long waitNanos = this.next - now;
+		this.next += this.intervalNanos;
+		return waitNanos;
+	}
+
+}
@@ -0,0 +1,196 @@
+package am.ik.yfinance4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * Executes a request against a list of equivalent URL templates, in the order chosen by
+ * the {@link HostRouter}, failing over to the next host on retryable errors. When a
+ * {@link HedgingPolicy} is configured, slow requests of the call sites that ask for it
+ * (chart and quoteSummary) are hedged with a second request to an alternate host; heavy
+ * requests such as batch quotes are never hedged, so that they are not multiplied against
+ * the rate limit. Authenticated requests rejected with 401 are retried once with a
+ * refreshed crumb.
+ */
+class RequestExecutor {
+
+	private static final Logger log = LoggerFactory.getLogger(RequestExecutor.class);
+
+	private final CrumbManager crumbManager;
+
+	private final HostRouter hostRouter;
+
+	private final @Nullable HedgingPolicy hedging;
+
+	private final @Nullable HedgeBudget budget;
+
+	private final Map<List<String>, LatencyTracker> latencies = new ConcurrentHashMap<>();
+
+	RequestExecutor(CrumbManager crumbManager, HostRouter hostRouter, @Nullable HedgingPolicy hedging) {
+		this.crumbManager = crumbManager;
+		this.hostRouter = hostRouter;
+		this.hedging = hedging;
+		this.budget = hedging != null ? new HedgeBudget(hedging.budgetRatio(), hedging.maxBurst()) : null;
+	}
+
+	<T extends @Nullable Object> T executeAuthenticated(List<String> urls, AuthenticatedCall<T> call) {
+		return executeAuthenticated(urls, call, false);
+	}
+
+	<T extends @Nullable Object> T executeAuthenticated(List<String> urls, AuthenticatedCall<T> call, boolean hedge) {
+		String crumb = this.crumbManager.crumb();
+		String cookie = this.crumbManager.cookie();
+		try {
+			return execute(urls, url -> call.call(url, crumb, cookie), hedge);
+		}
+		catch (RestClientResponseException ex) {
+			if (ex.getStatusCode().value() != 401) {
+				throw ex;
+			}
+			log.debug("Crumb was rejected, refreshing cookie and crumb");
+			this.crumbManager.refreshIfStale(crumb);
+			String freshCrumb = this.crumbManager.crumb();
+			String freshCookie = this.crumbManager.cookie();
+			return execute(urls, url -> call.call(url, freshCrumb, freshCookie), hedge);
+		}
+	}
+
+	<T extends @Nullable Object> T execute(List<String> urls, Function<String, T> call) {
+		return execute(urls, call, false);
+	}
+
+	<T extends @Nullable Object> T execute(List<String> urls, Function<String, T> call, boolean hedge) {
+		List<String> routed = this.hostRouter.route(urls);
+		HedgingPolicy hedging = this.hedging;
+		HedgeBudget budget = this.budget;
+		if (!hedge || hedging == null || budget == null) {
+			return attempt(routed, call, new AtomicBoolean());
+		}
+		LatencyTracker tracker = this.latencies.computeIfAbsent(urls, k -> new LatencyTracker(hedging.window()));
+		budget.deposit();
+		long start = System.nanoTime();
+		long percentile = tracker.percentile(hedging.percentile(), hedging.minSamples());
+		T result = percentile < 0 ? attempt(routed, call, new AtomicBoolean())
+				: executeHedged(routed, call, Math.max(percentile, hedging.minDelay().toNanos()), hedging, budget);
+		tracker.record(System.nanoTime() - start);
+		return result;
+	}
+
+	private <T extends @Nullable Object> T executeHedged(List<String> routed, Function<String, T> call, long delayNanos,
+			HedgingPolicy hedging, HedgeBudget budget) {
+		AtomicBoolean settled = new AtomicBoolean();
+		CompletionService<T> completion = new ExecutorCompletionService<>(hedging.executor());
+		List<Future<T>> futures = new ArrayList<>(2);
+		futures.add(completion.submit(() -> attempt(routed, call, settled)));
+		try {
+			Future<T> completed = completion.poll(delayNanos, TimeUnit.NANOSECONDS);
+			if (completed == null && budget.tryAcquire()) {
+				List<String> alternate = alternate(routed);
+				log.debug("Hedging request to {} after {}ns", alternate.get(0), delayNanos);
+				futures.add(completion.submit(() -> attempt(alternate, call, settled)));
+			}
+			@Nullable Throwable failure = null;
+			for (int i = 0; i < futures.size(); i++) {
+				Future<T> future = (i == 0 && completed != null) ? completed : completion.take();
+				try {
+					T result = future.get();
+					settled.set(true);
+					return result;
+				}
+				catch (ExecutionException ex) {
+					failure = ex.getCause();
+				}
+			}
+			if (failure instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new YFinanceException("Request failed", failure);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new YFinanceException("Interrupted while waiting for response", ex);
+		}
+		finally {
+			settled.set(true);
+			for (Future<T> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	private <T extends @Nullable Object> T attempt(List<String> routed, Function<String, T> call,
+			AtomicBoolean settled) {
+		@Nullable RestClientException lastError = null;
+		for (String url : routed) {
+			long start = System.nanoTime();
+			try {
+				T result = call.apply(url);
+				this.hostRouter.recordSuccess(url, System.nanoTime() - start);
+				return result;
+			}
+			catch (RestClientException ex) {
+				if (settled.get()) {
+					// cancelled hedge or primary; the failure says nothing about the host
+					throw ex;
+				}
+				long elapsed = System.nanoTime() - start;
+				if (!isRetryable(ex)) {
+					// the host answered properly; the request itself was rejected
+					this.hostRouter.recordSuccess(url, elapsed);
+					throw ex;
+				}
+				this.hostRouter.recordFailure(url, elapsed);
+				log.debug("Request to {} failed, trying next host", url, ex);
+				lastError = ex;
+			}
+		}
+		if (lastError == null) {
+			throw new YFinanceException("No URL configured");
+		}
+		throw lastError;
+	}
+
+	private static List<String> alternate(List<String> routed) {
+		if (routed.size() < 2) {
+			return routed;
+		}
+		List<String> rotated = new ArrayList<>(routed.subList(1, routed.size()));
+		rotated.add(routed.get(0));
+		return rotated;
+	}
+
+	@FunctionalInterface
+	interface AuthenticatedCall<T extends @Nullable Object> {
+
+		T call(String url, String crumb, String cookie);
+
+	}
+
+	static boolean isRetryable(RestClientException ex) {
+		if (ex instanceof ResourceAccessException) {
+			return true;
+		}
+		if (ex instanceof RestClientResponseException responseException) {
+			int status = responseException.getStatusCode().value();
+			return status == 429 || status >= 500;
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,286 @@
+package am.ik.yfinance4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import am.ik.yfinance4j.chart.ChartRequest;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stale-while-revalidate cache for {@link Ticker#history(ChartRequest)} and
+ * {@link Ticker#info()}, with the semantics of the HTTP {@code Cache-Control} directives
+ * of the same names.
+ * <p>
+ * A value younger than {@link Builder#maxAge(Duration) maxAge} is served as is. A value
+ * older than that, but within another {@link Builder#staleWhileRevalidate(Duration)
+ * staleWhileRevalidate}, is served immediately as {@link Cached#stale() stale} while a
+ * single background refresh replaces it; concurrent callers of the same entry never start
+ * a second refresh. Only a missing value, or one older than both durations together, is
+ * fetched on the calling thread. A failed background refresh keeps the stale value, and
+ * the next call after the failure tries again.
+ * <p>
+ * Background refreshes run on the fetch executor of {@link YFinance} unless
+ * {@link Builder#executor(Executor)} is set.
+ *
+ * <pre>{@code
+ * YFinance yf = YFinance.builder(restClient)
+ *     .revalidatingCache(RevalidatingCache.builder()
+ *         .maxAge(Duration.ofSeconds(30))
+ *         .staleWhileRevalidate(Duration.ofMinutes(10))
+ *         .build())
+ *     .build();
+ * Cached<StockInfo> info = yf.ticker("AAPL").cachedInfo();
+ * }</pre>
+ */
+public final class RevalidatingCache {
+
+	private static final Logger log = LoggerFactory.getLogger(RevalidatingCache.class);
+
+	private final long maxAgeMillis;
+
+	private final long staleMillis;
+
+	private final @Nullable Executor executor;
+
+	private final Clock clock;
+
+	private final Map<Object, Entry> entries;
+
+	private RevalidatingCache(Builder builder) {
+		this.maxAgeMillis = builder.maxAge.toMillis();
+		this.staleMillis = builder.staleWhileRevalidate.toMillis();
+		this.executor = builder.executor;
+		this.clock = builder.clock;
+		int maxEntries = builder.maxEntries;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Creates a new {@link Builder}.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns the cached value of the key, loading it on the calling thread if it is
+	 * missing or too old and refreshing it in the background if it is stale.
+	 * @param key the cache key, with value semantics
+	 * @param loader the function that fetches the value
+	 * @param defaultExecutor the executor for background refreshes unless one is
+	 * configured
+	 * @return the value
+	 */
+	@SuppressWarnings("unchecked")
+	<T> Cached<T> get(Object key, Supplier<T> loader, Executor defaultExecutor) {
+		Entry entry;
+		synchronized (this.entries) {
+			entry = this.entries.computeIfAbsent(key, k -> new Entry());
+		}
+		synchronized (entry) {
+			Object value = entry.value;
+			if (value != null) {
+				long age = this.clock.millis() - entry.fetchedAt;
+				if (age <= this.maxAgeMillis) {
+					return new Cached<>((T) value, Instant.ofEpochMilli(entry.fetchedAt), false);
+				}
+				if (age <= this.maxAgeMillis + this.staleMillis) {
+					if (!entry.refreshing) {
+						entry.refreshing = true;
+						refreshInBackground(key, entry, loader, defaultExecutor);
+					}
+					return new Cached<>((T) value, Instant.ofEpochMilli(entry.fetchedAt), true);
+				}
+			}
+			// callers of the same entry wait for this load instead of sending their own
+			T loaded = loader.get();
+			entry.update(loaded, this.clock.millis());
+			return new Cached<>(loaded, Instant.ofEpochMilli(entry.fetchedAt), false);
+		}
+	}
+
+	private void refreshInBackground(Object key, Entry entry, Supplier<?> loader, Executor defaultExecutor) {
+		Executor executor = (this.executor != null) ? this.executor : defaultExecutor;
+		try {
+			executor.execute(() -> {
+				try {
+					Object loaded = loader.get();
+					synchronized (entry) {
+						entry.update(loaded, this.clock.millis());
+					}
+				}
+				catch (RuntimeException ex) {
+					log.debug("Background refresh of {} failed, keeping the stale value", key, ex);
+				}
+				finally {
+					synchronized (entry) {
+						entry.refreshing = false;
+					}
+				}
+			});
+		}
+		catch (RejectedExecutionException ex) {
+			log.debug("Background refresh of {} was rejected", key, ex);
+			entry.refreshing = false;
+		}
+	}
+
+	/**
+	 * Drops all cached values of a symbol.
+	 * @param symbol the symbol
+	 */
+	public void invalidate(String symbol) {
+		synchronized (this.entries) {
+			this.entries.keySet().removeIf(key -> key instanceof Key k && k.symbol().equals(symbol));
+		}
+	}
+
+	/**
+	 * Drops all cached values.
+	 */
+	public void clear() {
+		synchronized (this.entries) {
+			this.entries.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of cached values.
+	 * @return the number of values
+	 */
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+
+	/**
+	 * The key of a cached value: the symbol, the kind of call and the parameters that
+	 * distinguish its results.
+	 */
+	record Key(String symbol, String kind, Object parameters) {
+	}
+
+	private static final class Entry {
+
+		private @Nullable Object value;
+
+		private long fetchedAt;
+
+		private boolean refreshing;
+
+		void update(Object value, long fetchedAt) {
+			// a slow refresh must not overwrite a newer synchronous load
+			if (this.value == null || fetchedAt >= this.fetchedAt) {
+				this.value = value;
+				this.fetchedAt = fetchedAt;
+			}
+		}
+
+	}
+
+	/**
+	 * Builder for {@link RevalidatingCache}.
+	 */
+	public static final class Builder {
+
+		private Duration maxAge = Duration.ofSeconds(30);
+
+		private Duration staleWhileRevalidate = Duration.ofMinutes(5);
+
+		private int maxEntries = 1000;
+
+		private @Nullable Executor executor;
+
+		private Clock clock = Clock.systemUTC();
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets how long a value is served without a refresh. Defaults to 30 seconds.
+		 * @param maxAge the maximum age
+		 * @return this builder
+		 */
+		public Builder maxAge(Duration maxAge) {
+			if (maxAge.isNegative()) {
+				throw new IllegalArgumentException("maxAge must not be negative");
+			}
+			this.maxAge = maxAge;
+			return this;
+		}
+
+		/**
+		 * Sets how long after {@link #maxAge(Duration) maxAge} a value is still served
+		 * while it is refreshed in the background. Defaults to 5 minutes.
+		 * @param staleWhileRevalidate the maximum staleness beyond the maximum age
+		 * @return this builder
+		 */
+		public Builder staleWhileRevalidate(Duration staleWhileRevalidate) {
+			if (staleWhileRevalidate.isNegative()) {
+				throw new IllegalArgumentException("staleWhileRevalidate must not be negative");
+			}
+			this.staleWhileRevalidate = staleWhileRevalidate;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of cached values. The least recently used value is
+		 * dropped first. Defaults to 1000.
+		 * @param maxEntries the maximum number of values, at least 1
+		 * @return this builder
+		 */
+		public Builder maxEntries(int maxEntries) {
+			if (maxEntries < 1) {
+				throw new IllegalArgumentException("maxEntries must be at least 1");
+			}
+			this.maxEntries = maxEntries;
+			return this;
+		}
+
+		/**
+		 * Sets the executor that background refreshes run on. Defaults to the fetch
+		 * executor of {@link YFinance}.
+		 * @param executor the executor
+		 * @return this builder
+		 */
+		public Builder executor(Executor executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		/**
+		 * Sets the clock that ages are measured with. Defaults to the system UTC clock.
+		 * @param clock the clock
+		 * @return this builder
+		 */
+		public Builder clock(Clock clock) {
+			this.clock = clock;
+			return this;
+		}
+
+		/**
+		 * Builds the {@link RevalidatingCache} instance.
+		 * @return a new RevalidatingCache
+		 */
+		public RevalidatingCache build() {
+			return new RevalidatingCache(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,572 @@
+package am.ik.yfinance4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits a {@link UniverseDownloader} job across worker processes that share nothing but
+ * a directory. The symbols are assigned to a fixed number of shards by consistent
+ * hashing, and every shard is downloaded by one worker at a time, with its own checkpoint
+ * file in the shared directory.
+ * <p>
+ * A worker claims a shard by creating its lease file, renews the lease while the shard is
+ * downloading and deletes it when done. The lease of a worker that died is left to
+ * expire, after which another worker takes the shard over and resumes it from its
+ * checkpoint. A finished shard is marked with a file holding the job ID, so
+ * {@link #run()} does nothing for shards already finished under the same job ID, and a
+ * new job ID downloads every shard again.
+ * <p>
+ * Every worker must be given the same symbols, shard count and job ID. Since the
+ * assignment is a consistent hash, changing the shard count moves only about
+ * {@code 1 / shards} of the symbols to a different shard, and the others keep their
+ * checkpoints. Lease expiry is judged by the clocks of the workers, so the lease duration
+ * should be well above the clock skew between their hosts.
+ *
+ * <pre>{@code
+ * ShardedDownloader<HistorySeries> downloader = ShardedDownloader
+ *     .builder(UniverseDownloader.builder(yf, symbols, request).sink(store::write),
+ *         Path.of("/mnt/shared/backfill"), "backfill-2024-06-01")
+ *     .shards(16)
+ *     .build();
+ * ShardedDownloader.Result result = downloader.run();
+ * }</pre>
+ *
+ * @param <T> the type of the downloaded values
+ */
+public final class ShardedDownloader<T> {
+
+	private static final Logger log = LoggerFactory.getLogger(ShardedDownloader.class);
+
+	private static final int VIRTUAL_NODES = 64;
+
+	private final UniverseDownloader.Builder<T> template;
+
+	private final Path directory;
+
+	private final String jobId;
+
+	private final String workerId;
+
+	private final int shards;
+
+	private final Duration leaseDuration;
+
+	private final Duration pollInterval;
+
+	private final Clock clock;
+
+	private final long[] ring;
+
+	private final int[] ringShards;
+
+	private final List<List<String>> assignment;
+
+	private ShardedDownloader(Builder<T> builder) {
+		this.template = builder.template;
+		this.directory = builder.directory;
+		this.jobId = builder.jobId;
+		this.workerId = builder.workerId;
+		this.shards = builder.shards;
+		this.leaseDuration = builder.leaseDuration;
+		this.pollInterval = builder.pollInterval;
+		this.clock = builder.clock;
+		long[][] points = new long[this.shards * VIRTUAL_NODES][];
+		for (int shard = 0; shard < this.shards; shard++) {
+			for (int node = 0; node < VIRTUAL_NODES; node++) {
+				points[shard * VIRTUAL_NODES + node] = new long[] { hash(shard + "#" + node), shard };
+			}
+		}
+		Arrays.sort(points, (a, b) -> Long.compare(a[0], b[0]));
+		this.ring = new long[points.length];
+		this.ringShards = new int[points.length];
+		for (int i = 0; i < points.length; i++) {
+			this.ring[i] = points[i][0];
+			this.ringShards[i] = (int) points[i][1];
+		}
+		List<List<String>> assignment = new ArrayList<>(this.shards);
+		for (int shard = 0; shard < this.shards; shard++) {
+			assignment.add(new ArrayList<>());
+		}
+		for (String symbol : new LinkedHashSet<>(this.template.symbols())) {
+			assignment.get(shardOf(symbol)).add(symbol);
+		}
+		this.assignment = assignment;
+	}
+
+	/**
+	 * Creates a new {@link Builder}.
+	 * @param <T> the type of the downloaded values
+	 * @param template the downloader whose symbols, sink and settings every shard is
+	 * downloaded with; its checkpoint file is not used
+	 * @param directory the directory shared by the workers
+	 * @param jobId the ID of the job, the same for every worker
+	 * @return a new builder
+	 */
+	public static <T> Builder<T> builder(UniverseDownloader.Builder<T> template, Path directory, String jobId) {
+		return new Builder<>(template, directory, jobId);
+	}
+
+	/**
+	 * Returns the shard that a symbol is assigned to.
+	 * @param symbol the symbol
+	 * @return the shard, from 0 to the shard count exclusive
+	 */
+	public int shardOf(String symbol) {
+		int i = Arrays.binarySearch(this.ring, hash(symbol));
+		if (i < 0) {
+			i = -i - 1;
+		}
+		return this.ringShards[i == this.ring.length ? 0 : i];
+	}
+
+	/**
+	 * Downloads every shard that is not finished under this job ID and not being
+	 * downloaded by another worker, waiting for the leases of other workers to be
+	 * released or to expire. Returns when every shard is finished, or when the remaining
+	 * shards were attempted by this call and are left incomplete by failures.
+	 * @return the outcome of this call
+	 * @throws UncheckedIOException if a file in the shared directory cannot be read or
+	 * written, or the sink failed
+	 */
+	public Result run() {
+		try {
+			Files.createDirectories(this.directory);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "yfinance4j-lease-renewer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		int ran = 0;
+		int downloaded = 0;
+		int notFound = 0;
+		List<String> failed = new ArrayList<>();
+		Set<Integer> attempted = new HashSet<>();
+		// spread the workers so that they rarely contend for a lease
+		int start = Math.floorMod(hash(this.workerId), this.shards);
+		try {
+			while (true) {
+				boolean waiting = false;
+				int done = 0;
+				for (int k = 0; k < this.shards; k++) {
+					int shard = (start + k) % this.shards;
+					if (isDone(shard)) {
+						done++;
+						continue;
+					}
+					if (attempted.contains(shard)) {
+						continue;
+					}
+					Lease lease = Lease.acquire(leaseFile(shard), this.workerId, this.leaseDuration, this.clock);
+					if (lease == null) {
+						waiting = true;
+						continue;
+					}
+					try {
+						// another worker may have finished the shard before we took it
+						if (isDone(shard)) {
+							done++;
+							continue;
+						}
+						long period = Math.max(1, this.leaseDuration.toMillis() / 3);
+						ScheduledFuture<?> renewal = renewer.scheduleAtFixedRate(lease::renew, period, period,
+								TimeUnit.MILLISECONDS);
+						UniverseDownloader.Result result;
+						try {
+							result = download(shard, lease);
+						}
+						finally {
+							renewal.cancel(false);
+						}
+						ran++;
+						downloaded += result.downloaded();
+						notFound += result.notFound();
+						failed.addAll(result.failed());
+						if (result.complete() && !lease.lost()) {
+							markDone(shard);
+							done++;
+						}
+						else {
+							attempted.add(shard);
+						}
+					}
+					finally {
+						lease.release();
+					}
+				}
+				if (done == this.shards || !waiting) {
+					return new Result(this.shards, done, ran, downloaded, notFound, List.copyOf(failed));
+				}
+				sleep();
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		finally {
+			renewer.shutdownNow();
+		}
+	}
+
+	private UniverseDownloader.Result download(int shard, Lease lease) {
+		List<String> symbols = this.assignment.get(shard);
+		log.debug("Worker {} downloading shard {} of {} symbols", this.workerId, shard, symbols.size());
+		return this.template.forShard(symbols, this.directory.resolve("shard-" + shard + ".checkpoint"), lease::lost)
+			.build()
+			.run();
+	}
+
+	private Path leaseFile(int shard) {
+		return this.directory.resolve("shard-" + shard + ".lease");
+	}
+
+	private boolean isDone(int shard) throws IOException {
+		try {
+			return Files.readString(this.directory.resolve("shard-" + shard + ".done"), StandardCharsets.UTF_8)
+				.equals(this.jobId);
+		}
+		catch (NoSuchFileException ex) {
+			return false;
+		}
+	}
+
+	private void markDone(int shard) throws IOException {
+		Path file = this.directory.resolve("shard-" + shard + ".done");
+		Path temp = Files.createTempFile(this.directory, file.getFileName().toString(), ".tmp");
+		try {
+			Files.writeString(temp, this.jobId, StandardCharsets.UTF_8);
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	private void sleep() {
+		try {
+			Thread.sleep(this.pollInterval.toMillis());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new YFinanceException("Interrupted while waiting for a shard", ex);
+		}
+	}
+
+	/**
+	 * 64-bit FNV-1a with a final avalanche step, since the ring points differ only in a
+	 * few trailing characters.
+	 */
+	static long hash(String value) {
+		long hash = 0xcbf29ce484222325L;
+		for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= (b & 0xff);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+	/**
+	 * The outcome of a call to {@link #run()} on one worker.
+	 *
+	 * @param shards the number of shards
+	 * @param done the number of shards finished under the job ID, by any worker
+	 * @param ran the number of shards downloaded by this call
+	 * @param downloaded the number of symbols downloaded by this call
+	 * @param notFound the number of symbols reported as not found by this call
+	 * @param failed the symbols that failed in this call and are retried by the next one
+	 */
+	public record Result(int shards, int done, int ran, int downloaded, int notFound, List<String> failed) {
+
+		/**
+		 * Returns whether every shard is finished under the job ID.
+		 * @return whether the job is complete
+		 */
+		public boolean complete() {
+			return this.done == this.shards;
+		}
+
+	}
+
+	/**
+	 * A lease on a shard, held in a file with the owner and the expiry time in epoch
+	 * milliseconds. A lease is created with a hard link, which fails if the file exists,
+	 * so that it never appears partially written.
+	 */
+	private static final class Lease {
+
+		private final Path file;
+
+		private final String owner;
+
+		private final Duration duration;
+
+		private final Clock clock;
+
+		private volatile boolean lost;
+
+		private Lease(Path file, String owner, Duration duration, Clock clock) {
+			this.file = file;
+			this.owner = owner;
+			this.duration = duration;
+			this.clock = clock;
+		}
+
+		static @Nullable Lease acquire(Path file, String owner, Duration duration, Clock clock) throws IOException {
+			Lease lease = new Lease(file, owner, duration, clock);
+			if (lease.create()) {
+				return lease;
+			}
+			String[] current = read(file);
+			if (current == null || !lease.expired(current)) {
+				return null;
+			}
+			// of several workers moving the expired lease away, only one succeeds
+			Path tombstone = file.resolveSibling(file.getFileName() + "." + UUID.randomUUID() + ".expired");
+			try {
+				Files.move(file, tombstone, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (NoSuchFileException ex) {
+				return null;
+			}
+			String[] moved = read(tombstone);
+			if (moved != null && !lease.expired(moved)) {
+				// renewed or replaced since it was read; put it back
+				try {
+					Files.move(tombstone, file);
+				}
+				catch (FileAlreadyExistsException ex) {
+					Files.deleteIfExists(tombstone);
+				}
+				return null;
+			}
+			Files.deleteIfExists(tombstone);
+			log.debug("{} taking over {} from {}", owner, file.getFileName(), current[0]);
+			return lease.create() ? lease : null;
+		}
+
+		private boolean create() throws IOException {
+			Path temp = write();
+			try {
+				Files.createLink(this.file, temp);
+				return true;
+			}
+			catch (FileAlreadyExistsException ex) {
+				return false;
+			}
+			finally {
+				Files.deleteIfExists(temp);
+			}
+		}
+
+		private Path write() throws IOException {
+			Path temp = Files.createTempFile(this.file.toAbsolutePath().getParent(), this.file.getFileName().toString(),
+					".tmp");
+			Files.writeString(temp, this.owner + "\t" + (this.clock.millis() + this.duration.toMillis()) + "\n",
+					StandardCharsets.UTF_8);
+			return temp;
+		}
+
+		private boolean expired(String[] lease) {
+			return Long.parseLong(lease[1]) <= this.clock.millis();
+		}
+
+		private boolean owned() throws IOException {
+			String[] current = read(this.file);
+			return current != null && current[0].equals(this.owner);
+		}
+
+		void renew() {
+			if (this.lost) {
+				return;
+			}
+			try {
+				if (!owned()) {
+					log.warn("{} lost the lease {}", this.owner, this.file.getFileName());
+					this.lost = true;
+					return;
+				}
+				Path temp = write();
+				try {
+					Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				}
+				finally {
+					Files.deleteIfExists(temp);
+				}
+			}
+			catch (IOException | RuntimeException ex) {
+				log.warn("Failed to renew the lease {}", this.file.getFileName(), ex);
+				this.lost = true;
+			}
+		}
+
+		boolean lost() {
+			return this.lost;
+		}
+
+		void release() throws IOException {
+			if (!this.lost && owned()) {
+				Files.deleteIfExists(this.file);
+			}
+		}
+
+		private static String @Nullable [] read(Path file) throws IOException {
+			String content;
+			try {
+				content = Files.readString(file, StandardCharsets.UTF_8);
+			}
+			catch (NoSuchFileException ex) {
+				return null;
+			}
+			String[] fields = content.strip().split("\t", -1);
+			if (fields.length != 2) {
+				throw new IOException("Malformed lease file " + file + ": " + content);
+			}
+			try {
+				Long.parseLong(fields[1]);
+			}
+			catch (NumberFormatException ex) {
+				throw new IOException("Malformed lease file " + file + ": " + content, ex);
+			}
+			return fields;
+		}
+
+	}
+
+	/**
+	 * Builder for {@link ShardedDownloader}.
+	 *
+	 * @param <T> the type of the downloaded values
+	 */
+	public static final class Builder<T> {
+
+		private final UniverseDownloader.Builder<T> template;
+
+		private final Path directory;
+
+		private final String jobId;
+
+		private String workerId = ProcessHandle.current().pid() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+		private int shards = 16;
+
+		private Duration leaseDuration = Duration.ofMinutes(1);
+
+		private Duration pollInterval = Duration.ofSeconds(5);
+
+		private Clock clock = Clock.systemUTC();
+
+		private Builder(UniverseDownloader.Builder<T> template, Path directory, String jobId) {
+			this.template = template;
+			this.directory = directory;
+			this.jobId = jobId;
+		}
+
+		/**
+		 * Sets the ID of this worker, written to the lease files it holds. Defaults to
+		 * the process ID followed by a random suffix.
+		 * @param workerId the worker ID, unique among the workers
+		 * @return this builder
+		 */
+		public Builder<T> workerId(String workerId) {
+			if (workerId.isEmpty() || workerId.contains("\t") || workerId.contains("\n")) {
+				throw new IllegalArgumentException("workerId must be non-empty without tabs or line breaks");
+			}
+			this.workerId = workerId;
+			return this;
+		}
+
+		/**
+		 * Sets the number of shards, which must be the same for every worker. Defaults to
+		 * 16.
+		 * @param shards the number of shards, at least 1
+		 * @return this builder
+		 */
+		public Builder<T> shards(int shards) {
+			if (shards < 1) {
+				throw new IllegalArgumentException("shards must be at least 1");
+			}
+			this.shards = shards;
+			return this;
+		}
+
+		/**
+		 * Sets how long a lease stays valid without being renewed. A lease is renewed
+		 * every third of this duration. Defaults to 1 minute.
+		 * @param leaseDuration the lease duration, positive
+		 * @return this builder
+		 */
+		public Builder<T> leaseDuration(Duration leaseDuration) {
+			if (leaseDuration.isNegative() || leaseDuration.isZero()) {
+				throw new IllegalArgumentException("leaseDuration must be positive");
+			}
+			this.leaseDuration = leaseDuration;
+			return this;
+		}
+
+		/**
+		 * Sets how long to wait before looking at the shards held by other workers again.
+		 * Defaults to 5 seconds.
+		 * @param pollInterval the poll interval, positive
+		 * @return this builder
+		 */
+		public Builder<T> pollInterval(Duration pollInterval) {
+			if (pollInterval.isNegative() || pollInterval.isZero()) {
+				throw new IllegalArgumentException("pollInterval must be positive");
+			}
+			this.pollInterval = pollInterval;
+			return this;
+		}
+
+		/**
+		 * Sets the clock that lease expiry is judged by. Defaults to the system UTC
+		 * clock.
+		 * @param clock the clock
+		 * @return this builder
+		 */
+		public Builder<T> clock(Clock clock) {
+			this.clock = clock;
+			return this;
+		}
+
+		/**
+		 * Builds the {@link ShardedDownloader} instance.
+		 * @return a new ShardedDownloader
+		 */
+		public ShardedDownloader<T> build() {
+			return new ShardedDownloader<>(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,201 @@
+package am.ik.yfinance4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import am.ik.yfinance4j.search.SymbolEntry;
+import am.ik.yfinance4j.search.SymbolIndex;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Symbol autocomplete backed by a local {@link SymbolIndex}. A prefix is searched
+ * remotely only if neither the prefix itself nor a shorter prefix whose search returned
+ * every match has been searched before; all other lookups are answered from memory.
+ * <p>
+ * Since the search API returns at most {@link Builder#remoteLimit(int) remoteLimit}
+ * results, a search that returns fewer results is complete, and every longer prefix is
+ * answered locally from then on. Typing "toyo" after "to" therefore usually costs no
+ * request at all.
+ *
+ * <pre>{@code
+ * SymbolLookup lookup = SymbolLookup.builder(yf)
+ *     .indexFile(Path.of("symbols.idx"))
+ *     .build();
+ * List<SymbolEntry> suggestions = lookup.lookup("appl", 10);
+ * ...
+ * lookup.save();
+ * }</pre>
+ */
+public final class SymbolLookup {
+
+	private final YFinance yf;
+
+	private final SymbolIndex index;
+
+	private final @Nullable Path indexFile;
+
+	private final int remoteLimit;
+
+	private SymbolLookup(Builder builder, SymbolIndex index) {
+		this.yf = builder.yf;
+		this.index = index;
+		this.indexFile = builder.indexFile;
+		this.remoteLimit = builder.remoteLimit;
+	}
+
+	/**
+	 * Creates a new {@link Builder}.
+	 * @param yf the YFinance instance to send search requests with
+	 * @return a new builder
+	 */
+	public static Builder builder(YFinance yf) {
+		return new Builder(yf);
+	}
+
+	/**
+	 * Returns the symbols whose symbol, name or a word of the name starts with the given
+	 * prefix, searching remotely first if the prefix is not covered by the index.
+	 * @param prefix the typed prefix
+	 * @param limit the maximum number of entries
+	 * @return the matching entries, exact symbol matches first
+	 * @throws YFinanceException if the remote search fails
+	 */
+	public List<SymbolEntry> lookup(String prefix, int limit) {
+		if (prefix.isBlank() || limit <= 0) {
+			return List.of();
+		}
+		if (!this.index.covers(prefix)) {
+			List<SymbolEntry> found = this.yf.search(prefix.strip(), this.remoteLimit);
+			this.index.addAll(found);
+			this.index.markSearched(prefix, found, found.size() < this.remoteLimit);
+		}
+		List<SymbolEntry> local = this.index.lookup(prefix, limit);
+		if (local.size() >= limit) {
+			return local;
+		}
+		// the search API also matches beyond plain prefixes (e.g. "google" finds GOOG),
+		// so the results of a search for this very prefix are added on every lookup
+		Set<SymbolEntry> merged = new LinkedHashSet<>(local);
+		for (SymbolEntry entry : this.index.searchResults(prefix)) {
+			if (merged.size() >= limit) {
+				break;
+			}
+			merged.add(entry);
+		}
+		return new ArrayList<>(merged);
+	}
+
+	/**
+	 * Returns the index the lookups are answered from.
+	 * @return the index
+	 */
+	public SymbolIndex index() {
+		return this.index;
+	}
+
+	/**
+	 * Writes the index to the {@link Builder#indexFile(Path) index file}. Does nothing if
+	 * no index file is configured.
+	 * @throws UncheckedIOException if the file cannot be written
+	 */
+	public void save() {
+		Path indexFile = this.indexFile;
+		if (indexFile == null) {
+			return;
+		}
+		try {
+			this.index.save(indexFile);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to save the symbol index to " + indexFile, ex);
+		}
+	}
+
+	/**
+	 * Builder for {@link SymbolLookup}.
+	 */
+	public static final class Builder {
+
+		private final YFinance yf;
+
+		private @Nullable SymbolIndex index;
+
+		private @Nullable Path indexFile;
+
+		private int remoteLimit = 20;
+
+		private Builder(YFinance yf) {
+			this.yf = yf;
+		}
+
+		/**
+		 * Sets the index to use, e.g. one shared with another lookup. Defaults to the
+		 * content of the {@link #indexFile(Path) index file} if it exists, or an empty
+		 * index otherwise.
+		 * @param index the index
+		 * @return this builder
+		 */
+		public Builder index(SymbolIndex index) {
+			this.index = index;
+			return this;
+		}
+
+		/**
+		 * Sets the file the index is loaded from when built and written to by
+		 * {@link SymbolLookup#save()}.
+		 * @param indexFile the index file
+		 * @return this builder
+		 */
+		public Builder indexFile(Path indexFile) {
+			this.indexFile = indexFile;
+			return this;
+		}
+
+		/**
+		 * Sets the number of results requested per remote search. Defaults to 20. A
+		 * larger value makes more searches complete, so fewer longer prefixes need a
+		 * request.
+		 * @param remoteLimit the number of results, at least 1
+		 * @return this builder
+		 */
+		public Builder remoteLimit(int remoteLimit) {
+			if (remoteLimit < 1) {
+				throw new IllegalArgumentException("remoteLimit must be at least 1");
+			}
+			this.remoteLimit = remoteLimit;
+			return this;
+		}
+
+		/**
+		 * Builds the {@link SymbolLookup}, loading the index file if no index is set.
+		 * @return a new SymbolLookup
+		 * @throws UncheckedIOException if the index file exists but cannot be read
+		 */
+		public SymbolLookup build() {
+			SymbolIndex index = this.index;
+			if (index == null) {
+				Path indexFile = this.indexFile;
+				if (indexFile != null && Files.exists(indexFile)) {
+					try {
+						index = SymbolIndex.load(indexFile);
+					}
+					catch (IOException ex) {
+						throw new UncheckedIOException("Failed to load the symbol index from " + indexFile, ex);
+					}
+				}
+				else {
+					index = new SymbolIndex();
+				}
+			}
+			return new SymbolLookup(this, index);
+		}
+
+	}
+
+}
@@ -0,0 +1,32 @@
+package am.ik.yfinance4j;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Thrown when the API reports that a symbol does not exist, typically because it is
+ * delisted or mistyped.
+ */
+public class SymbolNotFoundException extends YFinanceException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String symbol;
+
+	public SymbolNotFoundException(String symbol, String message) {
+		this(symbol, message, null);
+	}
+
+	public SymbolNotFoundException(String symbol, String message, @Nullable Throwable cause) {
+		super(message, cause);
+		this.symbol = symbol;
+	}
+
+	/**
+	 * Returns the symbol that was not found.
+	 * @return the symbol
+	 */
+	public String symbol() {
+		return this.symbol;
+	}
+
+}
@@ -1,13 +1,21 @@
 package am.ik.yfinance4j;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.net.URI;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.jspecify.annotations.Nullable;
@@ -15,16 +23,39 @@ import org.jspecify.annotations.Nullable;
 import am.ik.yfinance4j.chart.ChartRequest;
 import am.ik.yfinance4j.chart.ChartResponse;
 import am.ik.yfinance4j.chart.ChartResponse.AdjClose;
+import am.ik.yfinance4j.chart.ChartResponse.ChartError;
 import am.ik.yfinance4j.chart.ChartResponse.Events;
 import am.ik.yfinance4j.chart.ChartResponse.Indicators;
 import am.ik.yfinance4j.chart.ChartResponse.Quote;
 import am.ik.yfinance4j.chart.ChartResponse.Result;
+import am.ik.yfinance4j.chart.CompressedSeries;
+import am.ik.yfinance4j.chart.CorporateActions;
+import am.ik.yfinance4j.chart.DividendEvent;
+import am.ik.yfinance4j.chart.FastInfo;
+import am.ik.yfinance4j.chart.History;
 import am.ik.yfinance4j.chart.HistoryRecord;
+import am.ik.yfinance4j.chart.HistorySeries;
+import am.ik.yfinance4j.chart.PriceAdjuster;
+import am.ik.yfinance4j.chart.SplitEvent;
+import am.ik.yfinance4j.fundamentals.FinancialStatement;
+import am.ik.yfinance4j.fundamentals.Frequency;
+import am.ik.yfinance4j.fundamentals.Fundamentals;
+import am.ik.yfinance4j.fundamentals.Statement;
+import am.ik.yfinance4j.fundamentals.TimeseriesResponse;
+import am.ik.yfinance4j.fundamentals.TypeKeys;
+import am.ik.yfinance4j.options.OptionChain;
+import am.ik.yfinance4j.options.OptionTable;
+import am.ik.yfinance4j.options.OptionsResponse;
 import am.ik.yfinance4j.quote.QuoteSummaryModule;
 import am.ik.yfinance4j.quote.QuoteSummaryResponse;
+import am.ik.yfinance4j.quote.QuoteSummaryResponse.QuoteSummary;
+import am.ik.yfinance4j.quote.QuoteSummaryResponse.QuoteSummaryError;
 import am.ik.yfinance4j.quote.StockInfo;
 import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.util.UriBuilder;
 
 /**
  * Represents a single ticker symbol and provides methods to retrieve its historical data
@@ -32,23 +63,56 @@ import org.springframework.web.client.RestClient;
  */
 public class Ticker {
 
+	private static final ChartRequest FAST_INFO_REQUEST = ChartRequest.builder()
+		.period(Period.ONE_DAY)
+		.interval(Interval.ONE_DAY)
+		.actions(false)
+		.build();
+
 	private static final QuoteSummaryModule[] DEFAULT_MODULES = { QuoteSummaryModule.SUMMARY_DETAIL,
 			QuoteSummaryModule.SUMMARY_PROFILE, QuoteSummaryModule.FINANCIAL_DATA,
 			QuoteSummaryModule.DEFAULT_KEY_STATISTICS, QuoteSummaryModule.PRICE, QuoteSummaryModule.ASSET_PROFILE };
 
+	private static final String NOT_FOUND = "Not Found";
+
+	// quoteSummary also answers "Not Found" for valid symbols that lack a module, e.g.
+	// "No fundamentals data found for symbol: SPY", so only this description is trusted
+	private static final String QUOTE_NOT_FOUND = "Quote not found";
+
+	private static final DefaultResponseErrorHandler ERROR_HANDLER = new DefaultResponseErrorHandler();
+
+	// the timeseries API has no data before this date
+	private static final long FUNDAMENTALS_START = LocalDate.of(2016, 12, 31)
+		.atStartOfDay(ZoneOffset.UTC)
+		.toEpochSecond();
+
 	private final String symbol;
 
 	private final RestClient restClient;
 
-	private final CrumbManager crumbManager;
-
 	private final YFinanceUrls urls;
 
-	Ticker(String symbol, RestClient restClient, CrumbManager crumbManager, YFinanceUrls urls) {
+	private final RequestExecutor executor;
+
+	private final ExecutorService fetchExecutor;
+
+	private final @Nullable NegativeCache negativeCache;
+
+	private final @Nullable HistoryCache historyCache;
+
+	private final @Nullable RevalidatingCache revalidatingCache;
+
+	Ticker(String symbol, RestClient restClient, YFinanceUrls urls, RequestExecutor executor,
+			ExecutorService fetchExecutor, @Nullable NegativeCache negativeCache, @Nullable HistoryCache historyCache,
+			@Nullable RevalidatingCache revalidatingCache) {
 		this.symbol = symbol;
 		this.restClient = restClient;
-		this.crumbManager = crumbManager;
 		this.urls = urls;
+		this.executor = executor;
+		this.fetchExecutor = fetchExecutor;
+		this.negativeCache = negativeCache;
+		this.historyCache = historyCache;
+		this.revalidatingCache = revalidatingCache;
 	}
 
 	/**
@@ -68,15 +132,142 @@ public class Ticker {
 	}
 
 	/**
-	 * Retrieves historical price data with the given request parameters.
+	 * Retrieves historical price data with the given request parameters. A
+	 * {@link HistoryCache} does not apply here, since the records keep the prices exactly
+	 * as sent; use {@link #historySeries(ChartRequest)} for cached data. When a
+	 * {@link RevalidatingCache} is configured, a stale result may be returned; use
+	 * {@link #cachedHistory(ChartRequest)} to tell.
 	 * @param request the chart request parameters
 	 * @return list of historical records
 	 */
 	public List<HistoryRecord> history(ChartRequest request) {
+		if (this.revalidatingCache != null) {
+			return cachedHistory(request).value();
+		}
+		return loadHistory(request);
+	}
+
+	/**
+	 * Retrieves historical price data through the configured {@link RevalidatingCache},
+	 * together with the time it was fetched and whether it is stale. Without a
+	 * {@link RevalidatingCache} the data is always fetched.
+	 * @param request the chart request parameters
+	 * @return the historical records
+	 */
+	public Cached<List<HistoryRecord>> cachedHistory(ChartRequest request) {
+		RevalidatingCache revalidatingCache = this.revalidatingCache;
+		if (revalidatingCache == null) {
+			return new Cached<>(loadHistory(request), Instant.now(), false);
+		}
+		List<@Nullable Object> parameters = Arrays.asList(request.period(), request.interval(), request.start(),
+				request.end(), request.prePost(), request.actions());
+		return revalidatingCache.get(new RevalidatingCache.Key(this.symbol, "history", parameters),
+				() -> List.copyOf(loadHistory(request)), this.fetchExecutor);
+	}
+
+	private List<HistoryRecord> loadHistory(ChartRequest request) {
 		ChartResponse response = fetchChart(request);
 		return toHistoryRecords(response, request.actions());
 	}
 
+	/**
+	 * Retrieves historical price data as a column-oriented {@link HistorySeries} backed
+	 * by primitive arrays, which is the input format of {@link PriceAdjuster} and the
+	 * other bulk computations in the chart package. When a {@link HistoryCache} is
+	 * configured, the series is answered from it.
+	 * @param request the chart request parameters
+	 * @return the historical price series
+	 */
+	public HistorySeries historySeries(ChartRequest request) {
+		HistoryCache historyCache = this.historyCache;
+		if (historyCache != null) {
+			return historyCache.get(this.symbol, request, r -> HistorySeries.from(fetchChart(r)));
+		}
+		return HistorySeries.from(fetchChart(request));
+	}
+
+	/**
+	 * Retrieves historical price data as a {@link CompressedSeries}, which keeps long
+	 * intraday histories in a fraction of the memory of a {@link HistorySeries}. Newer
+	 * bars can be added later with {@link CompressedSeries#append(HistorySeries)}.
+	 * @param request the chart request parameters
+	 * @return the compressed price series
+	 */
+	public CompressedSeries compressedHistory(ChartRequest request) {
+		return CompressedSeries.of(historySeries(request));
+	}
+
+	/**
+	 * Retrieves historical price data together with the chart meta data (currency,
+	 * exchange time zone, regular market price and so on) of the same response.
+	 * @param request the chart request parameters
+	 * @return the historical records and chart meta data
+	 */
+	public History historyWithMeta(ChartRequest request) {
+		ChartResponse response = fetchChart(request);
+		List<HistoryRecord> records = toHistoryRecords(response, request.actions());
+		Result result = firstResult(response);
+		return new History(result != null ? result.meta() : null, records);
+	}
+
+	/**
+	 * Retrieves lightweight quote information (last price, previous close, currency and
+	 * so on) with the smallest possible chart request (range 1d, no events). This is much
+	 * cheaper than {@link #info()} for price-only lookups.
+	 * @return the fast info
+	 */
+	public FastInfo fastInfo() {
+		Result result = firstResult(fetchChart(FAST_INFO_REQUEST));
+		if (result == null) {
+			throw new YFinanceException("No chart result for " + this.symbol);
+		}
+		return FastInfo.from(result.meta());
+	}
+
+	/**
+	 * Retrieves all dividends over the maximum available period.
+	 * @return the dividends sorted by date
+	 */
+	public List<DividendEvent> dividends() {
+		return actions().dividends();
+	}
+
+	/**
+	 * Retrieves all stock splits over the maximum available period.
+	 * @return the splits sorted by date
+	 */
+	public List<SplitEvent> splits() {
+		return actions().splits();
+	}
+
+	/**
+	 * Retrieves all dividends and stock splits over the maximum available period.
+	 * @return the corporate actions
+	 */
+	public CorporateActions actions() {
+		return actions(ChartRequest.builder().period(Period.MAX).build());
+	}
+
+	/**
+	 * Retrieves dividends and stock splits within the period or start/end of the given
+	 * request. Only the {@code events} section is decoded, and the request is sent with
+	 * the coarsest interval so that the price payload stays small; the interval, pre/post
+	 * and actions settings of the given request are ignored.
+	 * @param request the chart request defining the time range
+	 * @return the corporate actions
+	 */
+	public CorporateActions actions(ChartRequest request) {
+		ChartRequest eventsRequest = ChartRequest.builder()
+			.period(request.period())
+			.start(request.start())
+			.end(request.end())
+			.interval(Interval.THREE_MONTHS)
+			.actions(true)
+			.build();
+		Result result = firstResult(fetchChart(eventsRequest));
+		return CorporateActions.from(result != null ? result.events() : null);
+	}
+
 	/**
 	 * Retrieves stock information using default modules.
 	 * @return the stock info
@@ -86,61 +277,501 @@ public class Ticker {
 	}
 
 	/**
-	 * Retrieves stock information for the specified modules.
+	 * Retrieves stock information for the specified modules. When a
+	 * {@link RevalidatingCache} is configured, a stale result may be returned; use
+	 * {@link #cachedInfo(QuoteSummaryModule...)} to tell.
 	 * @param modules the modules to query
 	 * @return the stock info
 	 */
 	public StockInfo info(QuoteSummaryModule... modules) {
-		QuoteSummaryResponse response = fetchQuoteSummary(modules);
-		return toStockInfo(response);
+		if (this.revalidatingCache != null) {
+			return cachedInfo(modules).value();
+		}
+		return toStockInfo(fetchQuoteSummary(modules));
 	}
 
-	private ChartResponse fetchChart(ChartRequest request) {
-		ChartResponse response = this.restClient.get().uri(this.urls.chartUrl(), uriBuilder -> {
-			uriBuilder.queryParam("interval", request.interval().value());
-			uriBuilder.queryParam("includePrePost", request.prePost());
-			uriBuilder.queryParam("events", request.actions() ? "div,splits" : "");
-			Instant start = request.start();
-			Instant end = request.end();
-			if (start != null && end != null) {
-				uriBuilder.queryParam("period1", start.getEpochSecond());
-				uriBuilder.queryParam("period2", end.getEpochSecond());
+	/**
+	 * Retrieves stock information using default modules through the configured
+	 * {@link RevalidatingCache}.
+	 * @return the stock info
+	 * @see #cachedInfo(QuoteSummaryModule...)
+	 */
+	public Cached<StockInfo> cachedInfo() {
+		return cachedInfo(DEFAULT_MODULES);
+	}
+
+	/**
+	 * Retrieves stock information for the specified modules through the configured
+	 * {@link RevalidatingCache}, together with the time it was fetched and whether it is
+	 * stale. Without a {@link RevalidatingCache} the information is always fetched.
+	 * @param modules the modules to query
+	 * @return the stock info
+	 */
+	public Cached<StockInfo> cachedInfo(QuoteSummaryModule... modules) {
+		RevalidatingCache revalidatingCache = this.revalidatingCache;
+		if (revalidatingCache == null) {
+			return new Cached<>(toStockInfo(fetchQuoteSummary(modules)), Instant.now(), false);
+		}
+		QuoteSummaryModule[] copy = modules.clone();
+		return revalidatingCache.get(new RevalidatingCache.Key(this.symbol, "info", List.of(copy)),
+				() -> unmodifiableInfo(toStockInfo(fetchQuoteSummary(copy))), this.fetchExecutor);
+	}
+
+	/**
+	 * Copies the nested lists and maps of a cached value into unmodifiable ones, so that
+	 * callers sharing the cached value cannot change it for each other.
+	 */
+	private static StockInfo unmodifiableInfo(StockInfo info) {
+		Map<String, Object> raw = new LinkedHashMap<>();
+		info.raw().forEach((key, value) -> raw.put(key, unmodifiableValue(value)));
+		return new StockInfo(raw);
+	}
+
+	private static @Nullable Object unmodifiableValue(@Nullable Object value) {
+		if (value instanceof Map<?, ?> map) {
+			Map<Object, @Nullable Object> copy = new LinkedHashMap<>();
+			map.forEach((k, v) -> copy.put(k, unmodifiableValue(v)));
+			return Collections.unmodifiableMap(copy);
+		}
+		if (value instanceof List<?> list) {
+			List<@Nullable Object> copy = new ArrayList<>(list.size());
+			list.forEach(v -> copy.add(unmodifiableValue(v)));
+			return Collections.unmodifiableList(copy);
+		}
+		return value;
+	}
+
+	/**
+	 * Retrieves the expiration dates of the listed options.
+	 * @return the expiration dates in ascending order, empty if the symbol has no options
+	 */
+	public List<LocalDate> options() {
+		OptionsResponse.Result result = optionsResult(fetchOptions(null));
+		return toExpirations(result);
+	}
+
+	/**
+	 * Retrieves the calls and puts of one expiration.
+	 * @param expiration the expiration date, one of {@link #options()}
+	 * @return the option chain
+	 */
+	public OptionChain optionChain(LocalDate expiration) {
+		OptionsResponse.Result result = optionsResult(fetchOptions(expiration));
+		return toOptionChain(result, expiration);
+	}
+
+	/**
+	 * Retrieves the option chains of all expirations. The expirations are discovered with
+	 * one request, which also returns the nearest chain, and the remaining chains are
+	 * fetched concurrently on the fetch executor of {@link YFinance}, sharing its crumb.
+	 * @return the option chains in ascending order of expiration
+	 */
+	public List<OptionChain> optionChains() {
+		OptionsResponse.Result first = optionsResult(fetchOptions(null));
+		List<LocalDate> expirations = toExpirations(first);
+		if (expirations.isEmpty()) {
+			return List.of();
+		}
+		LocalDate nearest = (first.options() != null && !first.options().isEmpty())
+				? toLocalDate(first.options().get(0).expirationDate()) : null;
+		List<CompletableFuture<OptionChain>> futures = new ArrayList<>(expirations.size());
+		for (LocalDate expiration : expirations) {
+			if (expiration.equals(nearest)) {
+				futures.add(CompletableFuture.completedFuture(toOptionChain(first, expiration)));
 			}
 			else {
-				uriBuilder.queryParam("range", request.period().value());
+				futures.add(CompletableFuture.supplyAsync(() -> optionChain(expiration), this.fetchExecutor));
+			}
+		}
+		List<OptionChain> chains = new ArrayList<>(futures.size());
+		try {
+			for (CompletableFuture<OptionChain> future : futures) {
+				chains.add(future.join());
+			}
+		}
+		catch (CompletionException ex) {
+			futures.forEach(future -> future.cancel(false));
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
 			}
-			uriBuilder.queryParam("crumb", this.crumbManager.crumb());
-			return uriBuilder.build(this.symbol);
-		}).header(HttpHeaders.COOKIE, this.crumbManager.cookie()).retrieve().body(ChartResponse.class);
+			throw new YFinanceException("Failed to fetch option chains for " + this.symbol, ex.getCause());
+		}
+		return chains;
+	}
+
+	/**
+	 * Retrieves the income statement from the fundamentals timeseries API.
+	 * @param frequency the reporting frequency
+	 * @return the income statement
+	 */
+	public FinancialStatement incomeStatement(Frequency frequency) {
+		return statement(Statement.INCOME, frequency);
+	}
+
+	/**
+	 * Retrieves the balance sheet from the fundamentals timeseries API.
+	 * @param frequency {@link Frequency#ANNUAL} or {@link Frequency#QUARTERLY}
+	 * @return the balance sheet
+	 * @throws IllegalArgumentException if the frequency is {@link Frequency#TRAILING}
+	 */
+	public FinancialStatement balanceSheet(Frequency frequency) {
+		return statement(Statement.BALANCE_SHEET, frequency);
+	}
+
+	/**
+	 * Retrieves the cash flow statement from the fundamentals timeseries API.
+	 * @param frequency the reporting frequency
+	 * @return the cash flow statement
+	 */
+	public FinancialStatement cashFlow(Frequency frequency) {
+		return statement(Statement.CASH_FLOW, frequency);
+	}
+
+	/**
+	 * Retrieves the annual, quarterly and trailing figures of the given statements, or of
+	 * all statements if none are given. Unlike the statement history modules of
+	 * {@link #info(QuoteSummaryModule...)}, which return four periods, the timeseries API
+	 * returns every period since 2017, and all line items of all frequencies are fetched
+	 * with a few requests.
+	 * @param statements the statements
+	 * @return the fundamentals
+	 */
+	public Fundamentals fundamentals(Statement... statements) {
+		List<Statement> selected = (statements.length == 0) ? List.of(Statement.values()) : List.of(statements);
+		List<String> metrics = new ArrayList<>();
+		List<String> keys = new ArrayList<>();
+		for (Statement statement : selected) {
+			metrics.addAll(statement.metrics());
+			for (Frequency frequency : Frequency.values()) {
+				if (statement.supports(frequency)) {
+					keys.addAll(TypeKeys.of(statement.metrics(), List.of(frequency)));
+				}
+			}
+		}
+		return Fundamentals.from(fetchTimeseries(keys), metrics);
+	}
+
+	/**
+	 * Retrieves arbitrary line items of the fundamentals timeseries API. The type keys of
+	 * all metrics and frequencies are packed into as few requests as the URL length
+	 * allows, which are sent concurrently on the fetch executor of {@link YFinance}.
+	 * @param metrics the metric names without frequency prefix, e.g. {@code TotalRevenue}
+	 * @param frequencies the frequencies
+	 * @return the fundamentals
+	 */
+	public Fundamentals fundamentals(List<String> metrics, List<Frequency> frequencies) {
+		return Fundamentals.from(fetchTimeseries(TypeKeys.of(metrics, frequencies)), metrics);
+	}
+
+	private FinancialStatement statement(Statement statement, Frequency frequency) {
+		if (!statement.supports(frequency)) {
+			throw new IllegalArgumentException(statement + " has no " + frequency + " figures");
+		}
+		return fundamentals(statement.metrics(), List.of(frequency)).get(frequency);
+	}
+
+	private List<Map<String, Object>> fetchTimeseries(List<String> keys) {
+		long period2 = Instant.now().getEpochSecond();
+		List<String> types = TypeKeys.pack(keys, TypeKeys.DEFAULT_MAX_LENGTH);
+		if (types.isEmpty()) {
+			return List.of();
+		}
+		List<CompletableFuture<List<Map<String, Object>>>> futures = new ArrayList<>(types.size() - 1);
+		for (int i = 1; i < types.size(); i++) {
+			String type = types.get(i);
+			futures.add(CompletableFuture.supplyAsync(() -> fetchTimeseries(type, period2), this.fetchExecutor));
+		}
+		// the first batch runs on the calling thread while the others are in flight
+		List<Map<String, Object>> results;
+		try {
+			results = new ArrayList<>(fetchTimeseries(types.get(0), period2));
+		}
+		catch (RuntimeException ex) {
+			futures.forEach(future -> future.cancel(false));
+			throw ex;
+		}
+		try {
+			for (CompletableFuture<List<Map<String, Object>>> future : futures) {
+				results.addAll(future.join());
+			}
+		}
+		catch (CompletionException ex) {
+			futures.forEach(future -> future.cancel(false));
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new YFinanceException("Failed to fetch fundamentals for " + this.symbol, ex.getCause());
+		}
+		return results;
+	}
+
+	private List<Map<String, Object>> fetchTimeseries(String type, long period2) {
+		@Nullable TimeseriesResponse response = this.executor.<@Nullable TimeseriesResponse>executeAuthenticated(
+				this.urls.timeseriesUrls(), (url, crumb, cookie) -> this.restClient.get().uri(url, uriBuilder -> {
+					uriBuilder.queryParam("symbol", this.symbol);
+					uriBuilder.queryParam("type", type);
+					uriBuilder.queryParam("period1", FUNDAMENTALS_START);
+					uriBuilder.queryParam("period2", period2);
+					uriBuilder.queryParam("crumb", crumb);
+					return uriBuilder.build(this.symbol);
+				}).header(HttpHeaders.COOKIE, cookie).retrieve().body(TimeseriesResponse.class));
+		if (response == null || response.timeseries() == null) {
+			throw new YFinanceException("Empty timeseries response for " + this.symbol);
+		}
+		TimeseriesResponse.Timeseries timeseries = response.timeseries();
+		if (timeseries.error() != null) {
+			throw new YFinanceException(
+					"Timeseries API error: " + timeseries.error().code() + " - " + timeseries.error().description());
+		}
+		return (timeseries.result() != null) ? timeseries.result() : List.of();
+	}
+
+	private OptionsResponse fetchOptions(@Nullable LocalDate expiration) {
+		@Nullable OptionsResponse response = this.executor.<@Nullable OptionsResponse>executeAuthenticated(
+				this.urls.optionsUrls(), (url, crumb, cookie) -> this.restClient.get().uri(url, uriBuilder -> {
+					if (expiration != null) {
+						uriBuilder.queryParam("date", expiration.atStartOfDay(ZoneOffset.UTC).toEpochSecond());
+					}
+					uriBuilder.queryParam("crumb", crumb);
+					return uriBuilder.build(this.symbol);
+				}).header(HttpHeaders.COOKIE, cookie).retrieve().body(OptionsResponse.class));
+		if (response == null) {
+			throw new YFinanceException("Empty options response for " + this.symbol);
+		}
+		return response;
+	}
+
+	private OptionsResponse.Result optionsResult(OptionsResponse response) {
+		OptionsResponse.Chain chain = response.optionChain();
+		if (chain == null) {
+			throw new YFinanceException("Empty options response for " + this.symbol);
+		}
+		if (chain.error() != null) {
+			throw new YFinanceException(
+					"Options API error: " + chain.error().code() + " - " + chain.error().description());
+		}
+		if (chain.result() == null || chain.result().isEmpty()) {
+			throw new YFinanceException("No options result for " + this.symbol);
+		}
+		return chain.result().get(0);
+	}
+
+	private OptionChain toOptionChain(OptionsResponse.Result result, LocalDate expiration) {
+		String underlying = result.underlyingSymbol() != null ? result.underlyingSymbol() : this.symbol;
+		if (result.options() != null) {
+			for (OptionsResponse.Options options : result.options()) {
+				if (toLocalDate(options.expirationDate()).equals(expiration)) {
+					return new OptionChain(underlying, expiration, OptionTable.from(options.calls()),
+							OptionTable.from(options.puts()));
+				}
+			}
+		}
+		return new OptionChain(underlying, expiration, OptionTable.empty(), OptionTable.empty());
+	}
+
+	private static List<LocalDate> toExpirations(OptionsResponse.Result result) {
+		if (result.expirationDates() == null) {
+			return List.of();
+		}
+		return result.expirationDates().stream().sorted().map(Ticker::toLocalDate).distinct().toList();
+	}
+
+	private static LocalDate toLocalDate(long epochSecond) {
+		return LocalDate.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+	}
+
+	private ChartResponse fetchChart(ChartRequest request) {
+		checkNotFound();
+		@Nullable ChartResponse response;
+		try {
+			response = this.executor.<@Nullable ChartResponse>executeAuthenticated(this.urls.chartUrls(),
+					(url, crumb, cookie) -> this.restClient.get()
+						.uri(url, uriBuilder -> chartUri(uriBuilder, request, crumb))
+						.header(HttpHeaders.COOKIE, cookie)
+						.retrieve()
+						.body(ChartResponse.class),
+					true);
+		}
+		catch (RestClientResponseException ex) {
+			// the chart API answers unknown symbols with 404 and an error body
+			ChartResponse body = (ex.getStatusCode().value() == 404) ? errorBody(ex, ChartResponse.class) : null;
+			ChartError error = (body != null && body.chart() != null) ? body.chart().error() : null;
+			if (error != null && NOT_FOUND.equals(error.code())) {
+				throw notFound("Chart API error: " + error.code() + " - " + error.description(), ex);
+			}
+			throw ex;
+		}
 		if (response == null) {
 			throw new YFinanceException("Empty chart response for " + this.symbol);
 		}
+		ChartError error = (response.chart() != null) ? response.chart().error() : null;
+		if (error != null && NOT_FOUND.equals(error.code())) {
+			throw notFound("Chart API error: " + error.code() + " - " + error.description(), null);
+		}
 		return response;
 	}
 
+	/**
+	 * Streams the chart response into {@link ChartColumns} instead of decoding it into a
+	 * {@link ChartResponse}. Used by {@link HistoryExporter}.
+	 * @param request the chart request parameters
+	 * @param buffers supplies the buffers to read into, called once per attempt since
+	 * hedged attempts run concurrently
+	 * @return the buffers of the successful attempt
+	 */
+	ChartColumns fetchColumns(ChartRequest request, Supplier<ChartColumns> buffers) {
+		checkNotFound();
+		ChartColumns columns;
+		try {
+			columns = this.executor.executeAuthenticated(this.urls.chartUrls(),
+					(url, crumb, cookie) -> this.restClient.get()
+						.uri(url, uriBuilder -> chartUri(uriBuilder, request, crumb))
+						.header(HttpHeaders.COOKIE, cookie)
+						.exchange((clientRequest, clientResponse) -> {
+							if (clientResponse.getStatusCode().isError()) {
+								// raises the same exceptions as retrieve()
+								ERROR_HANDLER.handleError(clientRequest.getURI(), clientRequest.getMethod(),
+										clientResponse);
+							}
+							return buffers.get().read(clientResponse.getBody());
+						}),
+					true);
+		}
+		catch (RestClientResponseException ex) {
+			if (ex.getStatusCode().value() == 404) {
+				ChartColumns body;
+				try {
+					body = new ChartColumns().read(new ByteArrayInputStream(ex.getResponseBodyAsByteArray()));
+				}
+				catch (YFinanceException bodyEx) {
+					throw ex;
+				}
+				if (NOT_FOUND.equals(body.errorCode())) {
+					throw notFound("Chart API error: " + body.errorCode() + " - " + body.errorDescription(), ex);
+				}
+			}
+			throw ex;
+		}
+		String code = columns.errorCode();
+		if (code != null) {
+			String message = "Chart API error: " + code + " - " + columns.errorDescription();
+			if (NOT_FOUND.equals(code)) {
+				throw notFound(message, null);
+			}
+			if (columns.size() == 0) {
+				throw new YFinanceException(message);
+			}
+		}
+		return columns;
+	}
+
+	private URI chartUri(UriBuilder uriBuilder, ChartRequest request, String crumb) {
+		uriBuilder.queryParam("interval", request.interval().value());
+		uriBuilder.queryParam("includePrePost", request.prePost());
+		if (request.actions()) {
+			uriBuilder.queryParam("events", "div,splits");
+		}
+		Instant start = request.start();
+		Instant end = request.end();
+		if (start != null && end != null) {
+			uriBuilder.queryParam("period1", start.getEpochSecond());
+			uriBuilder.queryParam("period2", end.getEpochSecond());
+		}
+		else {
+			uriBuilder.queryParam("range", request.period().value());
+		}
+		uriBuilder.queryParam("crumb", crumb);
+		return uriBuilder.build(this.symbol);
+	}
+
 	private QuoteSummaryResponse fetchQuoteSummary(QuoteSummaryModule... modules) {
 		String moduleList = Arrays.stream(modules).map(QuoteSummaryModule::value).collect(Collectors.joining(","));
-		QuoteSummaryResponse response = this.restClient.get().uri(this.urls.quoteSummaryUrl(), uriBuilder -> {
-			uriBuilder.queryParam("modules", moduleList);
-			uriBuilder.queryParam("crumb", this.crumbManager.crumb());
-			return uriBuilder.build(this.symbol);
-		}).header(HttpHeaders.COOKIE, this.crumbManager.cookie()).retrieve().body(QuoteSummaryResponse.class);
+		checkNotFound();
+		@Nullable QuoteSummaryResponse response;
+		try {
+			response = this.executor.<@Nullable QuoteSummaryResponse>executeAuthenticated(this.urls.quoteSummaryUrls(),
+					(url, crumb, cookie) -> this.restClient.get().uri(url, uriBuilder -> {
+						uriBuilder.queryParam("modules", moduleList);
+						uriBuilder.queryParam("crumb", crumb);
+						return uriBuilder.build(this.symbol);
+					}).header(HttpHeaders.COOKIE, cookie).retrieve().body(QuoteSummaryResponse.class), true);
+		}
+		catch (RestClientResponseException ex) {
+			QuoteSummaryResponse body = (ex.getStatusCode().value() == 404) ? errorBody(ex, QuoteSummaryResponse.class)
+					: null;
+			QuoteSummaryError error = (body != null && body.quoteSummary() != null) ? body.quoteSummary().error()
+					: null;
+			if (error != null && NOT_FOUND.equals(error.code())) {
+				throw quoteSummaryError(error, ex);
+			}
+			throw ex;
+		}
 		if (response == null) {
 			throw new YFinanceException("Empty quoteSummary response for " + this.symbol);
 		}
+		QuoteSummary quoteSummary = response.quoteSummary();
+		if (quoteSummary != null) {
+			QuoteSummaryError error = quoteSummary.error();
+			if (error != null && NOT_FOUND.equals(error.code())) {
+				throw quoteSummaryError(error, null);
+			}
+			if (error == null && (quoteSummary.result() == null || quoteSummary.result().isEmpty())) {
+				throw new YFinanceException("No quoteSummary result for " + this.symbol);
+			}
+		}
 		return response;
 	}
 
-	private List<HistoryRecord> toHistoryRecords(ChartResponse response, boolean includeActions) {
+	private void checkNotFound() {
+		NegativeCache negativeCache = this.negativeCache;
+		if (negativeCache != null && negativeCache.contains(this.symbol)) {
+			throw new SymbolNotFoundException(this.symbol, "Symbol not found (cached): " + this.symbol);
+		}
+	}
+
+	private YFinanceException quoteSummaryError(QuoteSummaryError error, @Nullable Throwable cause) {
+		String message = "QuoteSummary API error: " + error.code() + " - " + error.description();
+		String description = error.description();
+		if (description != null && description.startsWith(QUOTE_NOT_FOUND)) {
+			return notFound(message, cause);
+		}
+		return new YFinanceException(message, cause);
+	}
+
+	private SymbolNotFoundException notFound(String message, @Nullable Throwable cause) {
+		NegativeCache negativeCache = this.negativeCache;
+		if (negativeCache != null) {
+			negativeCache.put(this.symbol);
+		}
+		return new SymbolNotFoundException(this.symbol, message, cause);
+	}
+
+	private static <T> @Nullable T errorBody(RestClientResponseException ex, Class<T> type) {
+		try {
+			return ex.getResponseBodyAs(type);
+		}
+		catch (RuntimeException bodyEx) {
+			return null;
+		}
+	}
+
+	private @Nullable Result firstResult(ChartResponse response) {
 		if (response == null || response.chart() == null || response.chart().result() == null
 				|| response.chart().result().isEmpty()) {
 			if (response != null && response.chart() != null && response.chart().error() != null) {
 				throw new YFinanceException("Chart API error: " + response.chart().error().code() + " - "
 						+ response.chart().error().description());
 			}
+			return null;
+		}
+		return response.chart().result().get(0);
+	}
+
+	private List<HistoryRecord> toHistoryRecords(ChartResponse response, boolean includeActions) {
+		Result result = firstResult(response);
+		if (result == null) {
 			return Collections.emptyList();
 		}
-		Result result = response.chart().result().get(0);
 		List<Long> timestamps = result.timestamp();
 		if (timestamps == null || timestamps.isEmpty()) {
 			return Collections.emptyList();
@@ -0,0 +1,571 @@
+package am.ik.yfinance4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import am.ik.yfinance4j.chart.ChartRequest;
+import am.ik.yfinance4j.chart.HistorySeries;
+import am.ik.yfinance4j.quote.QuoteSummaryModule;
+import am.ik.yfinance4j.quote.StockInfo;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Downloads the history of a universe of symbols with the same {@link ChartRequest}, or
+ * their stock information with the same quoteSummary modules, handing every result to a
+ * {@link Sink} as soon as it arrives and recording the progress in a checkpoint file, so
+ * that a crashed or interrupted download resumes where it stopped.
+ * <p>
+ * Every call to {@link #run()} belongs to a run. A run ends once every symbol has been
+ * downloaded or reported as not found; until then, each call resumes the current run and
+ * skips the symbols it already completed. The next call after that starts a new run. The
+ * symbols of a run are downloaded in the order of their last update, oldest first, so
+ * symbols that were never downloaded come first and a run cut short still refreshes the
+ * stalest data.
+ * <p>
+ * A symbol is recorded as complete only after the sink returned, and the record is forced
+ * to disk before the next result is handed over. The checkpoint file is a journal with
+ * one short line per completed symbol, compacted to one line per symbol at the start of
+ * every call. A run stops early after {@link Builder#maxConsecutiveFailures(int)
+ * maxConsecutiveFailures} failures in a row, which usually means that requests are being
+ * rejected.
+ *
+ * <pre>{@code
+ * UniverseDownloader<HistorySeries> downloader = UniverseDownloader
+ *     .builder(yf, symbols, ChartRequest.builder().period(Period.MAX).build())
+ *     .checkpointFile(Path.of("backfill.checkpoint"))
+ *     .sink((symbol, series) -> store.write(symbol, series))
+ *     .build();
+ * UniverseDownloader.Result result = downloader.run();
+ * }</pre>
+ *
+ * @param <T> the type of the downloaded values
+ * @see ShardedDownloader
+ */
+public final class UniverseDownloader<T> {
+
+	private static final Logger log = LoggerFactory.getLogger(UniverseDownloader.class);
+
+	private static final String HEADER = "yfinance4j-checkpoint 1";
+
+	private final List<String> symbols;
+
+	private final Function<String, T> fetch;
+
+	private final Path checkpointFile;
+
+	private final Sink<T> sink;
+
+	private final int parallelism;
+
+	private final int maxConsecutiveFailures;
+
+	private final Clock clock;
+
+	private final BooleanSupplier cancelled;
+
+	private UniverseDownloader(Builder<T> builder, Path checkpointFile, Sink<T> sink) {
+		this.symbols = List.copyOf(new LinkedHashSet<>(builder.symbols));
+		this.fetch = builder.fetch;
+		this.checkpointFile = checkpointFile;
+		this.sink = sink;
+		this.parallelism = builder.parallelism;
+		this.maxConsecutiveFailures = builder.maxConsecutiveFailures;
+		this.clock = builder.clock;
+		this.cancelled = builder.cancelled;
+	}
+
+	/**
+	 * Creates a new {@link Builder} for downloading history.
+	 * @param yf the YFinance instance to send requests with
+	 * @param symbols the symbols to download
+	 * @param request the chart request sent for every symbol
+	 * @return a new builder
+	 */
+	public static Builder<HistorySeries> builder(YFinance yf, List<String> symbols, ChartRequest request) {
+		return new Builder<>(symbols, symbol -> yf.ticker(symbol).historySeries(request));
+	}
+
+	/**
+	 * Creates a new {@link Builder} for downloading stock information.
+	 * @param yf the YFinance instance to send requests with
+	 * @param symbols the symbols to download
+	 * @param modules the quoteSummary modules requested for every symbol
+	 * @return a new builder
+	 */
+	public static Builder<StockInfo> builder(YFinance yf, List<String> symbols, QuoteSummaryModule... modules) {
+		QuoteSummaryModule[] copy = modules.clone();
+		return new Builder<>(symbols, symbol -> yf.ticker(symbol).info(copy));
+	}
+
+	/**
+	 * Starts a new run or resumes the current one, and returns when every remaining
+	 * symbol has been attempted once or the run stopped early.
+	 * @return the outcome of this call
+	 * @throws UncheckedIOException if the checkpoint file cannot be read or written, or
+	 * the sink failed
+	 */
+	public Result run() {
+		Checkpoint checkpoint = Checkpoint.load(this.checkpointFile);
+		int run = checkpoint.run;
+		if (run == 0 || checkpoint.completes(run, this.symbols)) {
+			run++;
+			log.debug("Starting run {} of {} symbols", run, this.symbols.size());
+		}
+		List<String> pending = new ArrayList<>();
+		for (String symbol : this.symbols) {
+			Record record = checkpoint.records.get(symbol);
+			if (record == null || record.run() != run) {
+				pending.add(symbol);
+			}
+		}
+		// stable, so symbols never downloaded keep the order they were given in
+		pending.sort(Comparator.comparingLong(symbol -> {
+			Record record = checkpoint.records.get(symbol);
+			return record != null ? record.updatedAt() : 0;
+		}));
+		int skipped = this.symbols.size() - pending.size();
+		try (Journal journal = Journal.open(this.checkpointFile, run, checkpoint.records)) {
+			return download(pending, skipped, run, journal);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private Result download(List<String> pending, int skipped, int run, Journal journal) throws IOException {
+		AtomicInteger next = new AtomicInteger();
+		AtomicInteger downloaded = new AtomicInteger();
+		AtomicInteger notFound = new AtomicInteger();
+		AtomicInteger consecutiveFailures = new AtomicInteger();
+		AtomicBoolean stopped = new AtomicBoolean();
+		AtomicBoolean gaveUp = new AtomicBoolean();
+		List<String> failed = new ArrayList<>();
+		Runnable worker = () -> {
+			int i;
+			while (!stopped.get() && !this.cancelled.getAsBoolean() && (i = next.getAndIncrement()) < pending.size()) {
+				String symbol = pending.get(i);
+				T value;
+				try {
+					value = this.fetch.apply(symbol);
+				}
+				catch (SymbolNotFoundException ex) {
+					journal.append('N', symbol, this.clock.millis() / 1000);
+					notFound.incrementAndGet();
+					consecutiveFailures.set(0);
+					continue;
+				}
+				catch (RuntimeException ex) {
+					log.debug("Download of {} failed", symbol, ex);
+					synchronized (failed) {
+						failed.add(symbol);
+					}
+					if (consecutiveFailures.incrementAndGet() >= this.maxConsecutiveFailures) {
+						log.debug("Stopping run {} after {} consecutive failures", run, this.maxConsecutiveFailures);
+						gaveUp.set(true);
+						stopped.set(true);
+					}
+					continue;
+				}
+				consecutiveFailures.set(0);
+				journal.deliver(symbol, value, this.sink, this.clock.millis() / 1000);
+				downloaded.incrementAndGet();
+			}
+		};
+		ExecutorService workers = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+			Thread thread = new Thread(runnable, "yfinance4j-downloader");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<?>> futures = new ArrayList<>(this.parallelism);
+			for (int w = 0; w < this.parallelism; w++) {
+				futures.add(workers.submit(worker));
+			}
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				}
+				catch (ExecutionException ex) {
+					// the sink or the checkpoint failed; stop the other workers as well
+					stopped.set(true);
+					if (ex.getCause() instanceof UncheckedIOException io) {
+						throw io.getCause();
+					}
+					if (ex.getCause() instanceof RuntimeException runtimeException) {
+						throw runtimeException;
+					}
+					throw new YFinanceException("Download failed", ex.getCause());
+				}
+				catch (InterruptedException ex) {
+					stopped.set(true);
+					Thread.currentThread().interrupt();
+					throw new YFinanceException("Interrupted while downloading", ex);
+				}
+			}
+		}
+		finally {
+			stopped.set(true);
+			workers.shutdown();
+			// the journal is closed on return, so no worker may still be appending to it
+			awaitTermination(workers);
+		}
+		return new Result(run, downloaded.get(), skipped, notFound.get(), List.copyOf(failed), gaveUp.get());
+	}
+
+	private static void awaitTermination(ExecutorService workers) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				if (workers.awaitTermination(1, TimeUnit.SECONDS)) {
+					break;
+				}
+			}
+			catch (InterruptedException ex) {
+				interrupted = true;
+				workers.shutdownNow();
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Receives the downloaded value of each symbol. The sink is called by one thread at a
+	 * time, and a symbol counts as complete once the call returns, so a sink should
+	 * persist the value before returning.
+	 *
+	 * @param <T> the type of the downloaded values
+	 */
+	@FunctionalInterface
+	public interface Sink<T> {
+
+		/**
+		 * Called with the downloaded value of a symbol.
+		 * @param symbol the symbol
+		 * @param value the history or stock information
+		 * @throws IOException if the value cannot be stored, which stops the download
+		 */
+		void accept(String symbol, T value) throws IOException;
+
+	}
+
+	/**
+	 * The outcome of a call to {@link #run()}.
+	 *
+	 * @param run the number of the run, starting at 1
+	 * @param downloaded the number of symbols downloaded and handed to the sink
+	 * @param skipped the number of symbols already completed by an earlier call in the
+	 * same run
+	 * @param notFound the number of symbols reported as not found, which are complete as
+	 * well
+	 * @param failed the symbols that failed and are retried by the next call
+	 * @param stopped whether the run stopped early after too many consecutive failures
+	 */
+	public record Result(int run, int downloaded, int skipped, int notFound, List<String> failed, boolean stopped) {
+
+		/**
+		 * Returns whether every symbol of the run is complete, so that the next call
+		 * starts a new run.
+		 * @return whether the run is complete
+		 */
+		public boolean complete() {
+			return this.failed.isEmpty() && !this.stopped;
+		}
+
+	}
+
+	private record Record(int run, long updatedAt, char status) {
+	}
+
+	/**
+	 * The state replayed from a checkpoint file: the current run and the last record of
+	 * every symbol.
+	 */
+	private static final class Checkpoint {
+
+		private int run;
+
+		private final Map<String, Record> records = new HashMap<>();
+
+		static Checkpoint load(Path file) {
+			Checkpoint checkpoint = new Checkpoint();
+			String content;
+			try {
+				content = Files.readString(file, StandardCharsets.UTF_8);
+			}
+			catch (NoSuchFileException ex) {
+				return checkpoint;
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			// only terminated lines count; a torn last line left by a crash is ignored
+			String[] lines = content.substring(0, content.lastIndexOf('\n') + 1).split("\n");
+			if (lines.length == 0 || lines[0].isEmpty()) {
+				return checkpoint;
+			}
+			if (!HEADER.equals(lines[0])) {
+				throw new UncheckedIOException(new IOException("Not a checkpoint file: " + file));
+			}
+			for (int i = 1; i < lines.length; i++) {
+				if (!checkpoint.replay(lines[i])) {
+					throw new UncheckedIOException(new IOException("Malformed line in " + file + ": " + lines[i]));
+				}
+			}
+			return checkpoint;
+		}
+
+		private boolean replay(String line) {
+			String[] fields = line.split("\t", -1);
+			try {
+				if (fields.length == 2 && fields[0].equals("R")) {
+					this.run = Integer.parseInt(fields[1]);
+					return true;
+				}
+				if (fields.length == 4 && (fields[0].equals("D") || fields[0].equals("N"))) {
+					this.records.put(fields[2],
+							new Record(Integer.parseInt(fields[1]), Long.parseLong(fields[3]), fields[0].charAt(0)));
+					return true;
+				}
+			}
+			catch (NumberFormatException ex) {
+				// malformed
+			}
+			return false;
+		}
+
+		boolean completes(int run, List<String> symbols) {
+			for (String symbol : symbols) {
+				Record record = this.records.get(symbol);
+				if (record == null || record.run() != run) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+	/**
+	 * Append-only writer of checkpoint records. Opening it compacts the file to the
+	 * current run and the last record of every symbol.
+	 */
+	private static final class Journal implements AutoCloseable {
+
+		private final FileChannel channel;
+
+		private final int run;
+
+		private Journal(FileChannel channel, int run) {
+			this.channel = channel;
+			this.run = run;
+		}
+
+		static Journal open(Path file, int run, Map<String, Record> records) throws IOException {
+			Path directory = file.toAbsolutePath().getParent();
+			Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+			try {
+				try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+					writer.write(HEADER);
+					writer.newLine();
+					writer.write("R\t" + run);
+					writer.newLine();
+					for (Map.Entry<String, Record> entry : new LinkedHashMap<>(records).entrySet()) {
+						Record record = entry.getValue();
+						writer.write(record.status() + "\t" + record.run() + "\t" + entry.getKey() + "\t"
+								+ record.updatedAt());
+						writer.newLine();
+					}
+				}
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			finally {
+				Files.deleteIfExists(temp);
+			}
+			return new Journal(FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND), run);
+		}
+
+		synchronized <T> void deliver(String symbol, T value, Sink<T> sink, long updatedAt) {
+			try {
+				sink.accept(symbol, value);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			append('D', symbol, updatedAt);
+		}
+
+		synchronized void append(char status, String symbol, long updatedAt) {
+			byte[] line = (status + "\t" + this.run + "\t" + symbol + "\t" + updatedAt + "\n")
+				.getBytes(StandardCharsets.UTF_8);
+			try {
+				ByteBuffer buffer = ByteBuffer.wrap(line);
+				while (buffer.hasRemaining()) {
+					this.channel.write(buffer);
+				}
+				this.channel.force(false);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.channel.close();
+		}
+
+	}
+
+	/**
+	 * Builder for {@link UniverseDownloader}.
+	 *
+	 * @param <T> the type of the downloaded values
+	 */
+	public static final class Builder<T> {
+
+		private final List<String> symbols;
+
+		private final Function<String, T> fetch;
+
+		private @Nullable Path checkpointFile;
+
+		private @Nullable Sink<T> sink;
+
+		private int parallelism = 4;
+
+		private int maxConsecutiveFailures = 20;
+
+		private Clock clock = Clock.systemUTC();
+
+		private BooleanSupplier cancelled = () -> false;
+
+		private Builder(List<String> symbols, Function<String, T> fetch) {
+			this.symbols = symbols;
+			this.fetch = fetch;
+		}
+
+		/**
+		 * Returns a copy of this builder for a subset of the symbols, used by
+		 * {@link ShardedDownloader} to download one shard.
+		 */
+		Builder<T> forShard(List<String> symbols, Path checkpointFile, BooleanSupplier cancelled) {
+			Builder<T> copy = new Builder<>(symbols, this.fetch);
+			copy.checkpointFile = checkpointFile;
+			copy.sink = this.sink;
+			copy.parallelism = this.parallelism;
+			copy.maxConsecutiveFailures = this.maxConsecutiveFailures;
+			copy.clock = this.clock;
+			copy.cancelled = cancelled;
+			return copy;
+		}
+
+		List<String> symbols() {
+			return this.symbols;
+		}
+
+		/**
+		 * Sets the file that progress is recorded in. Required.
+		 * @param checkpointFile the checkpoint file, created if it does not exist
+		 * @return this builder
+		 */
+		public Builder<T> checkpointFile(Path checkpointFile) {
+			this.checkpointFile = checkpointFile;
+			return this;
+		}
+
+		/**
+		 * Sets the sink that receives the downloaded values. Required.
+		 * @param sink the sink
+		 * @return this builder
+		 */
+		public Builder<T> sink(Sink<T> sink) {
+			this.sink = sink;
+			return this;
+		}
+
+		/**
+		 * Sets the number of symbols downloaded concurrently. Defaults to 4.
+		 * @param parallelism the number of concurrent downloads, at least 1
+		 * @return this builder
+		 */
+		public Builder<T> parallelism(int parallelism) {
+			if (parallelism < 1) {
+				throw new IllegalArgumentException("parallelism must be at least 1");
+			}
+			this.parallelism = parallelism;
+			return this;
+		}
+
+		/**
+		 * Sets the number of failures in a row after which a run stops early. Defaults to
+		 * 20.
+		 * @param maxConsecutiveFailures the number of failures, at least 1
+		 * @return this builder
+		 */
+		public Builder<T> maxConsecutiveFailures(int maxConsecutiveFailures) {
+			if (maxConsecutiveFailures < 1) {
+				throw new IllegalArgumentException("maxConsecutiveFailures must be at least 1");
+			}
+			this.maxConsecutiveFailures = maxConsecutiveFailures;
+			return this;
+		}
+
+		/**
+		 * Sets the clock that update times are recorded with. Defaults to the system UTC
+		 * clock.
+		 * @param clock the clock
+		 * @return this builder
+		 */
+		public Builder<T> clock(Clock clock) {
+			this.clock = clock;
+			return this;
+		}
+
+		/**
+		 * Builds the {@link UniverseDownloader} instance.
+		 * @return a new UniverseDownloader
+		 * @throws IllegalStateException if no checkpoint file or sink is set
+		 */
+		public UniverseDownloader<T> build() {
+			if (this.checkpointFile == null) {
+				throw new IllegalStateException("checkpointFile is required");
+			}
+			if (this.sink == null) {
+				throw new IllegalStateException("sink is required");
+			}
+			return new UniverseDownloader<>(this, this.checkpointFile, this.sink);
+		}
+
+	}
+
+}
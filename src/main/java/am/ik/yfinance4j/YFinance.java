@@ -1,5 +1,23 @@
 package am.ik.yfinance4j;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import am.ik.yfinance4j.chart.ChartRequest;
+import am.ik.yfinance4j.chart.HistoryPanel;
+import am.ik.yfinance4j.chart.HistorySeries;
+import am.ik.yfinance4j.quote.QuoteResponse;
+import am.ik.yfinance4j.quote.QuoteResponse.QuoteResult;
+import am.ik.yfinance4j.quote.StockInfo;
+import am.ik.yfinance4j.search.SearchResponse;
+import am.ik.yfinance4j.search.SearchResponse.SearchQuote;
+import am.ik.yfinance4j.search.SymbolEntry;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.client.RestClient;
 
 /**
@@ -14,8 +32,14 @@ import org.springframework.web.client.RestClient;
  * Ticker ticker = yf.ticker("AAPL");
  * List<HistoryRecord> history = ticker.history();
  * }</pre>
+ *
+ * Use {@link #builder(RestClient)} to configure optional features such as a custom
+ * {@link HostRouter} or {@link HedgingPolicy hedged requests}. Close the instance when it
+ * is no longer needed to stop the threads of the default fetch executor.
  */
-public class YFinance {
+public class YFinance implements AutoCloseable {
+
+	private static final int DEFAULT_FETCH_PARALLELISM = 8;
 
 	private final RestClient restClient;
 
@@ -23,6 +47,20 @@ public class YFinance {
 
 	private final YFinanceUrls urls;
 
+	private final HostRouter hostRouter;
+
+	private final RequestExecutor executor;
+
+	private final ExecutorService fetchExecutor;
+
+	private final boolean ownsFetchExecutor;
+
+	private final @Nullable NegativeCache negativeCache;
+
+	private final @Nullable HistoryCache historyCache;
+
+	private final @Nullable RevalidatingCache revalidatingCache;
+
 	/**
 	 * Creates a new YFinance instance with the given RestClient and default URLs.
 	 * @param restClient the RestClient to use for HTTP calls (must have appropriate
@@ -59,9 +97,35 @@ public class YFinance {
 	 * @param urls the URLs to use for Yahoo Finance API calls
 	 */
 	public YFinance(RestClient restClient, CrumbManager crumbManager, YFinanceUrls urls) {
-		this.restClient = restClient;
-		this.crumbManager = crumbManager;
-		this.urls = urls;
+		this(builder(restClient).crumbManager(crumbManager).urls(urls));
+	}
+
+	private YFinance(Builder builder) {
+		this.restClient = builder.restClient;
+		this.urls = builder.urls;
+		this.crumbManager = builder.crumbManager != null ? builder.crumbManager
+				: new CrumbManager(builder.restClient, builder.urls);
+		this.hostRouter = builder.hostRouter != null ? builder.hostRouter : new HostRouter();
+		this.executor = new RequestExecutor(this.crumbManager, this.hostRouter, builder.hedging);
+		this.ownsFetchExecutor = builder.fetchExecutor == null;
+		this.fetchExecutor = builder.fetchExecutor != null ? builder.fetchExecutor
+				: Executors.newFixedThreadPool(DEFAULT_FETCH_PARALLELISM, runnable -> {
+					Thread thread = new Thread(runnable, "yfinance4j-fetch");
+					thread.setDaemon(true);
+					return thread;
+				});
+		this.negativeCache = builder.negativeCache;
+		this.historyCache = builder.historyCache;
+		this.revalidatingCache = builder.revalidatingCache;
+	}
+
+	/**
+	 * Creates a new {@link Builder} for the given RestClient.
+	 * @param restClient the RestClient to use for HTTP calls
+	 * @return a new builder
+	 */
+	public static Builder builder(RestClient restClient) {
+		return new Builder(restClient);
 	}
 
 	/**
@@ -70,7 +134,286 @@ public class YFinance {
 	 * @return the ticker instance
 	 */
 	public Ticker ticker(String symbol) {
-		return new Ticker(symbol, this.restClient, this.crumbManager, this.urls);
+		return new Ticker(symbol, this.restClient, this.urls, this.executor, this.fetchExecutor, this.negativeCache,
+				this.historyCache, this.revalidatingCache);
+	}
+
+	/**
+	 * Retrieves the historical price data of several symbols with the same request and
+	 * aligns it on one timestamp axis, similar to Python yfinance's {@code download}.
+	 * Daily and coarser bars are aligned on their trading date, see
+	 * {@link HistoryPanel#of(Map, Interval)}.
+	 * @param symbols the ticker symbols, in the column order of the panel
+	 * @param request the chart request parameters
+	 * @return the aligned panel
+	 * @see HistoryPanel#forwardFill()
+	 */
+	public HistoryPanel download(List<String> symbols, ChartRequest request) {
+		Map<String, HistorySeries> series = new LinkedHashMap<>();
+		for (String symbol : symbols) {
+			series.computeIfAbsent(symbol, s -> ticker(s).historySeries(request));
+		}
+		return HistoryPanel.of(series, request.interval());
+	}
+
+	/**
+	 * Retrieves the current quotes of several symbols with a single request to the batch
+	 * quote API.
+	 * @param symbols the ticker symbols
+	 * @return the quotes in the order returned by the API; unknown symbols are omitted
+	 */
+	public List<StockInfo> quotes(List<String> symbols) {
+		return quotes(symbols, List.of());
+	}
+
+	/**
+	 * Retrieves selected fields of the current quotes of several symbols with a single
+	 * request to the batch quote API. Limiting the fields reduces the response size
+	 * considerably.
+	 * @param symbols the ticker symbols
+	 * @param fields the quote fields to retrieve (e.g. "regularMarketPrice"), or an empty
+	 * list for all fields
+	 * @return the quotes in the order returned by the API; unknown symbols are omitted
+	 */
+	public List<StockInfo> quotes(List<String> symbols, List<String> fields) {
+		if (symbols.isEmpty()) {
+			return List.of();
+		}
+		String symbolList = String.join(",", symbols);
+		@Nullable QuoteResponse response = this.executor.<@Nullable QuoteResponse>executeAuthenticated(this.urls.quoteUrls(),
+				(url, crumb, cookie) -> this.restClient.get().uri(url, uriBuilder -> {
+					uriBuilder.queryParam("symbols", symbolList);
+					if (!fields.isEmpty()) {
+						uriBuilder.queryParam("fields", String.join(",", fields));
+					}
+					uriBuilder.queryParam("crumb", crumb);
+					return uriBuilder.build();
+				}).header(HttpHeaders.COOKIE, cookie).retrieve().body(QuoteResponse.class));
+		QuoteResult result = (response != null) ? response.quoteResponse() : null;
+		if (result == null) {
+			throw new YFinanceException("Empty quote response for " + symbolList);
+		}
+		if (result.error() != null) {
+			throw new YFinanceException(
+					"Quote API error: " + result.error().code() + " - " + result.error().description());
+		}
+		List<Map<String, Object>> quotes = result.result();
+		if (quotes == null) {
+			return List.of();
+		}
+		List<StockInfo> infos = new ArrayList<>(quotes.size());
+		for (Map<String, Object> quote : quotes) {
+			infos.add(new StockInfo(quote));
+		}
+		return infos;
+	}
+
+	/**
+	 * Searches symbols by symbol or company name with the search API. The search API does
+	 * not require a crumb, so no cookie is fetched. For autocomplete, use a
+	 * {@link SymbolLookup}, which answers repeated prefixes from a local index.
+	 * @param query the query, e.g. "appl" or "toyota"
+	 * @param limit the maximum number of results
+	 * @return the matching symbols in the order of relevance returned by the API
+	 */
+	public List<SymbolEntry> search(String query, int limit) {
+		@Nullable SearchResponse response = this.executor.<@Nullable SearchResponse>execute(this.urls.searchUrls(),
+				url -> this.restClient.get().uri(url, uriBuilder -> {
+					uriBuilder.queryParam("q", "{q}");
+					uriBuilder.queryParam("quotesCount", limit);
+					uriBuilder.queryParam("newsCount", 0);
+					uriBuilder.queryParam("listsCount", 0);
+					return uriBuilder.build(query);
+				}).retrieve().body(SearchResponse.class));
+		if (response == null) {
+			throw new YFinanceException("Empty search response for " + query);
+		}
+		List<SearchQuote> quotes = response.quotes();
+		if (quotes == null) {
+			return List.of();
+		}
+		List<SymbolEntry> entries = new ArrayList<>(quotes.size());
+		for (SearchQuote quote : quotes) {
+			if (quote.symbol() != null) {
+				entries.add(SymbolEntry.from(quote));
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Returns the {@link HostRouter} used to choose between equivalent hosts.
+	 * @return the host router
+	 */
+	public HostRouter hostRouter() {
+		return this.hostRouter;
+	}
+
+	/**
+	 * Returns the {@link NegativeCache} of symbols reported as not found.
+	 * @return the negative cache, or {@code null} if none is configured
+	 */
+	public @Nullable NegativeCache negativeCache() {
+		return this.negativeCache;
+	}
+
+	/**
+	 * Returns the {@link HistoryCache} that chart requests are answered from.
+	 * @return the history cache, or {@code null} if none is configured
+	 */
+	public @Nullable HistoryCache historyCache() {
+		return this.historyCache;
+	}
+
+	/**
+	 * Returns the {@link RevalidatingCache} that history and stock information are served
+	 * from.
+	 * @return the revalidating cache, or {@code null} if none is configured
+	 */
+	public @Nullable RevalidatingCache revalidatingCache() {
+		return this.revalidatingCache;
+	}
+
+	/**
+	 * Shuts down the default fetch executor. Requests that are already running complete,
+	 * but requests that fan out fail afterwards. An executor configured with
+	 * {@link Builder#fetchExecutor(ExecutorService)} is left to the caller.
+	 */
+	@Override
+	public void close() {
+		if (this.ownsFetchExecutor) {
+			this.fetchExecutor.shutdown();
+		}
+	}
+
+	/**
+	 * Builder for {@link YFinance}.
+	 */
+	public static final class Builder {
+
+		private final RestClient restClient;
+
+		private YFinanceUrls urls = YFinanceUrls.DEFAULT;
+
+		private @Nullable CrumbManager crumbManager;
+
+		private @Nullable HostRouter hostRouter;
+
+		private @Nullable HedgingPolicy hedging;
+
+		private @Nullable ExecutorService fetchExecutor;
+
+		private @Nullable NegativeCache negativeCache;
+
+		private @Nullable HistoryCache historyCache;
+
+		private @Nullable RevalidatingCache revalidatingCache;
+
+		private Builder(RestClient restClient) {
+			this.restClient = restClient;
+		}
+
+		/**
+		 * Sets the URLs to use for Yahoo Finance API calls.
+		 * @param urls the URLs
+		 * @return this builder
+		 */
+		public Builder urls(YFinanceUrls urls) {
+			this.urls = urls;
+			return this;
+		}
+
+		/**
+		 * Sets the CrumbManager to use for authentication. Defaults to a new one using
+		 * the configured URLs.
+		 * @param crumbManager the crumb manager
+		 * @return this builder
+		 */
+		public Builder crumbManager(CrumbManager crumbManager) {
+			this.crumbManager = crumbManager;
+			return this;
+		}
+
+		/**
+		 * Sets the HostRouter used to choose between equivalent hosts. Defaults to a
+		 * router with default settings.
+		 * @param hostRouter the host router
+		 * @return this builder
+		 */
+		public Builder hostRouter(HostRouter hostRouter) {
+			this.hostRouter = hostRouter;
+			return this;
+		}
+
+		/**
+		 * Enables hedged requests for the chart and quoteSummary APIs. Disabled by
+		 * default.
+		 * @param hedging the hedging policy
+		 * @return this builder
+		 */
+		public Builder hedging(HedgingPolicy hedging) {
+			this.hedging = hedging;
+			return this;
+		}
+
+		/**
+		 * Sets the executor used for requests that fan out, such as fetching every
+		 * expiration in {@link Ticker#optionChains()}. Defaults to a fixed pool of 8
+		 * daemon threads that is shut down by {@link YFinance#close()}. The given
+		 * executor is not shut down.
+		 * @param fetchExecutor the executor
+		 * @return this builder
+		 */
+		public Builder fetchExecutor(ExecutorService fetchExecutor) {
+			this.fetchExecutor = fetchExecutor;
+			return this;
+		}
+
+		/**
+		 * Sets the cache of symbols reported as not found. Chart and quoteSummary
+		 * requests for a cached symbol fail with a {@link SymbolNotFoundException}
+		 * without being sent. Disabled by default.
+		 * @param negativeCache the negative cache
+		 * @return this builder
+		 */
+		public Builder negativeCache(NegativeCache negativeCache) {
+			this.negativeCache = negativeCache;
+			return this;
+		}
+
+		/**
+		 * Sets the cache that {@link Ticker#historySeries(ChartRequest)} and
+		 * {@link Ticker#compressedHistory(ChartRequest)} answer overlapping time ranges
+		 * from. {@link Ticker#history(ChartRequest)} is not cached, so that its records
+		 * keep the prices exactly as sent. Disabled by default.
+		 * @param historyCache the history cache
+		 * @return this builder
+		 */
+		public Builder historyCache(HistoryCache historyCache) {
+			this.historyCache = historyCache;
+			return this;
+		}
+
+		/**
+		 * Sets the stale-while-revalidate cache that {@link Ticker#history(ChartRequest)}
+		 * and {@link Ticker#info()} are served from, so that an expired value is returned
+		 * immediately while it is refreshed in the background. Disabled by default.
+		 * @param revalidatingCache the revalidating cache
+		 * @return this builder
+		 */
+		public Builder revalidatingCache(RevalidatingCache revalidatingCache) {
+			this.revalidatingCache = revalidatingCache;
+			return this;
+		}
+
+		/**
+		 * Builds the {@link YFinance} instance.
+		 * @return a new YFinance
+		 */
+		public YFinance build() {
+			return new YFinance(this);
+		}
+
 	}
 
 }
@@ -0,0 +1,602 @@
+package am.ik.yfinance4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * HTTP gateway that serves the Yahoo Finance API shapes of {@link YFinanceUrls} to other
+ * yfinance4j instances, so that many JVMs share one upstream session instead of each
+ * holding its own cookie, crumb and request stream.
+ * <p>
+ * The gateway holds the only {@link CrumbManager}. Its own cookie and crumb endpoints
+ * hand out placeholder values, and the crumb sent by clients is replaced by the upstream
+ * one. Successful responses are cached for {@link Builder#ttl(Duration) ttl} per path and
+ * query, identical requests in flight are coalesced into one upstream request, and every
+ * upstream request waits for a shared rate limiter. Error responses are passed through
+ * unchanged and are not cached. Failover and hedging between upstream hosts work as in
+ * {@link YFinance}.
+ * <p>
+ * The gateway listens on the loopback address unless another one is set with
+ * {@link Builder#address(InetAddress)}; it has no authentication of its own, so only bind
+ * it to addresses that trusted clients reach. Clients point their URLs at the gateway
+ * with {@link #urls()}:
+ *
+ * <pre>{@code
+ * YFinanceGateway gateway = YFinanceGateway.builder(restClient)
+ *     .address(InetAddress.getByName("10.0.0.5"))
+ *     .port(8089)
+ *     .build();
+ * gateway.start();
+ *
+ * // in another JVM
+ * YFinance yf = new YFinance(restClient, YFinanceGateway.urls("http://10.0.0.5:8089"));
+ * }</pre>
+ *
+ * The gateway is built on the JDK's {@code com.sun.net.httpserver}, which leaves
+ * {@code TCP_NODELAY} off, so that small responses can wait for the client's delayed ACK.
+ * Start the JVM with {@code -Dsun.net.httpserver.nodelay=true} to avoid that.
+ */
+public final class YFinanceGateway implements AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(YFinanceGateway.class);
+
+	private static final String COOKIE_PATH = "/cookie";
+
+	private static final String CRUMB_PATH = "/crumb";
+
+	private static final String CLIENT_COOKIE = "yfinance4j-gateway=1; Path=/";
+
+	private static final String CLIENT_CRUMB = "gateway";
+
+	private final RestClient restClient;
+
+	private final List<Route> routes;
+
+	private final RequestExecutor executor;
+
+	private final RateLimiter rateLimiter;
+
+	private final long ttlMillis;
+
+	private final Clock clock;
+
+	private final HttpServer server;
+
+	private final ExecutorService serverExecutor;
+
+	private final Map<String, Entry> cache;
+
+	private final Map<String, CompletableFuture<Upstream>> inFlight = new ConcurrentHashMap<>();
+
+	private final AtomicLong upstreamRequests = new AtomicLong();
+
+	private YFinanceGateway(Builder builder) {
+		this.restClient = builder.restClient;
+		YFinanceUrls urls = builder.urls;
+		this.routes = List.of(new Route("/v8/finance/chart/", urls.chartUrls(), true, true),
+				new Route("/v10/finance/quoteSummary/", urls.quoteSummaryUrls(), true, true),
+				new Route("/v7/finance/quote", urls.quoteUrls(), false, false),
+				new Route("/v7/finance/options/", urls.optionsUrls(), true, false),
+				new Route("/ws/fundamentals-timeseries/v1/finance/timeseries/", urls.timeseriesUrls(), true, false),
+				new Route("/v1/finance/search", urls.searchUrls(), false, false));
+		CrumbManager crumbManager = builder.crumbManager != null ? builder.crumbManager
+				: new CrumbManager(builder.restClient, urls);
+		HostRouter hostRouter = builder.hostRouter != null ? builder.hostRouter : new HostRouter();
+		this.executor = new RequestExecutor(crumbManager, hostRouter, builder.hedging);
+		this.rateLimiter = new RateLimiter(builder.permitsPerSecond, builder.burst);
+		this.ttlMillis = builder.ttl.toMillis();
+		this.clock = builder.clock;
+		int maxEntries = builder.maxEntries;
+		this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxEntries;
+			}
+		};
+		try {
+			this.server = HttpServer.create(new InetSocketAddress(builder.address, builder.port), 0);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		this.serverExecutor = Executors.newFixedThreadPool(builder.threads, runnable -> {
+			Thread thread = new Thread(runnable, "yfinance4j-gateway");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.server.setExecutor(this.serverExecutor);
+		this.server.createContext("/", this::handle);
+	}
+
+	/**
+	 * Creates a new {@link Builder} for the given RestClient, which is used for the
+	 * upstream requests.
+	 * @param restClient the RestClient to use for upstream HTTP calls
+	 * @return a new builder
+	 */
+	public static Builder builder(RestClient restClient) {
+		return new Builder(restClient);
+	}
+
+	/**
+	 * Returns the URLs for clients of a gateway at the given base URL.
+	 * @param baseUrl the base URL of the gateway, e.g. {@code "http://gateway:8089"}
+	 * @return the URLs of every API shape served by the gateway
+	 */
+	public static YFinanceUrls urls(String baseUrl) {
+		String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+		return YFinanceUrls.builder()
+			.cookieUrl(base + COOKIE_PATH)
+			.crumbUrl(base + CRUMB_PATH)
+			.chartUrl(base + "/v8/finance/chart/{ticker}")
+			.quoteSummaryUrl(base + "/v10/finance/quoteSummary/{ticker}")
+			.quoteUrl(base + "/v7/finance/quote")
+			.optionsUrl(base + "/v7/finance/options/{ticker}")
+			.timeseriesUrl(base + "/ws/fundamentals-timeseries/v1/finance/timeseries/{ticker}")
+			.searchUrl(base + "/v1/finance/search")
+			.build();
+	}
+
+	/**
+	 * Returns the URLs for clients of this gateway on the address it listens on, or on
+	 * {@code localhost} when it listens on the wildcard address.
+	 * @return the URLs of every API shape served by the gateway
+	 */
+	public YFinanceUrls urls() {
+		InetAddress address = address();
+		String host = address.isAnyLocalAddress() ? "localhost"
+				: address instanceof Inet6Address ? "[" + address.getHostAddress() + "]" : address.getHostAddress();
+		return urls("http://" + host + ":" + port());
+	}
+
+	/**
+	 * Starts serving requests.
+	 */
+	public void start() {
+		this.server.start();
+	}
+
+	/**
+	 * Returns the address the gateway listens on.
+	 * @return the address, the loopback address by default
+	 */
+	public InetAddress address() {
+		return this.server.getAddress().getAddress();
+	}
+
+	/**
+	 * Returns the port the gateway listens on, which is useful when it was built with
+	 * port 0.
+	 * @return the port
+	 */
+	public int port() {
+		return this.server.getAddress().getPort();
+	}
+
+	/**
+	 * Returns how many requests were sent upstream, not counting failover attempts and
+	 * crumb refreshes.
+	 * @return the number of upstream requests
+	 */
+	public long upstreamRequests() {
+		return this.upstreamRequests.get();
+	}
+
+	/**
+	 * Drops all cached responses.
+	 */
+	public void clear() {
+		synchronized (this.cache) {
+			this.cache.clear();
+		}
+	}
+
+	/**
+	 * Stops the gateway, waiting at most one second for exchanges in progress.
+	 */
+	@Override
+	public void close() {
+		this.server.stop(1);
+		this.serverExecutor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			if (!"GET".equals(exchange.getRequestMethod())) {
+				send(exchange, new Upstream(405, MediaType.TEXT_PLAIN_VALUE, "Method Not Allowed"), null);
+				return;
+			}
+			String path = exchange.getRequestURI().getPath();
+			if (COOKIE_PATH.equals(path)) {
+				exchange.getResponseHeaders().set(HttpHeaders.SET_COOKIE, CLIENT_COOKIE);
+				send(exchange, new Upstream(200, MediaType.TEXT_PLAIN_VALUE, ""), null);
+				return;
+			}
+			if (CRUMB_PATH.equals(path)) {
+				send(exchange, new Upstream(200, MediaType.TEXT_PLAIN_VALUE, CLIENT_CRUMB), null);
+				return;
+			}
+			Route route = route(path);
+			if (route == null) {
+				send(exchange, new Upstream(404, MediaType.TEXT_PLAIN_VALUE, "Not Found"), null);
+				return;
+			}
+			String ticker = route.ticker() ? path.substring(route.prefix().length()) : null;
+			Map<String, String> params = queryParams(exchange.getRequestURI().getRawQuery());
+			// sorted without the client's crumb, so equivalent requests share one key
+			String key = path + "?" + params;
+			send(exchange, serve(key, route, ticker, params), key);
+		}
+		catch (RuntimeException ex) {
+			log.debug("Failed to serve {}", exchange.getRequestURI(), ex);
+			send(exchange, new Upstream(502, MediaType.TEXT_PLAIN_VALUE, "Bad Gateway"), null);
+		}
+		finally {
+			exchange.close();
+		}
+	}
+
+	private Upstream serve(String key, Route route, @Nullable String ticker, Map<String, String> params) {
+		Upstream cached = cached(key);
+		if (cached != null) {
+			return cached.withSource("HIT");
+		}
+		CompletableFuture<Upstream> future = new CompletableFuture<>();
+		CompletableFuture<Upstream> existing = this.inFlight.putIfAbsent(key, future);
+		if (existing != null) {
+			return await(existing).withSource("COALESCED");
+		}
+		try {
+			Upstream upstream = fetch(route, ticker, params);
+			if (upstream.status() == 200) {
+				synchronized (this.cache) {
+					this.cache.put(key, new Entry(upstream, this.clock.millis() + this.ttlMillis));
+				}
+			}
+			future.complete(upstream);
+			return upstream;
+		}
+		catch (RuntimeException ex) {
+			future.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.inFlight.remove(key, future);
+		}
+	}
+
+	private @Nullable Upstream cached(String key) {
+		synchronized (this.cache) {
+			Entry entry = this.cache.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (entry.expiresAt() < this.clock.millis()) {
+				this.cache.remove(key);
+				return null;
+			}
+			return entry.upstream();
+		}
+	}
+
+	private static Upstream await(CompletableFuture<Upstream> future) {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new YFinanceException("Interrupted while waiting for a coalesced request", ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new YFinanceException("Coalesced request failed", ex.getCause());
+		}
+	}
+
+	private Upstream fetch(Route route, @Nullable String ticker, Map<String, String> params) {
+		this.rateLimiter.acquire();
+		this.upstreamRequests.incrementAndGet();
+		List<Object> variables = new ArrayList<>(params.size() + 1);
+		if (ticker != null) {
+			variables.add(ticker);
+		}
+		try {
+			ResponseEntity<String> response = this.executor.executeAuthenticated(route.upstream(),
+					(url, crumb, cookie) -> this.restClient.get().uri(url, uriBuilder -> {
+						List<Object> values = new ArrayList<>(variables);
+						int i = 0;
+						for (Map.Entry<String, String> param : params.entrySet()) {
+							uriBuilder.queryParam(param.getKey(), "{p" + i++ + "}");
+							values.add(param.getValue());
+						}
+						uriBuilder.queryParam("crumb", "{crumb}");
+						values.add(crumb);
+						return uriBuilder.build(values.toArray());
+					}).header(HttpHeaders.COOKIE, cookie).retrieve().toEntity(String.class), route.hedged());
+			MediaType contentType = response.getHeaders().getContentType();
+			return new Upstream(response.getStatusCode().value(),
+					contentType != null ? contentType.toString() : MediaType.APPLICATION_JSON_VALUE,
+					response.getBody() != null ? response.getBody() : "");
+		}
+		catch (RestClientResponseException ex) {
+			HttpHeaders headers = ex.getResponseHeaders();
+			MediaType contentType = headers != null ? headers.getContentType() : null;
+			return new Upstream(ex.getStatusCode().value(),
+					contentType != null ? contentType.toString() : MediaType.APPLICATION_JSON_VALUE,
+					ex.getResponseBodyAsString());
+		}
+	}
+
+	private @Nullable Route route(String path) {
+		for (Route route : this.routes) {
+			if (route.ticker() ? path.startsWith(route.prefix()) && path.length() > route.prefix().length()
+					: path.equals(route.prefix())) {
+				return route;
+			}
+		}
+		return null;
+	}
+
+	private static Map<String, String> queryParams(@Nullable String rawQuery) {
+		Map<String, String> params = new TreeMap<>();
+		if (rawQuery == null || rawQuery.isEmpty()) {
+			return params;
+		}
+		for (String pair : rawQuery.split("&")) {
+			int eq = pair.indexOf('=');
+			String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+			String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+			if (!name.equals("crumb")) {
+				params.put(name, value);
+			}
+		}
+		return params;
+	}
+
+	private static void send(HttpExchange exchange, Upstream response, @Nullable String key) throws IOException {
+		byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, response.contentType());
+		if (key != null) {
+			exchange.getResponseHeaders().set("X-Cache", response.source());
+		}
+		exchange.sendResponseHeaders(response.status(), body.length == 0 ? -1 : body.length);
+		if (body.length > 0) {
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		}
+	}
+
+	private record Route(String prefix, List<String> upstream, boolean ticker, boolean hedged) {
+	}
+
+	private record Upstream(int status, String contentType, String body, String source) {
+
+		Upstream(int status, String contentType, String body) {
+			this(status, contentType, body, "MISS");
+		}
+
+		Upstream withSource(String source) {
+			return new Upstream(this.status, this.contentType, this.body, source);
+		}
+
+	}
+
+	private record Entry(Upstream upstream, long expiresAt) {
+	}
+
+	/**
+	 * Builder for {@link YFinanceGateway}.
+	 */
+	public static final class Builder {
+
+		private final RestClient restClient;
+
+		private YFinanceUrls urls = YFinanceUrls.DEFAULT;
+
+		private @Nullable CrumbManager crumbManager;
+
+		private @Nullable HostRouter hostRouter;
+
+		private @Nullable HedgingPolicy hedging;
+
+		private InetAddress address = InetAddress.getLoopbackAddress();
+
+		private int port;
+
+		private int threads = 16;
+
+		private Duration ttl = Duration.ofSeconds(15);
+
+		private int maxEntries = 10_000;
+
+		private double permitsPerSecond = 10;
+
+		private int burst = 10;
+
+		private Clock clock = Clock.systemUTC();
+
+		private Builder(RestClient restClient) {
+			this.restClient = restClient;
+		}
+
+		/**
+		 * Sets the upstream URLs. Defaults to {@link YFinanceUrls#DEFAULT}.
+		 * @param urls the upstream URLs
+		 * @return this builder
+		 */
+		public Builder urls(YFinanceUrls urls) {
+			this.urls = urls;
+			return this;
+		}
+
+		/**
+		 * Sets the CrumbManager used for upstream authentication. Defaults to a new one
+		 * using the configured URLs.
+		 * @param crumbManager the crumb manager
+		 * @return this builder
+		 */
+		public Builder crumbManager(CrumbManager crumbManager) {
+			this.crumbManager = crumbManager;
+			return this;
+		}
+
+		/**
+		 * Sets the HostRouter used to choose between equivalent upstream hosts. Defaults
+		 * to a router with default settings.
+		 * @param hostRouter the host router
+		 * @return this builder
+		 */
+		public Builder hostRouter(HostRouter hostRouter) {
+			this.hostRouter = hostRouter;
+			return this;
+		}
+
+		/**
+		 * Enables hedged upstream requests. Disabled by default.
+		 * @param hedging the hedging policy
+		 * @return this builder
+		 */
+		public Builder hedging(HedgingPolicy hedging) {
+			this.hedging = hedging;
+			return this;
+		}
+
+		/**
+		 * Sets the address to listen on. Defaults to the loopback address, so that only
+		 * processes on the same host can reach the gateway; clients on other hosts need
+		 * the address of a network interface, or the wildcard address for all of them.
+		 * @param address the address
+		 * @return this builder
+		 */
+		public Builder address(InetAddress address) {
+			this.address = address;
+			return this;
+		}
+
+		/**
+		 * Sets the port to listen on, or 0 for an ephemeral port. Defaults to 0.
+		 * @param port the port
+		 * @return this builder
+		 */
+		public Builder port(int port) {
+			this.port = port;
+			return this;
+		}
+
+		/**
+		 * Sets the number of threads serving requests, which bounds the number of
+		 * concurrent upstream requests. Defaults to 16.
+		 * @param threads the number of threads, at least 1
+		 * @return this builder
+		 */
+		public Builder threads(int threads) {
+			if (threads < 1) {
+				throw new IllegalArgumentException("threads must be at least 1");
+			}
+			this.threads = threads;
+			return this;
+		}
+
+		/**
+		 * Sets how long successful responses are served from the cache. Defaults to 15
+		 * seconds.
+		 * @param ttl the time to live, or zero to only coalesce concurrent requests
+		 * @return this builder
+		 */
+		public Builder ttl(Duration ttl) {
+			if (ttl.isNegative()) {
+				throw new IllegalArgumentException("ttl must not be negative");
+			}
+			this.ttl = ttl;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of cached responses. The least recently used response
+		 * is dropped first. Defaults to 10,000.
+		 * @param maxEntries the maximum number of responses, at least 1
+		 * @return this builder
+		 */
+		public Builder maxEntries(int maxEntries) {
+			if (maxEntries < 1) {
+				throw new IllegalArgumentException("maxEntries must be at least 1");
+			}
+			this.maxEntries = maxEntries;
+			return this;
+		}
+
+		/**
+		 * Sets the rate of upstream requests shared by all clients. Defaults to 10
+		 * requests per second with bursts of 10.
+		 * @param permitsPerSecond the sustained number of upstream requests per second
+		 * @param burst the number of requests allowed at once after an idle period
+		 * @return this builder
+		 */
+		public Builder rateLimit(double permitsPerSecond, int burst) {
+			if (!(permitsPerSecond > 0)) {
+				throw new IllegalArgumentException("permitsPerSecond must be positive");
+			}
+			if (burst < 1) {
+				throw new IllegalArgumentException("burst must be at least 1");
+			}
+			this.permitsPerSecond = permitsPerSecond;
+			this.burst = burst;
+			return this;
+		}
+
+		/**
+		 * Sets the clock that cache expiry is measured with. Defaults to the system UTC
+		 * clock.
+		 * @param clock the clock
+		 * @return this builder
+		 */
+		public Builder clock(Clock clock) {
+			this.clock = clock;
+			return this;
+		}
+
+		/**
+		 * Builds the {@link YFinanceGateway} instance. The gateway is bound to its port
+		 * but does not serve requests until {@link YFinanceGateway#start()} is called.
+		 * @return a new YFinanceGateway
+		 */
+		public YFinanceGateway build() {
+			return new YFinanceGateway(this);
+		}
+
+	}
+
+}
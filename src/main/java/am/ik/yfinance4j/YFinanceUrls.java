@@ -1,5 +1,7 @@
 package am.ik.yfinance4j;
 
+import java.util.List;
+
 /**
  * Holds the URLs used by yfinance4j to communicate with Yahoo Finance. Use
  * {@link #DEFAULT} for the standard Yahoo Finance endpoints, or create a custom instance
@@ -11,6 +13,10 @@ package am.ik.yfinance4j;
  *     .build();
  * YFinance yf = new YFinance(restClient, urls);
  * }</pre>
+ *
+ * The chart, quote summary, quote and options endpoints may be served by several
+ * equivalent hosts. When more than one URL is configured, {@link HostRouter} selects the
+ * healthiest one for each request and fails over to the others.
  */
 public class YFinanceUrls {
 
@@ -19,22 +25,45 @@ public class YFinanceUrls {
 	 */
 	public static final YFinanceUrls DEFAULT = new YFinanceUrls("https://fc.yahoo.com",
 			"https://query1.finance.yahoo.com/v1/test/getcrumb",
-			"https://query2.finance.yahoo.com/v8/finance/chart/{ticker}",
-			"https://query2.finance.yahoo.com/v10/finance/quoteSummary/{ticker}");
+			List.of("https://query2.finance.yahoo.com/v8/finance/chart/{ticker}",
+					"https://query1.finance.yahoo.com/v8/finance/chart/{ticker}"),
+			List.of("https://query2.finance.yahoo.com/v10/finance/quoteSummary/{ticker}",
+					"https://query1.finance.yahoo.com/v10/finance/quoteSummary/{ticker}"),
+			List.of("https://query2.finance.yahoo.com/v7/finance/quote",
+					"https://query1.finance.yahoo.com/v7/finance/quote"),
+			List.of("https://query2.finance.yahoo.com/v7/finance/options/{ticker}",
+					"https://query1.finance.yahoo.com/v7/finance/options/{ticker}"),
+			List.of("https://query2.finance.yahoo.com/ws/fundamentals-timeseries/v1/finance/timeseries/{ticker}",
+					"https://query1.finance.yahoo.com/ws/fundamentals-timeseries/v1/finance/timeseries/{ticker}"),
+			List.of("https://query2.finance.yahoo.com/v1/finance/search",
+					"https://query1.finance.yahoo.com/v1/finance/search"));
 
 	private final String cookieUrl;
 
 	private final String crumbUrl;
 
-	private final String chartUrl;
+	private final List<String> chartUrls;
+
+	private final List<String> quoteSummaryUrls;
+
+	private final List<String> quoteUrls;
 
-	private final String quoteSummaryUrl;
+	private final List<String> optionsUrls;
 
-	private YFinanceUrls(String cookieUrl, String crumbUrl, String chartUrl, String quoteSummaryUrl) {
+	private final List<String> timeseriesUrls;
+
+	private final List<String> searchUrls;
+
+	private YFinanceUrls(String cookieUrl, String crumbUrl, List<String> chartUrls, List<String> quoteSummaryUrls,
+			List<String> quoteUrls, List<String> optionsUrls, List<String> timeseriesUrls, List<String> searchUrls) {
 		this.cookieUrl = cookieUrl;
 		this.crumbUrl = crumbUrl;
-		this.chartUrl = chartUrl;
-		this.quoteSummaryUrl = quoteSummaryUrl;
+		this.chartUrls = requireNonEmpty(chartUrls, "chartUrls");
+		this.quoteSummaryUrls = requireNonEmpty(quoteSummaryUrls, "quoteSummaryUrls");
+		this.quoteUrls = requireNonEmpty(quoteUrls, "quoteUrls");
+		this.optionsUrls = requireNonEmpty(optionsUrls, "optionsUrls");
+		this.timeseriesUrls = requireNonEmpty(timeseriesUrls, "timeseriesUrls");
+		this.searchUrls = requireNonEmpty(searchUrls, "searchUrls");
 	}
 
 	/**
@@ -54,19 +83,100 @@ public class YFinanceUrls {
 	}
 
 	/**
-	 * Returns the URL template for the chart API.
+	 * Returns the primary URL template for the chart API.
 	 * @return the chart URL
 	 */
 	public String chartUrl() {
-		return this.chartUrl;
+		return this.chartUrls.get(0);
 	}
 
 	/**
-	 * Returns the URL template for the quote summary API.
+	 * Returns all equivalent URL templates for the chart API, primary first.
+	 * @return unmodifiable list of chart URLs
+	 */
+	public List<String> chartUrls() {
+		return this.chartUrls;
+	}
+
+	/**
+	 * Returns the primary URL template for the quote summary API.
 	 * @return the quote summary URL
 	 */
 	public String quoteSummaryUrl() {
-		return this.quoteSummaryUrl;
+		return this.quoteSummaryUrls.get(0);
+	}
+
+	/**
+	 * Returns all equivalent URL templates for the quote summary API, primary first.
+	 * @return unmodifiable list of quote summary URLs
+	 */
+	public List<String> quoteSummaryUrls() {
+		return this.quoteSummaryUrls;
+	}
+
+	/**
+	 * Returns the primary URL for the batch quote API.
+	 * @return the quote URL
+	 */
+	public String quoteUrl() {
+		return this.quoteUrls.get(0);
+	}
+
+	/**
+	 * Returns all equivalent URLs for the batch quote API, primary first.
+	 * @return unmodifiable list of quote URLs
+	 */
+	public List<String> quoteUrls() {
+		return this.quoteUrls;
+	}
+
+	/**
+	 * Returns the primary URL template for the options API.
+	 * @return the options URL
+	 */
+	public String optionsUrl() {
+		return this.optionsUrls.get(0);
+	}
+
+	/**
+	 * Returns all equivalent URL templates for the options API, primary first.
+	 * @return unmodifiable list of options URLs
+	 */
+	public List<String> optionsUrls() {
+		return this.optionsUrls;
+	}
+
+	/**
+	 * Returns the primary URL template for the fundamentals timeseries API.
+	 * @return the timeseries URL
+	 */
+	public String timeseriesUrl() {
+		return this.timeseriesUrls.get(0);
+	}
+
+	/**
+	 * Returns all equivalent URL templates for the fundamentals timeseries API, primary
+	 * first.
+	 * @return unmodifiable list of timeseries URLs
+	 */
+	public List<String> timeseriesUrls() {
+		return this.timeseriesUrls;
+	}
+
+	/**
+	 * Returns the primary URL for the search API.
+	 * @return the search URL
+	 */
+	public String searchUrl() {
+		return this.searchUrls.get(0);
+	}
+
+	/**
+	 * Returns all equivalent URLs for the search API, primary first.
+	 * @return unmodifiable list of search URLs
+	 */
+	public List<String> searchUrls() {
+		return this.searchUrls;
 	}
 
 	/**
@@ -77,6 +187,13 @@ public class YFinanceUrls {
 		return new Builder();
 	}
 
+	private static List<String> requireNonEmpty(List<String> urls, String name) {
+		if (urls.isEmpty()) {
+			throw new IllegalArgumentException(name + " must not be empty");
+		}
+		return List.copyOf(urls);
+	}
+
 	/**
 	 * Builder for {@link YFinanceUrls}. All fields default to the standard Yahoo Finance
 	 * endpoints.
@@ -87,9 +204,17 @@ public class YFinanceUrls {
 
 		private String crumbUrl = DEFAULT.crumbUrl;
 
-		private String chartUrl = DEFAULT.chartUrl;
+		private List<String> chartUrls = DEFAULT.chartUrls;
+
+		private List<String> quoteSummaryUrls = DEFAULT.quoteSummaryUrls;
 
-		private String quoteSummaryUrl = DEFAULT.quoteSummaryUrl;
+		private List<String> quoteUrls = DEFAULT.quoteUrls;
+
+		private List<String> optionsUrls = DEFAULT.optionsUrls;
+
+		private List<String> timeseriesUrls = DEFAULT.timeseriesUrls;
+
+		private List<String> searchUrls = DEFAULT.searchUrls;
 
 		/**
 		 * Sets the URL used to obtain cookies.
@@ -112,22 +237,126 @@ public class YFinanceUrls {
 		}
 
 		/**
-		 * Sets the URL template for the chart API.
+		 * Sets a single URL template for the chart API, replacing any alternates.
 		 * @param chartUrl the chart URL
 		 * @return this builder
 		 */
 		public Builder chartUrl(String chartUrl) {
-			this.chartUrl = chartUrl;
+			this.chartUrls = List.of(chartUrl);
 			return this;
 		}
 
 		/**
-		 * Sets the URL template for the quote summary API.
+		 * Sets equivalent URL templates for the chart API. The first one is the primary.
+		 * @param chartUrls the chart URLs
+		 * @return this builder
+		 */
+		public Builder chartUrls(String... chartUrls) {
+			this.chartUrls = List.of(chartUrls);
+			return this;
+		}
+
+		/**
+		 * Sets a single URL template for the quote summary API, replacing any alternates.
 		 * @param quoteSummaryUrl the quote summary URL
 		 * @return this builder
 		 */
 		public Builder quoteSummaryUrl(String quoteSummaryUrl) {
-			this.quoteSummaryUrl = quoteSummaryUrl;
+			this.quoteSummaryUrls = List.of(quoteSummaryUrl);
+			return this;
+		}
+
+		/**
+		 * Sets equivalent URL templates for the quote summary API. The first one is the
+		 * primary.
+		 * @param quoteSummaryUrls the quote summary URLs
+		 * @return this builder
+		 */
+		public Builder quoteSummaryUrls(String... quoteSummaryUrls) {
+			this.quoteSummaryUrls = List.of(quoteSummaryUrls);
+			return this;
+		}
+
+		/**
+		 * Sets a single URL for the batch quote API, replacing any alternates.
+		 * @param quoteUrl the quote URL
+		 * @return this builder
+		 */
+		public Builder quoteUrl(String quoteUrl) {
+			this.quoteUrls = List.of(quoteUrl);
+			return this;
+		}
+
+		/**
+		 * Sets equivalent URLs for the batch quote API. The first one is the primary.
+		 * @param quoteUrls the quote URLs
+		 * @return this builder
+		 */
+		public Builder quoteUrls(String... quoteUrls) {
+			this.quoteUrls = List.of(quoteUrls);
+			return this;
+		}
+
+		/**
+		 * Sets a single URL template for the options API, replacing any alternates.
+		 * @param optionsUrl the options URL
+		 * @return this builder
+		 */
+		public Builder optionsUrl(String optionsUrl) {
+			this.optionsUrls = List.of(optionsUrl);
+			return this;
+		}
+
+		/**
+		 * Sets equivalent URL templates for the options API. The first one is the
+		 * primary.
+		 * @param optionsUrls the options URLs
+		 * @return this builder
+		 */
+		public Builder optionsUrls(String... optionsUrls) {
+			this.optionsUrls = List.of(optionsUrls);
+			return this;
+		}
+
+		/**
+		 * Sets a single URL template for the fundamentals timeseries API, replacing any
+		 * alternates.
+		 * @param timeseriesUrl the timeseries URL
+		 * @return this builder
+		 */
+		public Builder timeseriesUrl(String timeseriesUrl) {
+			this.timeseriesUrls = List.of(timeseriesUrl);
+			return this;
+		}
+
+		/**
+		 * Sets equivalent URL templates for the fundamentals timeseries API. The first
+		 * one is the primary.
+		 * @param timeseriesUrls the timeseries URLs
+		 * @return this builder
+		 */
+		public Builder timeseriesUrls(String... timeseriesUrls) {
+			this.timeseriesUrls = List.of(timeseriesUrls);
+			return this;
+		}
+
+		/**
+		 * Sets a single URL for the search API, replacing any alternates.
+		 * @param searchUrl the search URL
+		 * @return this builder
+		 */
+		public Builder searchUrl(String searchUrl) {
+			this.searchUrls = List.of(searchUrl);
+			return this;
+		}
+
+		/**
+		 * Sets equivalent URLs for the search API. The first one is the primary.
+		 * @param searchUrls the search URLs
+		 * @return this builder
+		 */
+		public Builder searchUrls(String... searchUrls) {
+			this.searchUrls = List.of(searchUrls);
 			return this;
 		}
 
@@ -136,7 +365,8 @@ public class YFinanceUrls {
 		 * @return a new YFinanceUrls
 		 */
 		public YFinanceUrls build() {
-			return new YFinanceUrls(this.cookieUrl, this.crumbUrl, this.chartUrl, this.quoteSummaryUrl);
+			return new YFinanceUrls(this.cookieUrl, this.crumbUrl, this.chartUrls, this.quoteSummaryUrls,
+					this.quoteUrls, this.optionsUrls, this.timeseriesUrls, this.searchUrls);
 		}
 
 	}
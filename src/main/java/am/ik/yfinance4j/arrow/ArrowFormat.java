@@ -0,0 +1,55 @@
+package am.ik.yfinance4j.arrow;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.ArrowWriter;
+
+/**
+ * The Arrow IPC formats.
+ */
+public enum ArrowFormat {
+
+	/**
+	 * The streaming format, a schema followed by any number of record batches, which can
+	 * be read as it is written.
+	 */
+	STREAM,
+
+	/**
+	 * The file format, the streaming format framed with magic bytes and a footer that
+	 * allows random access to the record batches. Usually stored with the {@code .arrow}
+	 * extension.
+	 */
+	FILE;
+
+	/**
+	 * Opens a writer of this format, which leaves the output stream open when it is
+	 * closed.
+	 */
+	ArrowWriter open(VectorSchemaRoot root, OutputStream out) {
+		OutputStream unclosable = new FilterOutputStream(out) {
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				this.out.write(b, off, len);
+			}
+
+			@Override
+			public void close() throws IOException {
+				this.out.flush();
+			}
+
+		};
+		return switch (this) {
+			case STREAM -> new ArrowStreamWriter(root, null, unclosable);
+			case FILE -> new ArrowFileWriter(root, null, Channels.newChannel(unclosable));
+		};
+	}
+
+}
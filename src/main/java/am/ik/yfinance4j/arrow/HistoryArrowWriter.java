@@ -0,0 +1,334 @@
+package am.ik.yfinance4j.arrow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import am.ik.yfinance4j.chart.HistoryPanel;
+import am.ik.yfinance4j.chart.HistorySeries;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeStampSecTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Writes historical price data as an Arrow IPC stream or file, for zero-copy handoff to
+ * engines that read Arrow natively, such as pyarrow, DuckDB or Spark. The history of any
+ * number of symbols goes into one table in long format, with the columns {@code symbol},
+ * {@code timestamp} (seconds, UTC), {@code open}, {@code high}, {@code low},
+ * {@code close}, {@code adjClose}, {@code volume}, {@code dividends} and
+ * {@code stockSplits}.
+ * <p>
+ * The vectors are filled directly from the primitive columns of a {@link HistorySeries}
+ * or a {@link HistoryPanel}, in record batches of at most {@link Builder#batchSize(int)
+ * batchSize} rows, so memory stays bounded however many symbols are written.
+ *
+ * <pre>{@code
+ * try (OutputStream out = Files.newOutputStream(Path.of("history.arrow"));
+ *         HistoryArrowWriter writer = HistoryArrowWriter.builder(out).format(ArrowFormat.FILE).build()) {
+ *     for (String symbol : symbols) {
+ *         writer.write(symbol, yf.ticker(symbol).historySeries(request));
+ *     }
+ * }
+ * }</pre>
+ */
+public final class HistoryArrowWriter implements AutoCloseable {
+
+	private static final ArrowType FLOAT8 = new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+
+	private static final Schema SCHEMA = new Schema(List.of(Field.notNullable("symbol", ArrowType.Utf8.INSTANCE),
+			Field.notNullable("timestamp", new ArrowType.Timestamp(TimeUnit.SECOND, "UTC")),
+			Field.nullable("open", FLOAT8), Field.nullable("high", FLOAT8), Field.nullable("low", FLOAT8),
+			Field.nullable("close", FLOAT8), Field.nullable("adjClose", FLOAT8),
+			Field.nullable("volume", new ArrowType.Int(64, true)), Field.nullable("dividends", FLOAT8),
+			Field.nullable("stockSplits", FLOAT8)));
+
+	private final @Nullable BufferAllocator ownedAllocator;
+
+	private final VectorSchemaRoot root;
+
+	private final ArrowWriter writer;
+
+	private final int batchSize;
+
+	private final int[] rows;
+
+	private final VarCharVector symbol;
+
+	private final TimeStampSecTZVector timestamp;
+
+	private final Float8Vector open;
+
+	private final Float8Vector high;
+
+	private final Float8Vector low;
+
+	private final Float8Vector close;
+
+	private final Float8Vector adjClose;
+
+	private final BigIntVector volume;
+
+	private final Float8Vector dividends;
+
+	private final Float8Vector splits;
+
+	private HistoryArrowWriter(Builder builder) throws IOException {
+		BufferAllocator allocator = builder.allocator;
+		if (allocator == null) {
+			allocator = new RootAllocator();
+			this.ownedAllocator = allocator;
+		}
+		else {
+			this.ownedAllocator = null;
+		}
+		this.root = VectorSchemaRoot.create(SCHEMA, allocator);
+		this.batchSize = builder.batchSize;
+		this.rows = new int[builder.batchSize];
+		this.symbol = (VarCharVector) this.root.getVector("symbol");
+		this.timestamp = (TimeStampSecTZVector) this.root.getVector("timestamp");
+		this.open = (Float8Vector) this.root.getVector("open");
+		this.high = (Float8Vector) this.root.getVector("high");
+		this.low = (Float8Vector) this.root.getVector("low");
+		this.close = (Float8Vector) this.root.getVector("close");
+		this.adjClose = (Float8Vector) this.root.getVector("adjClose");
+		this.volume = (BigIntVector) this.root.getVector("volume");
+		this.dividends = (Float8Vector) this.root.getVector("dividends");
+		this.splits = (Float8Vector) this.root.getVector("stockSplits");
+		this.writer = builder.format.open(this.root, builder.out);
+		try {
+			this.writer.start();
+		}
+		catch (IOException | RuntimeException ex) {
+			this.root.close();
+			if (this.ownedAllocator != null) {
+				this.ownedAllocator.close();
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Creates a new {@link Builder}.
+	 * @param out the stream to write to, which is not closed by the writer
+	 * @return a new builder
+	 */
+	public static Builder builder(OutputStream out) {
+		return new Builder(out);
+	}
+
+	/**
+	 * Returns the schema of the written table.
+	 * @return the schema
+	 */
+	public static Schema schema() {
+		return SCHEMA;
+	}
+
+	/**
+	 * Writes the history of a symbol.
+	 * @param symbol the symbol
+	 * @param series the history
+	 * @throws IOException if writing fails
+	 */
+	public void write(String symbol, HistorySeries series) throws IOException {
+		byte[] name = symbol.getBytes(StandardCharsets.UTF_8);
+		long[] timestamps = series.timestamps();
+		double[] open = series.open();
+		double[] high = series.high();
+		double[] low = series.low();
+		double[] close = series.close();
+		double[] adjClose = series.adjClose();
+		long[] volume = series.volume();
+		double[] dividends = series.dividends();
+		double[] splits = series.splits();
+		for (int from = 0; from < series.size(); from += this.batchSize) {
+			int n = Math.min(this.batchSize, series.size() - from);
+			allocate(name.length, n);
+			for (int i = 0; i < n; i++) {
+				int row = from + i;
+				this.symbol.set(i, name);
+				this.timestamp.set(i, timestamps[row]);
+				this.open.set(i, open[row]);
+				this.high.set(i, high[row]);
+				this.low.set(i, low[row]);
+				this.close.set(i, close[row]);
+				this.adjClose.set(i, adjClose[row]);
+				this.volume.set(i, volume[row]);
+				this.dividends.set(i, dividends[row]);
+				this.splits.set(i, splits[row]);
+			}
+			flush(n);
+		}
+	}
+
+	/**
+	 * Writes the history of every symbol of a panel, one symbol after another. Rows where
+	 * a symbol has no close are left out, other gaps are written as nulls, and the
+	 * dividends and stock splits, which a panel does not have, are null.
+	 * @param panel the panel
+	 * @throws IOException if writing fails
+	 */
+	public void write(HistoryPanel panel) throws IOException {
+		long[] timestamps = panel.timestamps();
+		List<String> symbols = panel.symbols();
+		for (int s = 0; s < symbols.size(); s++) {
+			byte[] name = symbols.get(s).getBytes(StandardCharsets.UTF_8);
+			double[] open = panel.matrix(HistoryPanel.Field.OPEN)[s];
+			double[] high = panel.matrix(HistoryPanel.Field.HIGH)[s];
+			double[] low = panel.matrix(HistoryPanel.Field.LOW)[s];
+			double[] close = panel.matrix(HistoryPanel.Field.CLOSE)[s];
+			double[] adjClose = panel.matrix(HistoryPanel.Field.ADJ_CLOSE)[s];
+			double[] volume = panel.matrix(HistoryPanel.Field.VOLUME)[s];
+			int n = 0;
+			for (int t = 0; t <= timestamps.length; t++) {
+				if (n == this.batchSize || (t == timestamps.length && n > 0)) {
+					allocate(name.length, n);
+					for (int i = 0; i < n; i++) {
+						int row = this.rows[i];
+						this.symbol.set(i, name);
+						this.timestamp.set(i, timestamps[row]);
+						set(this.open, i, open[row]);
+						set(this.high, i, high[row]);
+						set(this.low, i, low[row]);
+						set(this.close, i, close[row]);
+						set(this.adjClose, i, adjClose[row]);
+						if (Double.isNaN(volume[row])) {
+							this.volume.setNull(i);
+						}
+						else {
+							this.volume.set(i, (long) volume[row]);
+						}
+						this.dividends.setNull(i);
+						this.splits.setNull(i);
+					}
+					flush(n);
+					n = 0;
+				}
+				if (t < timestamps.length && !Double.isNaN(close[t])) {
+					this.rows[n++] = t;
+				}
+			}
+		}
+	}
+
+	private static void set(Float8Vector vector, int i, double value) {
+		if (Double.isNaN(value)) {
+			vector.setNull(i);
+		}
+		else {
+			vector.set(i, value);
+		}
+	}
+
+	private void allocate(int symbolLength, int n) {
+		for (FieldVector vector : this.root.getFieldVectors()) {
+			if (vector == this.symbol) {
+				this.symbol.allocateNew((long) symbolLength * n, n);
+			}
+			else {
+				vector.setInitialCapacity(n);
+				vector.allocateNew();
+			}
+		}
+	}
+
+	private void flush(int n) throws IOException {
+		this.root.setRowCount(n);
+		this.writer.writeBatch();
+	}
+
+	/**
+	 * Finishes the stream or file and releases the buffers. The output stream is flushed
+	 * but not closed.
+	 * @throws IOException if writing fails
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			this.writer.end();
+			this.writer.close();
+		}
+		finally {
+			this.root.close();
+			if (this.ownedAllocator != null) {
+				this.ownedAllocator.close();
+			}
+		}
+	}
+
+	/**
+	 * Builder for {@link HistoryArrowWriter}.
+	 */
+	public static final class Builder {
+
+		private final OutputStream out;
+
+		private ArrowFormat format = ArrowFormat.STREAM;
+
+		private @Nullable BufferAllocator allocator;
+
+		private int batchSize = 64 * 1024;
+
+		private Builder(OutputStream out) {
+			this.out = out;
+		}
+
+		/**
+		 * Sets the IPC format. Defaults to {@link ArrowFormat#STREAM}.
+		 * @param format the format
+		 * @return this builder
+		 */
+		public Builder format(ArrowFormat format) {
+			this.format = format;
+			return this;
+		}
+
+		/**
+		 * Sets the allocator of the vector buffers, which is not closed by the writer.
+		 * Defaults to a new root allocator owned by the writer.
+		 * @param allocator the allocator
+		 * @return this builder
+		 */
+		public Builder allocator(BufferAllocator allocator) {
+			this.allocator = allocator;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of rows per record batch. Defaults to 65536.
+		 * @param batchSize the number of rows, at least 1
+		 * @return this builder
+		 */
+		public Builder batchSize(int batchSize) {
+			if (batchSize < 1) {
+				throw new IllegalArgumentException("batchSize must be at least 1");
+			}
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		/**
+		 * Builds the {@link HistoryArrowWriter} instance and writes the schema.
+		 * @return a new HistoryArrowWriter
+		 * @throws IOException if the schema cannot be written
+		 */
+		public HistoryArrowWriter build() throws IOException {
+			return new HistoryArrowWriter(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,314 @@
+package am.ik.yfinance4j.arrow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import am.ik.yfinance4j.quote.StockInfo;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Writes quotes, such as those returned by {@code YFinance.quotes}, as an Arrow IPC
+ * stream or file with one row per quote and one column per field. Each call to
+ * {@link #write(List)} appends one record batch, so repeated snapshots of the same
+ * symbols can go into one stream.
+ * <p>
+ * The columns are the {@link Builder#fields(List) configured fields}, or else the fields
+ * of the first batch in the order they first appear, with {@code symbol} first. The type
+ * of a column is inferred from the values of the first batch: {@code bool} if they are
+ * all booleans, {@code float64} if they are all numbers and {@code utf8} otherwise.
+ * Prices that happen to be whole in the first batch must not fix a column to integers, so
+ * only fields that are integral by definition, such as volumes, times and share counts,
+ * become {@code int64} when their first values are integral; a later fractional value in
+ * such a column is rejected rather than truncated. Nested objects and lists are left out
+ * of inferred fields and written as nulls.
+ *
+ * <pre>{@code
+ * try (QuoteArrowWriter writer = QuoteArrowWriter.builder(out).build()) {
+ *     writer.write(yf.quotes(symbols, List.of("symbol", "regularMarketPrice", "regularMarketVolume")));
+ * }
+ * }</pre>
+ */
+public final class QuoteArrowWriter implements AutoCloseable {
+
+	private static final ArrowType FLOAT8 = new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+
+	private static final ArrowType INT64 = new ArrowType.Int(64, true);
+
+	private static final List<String> INTEGRAL_SUFFIXES = List.of("Volume", "Time", "Timestamp", "Milliseconds",
+			"Shares", "Outstanding");
+
+	private static final Set<String> INTEGRAL_FIELDS = Set.of("marketCap", "priceHint", "exchangeDataDelayedBy",
+			"sourceInterval");
+
+	private final OutputStream out;
+
+	private final ArrowFormat format;
+
+	private final List<String> fields;
+
+	private final BufferAllocator allocator;
+
+	private final boolean ownsAllocator;
+
+	private @Nullable VectorSchemaRoot root;
+
+	private @Nullable ArrowWriter writer;
+
+	private QuoteArrowWriter(Builder builder) {
+		this.out = builder.out;
+		this.format = builder.format;
+		this.fields = builder.fields;
+		this.ownsAllocator = builder.allocator == null;
+		this.allocator = (builder.allocator != null) ? builder.allocator : new RootAllocator();
+	}
+
+	/**
+	 * Creates a new {@link Builder}.
+	 * @param out the stream to write to, which is not closed by the writer
+	 * @return a new builder
+	 */
+	public static Builder builder(OutputStream out) {
+		return new Builder(out);
+	}
+
+	/**
+	 * Writes the quotes as one record batch. The first call fixes the schema and writes
+	 * it.
+	 * @param quotes the quotes
+	 * @throws IOException if writing fails
+	 * @throws IllegalArgumentException if a value of an {@code int64} column is not
+	 * integral
+	 */
+	public void write(List<StockInfo> quotes) throws IOException {
+		VectorSchemaRoot root = this.root;
+		ArrowWriter writer = this.writer;
+		if (root == null || writer == null) {
+			root = VectorSchemaRoot.create(inferSchema(this.fields, quotes), this.allocator);
+			writer = this.format.open(root, this.out);
+			this.root = root;
+			this.writer = writer;
+			writer.start();
+		}
+		int n = quotes.size();
+		for (FieldVector vector : root.getFieldVectors()) {
+			vector.setInitialCapacity(n);
+			vector.allocateNew();
+			String name = vector.getName();
+			for (int i = 0; i < n; i++) {
+				Object value = quotes.get(i).raw().get(name);
+				if (!set(vector, i, value)) {
+					vector.setNull(i);
+				}
+			}
+		}
+		root.setRowCount(n);
+		writer.writeBatch();
+	}
+
+	private static boolean set(FieldVector vector, int i, @Nullable Object value) {
+		if (value == null || value instanceof Map || value instanceof List) {
+			return false;
+		}
+		if (vector instanceof BitVector bits) {
+			if (value instanceof Boolean b) {
+				bits.set(i, b ? 1 : 0);
+				return true;
+			}
+			return false;
+		}
+		if (vector instanceof BigIntVector longs) {
+			if (value instanceof Number number) {
+				if (!isIntegral(number)) {
+					throw new IllegalArgumentException(
+							"Non-integral value " + number + " for int64 column " + vector.getName());
+				}
+				longs.set(i, number.longValue());
+				return true;
+			}
+			return false;
+		}
+		if (vector instanceof Float8Vector doubles) {
+			if (value instanceof Number number) {
+				doubles.set(i, number.doubleValue());
+				return true;
+			}
+			return false;
+		}
+		((VarCharVector) vector).setSafe(i, String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+		return true;
+	}
+
+	static Schema inferSchema(List<String> configured, List<StockInfo> quotes) {
+		List<String> names = configured;
+		if (names.isEmpty()) {
+			Set<String> keys = new LinkedHashSet<>();
+			keys.add("symbol");
+			for (StockInfo quote : quotes) {
+				for (Map.Entry<String, Object> entry : quote.raw().entrySet()) {
+					if (!(entry.getValue() instanceof Map) && !(entry.getValue() instanceof List)) {
+						keys.add(entry.getKey());
+					}
+				}
+			}
+			names = new ArrayList<>(keys);
+		}
+		List<Field> fields = new ArrayList<>(names.size());
+		for (String name : names) {
+			fields.add(Field.nullable(name, inferType(name, quotes)));
+		}
+		return new Schema(fields);
+	}
+
+	private static ArrowType inferType(String name, List<StockInfo> quotes) {
+		boolean any = false;
+		boolean bool = true;
+		boolean number = true;
+		boolean integral = true;
+		for (StockInfo quote : quotes) {
+			Object value = quote.raw().get(name);
+			if (value == null || value instanceof Map || value instanceof List) {
+				continue;
+			}
+			any = true;
+			bool &= value instanceof Boolean;
+			number &= value instanceof Number;
+			integral &= isIntegral(value);
+		}
+		if (!any) {
+			return ArrowType.Utf8.INSTANCE;
+		}
+		if (bool) {
+			return ArrowType.Bool.INSTANCE;
+		}
+		if (number) {
+			return (integral && isIntegralField(name)) ? INT64 : FLOAT8;
+		}
+		return ArrowType.Utf8.INSTANCE;
+	}
+
+	private static boolean isIntegral(Object value) {
+		return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+				|| value instanceof BigInteger;
+	}
+
+	private static boolean isIntegralField(String name) {
+		if (INTEGRAL_FIELDS.contains(name)) {
+			return true;
+		}
+		for (String suffix : INTEGRAL_SUFFIXES) {
+			if (name.endsWith(suffix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Finishes the stream or file and releases the buffers. If nothing was written, the
+	 * configured fields are written as a schema of {@code utf8} columns. The output
+	 * stream is flushed but not closed.
+	 * @throws IOException if writing fails
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			if (this.writer == null) {
+				write(List.of());
+			}
+			ArrowWriter writer = this.writer;
+			if (writer != null) {
+				writer.end();
+				writer.close();
+			}
+		}
+		finally {
+			if (this.root != null) {
+				this.root.close();
+			}
+			if (this.ownsAllocator) {
+				this.allocator.close();
+			}
+		}
+	}
+
+	/**
+	 * Builder for {@link QuoteArrowWriter}.
+	 */
+	public static final class Builder {
+
+		private final OutputStream out;
+
+		private ArrowFormat format = ArrowFormat.STREAM;
+
+		private List<String> fields = List.of();
+
+		private @Nullable BufferAllocator allocator;
+
+		private Builder(OutputStream out) {
+			this.out = out;
+		}
+
+		/**
+		 * Sets the IPC format. Defaults to {@link ArrowFormat#STREAM}.
+		 * @param format the format
+		 * @return this builder
+		 */
+		public Builder format(ArrowFormat format) {
+			this.format = format;
+			return this;
+		}
+
+		/**
+		 * Sets the fields written as columns, in this order. Defaults to the fields of
+		 * the first batch.
+		 * @param fields the quote fields (e.g. "regularMarketPrice")
+		 * @return this builder
+		 */
+		public Builder fields(List<String> fields) {
+			this.fields = List.copyOf(fields);
+			return this;
+		}
+
+		/**
+		 * Sets the allocator of the vector buffers, which is not closed by the writer.
+		 * Defaults to a new root allocator owned by the writer.
+		 * @param allocator the allocator
+		 * @return this builder
+		 */
+		public Builder allocator(BufferAllocator allocator) {
+			this.allocator = allocator;
+			return this;
+		}
+
+		/**
+		 * Builds the {@link QuoteArrowWriter} instance. The schema is written with the
+		 * first batch.
+		 * @return a new QuoteArrowWriter
+		 */
+		public QuoteArrowWriter build() {
+			return new QuoteArrowWriter(this);
+		}
+
+	}
+
+}
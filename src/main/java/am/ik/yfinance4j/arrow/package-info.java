@@ -0,0 +1,9 @@
+/**
+ * Export of history and quote data as Apache Arrow IPC streams and files. The classes in
+ * this package need {@code org.apache.arrow:arrow-vector} and one of the Arrow memory
+ * implementations, such as {@code arrow-memory-netty}, on the classpath.
+ */
+@NullMarked
+package am.ik.yfinance4j.arrow;
+
+import org.jspecify.annotations.NullMarked;
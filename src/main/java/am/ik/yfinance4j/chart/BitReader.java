@@ -0,0 +1,47 @@
+package am.ik.yfinance4j.chart;
+
+/**
+ * Reads bits written by {@link BitWriter}, starting at an arbitrary bit position.
+ */
+final class BitReader {
+
+	private final long[] words;
+
+	private long position;
+
+	BitReader(long[] words, long position) {
+		this.words = words;
+		this.position = position;
+	}
+
+	boolean readBit() {
+		long word = this.words[(int) (this.position >>> 6)];
+		boolean bit = ((word >>> (63 - (this.position & 63))) & 1) != 0;
+		this.position++;
+		return bit;
+	}
+
+	/**
+	 * Reads {@code count} bits as an unsigned value.
+	 * @param count the number of bits in {@code [0, 64]}
+	 * @return the value
+	 */
+	long readBits(int count) {
+		if (count == 0) {
+			return 0;
+		}
+		int index = (int) (this.position >>> 6);
+		int free = 64 - (int) (this.position & 63);
+		long value;
+		if (count <= free) {
+			value = this.words[index] >>> (free - count);
+		}
+		else {
+			int rest = count - free;
+			value = (this.words[index] << rest) | (this.words[index + 1] >>> (64 - rest));
+		}
+		this.position += count;
+		return (count == 64) ? value : value & ((1L << count) - 1);
+	}
+
+}
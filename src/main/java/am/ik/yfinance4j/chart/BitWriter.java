@@ -0,0 +1,56 @@
+package am.ik.yfinance4j.chart;
+
+import java.util.Arrays;
+
+/**
+ * Appends bits most significant bit first to a growing {@code long} array.
+ */
+final class BitWriter {
+
+	private long[] words;
+
+	private long position;
+
+	BitWriter(int initialWords) {
+		this.words = new long[Math.max(1, initialWords)];
+	}
+
+	void writeBit(boolean bit) {
+		writeBits(bit ? 1 : 0, 1);
+	}
+
+	/**
+	 * Writes the lowest {@code count} bits of the value.
+	 * @param value the value
+	 * @param count the number of bits in {@code [0, 64]}
+	 */
+	void writeBits(long value, int count) {
+		if (count == 0) {
+			return;
+		}
+		long masked = (count == 64) ? value : value & ((1L << count) - 1);
+		int index = (int) (this.position >>> 6);
+		int free = 64 - (int) (this.position & 63);
+		if (index + 1 >= this.words.length) {
+			this.words = Arrays.copyOf(this.words, this.words.length * 2);
+		}
+		if (count <= free) {
+			this.words[index] |= masked << (free - count);
+		}
+		else {
+			int rest = count - free;
+			this.words[index] |= masked >>> rest;
+			this.words[index + 1] |= masked << (64 - rest);
+		}
+		this.position += count;
+	}
+
+	long position() {
+		return this.position;
+	}
+
+	long[] toArray() {
+		return Arrays.copyOf(this.words, (int) ((this.position + 63) >>> 6));
+	}
+
+}
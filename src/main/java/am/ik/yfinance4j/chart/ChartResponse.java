@@ -27,7 +27,18 @@ public record ChartResponse(Chart chart) {
 			@Nullable String fullExchangeName, @Nullable String instrumentType, @Nullable Long firstTradeDate,
 			@Nullable Long regularMarketTime, @Nullable Integer gmtoffset, @Nullable String timezone,
 			@Nullable String exchangeTimezoneName, @Nullable BigDecimal regularMarketPrice,
-			@Nullable BigDecimal previousClose) {
+			@Nullable BigDecimal previousClose, @Nullable BigDecimal chartPreviousClose,
+			@Nullable BigDecimal regularMarketDayHigh, @Nullable BigDecimal regularMarketDayLow,
+			@Nullable Long regularMarketVolume, @Nullable CurrentTradingPeriod currentTradingPeriod) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record CurrentTradingPeriod(@Nullable TradingPeriod pre, @Nullable TradingPeriod regular,
+			@Nullable TradingPeriod post) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record TradingPeriod(@Nullable String timezone, long start, long end, @Nullable Integer gmtoffset) {
 	}
 
 	@JsonIgnoreProperties(ignoreUnknown = true)
@@ -0,0 +1,832 @@
+package am.ik.yfinance4j.chart;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Compressed, immutable form of a {@link HistorySeries} for keeping long intraday
+ * histories of many symbols in memory, using the encodings of Facebook's Gorilla
+ * time-series database.
+ * <p>
+ * The bars are split into blocks of {@link #blockSize()} bars, and each column of a block
+ * is encoded separately:
+ * <ul>
+ * <li>timestamps with delta-of-delta encoding, so a regular 1m grid costs one bit per
+ * bar;</li>
+ * <li>prices, dividends and splits with XOR encoding of consecutive IEEE 754 values,
+ * which costs one bit for an unchanged value and only the differing middle bits
+ * otherwise;</li>
+ * <li>volumes as zigzag-encoded deltas prefixed with their bit length.</li>
+ * </ul>
+ * The encoding is lossless, including {@code NaN}s. Since every block starts from raw
+ * values, any bar can be reached by decoding at most one block, see
+ * {@link #toSeries(int, int)}, {@link #between(Instant, Instant)} and
+ * {@link #cursor(int)}.
+ *
+ * <pre>{@code
+ * CompressedSeries compressed = ticker.compressedHistory(request);
+ * // later, append the latest bars without re-encoding the full blocks
+ * compressed = compressed.append(ticker.historySeries(latestRequest));
+ * CompressedSeries.Cursor cursor = compressed.cursor();
+ * while (cursor.next()) {
+ *     process(cursor.timestamp(), cursor.close(), cursor.volume());
+ * }
+ * }</pre>
+ */
+public final class CompressedSeries {
+
+	/**
+	 * Default number of bars per block.
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 512;
+
+	private static final int TIMESTAMPS = 0;
+
+	private static final int OPEN = 1;
+
+	private static final int HIGH = 2;
+
+	private static final int LOW = 3;
+
+	private static final int CLOSE = 4;
+
+	private static final int ADJ_CLOSE = 5;
+
+	private static final int VOLUME = 6;
+
+	private static final int DIVIDENDS = 7;
+
+	private static final int SPLITS = 8;
+
+	private static final int COLUMNS = 9;
+
+	private final ChartResponse.@Nullable Meta meta;
+
+	private final int blockSize;
+
+	// every block but the last one is full
+	private final Block[] blocks;
+
+	private final int size;
+
+	private CompressedSeries(ChartResponse.@Nullable Meta meta, int blockSize, Block[] blocks) {
+		this.meta = meta;
+		this.blockSize = blockSize;
+		this.blocks = blocks;
+		this.size = (blocks.length == 0) ? 0 : (blocks.length - 1) * blockSize + blocks[blocks.length - 1].count;
+	}
+
+	/**
+	 * Compresses a series with the {@link #DEFAULT_BLOCK_SIZE default block size}.
+	 * @param series the series
+	 * @return the compressed series
+	 */
+	public static CompressedSeries of(HistorySeries series) {
+		return of(series, DEFAULT_BLOCK_SIZE);
+	}
+
+	/**
+	 * Compresses a series. Smaller blocks make random access cheaper and compression
+	 * slightly worse.
+	 * @param series the series
+	 * @param blockSize the number of bars per block, at least 2
+	 * @return the compressed series
+	 */
+	public static CompressedSeries of(HistorySeries series, int blockSize) {
+		if (blockSize < 2) {
+			throw new IllegalArgumentException("blockSize must be at least 2");
+		}
+		int n = series.size();
+		Block[] blocks = new Block[(n + blockSize - 1) / blockSize];
+		for (int i = 0; i < blocks.length; i++) {
+			blocks[i] = Block.encode(series, i * blockSize, Math.min(n, (i + 1) * blockSize));
+		}
+		return new CompressedSeries(series.meta(), blockSize, blocks);
+	}
+
+	/**
+	 * Returns a series with the bars of the given series that are newer than the last bar
+	 * of this series appended. The full blocks of this series are shared; only the last,
+	 * partial block is decoded and encoded again.
+	 * @param series the bars to append, in ascending timestamp order
+	 * @return the combined series, or this series if nothing is newer
+	 */
+	public CompressedSeries append(HistorySeries series) {
+		int start = 0;
+		if (this.size > 0) {
+			long last = this.blocks[this.blocks.length - 1].lastTimestamp;
+			long[] timestamps = series.timestamps();
+			while (start < timestamps.length && timestamps[start] <= last) {
+				start++;
+			}
+		}
+		if (start == series.size()) {
+			return this;
+		}
+		ChartResponse.@Nullable Meta meta = (series.meta() != null) ? series.meta() : this.meta;
+		int fullBlocks = (this.size / this.blockSize);
+		HistorySeries tail = toSeries(fullBlocks * this.blockSize, this.size);
+		HistorySeries pending = concat(tail, series.slice(start, series.size()));
+		Block[] blocks = Arrays.copyOf(this.blocks,
+				fullBlocks + (pending.size() + this.blockSize - 1) / this.blockSize);
+		for (int i = fullBlocks; i < blocks.length; i++) {
+			int from = (i - fullBlocks) * this.blockSize;
+			blocks[i] = Block.encode(pending, from, Math.min(pending.size(), from + this.blockSize));
+		}
+		return new CompressedSeries(meta, this.blockSize, blocks);
+	}
+
+	/**
+	 * Decompresses all bars.
+	 * @return the series
+	 */
+	public HistorySeries toSeries() {
+		return toSeries(0, this.size);
+	}
+
+	/**
+	 * Decompresses the bars in {@code [from, to)}. Only the blocks overlapping the range
+	 * are decoded.
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @return the series
+	 */
+	public HistorySeries toSeries(int from, int to) {
+		if (from < 0 || to > this.size || from > to) {
+			throw new IndexOutOfBoundsException("[" + from + ", " + to + ") is out of [0, " + this.size + ")");
+		}
+		int n = to - from;
+		long[] timestamps = new long[n];
+		double[][] doubles = new double[COLUMNS][];
+		for (int column = 0; column < COLUMNS; column++) {
+			doubles[column] = (column == TIMESTAMPS || column == VOLUME) ? new double[0] : new double[n];
+		}
+		long[] volume = new long[n];
+		for (int b = from / this.blockSize; b * this.blockSize < to; b++) {
+			Block block = this.blocks[b];
+			int blockStart = b * this.blockSize;
+			int skip = Math.max(0, from - blockStart);
+			int end = Math.min(block.count, to - blockStart);
+			int offset = blockStart + skip - from;
+			TimestampDecoder ts = new TimestampDecoder(block.reader(TIMESTAMPS));
+			for (int i = 0; i < end; i++) {
+				long value = ts.next();
+				if (i >= skip) {
+					timestamps[offset + i - skip] = value;
+				}
+			}
+			LongDecoder vol = new LongDecoder(block.reader(VOLUME));
+			for (int i = 0; i < end; i++) {
+				long value = vol.next();
+				if (i >= skip) {
+					volume[offset + i - skip] = value;
+				}
+			}
+			for (int column = OPEN; column < COLUMNS; column++) {
+				if (column == VOLUME) {
+					continue;
+				}
+				double[] target = doubles[column];
+				DoubleDecoder decoder = new DoubleDecoder(block.reader(column));
+				for (int i = 0; i < end; i++) {
+					double value = decoder.next();
+					if (i >= skip) {
+						target[offset + i - skip] = value;
+					}
+				}
+			}
+		}
+		return new HistorySeries(this.meta, timestamps, doubles[OPEN], doubles[HIGH], doubles[LOW], doubles[CLOSE],
+				doubles[ADJ_CLOSE], volume, doubles[DIVIDENDS], doubles[SPLITS]);
+	}
+
+	/**
+	 * Decompresses the bars with a timestamp in {@code [from, to)}.
+	 * @param from the start (inclusive)
+	 * @param to the end (exclusive)
+	 * @return the series
+	 */
+	public HistorySeries between(Instant from, Instant to) {
+		int start = indexOf(from.getEpochSecond());
+		int end = Math.max(start, indexOf(to.getEpochSecond()));
+		return toSeries(start, end);
+	}
+
+	/**
+	 * Returns the index of the first bar at or after the given time.
+	 * @param epochSecond the time in epoch seconds
+	 * @return the index, or {@link #size()} if every bar is earlier
+	 */
+	public int indexOf(long epochSecond) {
+		int low = 0;
+		int high = this.blocks.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (this.blocks[mid].lastTimestamp < epochSecond) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		if (low == this.blocks.length) {
+			return this.size;
+		}
+		Block block = this.blocks[low];
+		TimestampDecoder decoder = new TimestampDecoder(block.reader(TIMESTAMPS));
+		for (int i = 0; i < block.count; i++) {
+			if (decoder.next() >= epochSecond) {
+				return low * this.blockSize + i;
+			}
+		}
+		return (low + 1) * this.blockSize;
+	}
+
+	/**
+	 * Returns a cursor positioned before the first bar.
+	 * @return the cursor
+	 */
+	public Cursor cursor() {
+		return cursor(0);
+	}
+
+	/**
+	 * Returns a cursor positioned before the bar at the given index.
+	 * @param from the index of the first bar returned by {@link Cursor#next()}
+	 * @return the cursor
+	 */
+	public Cursor cursor(int from) {
+		if (from < 0 || from > this.size) {
+			throw new IndexOutOfBoundsException(from);
+		}
+		return new Cursor(from);
+	}
+
+	/**
+	 * Returns the number of bars.
+	 * @return the number of bars
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns whether the series has no bars.
+	 * @return {@code true} if there are no bars
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Returns the number of bars per block, the unit that is decoded at once.
+	 * @return the block size
+	 */
+	public int blockSize() {
+		return this.blockSize;
+	}
+
+	/**
+	 * Returns the chart meta data of the original series.
+	 * @return the meta data, or {@code null} if unknown
+	 */
+	public ChartResponse.@Nullable Meta meta() {
+		return this.meta;
+	}
+
+	/**
+	 * Returns the number of bytes of the encoded blocks, excluding object headers.
+	 * @return the compressed size in bytes
+	 */
+	public long compressedBytes() {
+		long bytes = 0;
+		for (Block block : this.blocks) {
+			bytes += block.bits.length * 8L + COLUMNS * 4L + 20;
+		}
+		return bytes;
+	}
+
+	@Override
+	public String toString() {
+		return "CompressedSeries[size=" + this.size + ", blocks=" + this.blocks.length + ", bytes=" + compressedBytes()
+				+ "]";
+	}
+
+	private static HistorySeries concat(HistorySeries first, HistorySeries second) {
+		if (first.isEmpty()) {
+			return second;
+		}
+		return new HistorySeries(second.meta(), concat(first.timestamps(), second.timestamps()),
+				concat(first.open(), second.open()), concat(first.high(), second.high()),
+				concat(first.low(), second.low()), concat(first.close(), second.close()),
+				concat(first.adjClose(), second.adjClose()), concat(first.volume(), second.volume()),
+				concat(first.dividends(), second.dividends()), concat(first.splits(), second.splits()));
+	}
+
+	private static long[] concat(long[] first, long[] second) {
+		long[] result = Arrays.copyOf(first, first.length + second.length);
+		System.arraycopy(second, 0, result, first.length, second.length);
+		return result;
+	}
+
+	private static double[] concat(double[] first, double[] second) {
+		double[] result = Arrays.copyOf(first, first.length + second.length);
+		System.arraycopy(second, 0, result, first.length, second.length);
+		return result;
+	}
+
+	/**
+	 * Forward-only cursor that decodes one bar per {@link #next()} call without
+	 * materializing the columns.
+	 */
+	public final class Cursor {
+
+		private int index;
+
+		private int remaining;
+
+		private @Nullable TimestampDecoder timestamps;
+
+		private final DoubleDecoder[] prices = new DoubleDecoder[COLUMNS];
+
+		private @Nullable LongDecoder volumes;
+
+		private long timestamp;
+
+		private final double[] values = new double[COLUMNS];
+
+		private long volume;
+
+		private boolean positioned;
+
+		private Cursor(int from) {
+			this.index = from;
+			if (from < CompressedSeries.this.size) {
+				int skip = openBlock(from / CompressedSeries.this.blockSize);
+				for (int i = 0; i < skip; i++) {
+					decode();
+				}
+			}
+		}
+
+		/**
+		 * Advances to the next bar.
+		 * @return {@code false} if there are no more bars
+		 */
+		public boolean next() {
+			if (this.index >= CompressedSeries.this.size) {
+				this.positioned = false;
+				return false;
+			}
+			if (this.remaining == 0) {
+				openBlock(this.index / CompressedSeries.this.blockSize);
+			}
+			decode();
+			this.index++;
+			this.positioned = true;
+			return true;
+		}
+
+		/**
+		 * Returns the index of the current bar.
+		 * @return the index
+		 */
+		public int index() {
+			check();
+			return this.index - 1;
+		}
+
+		/**
+		 * Returns the timestamp of the current bar in epoch seconds.
+		 * @return the timestamp
+		 */
+		public long timestamp() {
+			check();
+			return this.timestamp;
+		}
+
+		/**
+		 * Returns the opening price of the current bar.
+		 * @return the open, {@code NaN} if missing
+		 */
+		public double open() {
+			return value(OPEN);
+		}
+
+		/**
+		 * Returns the highest price of the current bar.
+		 * @return the high, {@code NaN} if missing
+		 */
+		public double high() {
+			return value(HIGH);
+		}
+
+		/**
+		 * Returns the lowest price of the current bar.
+		 * @return the low, {@code NaN} if missing
+		 */
+		public double low() {
+			return value(LOW);
+		}
+
+		/**
+		 * Returns the closing price of the current bar.
+		 * @return the close, {@code NaN} if missing
+		 */
+		public double close() {
+			return value(CLOSE);
+		}
+
+		/**
+		 * Returns the adjusted closing price of the current bar.
+		 * @return the adjusted close, {@code NaN} if missing
+		 */
+		public double adjClose() {
+			return value(ADJ_CLOSE);
+		}
+
+		/**
+		 * Returns the trading volume of the current bar.
+		 * @return the volume
+		 */
+		public long volume() {
+			check();
+			return this.volume;
+		}
+
+		/**
+		 * Returns the dividend paid on the current bar.
+		 * @return the dividend amount, 0 if none
+		 */
+		public double dividends() {
+			return value(DIVIDENDS);
+		}
+
+		/**
+		 * Returns the stock split ratio of the current bar.
+		 * @return the split ratio, 0 if none
+		 */
+		public double splits() {
+			return value(SPLITS);
+		}
+
+		private double value(int column) {
+			check();
+			return this.values[column];
+		}
+
+		private void check() {
+			if (!this.positioned) {
+				throw new NoSuchElementException("next() has not returned true");
+			}
+		}
+
+		private int openBlock(int b) {
+			Block block = CompressedSeries.this.blocks[b];
+			this.timestamps = new TimestampDecoder(block.reader(TIMESTAMPS));
+			this.volumes = new LongDecoder(block.reader(VOLUME));
+			for (int column = OPEN; column < COLUMNS; column++) {
+				if (column != VOLUME) {
+					this.prices[column] = new DoubleDecoder(block.reader(column));
+				}
+			}
+			this.remaining = block.count;
+			return this.index - b * CompressedSeries.this.blockSize;
+		}
+
+		private void decode() {
+			TimestampDecoder timestamps = this.timestamps;
+			LongDecoder volumes = this.volumes;
+			if (timestamps == null || volumes == null) {
+				throw new IllegalStateException("No block is open");
+			}
+			this.timestamp = timestamps.next();
+			this.volume = volumes.next();
+			for (int column = OPEN; column < COLUMNS; column++) {
+				if (column != VOLUME) {
+					this.values[column] = this.prices[column].next();
+				}
+			}
+			this.remaining--;
+		}
+
+	}
+
+	private static final class Block {
+
+		final int count;
+
+		final long lastTimestamp;
+
+		final long[] bits;
+
+		// bit offset of each column
+		final int[] offsets;
+
+		private Block(int count, long lastTimestamp, long[] bits, int[] offsets) {
+			this.count = count;
+			this.lastTimestamp = lastTimestamp;
+			this.bits = bits;
+			this.offsets = offsets;
+		}
+
+		static Block encode(HistorySeries series, int from, int to) {
+			BitWriter writer = new BitWriter((to - from) * 2);
+			int[] offsets = new int[COLUMNS];
+			offsets[TIMESTAMPS] = (int) writer.position();
+			TimestampEncoder timestamps = new TimestampEncoder(writer);
+			for (int i = from; i < to; i++) {
+				timestamps.add(series.timestamps()[i]);
+			}
+			double[][] columns = { new double[0], series.open(), series.high(), series.low(), series.close(),
+					series.adjClose(), new double[0], series.dividends(), series.splits() };
+			for (int column = OPEN; column < COLUMNS; column++) {
+				offsets[column] = (int) writer.position();
+				if (column == VOLUME) {
+					LongEncoder volumes = new LongEncoder(writer);
+					for (int i = from; i < to; i++) {
+						volumes.add(series.volume()[i]);
+					}
+					continue;
+				}
+				DoubleEncoder encoder = new DoubleEncoder(writer);
+				double[] values = columns[column];
+				for (int i = from; i < to; i++) {
+					encoder.add(values[i]);
+				}
+			}
+			return new Block(to - from, series.timestamps()[to - 1], writer.toArray(), offsets);
+		}
+
+		BitReader reader(int column) {
+			return new BitReader(this.bits, this.offsets[column]);
+		}
+
+	}
+
+	/**
+	 * Delta-of-delta encoding with the value ranges of the Gorilla paper, extended by a
+	 * 64-bit case so that any gap can be represented.
+	 */
+	private static final class TimestampEncoder {
+
+		private final BitWriter writer;
+
+		private boolean first = true;
+
+		private long previous;
+
+		private long previousDelta;
+
+		TimestampEncoder(BitWriter writer) {
+			this.writer = writer;
+		}
+
+		void add(long timestamp) {
+			if (this.first) {
+				this.writer.writeBits(timestamp, 64);
+				this.first = false;
+			}
+			else {
+				long delta = timestamp - this.previous;
+				long dod = delta - this.previousDelta;
+				if (dod == 0) {
+					this.writer.writeBits(0b0, 1);
+				}
+				else if (dod >= -64 && dod <= 63) {
+					this.writer.writeBits(0b10, 2);
+					this.writer.writeBits(dod, 7);
+				}
+				else if (dod >= -256 && dod <= 255) {
+					this.writer.writeBits(0b110, 3);
+					this.writer.writeBits(dod, 9);
+				}
+				else if (dod >= -2048 && dod <= 2047) {
+					this.writer.writeBits(0b1110, 4);
+					this.writer.writeBits(dod, 12);
+				}
+				else if (dod >= Integer.MIN_VALUE && dod <= Integer.MAX_VALUE) {
+					this.writer.writeBits(0b11110, 5);
+					this.writer.writeBits(dod, 32);
+				}
+				else {
+					this.writer.writeBits(0b11111, 5);
+					this.writer.writeBits(dod, 64);
+				}
+				this.previousDelta = delta;
+			}
+			this.previous = timestamp;
+		}
+
+	}
+
+	private static final class TimestampDecoder {
+
+		private final BitReader reader;
+
+		private boolean first = true;
+
+		private long previous;
+
+		private long previousDelta;
+
+		TimestampDecoder(BitReader reader) {
+			this.reader = reader;
+		}
+
+		long next() {
+			if (this.first) {
+				this.first = false;
+				this.previous = this.reader.readBits(64);
+				return this.previous;
+			}
+			long dod;
+			if (!this.reader.readBit()) {
+				dod = 0;
+			}
+			else if (!this.reader.readBit()) {
+				dod = signed(this.reader.readBits(7), 7);
+			}
+			else if (!this.reader.readBit()) {
+				dod = signed(this.reader.readBits(9), 9);
+			}
+			else if (!this.reader.readBit()) {
+				dod = signed(this.reader.readBits(12), 12);
+			}
+			else if (!this.reader.readBit()) {
+				dod = signed(this.reader.readBits(32), 32);
+			}
+			else {
+				dod = this.reader.readBits(64);
+			}
+			this.previousDelta += dod;
+			this.previous += this.previousDelta;
+			return this.previous;
+		}
+
+		private static long signed(long value, int bits) {
+			return (value << (64 - bits)) >> (64 - bits);
+		}
+
+	}
+
+	/**
+	 * XOR encoding of consecutive doubles as in the Gorilla paper, with 6 bits for the
+	 * number of leading zeros so that the full range is covered.
+	 */
+	private static final class DoubleEncoder {
+
+		private final BitWriter writer;
+
+		private boolean first = true;
+
+		private long previous;
+
+		private int leading = -1;
+
+		private int trailing;
+
+		DoubleEncoder(BitWriter writer) {
+			this.writer = writer;
+		}
+
+		void add(double value) {
+			long bits = Double.doubleToRawLongBits(value);
+			if (this.first) {
+				this.writer.writeBits(bits, 64);
+				this.first = false;
+			}
+			else {
+				long xor = bits ^ this.previous;
+				if (xor == 0) {
+					this.writer.writeBits(0b0, 1);
+				}
+				else {
+					int leading = Long.numberOfLeadingZeros(xor);
+					int trailing = Long.numberOfTrailingZeros(xor);
+					if (this.leading >= 0 && leading >= this.leading && trailing >= this.trailing) {
+						// the meaningful bits fit into the previous window
+						this.writer.writeBits(0b10, 2);
+						this.writer.writeBits(xor >>> this.trailing, 64 - this.leading - this.trailing);
+					}
+					else {
+						int meaningful = 64 - leading - trailing;
+						this.writer.writeBits(0b11, 2);
+						this.writer.writeBits(leading, 6);
+						this.writer.writeBits(meaningful - 1, 6);
+						this.writer.writeBits(xor >>> trailing, meaningful);
+						this.leading = leading;
+						this.trailing = trailing;
+					}
+				}
+			}
+			this.previous = bits;
+		}
+
+	}
+
+	private static final class DoubleDecoder {
+
+		private final BitReader reader;
+
+		private boolean first = true;
+
+		private long previous;
+
+		private int leading;
+
+		private int trailing;
+
+		DoubleDecoder(BitReader reader) {
+			this.reader = reader;
+		}
+
+		double next() {
+			if (this.first) {
+				this.first = false;
+				this.previous = this.reader.readBits(64);
+			}
+			else if (this.reader.readBit()) {
+				if (this.reader.readBit()) {
+					this.leading = (int) this.reader.readBits(6);
+					int meaningful = (int) this.reader.readBits(6) + 1;
+					this.trailing = 64 - this.leading - meaningful;
+				}
+				long xor = this.reader.readBits(64 - this.leading - this.trailing) << this.trailing;
+				this.previous ^= xor;
+			}
+			return Double.longBitsToDouble(this.previous);
+		}
+
+	}
+
+	/**
+	 * Zigzag-encoded deltas prefixed with their bit length, for volumes that change by
+	 * arbitrary amounts from bar to bar.
+	 */
+	private static final class LongEncoder {
+
+		private final BitWriter writer;
+
+		private boolean first = true;
+
+		private long previous;
+
+		LongEncoder(BitWriter writer) {
+			this.writer = writer;
+		}
+
+		void add(long value) {
+			if (this.first) {
+				this.writer.writeBits(value, 64);
+				this.first = false;
+			}
+			else {
+				long delta = value - this.previous;
+				if (delta == 0) {
+					this.writer.writeBits(0b0, 1);
+				}
+				else {
+					long zigzag = (delta << 1) ^ (delta >> 63);
+					int length = 64 - Long.numberOfLeadingZeros(zigzag);
+					this.writer.writeBits(0b1, 1);
+					this.writer.writeBits(length - 1, 6);
+					this.writer.writeBits(zigzag, length);
+				}
+			}
+			this.previous = value;
+		}
+
+	}
+
+	private static final class LongDecoder {
+
+		private final BitReader reader;
+
+		private boolean first = true;
+
+		private long previous;
+
+		LongDecoder(BitReader reader) {
+			this.reader = reader;
+		}
+
+		long next() {
+			if (this.first) {
+				this.first = false;
+				this.previous = this.reader.readBits(64);
+			}
+			else if (this.reader.readBit()) {
+				int length = (int) this.reader.readBits(6) + 1;
+				long zigzag = this.reader.readBits(length);
+				this.previous += (zigzag >>> 1) ^ -(zigzag & 1);
+			}
+			return this.previous;
+		}
+
+	}
+
+}
@@ -0,0 +1,63 @@
+package am.ik.yfinance4j.chart;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Dividends and stock splits decoded from the {@code events} section of a chart response,
+ * sorted by date.
+ *
+ * @param dividends the dividends
+ * @param splits the stock splits
+ */
+public record CorporateActions(List<DividendEvent> dividends, List<SplitEvent> splits) {
+
+	public CorporateActions {
+		dividends = List.copyOf(dividends);
+		splits = List.copyOf(splits);
+	}
+
+	/**
+	 * Decodes the events of a chart result. Splits with invalid ratios are skipped.
+	 * @param events the chart events, may be {@code null}
+	 * @return the corporate actions
+	 */
+	public static CorporateActions from(ChartResponse.@Nullable Events events) {
+		if (events == null) {
+			return new CorporateActions(List.of(), List.of());
+		}
+		List<DividendEvent> dividends = new ArrayList<>();
+		Map<String, ChartResponse.Dividend> dividendMap = events.dividends();
+		if (dividendMap != null) {
+			for (ChartResponse.Dividend dividend : dividendMap.values()) {
+				dividends.add(new DividendEvent(Instant.ofEpochSecond(dividend.date()), dividend.amount()));
+			}
+			dividends.sort(Comparator.comparing(DividendEvent::date));
+		}
+		List<SplitEvent> splits = new ArrayList<>();
+		Map<String, ChartResponse.Split> splitMap = events.splits();
+		if (splitMap != null) {
+			for (ChartResponse.Split split : splitMap.values()) {
+				try {
+					BigDecimal numerator = new BigDecimal(split.numerator());
+					BigDecimal denominator = new BigDecimal(split.denominator());
+					if (denominator.signum() != 0) {
+						splits.add(new SplitEvent(Instant.ofEpochSecond(split.date()), numerator, denominator));
+					}
+				}
+				catch (NumberFormatException ex) {
+					// skip invalid split data
+				}
+			}
+			splits.sort(Comparator.comparing(SplitEvent::date));
+		}
+		return new CorporateActions(dividends, splits);
+	}
+
+}
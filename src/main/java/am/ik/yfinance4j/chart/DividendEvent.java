@@ -0,0 +1,13 @@
+package am.ik.yfinance4j.chart;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A dividend payment.
+ *
+ * @param date the ex-dividend date
+ * @param amount the dividend amount per share
+ */
+public record DividendEvent(Instant date, BigDecimal amount) {
+}
@@ -0,0 +1,48 @@
+package am.ik.yfinance4j.chart;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Lightweight quote information taken from the {@link ChartResponse.Meta meta} section of
+ * a minimal chart response, similar to Python yfinance's {@code fast_info}. It is much
+ * cheaper to obtain than the quoteSummary based {@code StockInfo}.
+ *
+ * @param symbol the ticker symbol
+ * @param currency the trading currency
+ * @param exchange the exchange name
+ * @param quoteType the instrument type (e.g. EQUITY, ETF)
+ * @param timezone the exchange time zone name (e.g. America/New_York)
+ * @param lastPrice the regular market price
+ * @param previousClose the previous close
+ * @param dayHigh the regular market day high
+ * @param dayLow the regular market day low
+ * @param lastVolume the regular market volume
+ * @param regularMarketTime the time of the last regular market price
+ * @param firstTradeDate the first trade date of the instrument
+ */
+public record FastInfo(String symbol, @Nullable String currency, @Nullable String exchange, @Nullable String quoteType,
+		@Nullable String timezone, @Nullable BigDecimal lastPrice, @Nullable BigDecimal previousClose,
+		@Nullable BigDecimal dayHigh, @Nullable BigDecimal dayLow, @Nullable Long lastVolume,
+		@Nullable Instant regularMarketTime, @Nullable Instant firstTradeDate) {
+
+	/**
+	 * Creates a {@link FastInfo} from chart meta data.
+	 * @param meta the chart meta
+	 * @return the fast info
+	 */
+	public static FastInfo from(ChartResponse.Meta meta) {
+		BigDecimal previousClose = meta.previousClose() != null ? meta.previousClose() : meta.chartPreviousClose();
+		return new FastInfo(meta.symbol(), meta.currency(), meta.exchangeName(), meta.instrumentType(),
+				meta.exchangeTimezoneName(), meta.regularMarketPrice(), previousClose, meta.regularMarketDayHigh(),
+				meta.regularMarketDayLow(), meta.regularMarketVolume(), toInstant(meta.regularMarketTime()),
+				toInstant(meta.firstTradeDate()));
+	}
+
+	private static @Nullable Instant toInstant(@Nullable Long epochSecond) {
+		return epochSecond != null ? Instant.ofEpochSecond(epochSecond) : null;
+	}
+
+}
@@ -0,0 +1,14 @@
+package am.ik.yfinance4j.chart;
+
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Historical price data together with the chart meta data of the same response.
+ *
+ * @param meta the chart meta data, or {@code null} if the response had no result
+ * @param records the historical records
+ */
+public record History(ChartResponse.@Nullable Meta meta, List<HistoryRecord> records) {
+}
@@ -0,0 +1,307 @@
+package am.ik.yfinance4j.chart;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import am.ik.yfinance4j.Interval;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Historical price data of several symbols aligned on one sorted timestamp axis, similar
+ * to the multi-index frame returned by Python yfinance's {@code download}. The axis is
+ * the union of the timestamps of all series, built with a k-way merge; a symbol without a
+ * bar at a timestamp has {@link Double#NaN} there, unless the panel is
+ * {@link #forwardFill() forward filled}.
+ * <p>
+ * Daily and coarser bars of different exchanges carry different times of day, e.g. 14:30
+ * UTC for New York and 00:00 UTC for Tokyo, so {@link #of(Map, Interval)} aligns them on
+ * the trading date in each exchange's time zone instead, like Python yfinance does. The
+ * timestamps of such a panel are the trading dates at midnight UTC.
+ * <p>
+ * Each {@link Field} is stored as a column-major matrix: {@code matrix(field)[s]} is the
+ * contiguous column of the {@code s}-th symbol, indexed like {@link #timestamps()}.
+ * Volumes are stored as {@code double} so that gaps can be represented as well. The
+ * accessors return the backing arrays without copying them for efficiency. They must not
+ * be modified.
+ */
+public final class HistoryPanel {
+
+	/**
+	 * The price fields of a panel.
+	 */
+	public enum Field {
+
+		OPEN, HIGH, LOW, CLOSE, ADJ_CLOSE, VOLUME
+
+	}
+
+	private final List<String> symbols;
+
+	private final Map<String, Integer> symbolIndex;
+
+	private final long[] timestamps;
+
+	private final double[][][] matrices;
+
+	private HistoryPanel(List<String> symbols, long[] timestamps, double[][][] matrices) {
+		this.symbols = symbols;
+		this.timestamps = timestamps;
+		this.matrices = matrices;
+		Map<String, Integer> symbolIndex = new HashMap<>();
+		for (int s = 0; s < symbols.size(); s++) {
+			symbolIndex.put(symbols.get(s), s);
+		}
+		this.symbolIndex = symbolIndex;
+	}
+
+	/**
+	 * Aligns the given series on their exact timestamps. The symbols keep the iteration
+	 * order of the map, so pass a {@link java.util.LinkedHashMap} to control the column
+	 * order.
+	 * @param series the series by symbol
+	 * @return the panel
+	 */
+	public static HistoryPanel of(Map<String, HistorySeries> series) {
+		return of(series, false);
+	}
+
+	/**
+	 * Aligns the given series fetched with the given interval. Intraday bars are aligned
+	 * on their exact timestamps; daily and coarser bars on their trading date in the time
+	 * zone of their exchange, so that markets in different time zones share rows. The
+	 * symbols keep the iteration order of the map, so pass a
+	 * {@link java.util.LinkedHashMap} to control the column order.
+	 * @param series the series by symbol
+	 * @param interval the interval the series were fetched with
+	 * @return the panel
+	 */
+	public static HistoryPanel of(Map<String, HistorySeries> series, Interval interval) {
+		return of(series, isDaily(interval));
+	}
+
+	private static HistoryPanel of(Map<String, HistorySeries> series, boolean byDate) {
+		int k = series.size();
+		List<String> symbols = new ArrayList<>(k);
+		long[][] sources = new long[k][];
+		HistorySeries[] columns = new HistorySeries[k];
+		int total = 0;
+		int s = 0;
+		for (Map.Entry<String, HistorySeries> entry : series.entrySet()) {
+			symbols.add(entry.getKey());
+			columns[s] = entry.getValue();
+			sources[s] = byDate ? tradingDates(entry.getValue()) : entry.getValue().timestamps();
+			total += sources[s].length;
+			s++;
+		}
+		long[] axis = new long[total];
+		int[][] rows = new int[k][];
+		for (s = 0; s < k; s++) {
+			rows[s] = new int[sources[s].length];
+		}
+		int size = merge(sources, axis, rows);
+		long[] timestamps = Arrays.copyOf(axis, size);
+
+		double[][][] matrices = new double[Field.values().length][k][];
+		for (s = 0; s < k; s++) {
+			HistorySeries column = columns[s];
+			int[] row = rows[s];
+			scatter(matrices, Field.OPEN, s, size, row, column.open());
+			scatter(matrices, Field.HIGH, s, size, row, column.high());
+			scatter(matrices, Field.LOW, s, size, row, column.low());
+			scatter(matrices, Field.CLOSE, s, size, row, column.close());
+			scatter(matrices, Field.ADJ_CLOSE, s, size, row, column.adjClose());
+			double[] volume = new double[size];
+			Arrays.fill(volume, Double.NaN);
+			long[] source = column.volume();
+			for (int i = 0; i < row.length; i++) {
+				volume[row[i]] = source[i];
+			}
+			matrices[Field.VOLUME.ordinal()][s] = volume;
+		}
+		return new HistoryPanel(Collections.unmodifiableList(symbols), timestamps, matrices);
+	}
+
+	private static boolean isDaily(Interval interval) {
+		return switch (interval) {
+			case ONE_DAY, FIVE_DAYS, ONE_WEEK, ONE_MONTH, THREE_MONTHS -> true;
+			default -> false;
+		};
+	}
+
+	/**
+	 * Returns the trading date of every bar in the exchange time zone, as midnight UTC in
+	 * epoch seconds. The dates stay sorted since the mapping is monotonic.
+	 */
+	private static long[] tradingDates(HistorySeries series) {
+		ZoneId zone = Resampler.zoneOf(series.meta());
+		long[] timestamps = series.timestamps();
+		long[] dates = new long[timestamps.length];
+		for (int i = 0; i < timestamps.length; i++) {
+			dates[i] = LocalDate.ofInstant(Instant.ofEpochSecond(timestamps[i]), zone).toEpochDay() * 86400;
+		}
+		return dates;
+	}
+
+	/**
+	 * Merges the sorted timestamp arrays into {@code axis}, dropping duplicates, and
+	 * records the axis row of every source position in {@code rows}. The next timestamp
+	 * is taken from a binary min-heap of the source cursors, so the merge runs in
+	 * {@code O(total * log k)}.
+	 * @return the length of the axis
+	 */
+	private static int merge(long[][] sources, long[] axis, int[][] rows) {
+		int k = sources.length;
+		int[] cursors = new int[k];
+		int[] heap = new int[k];
+		int heapSize = 0;
+		for (int s = 0; s < k; s++) {
+			if (sources[s].length > 0) {
+				heap[heapSize++] = s;
+			}
+		}
+		for (int i = heapSize / 2 - 1; i >= 0; i--) {
+			siftDown(heap, heapSize, i, sources, cursors);
+		}
+		int size = 0;
+		while (heapSize > 0) {
+			int s = heap[0];
+			long t = sources[s][cursors[s]];
+			if (size == 0 || axis[size - 1] != t) {
+				axis[size++] = t;
+			}
+			rows[s][cursors[s]] = size - 1;
+			cursors[s]++;
+			if (cursors[s] == sources[s].length) {
+				heap[0] = heap[--heapSize];
+			}
+			siftDown(heap, heapSize, 0, sources, cursors);
+		}
+		return size;
+	}
+
+	private static void siftDown(int[] heap, int heapSize, int index, long[][] sources, int[] cursors) {
+		int i = index;
+		while (true) {
+			int left = 2 * i + 1;
+			if (left >= heapSize) {
+				return;
+			}
+			int smallest = left;
+			int right = left + 1;
+			if (right < heapSize && head(heap[right], sources, cursors) < head(heap[left], sources, cursors)) {
+				smallest = right;
+			}
+			if (head(heap[i], sources, cursors) <= head(heap[smallest], sources, cursors)) {
+				return;
+			}
+			int tmp = heap[i];
+			heap[i] = heap[smallest];
+			heap[smallest] = tmp;
+			i = smallest;
+		}
+	}
+
+	private static long head(int source, long[][] sources, int[] cursors) {
+		return sources[source][cursors[source]];
+	}
+
+	private static void scatter(double[][][] matrices, Field field, int s, int size, int[] row, double[] source) {
+		double[] column = new double[size];
+		Arrays.fill(column, Double.NaN);
+		for (int i = 0; i < row.length; i++) {
+			column[row[i]] = source[i];
+		}
+		matrices[field.ordinal()][s] = column;
+	}
+
+	/**
+	 * Returns a copy of this panel in which gaps after the first bar of each symbol carry
+	 * the prices of the previous bar forward. The volume of a filled gap is 0, since
+	 * nothing was traded. Gaps before the first bar of a symbol remain
+	 * {@link Double#NaN}.
+	 * @return the forward filled panel
+	 */
+	public HistoryPanel forwardFill() {
+		double[][][] filled = new double[this.matrices.length][this.symbols.size()][];
+		for (Field field : Field.values()) {
+			double[][] matrix = this.matrices[field.ordinal()];
+			for (int s = 0; s < matrix.length; s++) {
+				double[] column = matrix[s].clone();
+				double last = Double.NaN;
+				for (int i = 0; i < column.length; i++) {
+					if (!Double.isNaN(column[i])) {
+						last = column[i];
+					}
+					else if (!Double.isNaN(last)) {
+						column[i] = (field == Field.VOLUME) ? 0 : last;
+					}
+				}
+				filled[field.ordinal()][s] = column;
+			}
+		}
+		return new HistoryPanel(this.symbols, this.timestamps, filled);
+	}
+
+	/**
+	 * Returns the symbols in column order.
+	 * @return the symbols
+	 */
+	public List<String> symbols() {
+		return this.symbols;
+	}
+
+	/**
+	 * Returns the shared timestamp axis in epoch seconds. For daily and coarser bars
+	 * aligned with {@link #of(Map, Interval)}, these are the trading dates at midnight
+	 * UTC.
+	 * @return the timestamps
+	 */
+	public long[] timestamps() {
+		return this.timestamps;
+	}
+
+	/**
+	 * Returns the number of timestamps.
+	 * @return the number of rows
+	 */
+	public int size() {
+		return this.timestamps.length;
+	}
+
+	/**
+	 * Returns the column-major matrix of a field, one column per symbol.
+	 * @param field the field
+	 * @return the matrix indexed by symbol and then by row
+	 */
+	public double[][] matrix(Field field) {
+		return this.matrices[field.ordinal()];
+	}
+
+	/**
+	 * Returns the column of a field for one symbol.
+	 * @param field the field
+	 * @param symbol the symbol
+	 * @return the column indexed like {@link #timestamps()}
+	 * @throws IllegalArgumentException if the panel does not contain the symbol
+	 */
+	public double[] column(Field field, String symbol) {
+		@Nullable Integer index = this.symbolIndex.get(symbol);
+		if (index == null) {
+			throw new IllegalArgumentException("Unknown symbol: " + symbol);
+		}
+		return this.matrices[field.ordinal()][index];
+	}
+
+	@Override
+	public String toString() {
+		return "HistoryPanel[symbols=" + this.symbols + ", size=" + size() + "]";
+	}
+
+}
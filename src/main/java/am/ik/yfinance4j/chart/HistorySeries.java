@@ -0,0 +1,286 @@
+package am.ik.yfinance4j.chart;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import am.ik.yfinance4j.YFinanceException;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Column-oriented historical price data backed by primitive arrays. Compared to a list of
+ * {@link HistoryRecord}s it needs a fraction of the memory and is the input format of the
+ * bulk computations in this package, such as {@link PriceAdjuster}.
+ * <p>
+ * The column accessors return the backing arrays without copying them for efficiency.
+ * They must not be modified.
+ */
+public final class HistorySeries {
+
+	private final ChartResponse.@Nullable Meta meta;
+
+	private final long[] timestamps;
+
+	private final double[] open;
+
+	private final double[] high;
+
+	private final double[] low;
+
+	private final double[] close;
+
+	private final double[] adjClose;
+
+	private final long[] volume;
+
+	private final double[] dividends;
+
+	private final double[] splits;
+
+	/**
+	 * Creates a new series. All arrays must have the same length and timestamps must be
+	 * in ascending order.
+	 * @param meta the chart meta data, may be {@code null}
+	 * @param timestamps the timestamps in epoch seconds
+	 * @param open the opening prices
+	 * @param high the highest prices
+	 * @param low the lowest prices
+	 * @param close the closing prices
+	 * @param adjClose the adjusted closing prices
+	 * @param volume the trading volumes
+	 * @param dividends the dividend amounts (0 if none)
+	 * @param splits the stock split ratios (0 if none)
+	 */
+	public HistorySeries(ChartResponse.@Nullable Meta meta, long[] timestamps, double[] open, double[] high,
+			double[] low, double[] close, double[] adjClose, long[] volume, double[] dividends, double[] splits) {
+		int n = timestamps.length;
+		if (open.length != n || high.length != n || low.length != n || close.length != n || adjClose.length != n
+				|| volume.length != n || dividends.length != n || splits.length != n) {
+			throw new IllegalArgumentException("All columns must have the same length");
+		}
+		this.meta = meta;
+		this.timestamps = timestamps;
+		this.open = open;
+		this.high = high;
+		this.low = low;
+		this.close = close;
+		this.adjClose = adjClose;
+		this.volume = volume;
+		this.dividends = dividends;
+		this.splits = splits;
+	}
+
+	/**
+	 * Decodes the first result of a chart response. Data points with a missing open,
+	 * high, low or close are skipped, as in {@code Ticker.history}.
+	 * @param response the chart response
+	 * @return the series, empty if the response has no result
+	 * @throws YFinanceException if the response reports an error, such as an unknown
+	 * symbol
+	 */
+	public static HistorySeries from(ChartResponse response) {
+		List<ChartResponse.Result> results = response.chart().result();
+		if (results == null || results.isEmpty()) {
+			ChartResponse.ChartError error = response.chart().error();
+			if (error != null) {
+				throw new YFinanceException("Chart API error: " + error.code() + " - " + error.description());
+			}
+			return empty(null);
+		}
+		ChartResponse.Result result = results.get(0);
+		List<Long> ts = result.timestamp();
+		if (ts == null || ts.isEmpty()) {
+			return empty(result.meta());
+		}
+		ChartResponse.Quote quote = result.indicators().quote().get(0);
+		List<ChartResponse.AdjClose> adjCloseIndicators = result.indicators().adjclose();
+		@Nullable List<@Nullable BigDecimal> adjCloseList = adjCloseIndicators != null && !adjCloseIndicators.isEmpty()
+				? adjCloseIndicators.get(0).adjclose() : null;
+		int capacity = ts.size();
+		long[] timestamps = new long[capacity];
+		double[] open = new double[capacity];
+		double[] high = new double[capacity];
+		double[] low = new double[capacity];
+		double[] close = new double[capacity];
+		double[] adjClose = new double[capacity];
+		long[] volume = new long[capacity];
+		int n = 0;
+		for (int i = 0; i < capacity; i++) {
+			BigDecimal o = get(quote.open(), i);
+			BigDecimal h = get(quote.high(), i);
+			BigDecimal l = get(quote.low(), i);
+			BigDecimal c = get(quote.close(), i);
+			if (o == null || h == null || l == null || c == null) {
+				continue;
+			}
+			BigDecimal a = get(adjCloseList, i);
+			List<@Nullable Long> volumes = quote.volume();
+			Long v = volumes != null && i < volumes.size() ? volumes.get(i) : null;
+			timestamps[n] = ts.get(i);
+			open[n] = o.doubleValue();
+			high[n] = h.doubleValue();
+			low[n] = l.doubleValue();
+			close[n] = c.doubleValue();
+			adjClose[n] = a != null ? a.doubleValue() : close[n];
+			volume[n] = v != null ? v : 0L;
+			n++;
+		}
+		timestamps = Arrays.copyOf(timestamps, n);
+		double[] dividends = new double[n];
+		double[] splits = new double[n];
+		CorporateActions actions = CorporateActions.from(result.events());
+		for (DividendEvent dividend : actions.dividends()) {
+			int index = Arrays.binarySearch(timestamps, dividend.date().getEpochSecond());
+			if (index >= 0) {
+				dividends[index] = dividend.amount().doubleValue();
+			}
+		}
+		for (SplitEvent split : actions.splits()) {
+			int index = Arrays.binarySearch(timestamps, split.date().getEpochSecond());
+			if (index >= 0) {
+				splits[index] = split.ratio().doubleValue();
+			}
+		}
+		return new HistorySeries(result.meta(), timestamps, Arrays.copyOf(open, n), Arrays.copyOf(high, n),
+				Arrays.copyOf(low, n), Arrays.copyOf(close, n), Arrays.copyOf(adjClose, n), Arrays.copyOf(volume, n),
+				dividends, splits);
+	}
+
+	/**
+	 * Creates a series from history records.
+	 * @param records the records in ascending timestamp order
+	 * @return the series
+	 */
+	public static HistorySeries of(List<HistoryRecord> records) {
+		int n = records.size();
+		long[] timestamps = new long[n];
+		double[] open = new double[n];
+		double[] high = new double[n];
+		double[] low = new double[n];
+		double[] close = new double[n];
+		double[] adjClose = new double[n];
+		long[] volume = new long[n];
+		double[] dividends = new double[n];
+		double[] splits = new double[n];
+		for (int i = 0; i < n; i++) {
+			HistoryRecord record = records.get(i);
+			timestamps[i] = record.timestamp().getEpochSecond();
+			open[i] = record.open().doubleValue();
+			high[i] = record.high().doubleValue();
+			low[i] = record.low().doubleValue();
+			close[i] = record.close().doubleValue();
+			adjClose[i] = record.adjClose().doubleValue();
+			volume[i] = record.volume();
+			dividends[i] = record.dividends().doubleValue();
+			splits[i] = record.stockSplits().doubleValue();
+		}
+		return new HistorySeries(null, timestamps, open, high, low, close, adjClose, volume, dividends, splits);
+	}
+
+	/**
+	 * Creates an empty series.
+	 * @param meta the chart meta data, may be {@code null}
+	 * @return the empty series
+	 */
+	public static HistorySeries empty(ChartResponse.@Nullable Meta meta) {
+		return new HistorySeries(meta, new long[0], new double[0], new double[0], new double[0], new double[0],
+				new double[0], new long[0], new double[0], new double[0]);
+	}
+
+	/**
+	 * Converts this series to history records.
+	 * @return the records
+	 */
+	public List<HistoryRecord> toRecords() {
+		List<HistoryRecord> records = new ArrayList<>(size());
+		for (int i = 0; i < size(); i++) {
+			records.add(new HistoryRecord(Instant.ofEpochSecond(this.timestamps[i]), BigDecimal.valueOf(this.open[i]),
+					BigDecimal.valueOf(this.high[i]), BigDecimal.valueOf(this.low[i]),
+					BigDecimal.valueOf(this.close[i]), BigDecimal.valueOf(this.adjClose[i]), this.volume[i],
+					BigDecimal.valueOf(this.dividends[i]), BigDecimal.valueOf(this.splits[i])));
+		}
+		return records;
+	}
+
+	/**
+	 * Returns a new series containing the data points in {@code [from, to)}.
+	 * @param from the first index (inclusive)
+	 * @param to the last index (exclusive)
+	 * @return the slice
+	 */
+	public HistorySeries slice(int from, int to) {
+		return new HistorySeries(this.meta, Arrays.copyOfRange(this.timestamps, from, to),
+				Arrays.copyOfRange(this.open, from, to), Arrays.copyOfRange(this.high, from, to),
+				Arrays.copyOfRange(this.low, from, to), Arrays.copyOfRange(this.close, from, to),
+				Arrays.copyOfRange(this.adjClose, from, to), Arrays.copyOfRange(this.volume, from, to),
+				Arrays.copyOfRange(this.dividends, from, to), Arrays.copyOfRange(this.splits, from, to));
+	}
+
+	public int size() {
+		return this.timestamps.length;
+	}
+
+	public boolean isEmpty() {
+		return this.timestamps.length == 0;
+	}
+
+	public ChartResponse.@Nullable Meta meta() {
+		return this.meta;
+	}
+
+	/**
+	 * Returns the timestamps in epoch seconds.
+	 * @return the timestamps
+	 */
+	public long[] timestamps() {
+		return this.timestamps;
+	}
+
+	public double[] open() {
+		return this.open;
+	}
+
+	public double[] high() {
+		return this.high;
+	}
+
+	public double[] low() {
+		return this.low;
+	}
+
+	public double[] close() {
+		return this.close;
+	}
+
+	public double[] adjClose() {
+		return this.adjClose;
+	}
+
+	public long[] volume() {
+		return this.volume;
+	}
+
+	public double[] dividends() {
+		return this.dividends;
+	}
+
+	public double[] splits() {
+		return this.splits;
+	}
+
+	@Override
+	public String toString() {
+		return "HistorySeries[size=" + size() + (isEmpty() ? "" : ", from=" + Instant.ofEpochSecond(this.timestamps[0])
+				+ ", to=" + Instant.ofEpochSecond(this.timestamps[size() - 1])) + "]";
+	}
+
+	private static @Nullable BigDecimal get(@Nullable List<@Nullable BigDecimal> list, int index) {
+		if (list == null || index >= list.size()) {
+			return null;
+		}
+		return list.get(index);
+	}
+
+}
@@ -0,0 +1,136 @@
+package am.ik.yfinance4j.chart;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Adjusts historical prices for dividends and stock splits, like Python yfinance's
+ * {@code auto_adjust} and {@code back_adjust}. The cumulative adjustment factors are
+ * computed from the dividend and split columns of a {@link HistorySeries} in a single
+ * backward pass and then applied to whole columns at once.
+ * <p>
+ * Prices returned by the Yahoo Finance chart API are already split-adjusted, so
+ * {@link #forSplitAdjustedPrices()} only factors in dividends. Use
+ * {@link #forRawPrices()} for unadjusted prices from other sources; it also adjusts
+ * prices and volumes for splits.
+ *
+ * <pre>{@code
+ * HistorySeries series = ticker.historySeries(ChartRequest.builder().period(Period.MAX).build());
+ * HistorySeries adjusted = PriceAdjuster.forSplitAdjustedPrices().autoAdjust(series);
+ * }</pre>
+ */
+public final class PriceAdjuster {
+
+	private static final PriceAdjuster SPLIT_ADJUSTED = new PriceAdjuster(false);
+
+	private static final PriceAdjuster RAW = new PriceAdjuster(true);
+
+	private final boolean applySplits;
+
+	private PriceAdjuster(boolean applySplits) {
+		this.applySplits = applySplits;
+	}
+
+	/**
+	 * Returns an adjuster for prices that are already split-adjusted, such as those
+	 * returned by the chart API.
+	 * @return the adjuster
+	 */
+	public static PriceAdjuster forSplitAdjustedPrices() {
+		return SPLIT_ADJUSTED;
+	}
+
+	/**
+	 * Returns an adjuster for raw prices that are neither split- nor dividend-adjusted.
+	 * @return the adjuster
+	 */
+	public static PriceAdjuster forRawPrices() {
+		return RAW;
+	}
+
+	/**
+	 * Computes the cumulative price adjustment factor of every data point. The factor of
+	 * the last data point is 1; each dividend multiplies the factors of all earlier data
+	 * points by {@code 1 - dividend / previousClose} and each split (for raw prices)
+	 * divides them by the split ratio.
+	 * @param series the series
+	 * @return the price factors
+	 */
+	public double[] priceFactors(HistorySeries series) {
+		double[] priceFactors = new double[series.size()];
+		computeFactors(series, priceFactors, null);
+		return priceFactors;
+	}
+
+	/**
+	 * Fully adjusts open, high, low and close (Python yfinance's {@code auto_adjust}).
+	 * The adjusted close column holds the adjusted close as well.
+	 * @param series the series
+	 * @return a new adjusted series
+	 */
+	public HistorySeries autoAdjust(HistorySeries series) {
+		return adjust(series, true);
+	}
+
+	/**
+	 * Adjusts open, high and low while keeping the unadjusted close (Python yfinance's
+	 * {@code back_adjust}). The adjusted close column holds the adjusted close.
+	 * @param series the series
+	 * @return a new adjusted series
+	 */
+	public HistorySeries backAdjust(HistorySeries series) {
+		return adjust(series, false);
+	}
+
+	private HistorySeries adjust(HistorySeries series, boolean adjustClose) {
+		int n = series.size();
+		double[] priceFactors = new double[n];
+		double @Nullable [] volumeFactors = this.applySplits ? new double[n] : null;
+		computeFactors(series, priceFactors, volumeFactors);
+		double[] open = multiply(series.open(), priceFactors);
+		double[] high = multiply(series.high(), priceFactors);
+		double[] low = multiply(series.low(), priceFactors);
+		double[] adjClose = multiply(series.close(), priceFactors);
+		double[] close = adjustClose ? adjClose : series.close().clone();
+		long[] volume = series.volume().clone();
+		if (volumeFactors != null) {
+			for (int i = 0; i < n; i++) {
+				volume[i] = Math.round(volume[i] * volumeFactors[i]);
+			}
+		}
+		return new HistorySeries(series.meta(), series.timestamps(), open, high, low, close, adjClose, volume,
+				series.dividends(), series.splits());
+	}
+
+	private void computeFactors(HistorySeries series, double[] priceFactors, double @Nullable [] volumeFactors) {
+		double[] close = series.close();
+		double[] dividends = series.dividends();
+		double[] splits = series.splits();
+		double price = 1;
+		double volume = 1;
+		for (int i = series.size() - 1; i >= 0; i--) {
+			priceFactors[i] = price;
+			if (volumeFactors != null) {
+				volumeFactors[i] = volume;
+			}
+			// events on bar i affect all earlier bars
+			double dividend = dividends[i];
+			if (dividend > 0 && i > 0 && close[i - 1] > dividend) {
+				price *= 1 - dividend / close[i - 1];
+			}
+			double split = splits[i];
+			if (this.applySplits && split > 0) {
+				price /= split;
+				volume *= split;
+			}
+		}
+	}
+
+	private static double[] multiply(double[] values, double[] factors) {
+		double[] result = new double[values.length];
+		for (int i = 0; i < values.length; i++) {
+			result[i] = values[i] * factors[i];
+		}
+		return result;
+	}
+
+}
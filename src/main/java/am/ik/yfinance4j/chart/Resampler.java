@@ -0,0 +1,211 @@
+package am.ik.yfinance4j.chart;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import am.ik.yfinance4j.Interval;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Aggregates a fine-grained {@link HistorySeries} into a coarser {@link Interval}
+ * locally, so that a single fetch of e.g. 1-minute bars can serve every coarser
+ * timeframe. Each output bar takes the first open, the highest high, the lowest low, the
+ * last close and adjusted close, the sum of the volumes and dividends and the product of
+ * the split ratios of its input bars. The series is processed in a single pass over its
+ * primitive columns.
+ * <p>
+ * Bars are grouped in the exchange time zone, taken from
+ * {@link ChartResponse.Meta#exchangeTimezoneName()}, falling back to
+ * {@link ChartResponse.Meta#gmtoffset()} and then UTC:
+ * <ul>
+ * <li>Intraday intervals are aligned to the first bar of each trading day, so that 1-hour
+ * bars of an exchange opening at 9:30 start at 9:30, 10:30 and so on, as Yahoo Finance
+ * does. Intraday bars never span two trading days.</li>
+ * <li>{@link Interval#ONE_DAY} groups by local date, {@link Interval#FIVE_DAYS} by five
+ * consecutive trading days, {@link Interval#ONE_WEEK} by ISO week (starting on Monday),
+ * {@link Interval#ONE_MONTH} by month and {@link Interval#THREE_MONTHS} by calendar
+ * quarter.</li>
+ * </ul>
+ * Intraday output bars are stamped with the start of their bucket, daily and coarser bars
+ * with the timestamp of their first input bar. Resampling into an interval that is not
+ * coarser than the input leaves the bars unchanged.
+ */
+public final class Resampler {
+
+	private Resampler() {
+	}
+
+	/**
+	 * Resamples the series in the exchange time zone of its meta data.
+	 * @param series the fine-grained series
+	 * @param interval the target interval
+	 * @return the resampled series
+	 */
+	public static HistorySeries resample(HistorySeries series, Interval interval) {
+		return resample(series, interval, zoneOf(series.meta()));
+	}
+
+	/**
+	 * Resamples the series in the given time zone.
+	 * @param series the fine-grained series
+	 * @param interval the target interval
+	 * @param zone the time zone that defines day, week, month and quarter boundaries
+	 * @return the resampled series
+	 */
+	public static HistorySeries resample(HistorySeries series, Interval interval, ZoneId zone) {
+		int n = series.size();
+		long[] timestamps = series.timestamps();
+		double[] open = series.open();
+		double[] high = series.high();
+		double[] low = series.low();
+		double[] close = series.close();
+		double[] adjClose = series.adjClose();
+		long[] volume = series.volume();
+		double[] dividends = series.dividends();
+		double[] splits = series.splits();
+
+		long[] outTimestamps = new long[n];
+		double[] outOpen = new double[n];
+		double[] outHigh = new double[n];
+		double[] outLow = new double[n];
+		double[] outClose = new double[n];
+		double[] outAdjClose = new double[n];
+		long[] outVolume = new long[n];
+		double[] outDividends = new double[n];
+		double[] outSplits = new double[n];
+
+		long seconds = intradaySeconds(interval);
+		SessionClock clock = new SessionClock(zone);
+		int out = -1;
+		long currentKey = 0;
+		for (int i = 0; i < n; i++) {
+			long t = timestamps[i];
+			clock.advance(t);
+			long key = (seconds > 0) ? clock.sessionStart + Math.floorDiv(t - clock.sessionStart, seconds) * seconds
+					: calendarKey(interval, clock);
+			if (out < 0 || key != currentKey) {
+				out++;
+				currentKey = key;
+				outTimestamps[out] = (seconds > 0) ? key : t;
+				outOpen[out] = open[i];
+				outHigh[out] = high[i];
+				outLow[out] = low[i];
+				outClose[out] = close[i];
+				outAdjClose[out] = adjClose[i];
+				outVolume[out] = volume[i];
+				outDividends[out] = dividends[i];
+				outSplits[out] = splits[i];
+				continue;
+			}
+			if (high[i] > outHigh[out]) {
+				outHigh[out] = high[i];
+			}
+			if (low[i] < outLow[out]) {
+				outLow[out] = low[i];
+			}
+			outClose[out] = close[i];
+			outAdjClose[out] = adjClose[i];
+			outVolume[out] += volume[i];
+			outDividends[out] += dividends[i];
+			if (splits[i] > 0) {
+				outSplits[out] = (outSplits[out] > 0) ? outSplits[out] * splits[i] : splits[i];
+			}
+		}
+		int size = out + 1;
+		return new HistorySeries(series.meta(), Arrays.copyOf(outTimestamps, size), Arrays.copyOf(outOpen, size),
+				Arrays.copyOf(outHigh, size), Arrays.copyOf(outLow, size), Arrays.copyOf(outClose, size),
+				Arrays.copyOf(outAdjClose, size), Arrays.copyOf(outVolume, size), Arrays.copyOf(outDividends, size),
+				Arrays.copyOf(outSplits, size));
+	}
+
+	/**
+	 * Resolves the exchange time zone of the chart meta data. The IANA zone name in
+	 * {@code exchangeTimezoneName} takes precedence over the fixed {@code gmtoffset}; UTC
+	 * is used if neither is available.
+	 * @param meta the chart meta data, may be {@code null}
+	 * @return the time zone
+	 */
+	public static ZoneId zoneOf(ChartResponse.@Nullable Meta meta) {
+		if (meta == null) {
+			return ZoneOffset.UTC;
+		}
+		String name = meta.exchangeTimezoneName();
+		if (name != null) {
+			try {
+				return ZoneId.of(name);
+			}
+			catch (DateTimeException ex) {
+				// fall through to the fixed offset
+			}
+		}
+		Integer gmtoffset = meta.gmtoffset();
+		if (gmtoffset != null) {
+			return ZoneOffset.ofTotalSeconds(gmtoffset);
+		}
+		return ZoneOffset.UTC;
+	}
+
+	private static long intradaySeconds(Interval interval) {
+		return switch (interval) {
+			case ONE_MINUTE -> 60;
+			case TWO_MINUTES -> 2 * 60;
+			case FIVE_MINUTES -> 5 * 60;
+			case FIFTEEN_MINUTES -> 15 * 60;
+			case THIRTY_MINUTES -> 30 * 60;
+			case SIXTY_MINUTES, ONE_HOUR -> 60 * 60;
+			case NINETY_MINUTES -> 90 * 60;
+			case ONE_DAY, FIVE_DAYS, ONE_WEEK, ONE_MONTH, THREE_MONTHS -> 0;
+		};
+	}
+
+	private static long calendarKey(Interval interval, SessionClock clock) {
+		LocalDate date = clock.date;
+		return switch (interval) {
+			case FIVE_DAYS -> clock.sessionIndex / 5;
+			case ONE_WEEK -> date.toEpochDay() - (date.getDayOfWeek().getValue() - 1);
+			case ONE_MONTH -> date.getYear() * 12L + date.getMonthValue() - 1;
+			case THREE_MONTHS -> date.getYear() * 4L + (date.getMonthValue() - 1) / 3;
+			default -> date.toEpochDay();
+		};
+	}
+
+	/**
+	 * Tracks the local trading day of ascending timestamps. Time zone arithmetic only
+	 * happens when a timestamp crosses into another day.
+	 */
+	private static final class SessionClock {
+
+		private final ZoneId zone;
+
+		private LocalDate date = LocalDate.EPOCH;
+
+		private long dayStart = Long.MAX_VALUE;
+
+		private long dayEnd = Long.MIN_VALUE;
+
+		private long sessionStart;
+
+		private long sessionIndex = -1;
+
+		SessionClock(ZoneId zone) {
+			this.zone = zone;
+		}
+
+		void advance(long epochSecond) {
+			if (epochSecond >= this.dayStart && epochSecond < this.dayEnd) {
+				return;
+			}
+			this.date = Instant.ofEpochSecond(epochSecond).atZone(this.zone).toLocalDate();
+			this.dayStart = this.date.atStartOfDay(this.zone).toEpochSecond();
+			this.dayEnd = this.date.plusDays(1).atStartOfDay(this.zone).toEpochSecond();
+			this.sessionStart = epochSecond;
+			this.sessionIndex++;
+		}
+
+	}
+
+}
@@ -0,0 +1,24 @@
+package am.ik.yfinance4j.chart;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+
+/**
+ * A stock split.
+ *
+ * @param date the split date
+ * @param numerator the number of shares after the split
+ * @param denominator the number of shares before the split
+ */
+public record SplitEvent(Instant date, BigDecimal numerator, BigDecimal denominator) {
+
+	/**
+	 * Returns the split ratio ({@code numerator / denominator}), e.g. 4 for a 4:1 split.
+	 * @return the split ratio
+	 */
+	public BigDecimal ratio() {
+		return this.numerator.divide(this.denominator, 6, RoundingMode.HALF_UP);
+	}
+
+}
@@ -0,0 +1,171 @@
+package am.ik.yfinance4j.fundamentals;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Line items of one reporting frequency as a dense (metric &times; period) matrix. The
+ * periods are the fiscal period end dates in ascending order; a metric that was not
+ * reported for a period is {@link Double#NaN} there.
+ * <p>
+ * The values are stored row-major in one {@code double[]}, so {@link #row(String)} is a
+ * contiguous copy and the whole statement of a company for several years takes a few
+ * kilobytes.
+ */
+public final class FinancialStatement {
+
+	private final Frequency frequency;
+
+	private final @Nullable String currency;
+
+	private final List<String> metrics;
+
+	private final List<LocalDate> periods;
+
+	private final double[] values;
+
+	private final Map<String, Integer> metricIndex;
+
+	/**
+	 * Creates a statement.
+	 * @param frequency the reporting frequency
+	 * @param currency the reporting currency, or {@code null} if unknown
+	 * @param metrics the metric names (rows)
+	 * @param periods the period end dates in ascending order (columns)
+	 * @param values the values in row-major order,
+	 * {@code metrics.size() * periods.size()} long
+	 */
+	public FinancialStatement(Frequency frequency, @Nullable String currency, List<String> metrics,
+			List<LocalDate> periods, double[] values) {
+		if (values.length != metrics.size() * periods.size()) {
+			throw new IllegalArgumentException("values must have " + metrics.size() * periods.size() + " elements");
+		}
+		this.frequency = frequency;
+		this.currency = currency;
+		this.metrics = List.copyOf(metrics);
+		this.periods = List.copyOf(periods);
+		this.values = values;
+		Map<String, Integer> metricIndex = new HashMap<>();
+		for (int i = 0; i < metrics.size(); i++) {
+			metricIndex.put(metrics.get(i), i);
+		}
+		this.metricIndex = metricIndex;
+	}
+
+	/**
+	 * Returns an empty statement.
+	 * @param frequency the reporting frequency
+	 * @return the empty statement
+	 */
+	public static FinancialStatement empty(Frequency frequency) {
+		return new FinancialStatement(frequency, null, Collections.emptyList(), Collections.emptyList(), new double[0]);
+	}
+
+	public Frequency frequency() {
+		return this.frequency;
+	}
+
+	public @Nullable String currency() {
+		return this.currency;
+	}
+
+	/**
+	 * Returns the metric names, i.e. the rows of the matrix.
+	 * @return the metric names
+	 */
+	public List<String> metrics() {
+		return this.metrics;
+	}
+
+	/**
+	 * Returns the period end dates in ascending order, i.e. the columns of the matrix.
+	 * @return the period end dates
+	 */
+	public List<LocalDate> periods() {
+		return this.periods;
+	}
+
+	public boolean isEmpty() {
+		return this.values.length == 0;
+	}
+
+	/**
+	 * Returns the row of the given metric.
+	 * @param metric the metric name
+	 * @return the row index, or -1 if the metric was not reported
+	 */
+	public int indexOf(String metric) {
+		Integer index = this.metricIndex.get(metric);
+		return (index != null) ? index : -1;
+	}
+
+	/**
+	 * Returns the value at the given row and column.
+	 * @param row the metric index
+	 * @param column the period index
+	 * @return the value, {@link Double#NaN} if not reported
+	 */
+	public double value(int row, int column) {
+		return this.values[row * this.periods.size() + column];
+	}
+
+	/**
+	 * Returns the value of a metric for a period.
+	 * @param metric the metric name
+	 * @param period the period end date
+	 * @return the value, {@link Double#NaN} if not reported
+	 */
+	public double value(String metric, LocalDate period) {
+		int row = indexOf(metric);
+		int column = Collections.binarySearch(this.periods, period);
+		return (row < 0 || column < 0) ? Double.NaN : value(row, column);
+	}
+
+	/**
+	 * Returns the values of a metric for all periods.
+	 * @param metric the metric name
+	 * @return a copy of the row, indexed like {@link #periods()}
+	 * @throws IllegalArgumentException if the metric was not reported
+	 */
+	public double[] row(String metric) {
+		int row = indexOf(metric);
+		if (row < 0) {
+			throw new IllegalArgumentException("Unknown metric: " + metric);
+		}
+		int columns = this.periods.size();
+		return Arrays.copyOfRange(this.values, row * columns, (row + 1) * columns);
+	}
+
+	/**
+	 * Returns the value of a metric for the most recent period that reported it.
+	 * @param metric the metric name
+	 * @return the value, {@link Double#NaN} if the metric was not reported
+	 */
+	public double latest(String metric) {
+		int row = indexOf(metric);
+		if (row < 0) {
+			return Double.NaN;
+		}
+		int columns = this.periods.size();
+		for (int column = columns - 1; column >= 0; column--) {
+			double value = this.values[row * columns + column];
+			if (!Double.isNaN(value)) {
+				return value;
+			}
+		}
+		return Double.NaN;
+	}
+
+	@Override
+	public String toString() {
+		return "FinancialStatement[frequency=" + this.frequency + ", metrics=" + this.metrics.size() + ", periods="
+				+ this.periods + "]";
+	}
+
+}
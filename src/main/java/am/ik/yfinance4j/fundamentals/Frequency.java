@@ -0,0 +1,35 @@
+package am.ik.yfinance4j.fundamentals;
+
+/**
+ * Reporting frequency of a fundamentals timeseries. The type keys of the timeseries API
+ * are the metric name prefixed with {@link #prefix()}, e.g.
+ * {@code quarterlyTotalRevenue}.
+ */
+public enum Frequency {
+
+	ANNUAL("annual"), QUARTERLY("quarterly"), TRAILING("trailing");
+
+	private final String prefix;
+
+	Frequency(String prefix) {
+		this.prefix = prefix;
+	}
+
+	/**
+	 * Returns the prefix of the type keys of this frequency.
+	 * @return the prefix, e.g. {@code quarterly}
+	 */
+	public String prefix() {
+		return this.prefix;
+	}
+
+	/**
+	 * Returns the type key of the given metric.
+	 * @param metric the metric name, e.g. {@code TotalRevenue}
+	 * @return the type key, e.g. {@code annualTotalRevenue}
+	 */
+	public String typeKey(String metric) {
+		return this.prefix + metric;
+	}
+
+}
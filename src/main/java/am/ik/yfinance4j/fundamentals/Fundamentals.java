@@ -0,0 +1,176 @@
+package am.ik.yfinance4j.fundamentals;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Annual, quarterly and trailing views of the fundamentals of one company, decoded from
+ * the results of one or more fundamentals timeseries requests.
+ */
+public final class Fundamentals {
+
+	private final Map<Frequency, FinancialStatement> statements;
+
+	private Fundamentals(Map<Frequency, FinancialStatement> statements) {
+		this.statements = statements;
+	}
+
+	/**
+	 * Decodes timeseries results. Each result carries the type key in
+	 * {@code meta.type[0]} and its data points under a property of the same name, with
+	 * the period end date in {@code asOfDate} and the value in {@code reportedValue.raw}.
+	 * Results of unknown type keys are ignored.
+	 * @param results the results of all requests
+	 * @param metrics the requested metric names, defining the row order; metrics that
+	 * were not reported are omitted
+	 * @return the fundamentals
+	 */
+	public static Fundamentals from(List<Map<String, Object>> results, List<String> metrics) {
+		Map<Frequency, Accumulator> accumulators = new EnumMap<>(Frequency.class);
+		for (Map<String, Object> result : results) {
+			String key = typeKey(result);
+			if (key == null || !(result.get(key) instanceof List<?> points)) {
+				continue;
+			}
+			Frequency frequency = frequencyOf(key);
+			if (frequency == null) {
+				continue;
+			}
+			String metric = key.substring(frequency.prefix().length());
+			Accumulator accumulator = accumulators.computeIfAbsent(frequency, f -> new Accumulator());
+			for (Object point : points) {
+				if (point instanceof Map<?, ?> map) {
+					accumulator.add(metric, map);
+				}
+			}
+		}
+		Map<Frequency, FinancialStatement> statements = new EnumMap<>(Frequency.class);
+		accumulators.forEach(
+				(frequency, accumulator) -> statements.put(frequency, accumulator.toStatement(frequency, metrics)));
+		return new Fundamentals(statements);
+	}
+
+	/**
+	 * Returns the statement of the given frequency.
+	 * @param frequency the frequency
+	 * @return the statement, empty if nothing was reported
+	 */
+	public FinancialStatement get(Frequency frequency) {
+		FinancialStatement statement = this.statements.get(frequency);
+		return (statement != null) ? statement : FinancialStatement.empty(frequency);
+	}
+
+	/**
+	 * Returns the annual figures, usually one period per fiscal year.
+	 * @return the annual statement
+	 */
+	public FinancialStatement annual() {
+		return get(Frequency.ANNUAL);
+	}
+
+	/**
+	 * Returns the quarterly figures, usually one period per fiscal quarter.
+	 * @return the quarterly statement
+	 */
+	public FinancialStatement quarterly() {
+		return get(Frequency.QUARTERLY);
+	}
+
+	/**
+	 * Returns the trailing twelve months figures, usually a single period ending with the
+	 * last reported quarter.
+	 * @return the trailing statement
+	 */
+	public FinancialStatement trailing() {
+		return get(Frequency.TRAILING);
+	}
+
+	@Override
+	public String toString() {
+		return "Fundamentals" + this.statements.values();
+	}
+
+	private static @Nullable String typeKey(Map<String, Object> result) {
+		if (result.get("meta") instanceof Map<?, ?> meta && meta.get("type") instanceof List<?> types
+				&& !types.isEmpty() && types.get(0) instanceof String type) {
+			return type;
+		}
+		return null;
+	}
+
+	private static @Nullable Frequency frequencyOf(String key) {
+		for (Frequency frequency : Frequency.values()) {
+			if (key.startsWith(frequency.prefix()) && key.length() > frequency.prefix().length()) {
+				return frequency;
+			}
+		}
+		return null;
+	}
+
+	private static final class Accumulator {
+
+		private final Map<String, Map<LocalDate, Double>> values = new LinkedHashMap<>();
+
+		private final TreeSet<LocalDate> periods = new TreeSet<>();
+
+		private @Nullable String currency;
+
+		void add(String metric, Map<?, ?> point) {
+			if (!(point.get("asOfDate") instanceof String asOfDate)
+					|| !(point.get("reportedValue") instanceof Map<?, ?> reportedValue)
+					|| !(reportedValue.get("raw") instanceof Number raw)) {
+				return;
+			}
+			LocalDate period;
+			try {
+				period = LocalDate.parse(asOfDate);
+			}
+			catch (DateTimeParseException ex) {
+				return;
+			}
+			if (this.currency == null && point.get("currencyCode") instanceof String currencyCode) {
+				this.currency = currencyCode;
+			}
+			this.periods.add(period);
+			this.values.computeIfAbsent(metric, m -> new LinkedHashMap<>()).put(period, raw.doubleValue());
+		}
+
+		FinancialStatement toStatement(Frequency frequency, List<String> requested) {
+			List<String> metrics = new ArrayList<>(this.values.size());
+			for (String metric : requested) {
+				if (this.values.containsKey(metric)) {
+					metrics.add(metric);
+				}
+			}
+			for (String metric : this.values.keySet()) {
+				if (!requested.contains(metric)) {
+					metrics.add(metric);
+				}
+			}
+			List<LocalDate> periods = new ArrayList<>(this.periods);
+			int columns = periods.size();
+			double[] matrix = new double[metrics.size() * columns];
+			Arrays.fill(matrix, Double.NaN);
+			for (int row = 0; row < metrics.size(); row++) {
+				for (Map.Entry<LocalDate, Double> entry : this.values.getOrDefault(metrics.get(row), Map.of())
+					.entrySet()) {
+					int column = Collections.binarySearch(periods, entry.getKey());
+					matrix[row * columns + column] = entry.getValue();
+				}
+			}
+			return new FinancialStatement(frequency, this.currency, metrics, periods, matrix);
+		}
+
+	}
+
+}
@@ -0,0 +1,68 @@
+package am.ik.yfinance4j.fundamentals;
+
+import java.util.List;
+
+/**
+ * Financial statements and the line items requested for them from the fundamentals
+ * timeseries API.
+ */
+public enum Statement {
+
+	INCOME(List.of("TotalRevenue", "OperatingRevenue", "CostOfRevenue", "GrossProfit", "OperatingExpense",
+			"SellingGeneralAndAdministration", "ResearchAndDevelopment", "OperatingIncome", "InterestIncome",
+			"InterestExpense", "NetInterestIncome", "OtherIncomeExpense", "PretaxIncome", "TaxProvision",
+			"TaxRateForCalcs", "NetIncome", "NetIncomeCommonStockholders", "NetIncomeContinuousOperations",
+			"NormalizedIncome", "BasicEPS", "DilutedEPS", "BasicAverageShares", "DilutedAverageShares", "TotalExpenses",
+			"TotalUnusualItems", "ReconciledCostOfRevenue", "ReconciledDepreciation", "EBIT", "EBITDA",
+			"NormalizedEBITDA"), true),
+
+	BALANCE_SHEET(List.of("TotalAssets", "CurrentAssets", "CashAndCashEquivalents",
+			"CashCashEquivalentsAndShortTermInvestments", "OtherShortTermInvestments", "Receivables",
+			"AccountsReceivable", "Inventory", "OtherCurrentAssets", "TotalNonCurrentAssets", "NetPPE", "GrossPPE",
+			"AccumulatedDepreciation", "Goodwill", "GoodwillAndOtherIntangibleAssets", "InvestmentsAndAdvances",
+			"OtherNonCurrentAssets", "TotalLiabilitiesNetMinorityInterest", "CurrentLiabilities", "Payables",
+			"AccountsPayable", "CurrentDebt", "CurrentDeferredRevenue", "OtherCurrentLiabilities",
+			"TotalNonCurrentLiabilitiesNetMinorityInterest", "LongTermDebt", "OtherNonCurrentLiabilities", "TotalDebt",
+			"NetDebt", "StockholdersEquity", "CommonStock", "RetainedEarnings",
+			"GainsLossesNotAffectingRetainedEarnings", "TotalEquityGrossMinorityInterest", "TotalCapitalization",
+			"WorkingCapital", "InvestedCapital", "TangibleBookValue", "ShareIssued", "OrdinarySharesNumber",
+			"TreasurySharesNumber"), false),
+
+	CASH_FLOW(List.of("OperatingCashFlow", "CashFlowFromContinuingOperatingActivities",
+			"NetIncomeFromContinuingOperations", "DepreciationAndAmortization", "DeferredIncomeTax",
+			"StockBasedCompensation", "ChangeInWorkingCapital", "ChangeInReceivables", "ChangeInInventory",
+			"ChangeInPayablesAndAccruedExpense", "InvestingCashFlow", "CapitalExpenditure", "NetPPEPurchaseAndSale",
+			"NetBusinessPurchaseAndSale", "NetInvestmentPurchaseAndSale", "FinancingCashFlow",
+			"NetIssuancePaymentsOfDebt", "IssuanceOfDebt", "RepaymentOfDebt", "NetCommonStockIssuance",
+			"RepurchaseOfCapitalStock", "CashDividendsPaid", "CommonStockDividendPaid", "ChangesInCash",
+			"BeginningCashPosition", "EndCashPosition", "FreeCashFlow", "IncomeTaxPaidSupplementalData",
+			"InterestPaidSupplementalData"), true);
+
+	private final List<String> metrics;
+
+	private final boolean trailing;
+
+	Statement(List<String> metrics, boolean trailing) {
+		this.metrics = metrics;
+		this.trailing = trailing;
+	}
+
+	/**
+	 * Returns the line items of this statement, without frequency prefix.
+	 * @return the metric names
+	 */
+	public List<String> metrics() {
+		return this.metrics;
+	}
+
+	/**
+	 * Returns whether this statement is published with the given frequency. Balance
+	 * sheets are point-in-time and have no trailing twelve months figures.
+	 * @param frequency the frequency
+	 * @return {@code true} if supported
+	 */
+	public boolean supports(Frequency frequency) {
+		return frequency != Frequency.TRAILING || this.trailing;
+	}
+
+}
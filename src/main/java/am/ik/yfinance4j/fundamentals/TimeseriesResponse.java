@@ -0,0 +1,25 @@
+package am.ik.yfinance4j.fundamentals;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * JSON mapping for the Yahoo Finance fundamentals timeseries API response. Each result
+ * holds one type key, whose data points are stored under a property named after the key,
+ * so results are kept as maps and decoded by {@link Fundamentals#from(List, List)}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TimeseriesResponse(@Nullable Timeseries timeseries) {
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Timeseries(@Nullable List<Map<String, Object>> result, @Nullable TimeseriesError error) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record TimeseriesError(String code, String description) {
+	}
+
+}
@@ -0,0 +1,63 @@
+package am.ik.yfinance4j.fundamentals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs type keys into the comma separated {@code type} parameters of as few timeseries
+ * requests as the URL length allows.
+ */
+public final class TypeKeys {
+
+	/**
+	 * Default upper bound of the length of one {@code type} parameter. It keeps the whole
+	 * request line well below the common 8 KiB limit of proxies and servers.
+	 */
+	public static final int DEFAULT_MAX_LENGTH = 2000;
+
+	private TypeKeys() {
+	}
+
+	/**
+	 * Returns the type keys of the given metrics for each of the given frequencies.
+	 * @param metrics the metric names
+	 * @param frequencies the frequencies
+	 * @return the type keys, grouped by frequency
+	 */
+	public static List<String> of(List<String> metrics, List<Frequency> frequencies) {
+		List<String> keys = new ArrayList<>(metrics.size() * frequencies.size());
+		for (Frequency frequency : frequencies) {
+			for (String metric : metrics) {
+				keys.add(frequency.typeKey(metric));
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * Greedily packs the keys in their order into comma separated values no longer than
+	 * {@code maxLength}. A key longer than {@code maxLength} gets a value of its own.
+	 * @param keys the type keys
+	 * @param maxLength the maximum length of one value
+	 * @return the comma separated values, one per request
+	 */
+	public static List<String> pack(List<String> keys, int maxLength) {
+		List<String> packed = new ArrayList<>();
+		StringBuilder current = new StringBuilder(maxLength);
+		for (String key : keys) {
+			if (!current.isEmpty() && current.length() + 1 + key.length() > maxLength) {
+				packed.add(current.toString());
+				current.setLength(0);
+			}
+			if (!current.isEmpty()) {
+				current.append(',');
+			}
+			current.append(key);
+		}
+		if (!current.isEmpty()) {
+			packed.add(current.toString());
+		}
+		return packed;
+	}
+
+}
@@ -0,0 +1,4 @@
+@NullMarked
+package am.ik.yfinance4j.fundamentals;
+
+import org.jspecify.annotations.NullMarked;
@@ -0,0 +1,106 @@
+package am.ik.yfinance4j.indicator;
+
+/**
+ * Bollinger Bands: a {@link Sma} middle band and upper and lower bands {@code k} standard
+ * deviations away. The population standard deviation of the window is used, as in TA-Lib
+ * and John Bollinger's definition. {@link #value()} returns the middle band.
+ */
+public final class BollingerBands implements Indicator {
+
+	private final double[] window;
+
+	private final double k;
+
+	private int count;
+
+	private int next;
+
+	private double sum;
+
+	private double sumOfSquares;
+
+	/**
+	 * Creates new Bollinger Bands with the customary period 20 and 2 standard deviations.
+	 */
+	public BollingerBands() {
+		this(20, 2);
+	}
+
+	/**
+	 * Creates new Bollinger Bands.
+	 * @param period the number of values in the window, at least 1
+	 * @param k the number of standard deviations between the middle and outer bands
+	 */
+	public BollingerBands(int period, double k) {
+		if (period < 1) {
+			throw new IllegalArgumentException("period must be at least 1");
+		}
+		this.window = new double[period];
+		this.k = k;
+	}
+
+	@Override
+	public double update(double value) {
+		if (this.count == this.window.length) {
+			double removed = this.window[this.next];
+			this.sum -= removed;
+			this.sumOfSquares -= removed * removed;
+		}
+		else {
+			this.count++;
+		}
+		this.window[this.next] = value;
+		this.sum += value;
+		this.sumOfSquares += value * value;
+		this.next = (this.next + 1) % this.window.length;
+		return value();
+	}
+
+	@Override
+	public double value() {
+		return isReady() ? this.sum / this.window.length : Double.NaN;
+	}
+
+	/**
+	 * Returns the upper band.
+	 * @return the upper band, or {@link Double#NaN} while not ready
+	 */
+	public double upper() {
+		return value() + this.k * standardDeviation();
+	}
+
+	/**
+	 * Returns the lower band.
+	 * @return the lower band, or {@link Double#NaN} while not ready
+	 */
+	public double lower() {
+		return value() - this.k * standardDeviation();
+	}
+
+	/**
+	 * Returns the population standard deviation of the window.
+	 * @return the standard deviation, or {@link Double#NaN} while not ready
+	 */
+	public double standardDeviation() {
+		if (!isReady()) {
+			return Double.NaN;
+		}
+		double mean = this.sum / this.window.length;
+		// the running sums may drift slightly below zero for a flat window
+		return Math.sqrt(Math.max(this.sumOfSquares / this.window.length - mean * mean, 0));
+	}
+
+	@Override
+	public boolean isReady() {
+		return this.count == this.window.length;
+	}
+
+	@Override
+	public void reset() {
+		this.count = 0;
+		this.next = 0;
+		this.sum = 0;
+		this.sumOfSquares = 0;
+	}
+
+}
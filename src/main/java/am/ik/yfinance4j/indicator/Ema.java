@@ -0,0 +1,66 @@
+package am.ik.yfinance4j.indicator;
+
+/**
+ * Exponential moving average with the smoothing factor {@code 2 / (period + 1)}. The
+ * first value is the simple average of the first {@code period} values, as in TA-Lib.
+ */
+public final class Ema implements Indicator {
+
+	private final int period;
+
+	private final double alpha;
+
+	private int count;
+
+	private double value;
+
+	/**
+	 * Creates a new exponential moving average.
+	 * @param period the period, at least 1
+	 */
+	public Ema(int period) {
+		if (period < 1) {
+			throw new IllegalArgumentException("period must be at least 1");
+		}
+		this.period = period;
+		this.alpha = 2.0 / (period + 1);
+	}
+
+	@Override
+	public double update(double value) {
+		if (this.count < this.period) {
+			// accumulate the seed average
+			this.count++;
+			this.value += (value - this.value) / this.count;
+		}
+		else {
+			this.value += this.alpha * (value - this.value);
+		}
+		return value();
+	}
+
+	@Override
+	public double value() {
+		return isReady() ? this.value : Double.NaN;
+	}
+
+	@Override
+	public boolean isReady() {
+		return this.count == this.period;
+	}
+
+	@Override
+	public void reset() {
+		this.count = 0;
+		this.value = 0;
+	}
+
+	/**
+	 * Returns the period.
+	 * @return the period
+	 */
+	public int period() {
+		return this.period;
+	}
+
+}
@@ -0,0 +1,36 @@
+package am.ik.yfinance4j.indicator;
+
+/**
+ * A stateful technical indicator that is updated with one value at a time. Each update
+ * runs in constant time and does not allocate, so an indicator can be kept alive and fed
+ * with every new bar or tick.
+ * <p>
+ * Implementations are not thread-safe.
+ */
+public interface Indicator {
+
+	/**
+	 * Adds the next value and returns the updated indicator value.
+	 * @param value the next value, typically a closing price
+	 * @return the indicator value, or {@link Double#NaN} while not {@link #isReady()}
+	 */
+	double update(double value);
+
+	/**
+	 * Returns the current indicator value.
+	 * @return the indicator value, or {@link Double#NaN} while not {@link #isReady()}
+	 */
+	double value();
+
+	/**
+	 * Returns whether enough values have been added to produce a value.
+	 * @return {@code true} once the warm-up period is over
+	 */
+	boolean isReady();
+
+	/**
+	 * Discards all added values.
+	 */
+	void reset();
+
+}
@@ -0,0 +1,87 @@
+package am.ik.yfinance4j.indicator;
+
+/**
+ * Moving average convergence divergence. The MACD line is the difference between a fast
+ * and a slow {@link Ema}, the signal line is an {@link Ema} of the MACD line and the
+ * histogram is their difference. {@link #value()} returns the MACD line, which is
+ * available once the slow average is; the signal line and histogram need another
+ * {@code signalPeriod - 1} values.
+ */
+public final class Macd implements Indicator {
+
+	private final Ema fast;
+
+	private final Ema slow;
+
+	private final Ema signal;
+
+	private double macd = Double.NaN;
+
+	/**
+	 * Creates a new MACD with the customary periods 12, 26 and 9.
+	 */
+	public Macd() {
+		this(12, 26, 9);
+	}
+
+	/**
+	 * Creates a new MACD.
+	 * @param fastPeriod the period of the fast average
+	 * @param slowPeriod the period of the slow average, greater than the fast period
+	 * @param signalPeriod the period of the signal line
+	 */
+	public Macd(int fastPeriod, int slowPeriod, int signalPeriod) {
+		if (fastPeriod >= slowPeriod) {
+			throw new IllegalArgumentException("fastPeriod must be less than slowPeriod");
+		}
+		this.fast = new Ema(fastPeriod);
+		this.slow = new Ema(slowPeriod);
+		this.signal = new Ema(signalPeriod);
+	}
+
+	@Override
+	public double update(double value) {
+		double fast = this.fast.update(value);
+		double slow = this.slow.update(value);
+		if (this.slow.isReady()) {
+			this.macd = fast - slow;
+			this.signal.update(this.macd);
+		}
+		return this.macd;
+	}
+
+	@Override
+	public double value() {
+		return this.macd;
+	}
+
+	/**
+	 * Returns the signal line.
+	 * @return the signal line, or {@link Double#NaN} while not available
+	 */
+	public double signal() {
+		return this.signal.value();
+	}
+
+	/**
+	 * Returns the difference between the MACD line and the signal line.
+	 * @return the histogram, or {@link Double#NaN} while not available
+	 */
+	public double histogram() {
+		return this.macd - this.signal.value();
+	}
+
+	@Override
+	public boolean isReady() {
+		return this.slow.isReady();
+	}
+
+	@Override
+	public void reset() {
+		this.fast.reset();
+		this.slow.reset();
+		this.signal.reset();
+		this.macd = Double.NaN;
+	}
+
+}
@@ -0,0 +1,84 @@
+package am.ik.yfinance4j.indicator;
+
+/**
+ * Relative strength index with Wilder's smoothing. The first average gain and loss are
+ * the simple averages of the first {@code period} price changes, so the first value is
+ * available after {@code period + 1} prices. Values range from 0 to 100; a flat series
+ * yields 50.
+ */
+public final class Rsi implements Indicator {
+
+	private final int period;
+
+	private int changes;
+
+	private double previous = Double.NaN;
+
+	private double averageGain;
+
+	private double averageLoss;
+
+	/**
+	 * Creates a new relative strength index.
+	 * @param period the period, at least 1 (14 is customary)
+	 */
+	public Rsi(int period) {
+		if (period < 1) {
+			throw new IllegalArgumentException("period must be at least 1");
+		}
+		this.period = period;
+	}
+
+	@Override
+	public double update(double value) {
+		double previous = this.previous;
+		this.previous = value;
+		if (Double.isNaN(previous)) {
+			return Double.NaN;
+		}
+		double change = value - previous;
+		double gain = Math.max(change, 0);
+		double loss = Math.max(-change, 0);
+		if (this.changes < this.period) {
+			this.changes++;
+			this.averageGain += (gain - this.averageGain) / this.changes;
+			this.averageLoss += (loss - this.averageLoss) / this.changes;
+		}
+		else {
+			this.averageGain = (this.averageGain * (this.period - 1) + gain) / this.period;
+			this.averageLoss = (this.averageLoss * (this.period - 1) + loss) / this.period;
+		}
+		return value();
+	}
+
+	@Override
+	public double value() {
+		if (!isReady()) {
+			return Double.NaN;
+		}
+		double total = this.averageGain + this.averageLoss;
+		return (total == 0) ? 50 : 100 * this.averageGain / total;
+	}
+
+	@Override
+	public boolean isReady() {
+		return this.changes == this.period;
+	}
+
+	@Override
+	public void reset() {
+		this.changes = 0;
+		this.previous = Double.NaN;
+		this.averageGain = 0;
+		this.averageLoss = 0;
+	}
+
+	/**
+	 * Returns the period.
+	 * @return the period
+	 */
+	public int period() {
+		return this.period;
+	}
+
+}
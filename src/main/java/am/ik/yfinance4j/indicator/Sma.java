@@ -0,0 +1,67 @@
+package am.ik.yfinance4j.indicator;
+
+/**
+ * Simple moving average over the last {@code period} values, maintained as a running sum
+ * over a ring buffer.
+ */
+public final class Sma implements Indicator {
+
+	private final double[] window;
+
+	private int count;
+
+	private int next;
+
+	private double sum;
+
+	/**
+	 * Creates a new simple moving average.
+	 * @param period the number of values to average, at least 1
+	 */
+	public Sma(int period) {
+		if (period < 1) {
+			throw new IllegalArgumentException("period must be at least 1");
+		}
+		this.window = new double[period];
+	}
+
+	@Override
+	public double update(double value) {
+		if (this.count == this.window.length) {
+			this.sum -= this.window[this.next];
+		}
+		else {
+			this.count++;
+		}
+		this.window[this.next] = value;
+		this.sum += value;
+		this.next = (this.next + 1) % this.window.length;
+		return value();
+	}
+
+	@Override
+	public double value() {
+		return isReady() ? this.sum / this.window.length : Double.NaN;
+	}
+
+	@Override
+	public boolean isReady() {
+		return this.count == this.window.length;
+	}
+
+	@Override
+	public void reset() {
+		this.count = 0;
+		this.next = 0;
+		this.sum = 0;
+	}
+
+	/**
+	 * Returns the number of values to average.
+	 * @return the period
+	 */
+	public int period() {
+		return this.window.length;
+	}
+
+}
@@ -0,0 +1,126 @@
+package am.ik.yfinance4j.indicator;
+
+/**
+ * Computes technical indicators over a whole series in a single pass. Each method feeds
+ * the values to the corresponding {@link Indicator} and collects its output, so the
+ * results are identical to updating the indicator incrementally. Positions within the
+ * warm-up period are {@link Double#NaN}.
+ *
+ * <pre>{@code
+ * double[] close = ticker.historySeries(request).close();
+ * double[] sma20 = TechnicalIndicators.sma(close, 20);
+ * double[] rsi14 = TechnicalIndicators.rsi(close, 14);
+ * }</pre>
+ */
+public final class TechnicalIndicators {
+
+	private TechnicalIndicators() {
+	}
+
+	/**
+	 * Computes the simple moving average.
+	 * @param values the input values
+	 * @param period the period
+	 * @return the simple moving average of each position
+	 * @see Sma
+	 */
+	public static double[] sma(double[] values, int period) {
+		return apply(new Sma(period), values);
+	}
+
+	/**
+	 * Computes the exponential moving average.
+	 * @param values the input values
+	 * @param period the period
+	 * @return the exponential moving average of each position
+	 * @see Ema
+	 */
+	public static double[] ema(double[] values, int period) {
+		return apply(new Ema(period), values);
+	}
+
+	/**
+	 * Computes the relative strength index.
+	 * @param values the input values
+	 * @param period the period
+	 * @return the relative strength index of each position
+	 * @see Rsi
+	 */
+	public static double[] rsi(double[] values, int period) {
+		return apply(new Rsi(period), values);
+	}
+
+	/**
+	 * Computes the MACD line, signal line and histogram.
+	 * @param values the input values
+	 * @param fastPeriod the period of the fast average
+	 * @param slowPeriod the period of the slow average
+	 * @param signalPeriod the period of the signal line
+	 * @return the MACD series
+	 * @see Macd
+	 */
+	public static MacdSeries macd(double[] values, int fastPeriod, int slowPeriod, int signalPeriod) {
+		Macd macd = new Macd(fastPeriod, slowPeriod, signalPeriod);
+		int n = values.length;
+		double[] line = new double[n];
+		double[] signal = new double[n];
+		double[] histogram = new double[n];
+		for (int i = 0; i < n; i++) {
+			line[i] = macd.update(values[i]);
+			signal[i] = macd.signal();
+			histogram[i] = macd.histogram();
+		}
+		return new MacdSeries(line, signal, histogram);
+	}
+
+	/**
+	 * Computes the Bollinger Bands.
+	 * @param values the input values
+	 * @param period the number of values in the window
+	 * @param k the number of standard deviations between the middle and outer bands
+	 * @return the Bollinger Bands series
+	 * @see BollingerBands
+	 */
+	public static BollingerSeries bollinger(double[] values, int period, double k) {
+		BollingerBands bands = new BollingerBands(period, k);
+		int n = values.length;
+		double[] middle = new double[n];
+		double[] upper = new double[n];
+		double[] lower = new double[n];
+		for (int i = 0; i < n; i++) {
+			middle[i] = bands.update(values[i]);
+			upper[i] = bands.upper();
+			lower[i] = bands.lower();
+		}
+		return new BollingerSeries(middle, upper, lower);
+	}
+
+	private static double[] apply(Indicator indicator, double[] values) {
+		double[] result = new double[values.length];
+		for (int i = 0; i < values.length; i++) {
+			result[i] = indicator.update(values[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * MACD output columns.
+	 *
+	 * @param macd the MACD line
+	 * @param signal the signal line
+	 * @param histogram the difference between the MACD line and the signal line
+	 */
+	public record MacdSeries(double[] macd, double[] signal, double[] histogram) {
+	}
+
+	/**
+	 * Bollinger Bands output columns.
+	 *
+	 * @param middle the middle band
+	 * @param upper the upper band
+	 * @param lower the lower band
+	 */
+	public record BollingerSeries(double[] middle, double[] upper, double[] lower) {
+	}
+
+}
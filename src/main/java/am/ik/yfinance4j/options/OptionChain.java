@@ -0,0 +1,14 @@
+package am.ik.yfinance4j.options;
+
+import java.time.LocalDate;
+
+/**
+ * The calls and puts of one expiration of an underlying.
+ *
+ * @param underlyingSymbol the symbol of the underlying
+ * @param expiration the expiration date
+ * @param calls the calls sorted by strike
+ * @param puts the puts sorted by strike
+ */
+public record OptionChain(String underlyingSymbol, LocalDate expiration, OptionTable calls, OptionTable puts) {
+}
@@ -0,0 +1,286 @@
+package am.ik.yfinance4j.options;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import am.ik.yfinance4j.options.OptionsResponse.Contract;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The calls or the puts of one expiration, stored column-wise and sorted by strike so
+ * that a strike can be looked up with a binary search. Missing prices are
+ * {@link Double#NaN}, missing volumes, open interests and trade dates are 0.
+ * <p>
+ * The column accessors return the backing arrays without copying them for efficiency.
+ * They must not be modified.
+ */
+public final class OptionTable {
+
+	private static final OptionTable EMPTY = new OptionTable(new String[0], new double[0], new double[0], new double[0],
+			new double[0], new double[0], new double[0], new double[0], new long[0], new long[0], new long[0],
+			new boolean[0]);
+
+	private final String[] contractSymbols;
+
+	private final double[] strikes;
+
+	private final double[] lastPrices;
+
+	private final double[] bids;
+
+	private final double[] asks;
+
+	private final double[] changes;
+
+	private final double[] percentChanges;
+
+	private final double[] impliedVolatilities;
+
+	private final long[] volumes;
+
+	private final long[] openInterests;
+
+	private final long[] lastTradeDates;
+
+	private final boolean[] inTheMoney;
+
+	private OptionTable(String[] contractSymbols, double[] strikes, double[] lastPrices, double[] bids, double[] asks,
+			double[] changes, double[] percentChanges, double[] impliedVolatilities, long[] volumes,
+			long[] openInterests, long[] lastTradeDates, boolean[] inTheMoney) {
+		this.contractSymbols = contractSymbols;
+		this.strikes = strikes;
+		this.lastPrices = lastPrices;
+		this.bids = bids;
+		this.asks = asks;
+		this.changes = changes;
+		this.percentChanges = percentChanges;
+		this.impliedVolatilities = impliedVolatilities;
+		this.volumes = volumes;
+		this.openInterests = openInterests;
+		this.lastTradeDates = lastTradeDates;
+		this.inTheMoney = inTheMoney;
+	}
+
+	/**
+	 * Returns an empty table.
+	 * @return the empty table
+	 */
+	public static OptionTable empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Converts the contracts of an options API response. Contracts without a strike are
+	 * skipped.
+	 * @param contracts the contracts, may be {@code null}
+	 * @return the table sorted by strike
+	 */
+	public static OptionTable from(@Nullable List<Contract> contracts) {
+		if (contracts == null || contracts.isEmpty()) {
+			return EMPTY;
+		}
+		List<Contract> sorted = new ArrayList<>(contracts.size());
+		for (Contract contract : contracts) {
+			if (contract.strike() != null) {
+				sorted.add(contract);
+			}
+		}
+		sorted.sort(Comparator.comparing(Contract::strike));
+		int n = sorted.size();
+		String[] contractSymbols = new String[n];
+		double[] strikes = new double[n];
+		double[] lastPrices = new double[n];
+		double[] bids = new double[n];
+		double[] asks = new double[n];
+		double[] changes = new double[n];
+		double[] percentChanges = new double[n];
+		double[] impliedVolatilities = new double[n];
+		long[] volumes = new long[n];
+		long[] openInterests = new long[n];
+		long[] lastTradeDates = new long[n];
+		boolean[] inTheMoney = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			Contract contract = sorted.get(i);
+			contractSymbols[i] = contract.contractSymbol();
+			strikes[i] = toDouble(contract.strike());
+			lastPrices[i] = toDouble(contract.lastPrice());
+			bids[i] = toDouble(contract.bid());
+			asks[i] = toDouble(contract.ask());
+			changes[i] = toDouble(contract.change());
+			percentChanges[i] = toDouble(contract.percentChange());
+			impliedVolatilities[i] = toDouble(contract.impliedVolatility());
+			volumes[i] = toLong(contract.volume());
+			openInterests[i] = toLong(contract.openInterest());
+			lastTradeDates[i] = toLong(contract.lastTradeDate());
+			inTheMoney[i] = Boolean.TRUE.equals(contract.inTheMoney());
+		}
+		return new OptionTable(contractSymbols, strikes, lastPrices, bids, asks, changes, percentChanges,
+				impliedVolatilities, volumes, openInterests, lastTradeDates, inTheMoney);
+	}
+
+	/**
+	 * Returns the row of the given strike.
+	 * @param strike the strike price
+	 * @return the row index, or a negative value if there is no contract with that strike
+	 * (see {@link Arrays#binarySearch(double[], double)})
+	 */
+	public int indexOf(double strike) {
+		return Arrays.binarySearch(this.strikes, strike);
+	}
+
+	/**
+	 * Returns the row of the strike closest to the given price, such as the at-the-money
+	 * strike for the price of the underlying.
+	 * @param price the price
+	 * @return the row index, or -1 if the table is empty
+	 */
+	public int nearest(double price) {
+		int n = this.strikes.length;
+		if (n == 0) {
+			return -1;
+		}
+		int index = Arrays.binarySearch(this.strikes, price);
+		if (index >= 0) {
+			return index;
+		}
+		int insertion = -index - 1;
+		if (insertion == 0) {
+			return 0;
+		}
+		if (insertion == n) {
+			return n - 1;
+		}
+		return (price - this.strikes[insertion - 1] <= this.strikes[insertion] - price) ? insertion - 1 : insertion;
+	}
+
+	/**
+	 * Returns the number of contracts.
+	 * @return the number of contracts
+	 */
+	public int size() {
+		return this.strikes.length;
+	}
+
+	/**
+	 * Returns whether the table has no contracts.
+	 * @return {@code true} if there are no contracts
+	 */
+	public boolean isEmpty() {
+		return this.strikes.length == 0;
+	}
+
+	/**
+	 * Returns the OCC symbols of the contracts, such as {@code AAPL250117C00150000}.
+	 * @return the contract symbols, a shared view that must not be modified
+	 */
+	public String[] contractSymbols() {
+		return this.contractSymbols;
+	}
+
+	/**
+	 * Returns the strike prices in ascending order.
+	 * @return the strike prices, a shared view that must not be modified
+	 */
+	public double[] strikes() {
+		return this.strikes;
+	}
+
+	/**
+	 * Returns the prices of the last trades.
+	 * @return the last prices, a shared view that must not be modified
+	 */
+	public double[] lastPrices() {
+		return this.lastPrices;
+	}
+
+	/**
+	 * Returns the bid prices.
+	 * @return the bid prices, a shared view that must not be modified
+	 */
+	public double[] bids() {
+		return this.bids;
+	}
+
+	/**
+	 * Returns the ask prices.
+	 * @return the ask prices, a shared view that must not be modified
+	 */
+	public double[] asks() {
+		return this.asks;
+	}
+
+	/**
+	 * Returns the price changes from the previous close.
+	 * @return the changes, a shared view that must not be modified
+	 */
+	public double[] changes() {
+		return this.changes;
+	}
+
+	/**
+	 * Returns the price changes from the previous close in percent.
+	 * @return the percent changes, a shared view that must not be modified
+	 */
+	public double[] percentChanges() {
+		return this.percentChanges;
+	}
+
+	/**
+	 * Returns the implied volatilities as fractions, e.g. 0.25 for 25%.
+	 * @return the implied volatilities, a shared view that must not be modified
+	 */
+	public double[] impliedVolatilities() {
+		return this.impliedVolatilities;
+	}
+
+	/**
+	 * Returns the trading volumes of the day.
+	 * @return the volumes, a shared view that must not be modified
+	 */
+	public long[] volumes() {
+		return this.volumes;
+	}
+
+	/**
+	 * Returns the numbers of open contracts.
+	 * @return the open interests, a shared view that must not be modified
+	 */
+	public long[] openInterests() {
+		return this.openInterests;
+	}
+
+	/**
+	 * Returns the times of the last trades in epoch seconds.
+	 * @return the last trade dates, a shared view that must not be modified
+	 */
+	public long[] lastTradeDates() {
+		return this.lastTradeDates;
+	}
+
+	/**
+	 * Returns whether each contract is in the money.
+	 * @return the in-the-money flags, a shared view that must not be modified
+	 */
+	public boolean[] inTheMoney() {
+		return this.inTheMoney;
+	}
+
+	@Override
+	public String toString() {
+		return "OptionTable[size=" + size()
+				+ (isEmpty() ? "" : ", strikes=" + this.strikes[0] + ".." + this.strikes[this.strikes.length - 1])
+				+ "]";
+	}
+
+	private static double toDouble(@Nullable BigDecimal value) {
+		return (value != null) ? value.doubleValue() : Double.NaN;
+	}
+
+	private static long toLong(@Nullable Long value) {
+		return (value != null) ? value : 0L;
+	}
+
+}
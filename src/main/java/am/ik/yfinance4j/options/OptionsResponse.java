@@ -0,0 +1,40 @@
+package am.ik.yfinance4j.options;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * JSON mapping for the Yahoo Finance v7 options API response.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record OptionsResponse(@Nullable Chain optionChain) {
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Chain(@Nullable List<Result> result, @Nullable OptionsError error) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Result(@Nullable String underlyingSymbol, @Nullable List<Long> expirationDates,
+			@Nullable List<Options> options) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Options(long expirationDate, @Nullable List<Contract> calls, @Nullable List<Contract> puts) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record Contract(String contractSymbol, @Nullable BigDecimal strike, @Nullable String currency,
+			@Nullable BigDecimal lastPrice, @Nullable BigDecimal change, @Nullable BigDecimal percentChange,
+			@Nullable Long volume, @Nullable Long openInterest, @Nullable BigDecimal bid, @Nullable BigDecimal ask,
+			@Nullable String contractSize, @Nullable Long expiration, @Nullable Long lastTradeDate,
+			@Nullable BigDecimal impliedVolatility, @Nullable Boolean inTheMoney) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record OptionsError(String code, String description) {
+	}
+
+}
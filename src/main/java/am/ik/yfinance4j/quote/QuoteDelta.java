@@ -0,0 +1,19 @@
+package am.ik.yfinance4j.quote;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The fields of a quote that changed since the previous poll. The first delta of a symbol
+ * contains all of its fields. A field that is no longer present in the quote is reported
+ * with a {@code null} value.
+ *
+ * @param symbol the ticker symbol
+ * @param time the time of the poll
+ * @param changes the changed fields and their new values
+ * @param quote the complete current quote
+ */
+public record QuoteDelta(String symbol, Instant time, Map<String, @Nullable Object> changes, StockInfo quote) {
+}
@@ -0,0 +1,24 @@
+package am.ik.yfinance4j.quote;
+
+/**
+ * Receives quote deltas from a {@code QuotePoller}. Callbacks are invoked on the polling
+ * thread, so they should return quickly.
+ */
+@FunctionalInterface
+public interface QuoteListener {
+
+	/**
+	 * Called for every symbol whose quote changed.
+	 * @param delta the changed fields
+	 */
+	void onDelta(QuoteDelta delta);
+
+	/**
+	 * Called when a batch of quotes or the trading period of an exchange could not be
+	 * retrieved. The poller keeps running. Does nothing by default.
+	 * @param error the error
+	 */
+	default void onError(Throwable error) {
+	}
+
+}
@@ -0,0 +1,23 @@
+package am.ik.yfinance4j.quote;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * JSON mapping for the Yahoo Finance v7 batch quote API response.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record QuoteResponse(@Nullable QuoteResult quoteResponse) {
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record QuoteResult(@Nullable List<Map<String, Object>> result, @Nullable QuoteError error) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record QuoteError(String code, String description) {
+	}
+
+}
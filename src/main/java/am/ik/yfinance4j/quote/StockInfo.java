@@ -9,8 +9,8 @@ import java.util.Optional;
 import org.jspecify.annotations.Nullable;
 
 /**
- * Stock information retrieved from the quoteSummary API. Provides typed accessors for
- * common fields and raw access to all fields via {@link #raw()}.
+ * Stock information retrieved from the quoteSummary or the batch quote API. Provides
+ * typed accessors for common fields and raw access to all fields via {@link #raw()}.
  */
 public final class StockInfo {
 
@@ -0,0 +1,21 @@
+package am.ik.yfinance4j.search;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * JSON mapping for the Yahoo Finance search API response. Only the quotes are mapped;
+ * news and lists are not requested.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SearchResponse(@Nullable List<SearchQuote> quotes) {
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record SearchQuote(@Nullable String symbol, @Nullable String shortname, @Nullable String longname,
+			@Nullable String exchange, @Nullable String exchDisp, @Nullable String quoteType, @Nullable String typeDisp,
+			@Nullable Double score) {
+	}
+
+}
@@ -0,0 +1,32 @@
+package am.ik.yfinance4j.search;
+
+import org.jspecify.annotations.Nullable;
+
+import am.ik.yfinance4j.search.SearchResponse.SearchQuote;
+
+/**
+ * A symbol found by the search API.
+ *
+ * @param symbol the ticker symbol
+ * @param name the long name, or the short name or the symbol if unknown
+ * @param exchange the exchange code (e.g. "NMS"), or {@code null} if unknown
+ * @param quoteType the quote type (e.g. "EQUITY", "ETF"), or {@code null} if unknown
+ */
+public record SymbolEntry(String symbol, String name, @Nullable String exchange, @Nullable String quoteType) {
+
+	/**
+	 * Converts a quote of a search response.
+	 * @param quote the quote, which must have a symbol
+	 * @return the entry
+	 */
+	public static SymbolEntry from(SearchQuote quote) {
+		String symbol = quote.symbol();
+		if (symbol == null) {
+			throw new IllegalArgumentException("quote has no symbol");
+		}
+		String name = quote.longname() != null ? quote.longname()
+				: quote.shortname() != null ? quote.shortname() : symbol;
+		return new SymbolEntry(symbol, name, quote.exchange(), quote.quoteType());
+	}
+
+}
@@ -0,0 +1,401 @@
+package am.ik.yfinance4j.search;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * In-memory prefix index over the symbols and names of {@link SymbolEntry search
+ * results}, meant to answer autocomplete lookups without a remote call.
+ * <p>
+ * The index keeps two sorted key arrays, one of the lower-cased symbols and one of the
+ * lower-cased names and every word-suffix of them (so that "bank of" matches "Bank of
+ * America" and "america" matches it as well). A lookup is a binary search for the lower
+ * bound of the prefix followed by a scan of the matching range, which stops as soon as
+ * enough entries are found. Lookups read an immutable snapshot and never block; additions
+ * build a new snapshot by merging the new keys into the sorted arrays and publish it.
+ * <p>
+ * The index also remembers which prefixes were searched remotely and the symbols each
+ * search returned, see {@link #markSearched(String, List, boolean)}, and can be
+ * {@link #save(Path) saved} to and {@link #load(Path) loaded} from a file so that it
+ * survives restarts.
+ */
+public final class SymbolIndex {
+
+	private static final String HEADER = "yfinance4j-symbol-index 1";
+
+	private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+	private final Map<String, Search> searched = new ConcurrentHashMap<>();
+
+	/**
+	 * Adds or replaces entries, keyed by symbol.
+	 * @param entries the entries
+	 * @return the number of entries that were added or changed
+	 */
+	public synchronized int addAll(Collection<SymbolEntry> entries) {
+		Snapshot current = this.snapshot;
+		List<SymbolEntry> added = new ArrayList<>();
+		Map<String, SymbolEntry> changed = new HashMap<>();
+		Set<String> seen = new HashSet<>();
+		for (SymbolEntry entry : entries) {
+			if (!seen.add(entry.symbol())) {
+				continue;
+			}
+			Integer id = current.bySymbol.get(entry.symbol());
+			if (id == null) {
+				added.add(entry);
+			}
+			else if (!current.entries[id].equals(entry)) {
+				changed.put(entry.symbol(), entry);
+			}
+		}
+		if (added.isEmpty() && changed.isEmpty()) {
+			return 0;
+		}
+		if (changed.isEmpty()) {
+			this.snapshot = current.append(added);
+		}
+		else {
+			List<SymbolEntry> all = new ArrayList<>(current.entries.length + added.size());
+			for (SymbolEntry entry : current.entries) {
+				all.add(changed.getOrDefault(entry.symbol(), entry));
+			}
+			all.addAll(added);
+			this.snapshot = Snapshot.EMPTY.append(all);
+		}
+		return added.size() + changed.size();
+	}
+
+	/**
+	 * Returns the entries whose symbol, name or a word of the name starts with the given
+	 * prefix, ignoring case. An exact symbol match comes first, followed by the other
+	 * symbol matches in alphabetical order and then the name matches.
+	 * @param prefix the prefix
+	 * @param limit the maximum number of entries
+	 * @return the matching entries
+	 */
+	public List<SymbolEntry> lookup(String prefix, int limit) {
+		String key = normalize(prefix);
+		if (key.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+		Snapshot snapshot = this.snapshot;
+		List<SymbolEntry> result = new ArrayList<>(Math.min(limit, 16));
+		Set<Integer> found = new HashSet<>();
+		scan(snapshot, snapshot.symbolKeys, snapshot.symbolIds, key, limit, result, found);
+		scan(snapshot, snapshot.nameKeys, snapshot.nameIds, key, limit, result, found);
+		return result;
+	}
+
+	/**
+	 * Returns the entry of the given symbol.
+	 * @param symbol the symbol
+	 * @return the entry, or {@code null} if the symbol is not indexed
+	 */
+	public @Nullable SymbolEntry get(String symbol) {
+		Snapshot snapshot = this.snapshot;
+		Integer id = snapshot.bySymbol.get(symbol);
+		return (id != null) ? snapshot.entries[id] : null;
+	}
+
+	/**
+	 * Returns the number of symbols in the index.
+	 * @return the number of symbols
+	 */
+	public int size() {
+		return this.snapshot.entries.length;
+	}
+
+	/**
+	 * Records that a prefix was searched remotely and its results were added.
+	 * @param prefix the searched prefix
+	 * @param complete whether the search returned fewer results than requested, i.e. all
+	 * matches of the prefix and therefore of any longer prefix are indexed
+	 */
+	public void markSearched(String prefix, boolean complete) {
+		markSearched(prefix, List.of(), complete);
+	}
+
+	/**
+	 * Records that a prefix was searched remotely and its results were added, keeping the
+	 * symbols of the results, since the search also matches entries that do not start
+	 * with the prefix (e.g. "google" finds GOOG).
+	 * @param prefix the searched prefix
+	 * @param results the results of the search, in the order they were returned
+	 * @param complete whether the search returned fewer results than requested, i.e. all
+	 * matches of the prefix and therefore of any longer prefix are indexed
+	 * @see #searchResults(String)
+	 */
+	public void markSearched(String prefix, List<SymbolEntry> results, boolean complete) {
+		List<String> symbols = results.stream().map(SymbolEntry::symbol).toList();
+		this.searched.merge(normalize(prefix), new Search(complete, symbols),
+				(previous, search) -> new Search(previous.complete() || search.complete(),
+						search.symbols().isEmpty() ? previous.symbols() : search.symbols()));
+	}
+
+	/**
+	 * Returns the indexed entries that a remote search of exactly this prefix returned.
+	 * @param prefix the prefix
+	 * @return the entries in the order the search returned them, empty if the prefix was
+	 * not searched
+	 */
+	public List<SymbolEntry> searchResults(String prefix) {
+		Search search = this.searched.get(normalize(prefix));
+		if (search == null) {
+			return List.of();
+		}
+		Snapshot snapshot = this.snapshot;
+		List<SymbolEntry> results = new ArrayList<>(search.symbols().size());
+		for (String symbol : search.symbols()) {
+			Integer id = snapshot.bySymbol.get(symbol);
+			if (id != null) {
+				results.add(snapshot.entries[id]);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Returns whether a lookup of the prefix can be answered from the index alone,
+	 * because the prefix itself or a complete shorter prefix was searched before.
+	 * @param prefix the prefix
+	 * @return {@code true} if no remote search is needed
+	 */
+	public boolean covers(String prefix) {
+		String key = normalize(prefix);
+		if (this.searched.containsKey(key)) {
+			return true;
+		}
+		for (int length = key.length() - 1; length > 0; length--) {
+			Search search = this.searched.get(key.substring(0, length));
+			if (search != null && search.complete()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Writes the entries, the searched prefixes and their results to a file. The file is
+	 * written to a temporary file first and then moved into place, so a concurrent reader
+	 * or a crash never sees a partial index.
+	 * @param file the file
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(Path file) throws IOException {
+		Path directory = file.toAbsolutePath().getParent();
+		Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+		try {
+			try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+				writer.write(HEADER);
+				writer.newLine();
+				for (Map.Entry<String, Search> prefix : this.searched.entrySet()) {
+					Search search = prefix.getValue();
+					writer.write((search.complete() ? "C\t" : "P\t") + sanitize(prefix.getKey()));
+					for (String symbol : search.symbols()) {
+						writer.write("\t" + sanitize(symbol));
+					}
+					writer.newLine();
+				}
+				for (SymbolEntry entry : this.snapshot.entries) {
+					writer.write("E\t" + sanitize(entry.symbol()) + "\t" + sanitize(entry.name()) + "\t"
+							+ sanitize(entry.exchange()) + "\t" + sanitize(entry.quoteType()));
+					writer.newLine();
+				}
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Reads an index written by {@link #save(Path)}.
+	 * @param file the file
+	 * @return the index
+	 * @throws IOException if the file cannot be read or is not a symbol index
+	 */
+	public static SymbolIndex load(Path file) throws IOException {
+		SymbolIndex index = new SymbolIndex();
+		List<SymbolEntry> entries = new ArrayList<>();
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			if (!HEADER.equals(reader.readLine())) {
+				throw new IOException("Not a symbol index: " + file);
+			}
+			String line;
+			int lineNumber = 1;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				String[] fields = line.split("\t", -1);
+				switch (fields[0]) {
+					case "C", "P" -> {
+						if (fields.length < 2) {
+							throw new IOException("Malformed prefix at " + file + ":" + lineNumber + ": " + line);
+						}
+						List<String> symbols = List.of(Arrays.copyOfRange(fields, 2, fields.length));
+						index.searched.put(fields[1], new Search(fields[0].equals("C"), symbols));
+					}
+					case "E" -> {
+						if (fields.length != 5) {
+							throw new IOException("Malformed entry at " + file + ":" + lineNumber + ": " + line);
+						}
+						entries
+							.add(new SymbolEntry(fields[1], fields[2], emptyToNull(fields[3]), emptyToNull(fields[4])));
+					}
+					default -> throw new IOException("Malformed line at " + file + ":" + lineNumber + ": " + line);
+				}
+			}
+		}
+		index.addAll(entries);
+		return index;
+	}
+
+	private static void scan(Snapshot snapshot, String[] keys, int[] ids, String prefix, int limit,
+			List<SymbolEntry> result, Set<Integer> found) {
+		int i = lowerBound(keys, prefix);
+		while (result.size() < limit && i < keys.length && keys[i].startsWith(prefix)) {
+			if (found.add(ids[i])) {
+				result.add(snapshot.entries[ids[i]]);
+			}
+			i++;
+		}
+	}
+
+	private static int lowerBound(String[] keys, String key) {
+		int low = 0;
+		int high = keys.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (keys[mid].compareTo(key) < 0) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static String normalize(String text) {
+		return text.strip().toLowerCase(Locale.ROOT);
+	}
+
+	private static String sanitize(@Nullable String text) {
+		return (text != null) ? text.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ') : "";
+	}
+
+	private static @Nullable String emptyToNull(String text) {
+		return text.isEmpty() ? null : text;
+	}
+
+	private static final class Snapshot {
+
+		static final Snapshot EMPTY = new Snapshot(new SymbolEntry[0], Map.of(), new String[0], new int[0],
+				new String[0], new int[0]);
+
+		final SymbolEntry[] entries;
+
+		final Map<String, Integer> bySymbol;
+
+		final String[] symbolKeys;
+
+		final int[] symbolIds;
+
+		final String[] nameKeys;
+
+		final int[] nameIds;
+
+		Snapshot(SymbolEntry[] entries, Map<String, Integer> bySymbol, String[] symbolKeys, int[] symbolIds,
+				String[] nameKeys, int[] nameIds) {
+			this.entries = entries;
+			this.bySymbol = bySymbol;
+			this.symbolKeys = symbolKeys;
+			this.symbolIds = symbolIds;
+			this.nameKeys = nameKeys;
+			this.nameIds = nameIds;
+		}
+
+		Snapshot append(List<SymbolEntry> added) {
+			int base = this.entries.length;
+			SymbolEntry[] entries = Arrays.copyOf(this.entries, base + added.size());
+			Map<String, Integer> bySymbol = new HashMap<>(this.bySymbol);
+			List<Key> symbolKeys = new ArrayList<>(added.size());
+			List<Key> nameKeys = new ArrayList<>(added.size() * 3);
+			for (int i = 0; i < added.size(); i++) {
+				SymbolEntry entry = added.get(i);
+				int id = base + i;
+				entries[id] = entry;
+				bySymbol.put(entry.symbol(), id);
+				symbolKeys.add(new Key(normalize(entry.symbol()), id));
+				String name = normalize(entry.name());
+				for (int start = 0; start < name.length(); start++) {
+					if (start == 0 || (name.charAt(start - 1) == ' ' && name.charAt(start) != ' ')) {
+						nameKeys.add(new Key(name.substring(start), id));
+					}
+				}
+			}
+			symbolKeys.sort(null);
+			nameKeys.sort(null);
+			String[] mergedSymbolKeys = new String[this.symbolKeys.length + symbolKeys.size()];
+			int[] mergedSymbolIds = new int[mergedSymbolKeys.length];
+			merge(this.symbolKeys, this.symbolIds, symbolKeys, mergedSymbolKeys, mergedSymbolIds);
+			String[] mergedNameKeys = new String[this.nameKeys.length + nameKeys.size()];
+			int[] mergedNameIds = new int[mergedNameKeys.length];
+			merge(this.nameKeys, this.nameIds, nameKeys, mergedNameKeys, mergedNameIds);
+			return new Snapshot(entries, bySymbol, mergedSymbolKeys, mergedSymbolIds, mergedNameKeys, mergedNameIds);
+		}
+
+		private static void merge(String[] keys, int[] ids, List<Key> added, String[] mergedKeys, int[] mergedIds) {
+			int i = 0;
+			int j = 0;
+			int k = 0;
+			while (i < keys.length || j < added.size()) {
+				if (j == added.size() || (i < keys.length && keys[i].compareTo(added.get(j).key()) <= 0)) {
+					mergedKeys[k] = keys[i];
+					mergedIds[k++] = ids[i++];
+				}
+				else {
+					Key key = added.get(j++);
+					mergedKeys[k] = key.key();
+					mergedIds[k++] = key.id();
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * A remote search of a prefix: whether it returned every match, and the symbols it
+	 * returned.
+	 */
+	private record Search(boolean complete, List<String> symbols) {
+	}
+
+	private record Key(String key, int id) implements Comparable<Key> {
+
+		@Override
+		public int compareTo(Key other) {
+			return this.key.compareTo(other.key);
+		}
+
+	}
+
+}
@@ -0,0 +1,413 @@
+package am.ik.yfinance4j.stats;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes sample covariance and Pearson correlation matrices of return columns, over a
+ * whole range or over a rolling window.
+ * <p>
+ * The input is a column-major matrix as produced by {@link Returns}: {@code returns[s]}
+ * is the contiguous column of the {@code s}-th symbol. The symmetric output matrix is
+ * split into square tiles of {@code blockSize} symbols. Only tiles on or above the
+ * diagonal are computed, each one by a fork-join task that walks the time axis in blocks
+ * so that the columns of both symbol blocks stay in cache. Rolling matrices are updated
+ * incrementally: advancing the window by one row costs {@code O(k²)} instead of
+ * {@code O(k² · window)} for {@code k} symbols.
+ * <p>
+ * The returns must not contain {@link Double#NaN} within the used range.
+ *
+ * <pre>{@code
+ * double[][] returns = Returns.log(panel.forwardFill().matrix(HistoryPanel.Field.ADJ_CLOSE));
+ * CovarianceEngine engine = CovarianceEngine.create();
+ * double[][] correlation = engine.correlation(returns);
+ * engine.rollingCorrelation(returns, 60, (end, matrix) -> store(end, matrix));
+ * }</pre>
+ */
+public final class CovarianceEngine {
+
+	/**
+	 * The default number of symbols per tile.
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 64;
+
+	private static final int TIME_BLOCK_SIZE = 512;
+
+	private final ForkJoinPool pool;
+
+	private final int blockSize;
+
+	private CovarianceEngine(Builder builder) {
+		this.pool = builder.pool;
+		this.blockSize = builder.blockSize;
+	}
+
+	/**
+	 * Creates an engine with the default block size running on the common fork-join pool.
+	 * @return the engine
+	 */
+	public static CovarianceEngine create() {
+		return builder().build();
+	}
+
+	/**
+	 * Creates a new {@link Builder}.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Computes the sample covariance matrix over all rows.
+	 * @param returns the returns indexed by column and then by row
+	 * @return the {@code k × k} covariance matrix
+	 */
+	public double[][] covariance(double[][] returns) {
+		return covariance(returns, 0, rows(returns));
+	}
+
+	/**
+	 * Computes the sample covariance matrix over the rows {@code [from, to)}.
+	 * @param returns the returns indexed by column and then by row
+	 * @param from the first row, inclusive
+	 * @param to the last row, exclusive
+	 * @return the {@code k × k} covariance matrix
+	 */
+	public double[][] covariance(double[][] returns, int from, int to) {
+		int k = returns.length;
+		int rows = rows(returns);
+		if (from < 0 || to > rows || to - from < 2) {
+			throw new IllegalArgumentException("Range must contain at least 2 rows within [0, " + rows + ")");
+		}
+		checkFinite(returns, from, to);
+		int n = to - from;
+		double[][] centered = new double[k][n];
+		for (int s = 0; s < k; s++) {
+			double[] column = returns[s];
+			double mean = 0;
+			for (int t = from; t < to; t++) {
+				mean += column[t];
+			}
+			mean /= n;
+			double[] target = centered[s];
+			for (int t = 0; t < n; t++) {
+				target[t] = column[from + t] - mean;
+			}
+		}
+		double[][] result = new double[k][k];
+		forEachTile(k, (i0, i1, j0, j1) -> covarianceTile(centered, result, n, i0, i1, j0, j1));
+		return result;
+	}
+
+	/**
+	 * Computes the correlation matrix over all rows.
+	 * @param returns the returns indexed by column and then by row
+	 * @return the {@code k × k} correlation matrix
+	 */
+	public double[][] correlation(double[][] returns) {
+		return correlation(returns, 0, rows(returns));
+	}
+
+	/**
+	 * Computes the correlation matrix over the rows {@code [from, to)}. The correlation
+	 * of a column without variance is {@link Double#NaN}.
+	 * @param returns the returns indexed by column and then by row
+	 * @param from the first row, inclusive
+	 * @param to the last row, exclusive
+	 * @return the {@code k × k} correlation matrix
+	 */
+	public double[][] correlation(double[][] returns, int from, int to) {
+		double[][] result = covariance(returns, from, to);
+		int k = result.length;
+		double[] deviations = new double[k];
+		for (int s = 0; s < k; s++) {
+			deviations[s] = Math.sqrt(result[s][s]);
+		}
+		forEachTile(k, (i0, i1, j0, j1) -> {
+			for (int i = i0; i < i1; i++) {
+				for (int j = Math.max(j0, i); j < j1; j++) {
+					double value = correlation(result[i][j], deviations[i], deviations[j]);
+					result[i][j] = value;
+					result[j][i] = value;
+				}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Computes the covariance matrix of every window of {@code window} consecutive rows.
+	 * @param returns the returns indexed by column and then by row
+	 * @param window the number of rows per window, at least 2
+	 * @param listener receives the matrix of each window
+	 */
+	public void rollingCovariance(double[][] returns, int window, RollingListener listener) {
+		rolling(returns, window, false, listener);
+	}
+
+	/**
+	 * Computes the correlation matrix of every window of {@code window} consecutive rows.
+	 * @param returns the returns indexed by column and then by row
+	 * @param window the number of rows per window, at least 2
+	 * @param listener receives the matrix of each window
+	 */
+	public void rollingCorrelation(double[][] returns, int window, RollingListener listener) {
+		rolling(returns, window, true, listener);
+	}
+
+	private void rolling(double[][] returns, int window, boolean correlation, RollingListener listener) {
+		int k = returns.length;
+		int rows = rows(returns);
+		if (window < 2 || window > rows) {
+			throw new IllegalArgumentException("window must be between 2 and " + rows);
+		}
+		checkFinite(returns, 0, rows);
+		// sums of values shifted by the first row, which keeps the cross products small
+		double[] shift = new double[k];
+		for (int s = 0; s < k; s++) {
+			shift[s] = returns[s][0];
+		}
+		double[] sums = new double[k];
+		double[][] crossProducts = new double[k][k];
+		double[] added = new double[k];
+		double[] removed = new double[k];
+		double[] deviations = new double[k];
+		double[][] result = new double[k][k];
+		for (int end = 1; end <= rows; end++) {
+			int remove = end - 1 - window;
+			for (int s = 0; s < k; s++) {
+				double a = returns[s][end - 1] - shift[s];
+				double r = (remove >= 0) ? returns[s][remove] - shift[s] : 0;
+				added[s] = a;
+				removed[s] = r;
+				sums[s] += a - r;
+				crossProducts[s][s] += a * a - r * r;
+			}
+			boolean emit = end >= window;
+			if (emit) {
+				for (int s = 0; s < k; s++) {
+					double variance = covariance(crossProducts[s][s], sums[s], sums[s], window);
+					deviations[s] = Math.sqrt(variance);
+				}
+			}
+			forEachTile(k, (i0, i1, j0, j1) -> {
+				for (int i = i0; i < i1; i++) {
+					double[] cross = crossProducts[i];
+					for (int j = Math.max(j0, i); j < j1; j++) {
+						if (i != j) {
+							cross[j] += added[i] * added[j] - removed[i] * removed[j];
+						}
+						if (emit) {
+							double value = covariance(cross[j], sums[i], sums[j], window);
+							if (correlation) {
+								value = correlation(value, deviations[i], deviations[j]);
+							}
+							result[i][j] = value;
+							result[j][i] = value;
+						}
+					}
+				}
+			});
+			if (emit) {
+				listener.accept(end, result);
+			}
+		}
+	}
+
+	private static double covariance(double crossProduct, double sumI, double sumJ, int n) {
+		return (crossProduct - sumI * sumJ / n) / (n - 1);
+	}
+
+	private static double correlation(double covariance, double deviationI, double deviationJ) {
+		if (deviationI == 0 || deviationJ == 0) {
+			return Double.NaN;
+		}
+		return covariance / (deviationI * deviationJ);
+	}
+
+	private static void covarianceTile(double[][] centered, double[][] result, int n, int i0, int i1, int j0, int j1) {
+		for (int t0 = 0; t0 < n; t0 += TIME_BLOCK_SIZE) {
+			int t1 = Math.min(t0 + TIME_BLOCK_SIZE, n);
+			for (int i = i0; i < i1; i++) {
+				double[] x = centered[i];
+				double[] row = result[i];
+				for (int j = Math.max(j0, i); j < j1; j++) {
+					double[] y = centered[j];
+					double sum = 0;
+					for (int t = t0; t < t1; t++) {
+						sum += x[t] * y[t];
+					}
+					row[j] += sum;
+				}
+			}
+		}
+		for (int i = i0; i < i1; i++) {
+			for (int j = Math.max(j0, i); j < j1; j++) {
+				double value = result[i][j] / (n - 1);
+				result[i][j] = value;
+				result[j][i] = value;
+			}
+		}
+	}
+
+	private void forEachTile(int k, TileKernel kernel) {
+		int blocks = (k + this.blockSize - 1) / this.blockSize;
+		if (blocks <= 1) {
+			kernel.compute(0, k, 0, k);
+			return;
+		}
+		int[] tileRows = new int[blocks * (blocks + 1) / 2];
+		int[] tileColumns = new int[tileRows.length];
+		int tile = 0;
+		for (int i = 0; i < blocks; i++) {
+			for (int j = i; j < blocks; j++) {
+				tileRows[tile] = i;
+				tileColumns[tile] = j;
+				tile++;
+			}
+		}
+		this.pool.invoke(new TileTask(kernel, k, this.blockSize, tileRows, tileColumns, 0, tileRows.length));
+	}
+
+	private static int rows(double[][] returns) {
+		if (returns.length == 0) {
+			return 0;
+		}
+		int rows = returns[0].length;
+		for (double[] column : returns) {
+			if (column.length != rows) {
+				throw new IllegalArgumentException("All columns must have the same length");
+			}
+		}
+		return rows;
+	}
+
+	private static void checkFinite(double[][] returns, int from, int to) {
+		for (int s = 0; s < returns.length; s++) {
+			double[] column = returns[s];
+			for (int t = from; t < to; t++) {
+				if (!Double.isFinite(column[t])) {
+					throw new IllegalArgumentException(
+							"Column " + s + " contains a non-finite value at row " + t + ": " + column[t]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Receives the matrices of a rolling computation.
+	 */
+	@FunctionalInterface
+	public interface RollingListener {
+
+		/**
+		 * Receives the matrix of the window ending before row {@code end}. The matrix is
+		 * reused for the next window, so it must be copied to be retained.
+		 * @param end the end of the window (exclusive row index)
+		 * @param matrix the {@code k × k} matrix
+		 */
+		void accept(int end, double[][] matrix);
+
+	}
+
+	@FunctionalInterface
+	private interface TileKernel {
+
+		void compute(int i0, int i1, int j0, int j1);
+
+	}
+
+	private static final class TileTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final TileKernel kernel;
+
+		private final int k;
+
+		private final int blockSize;
+
+		private final int[] tileRows;
+
+		private final int[] tileColumns;
+
+		private final int from;
+
+		private final int to;
+
+		TileTask(TileKernel kernel, int k, int blockSize, int[] tileRows, int[] tileColumns, int from, int to) {
+			this.kernel = kernel;
+			this.k = k;
+			this.blockSize = blockSize;
+			this.tileRows = tileRows;
+			this.tileColumns = tileColumns;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from == 1) {
+				int i0 = this.tileRows[this.from] * this.blockSize;
+				int j0 = this.tileColumns[this.from] * this.blockSize;
+				this.kernel.compute(i0, Math.min(i0 + this.blockSize, this.k), j0,
+						Math.min(j0 + this.blockSize, this.k));
+				return;
+			}
+			int middle = (this.from + this.to) >>> 1;
+			invokeAll(
+					new TileTask(this.kernel, this.k, this.blockSize, this.tileRows, this.tileColumns, this.from,
+							middle),
+					new TileTask(this.kernel, this.k, this.blockSize, this.tileRows, this.tileColumns, middle,
+							this.to));
+		}
+
+	}
+
+	/**
+	 * Builder for {@link CovarianceEngine}.
+	 */
+	public static final class Builder {
+
+		private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+		private int blockSize = DEFAULT_BLOCK_SIZE;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the fork-join pool to run the tiles on.
+		 * @param pool the pool
+		 * @return this builder
+		 */
+		public Builder pool(ForkJoinPool pool) {
+			this.pool = pool;
+			return this;
+		}
+
+		/**
+		 * Sets the number of symbols per tile.
+		 * @param blockSize the block size, at least 1
+		 * @return this builder
+		 */
+		public Builder blockSize(int blockSize) {
+			if (blockSize < 1) {
+				throw new IllegalArgumentException("blockSize must be at least 1");
+			}
+			this.blockSize = blockSize;
+			return this;
+		}
+
+		/**
+		 * Builds the engine.
+		 * @return the engine
+		 */
+		public CovarianceEngine build() {
+			return new CovarianceEngine(this);
+		}
+
+	}
+
+}
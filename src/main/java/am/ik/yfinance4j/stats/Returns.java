@@ -0,0 +1,67 @@
+package am.ik.yfinance4j.stats;
+
+/**
+ * Converts price columns into return columns. A return column is one element shorter than
+ * its price column: element {@code i} is the return from price {@code i} to price
+ * {@code i + 1}. A {@link Double#NaN} price yields {@link Double#NaN} returns, so gaps of
+ * a {@link am.ik.yfinance4j.chart.HistoryPanel} should be forward filled first.
+ */
+public final class Returns {
+
+	private Returns() {
+	}
+
+	/**
+	 * Computes simple returns {@code p[i + 1] / p[i] - 1}.
+	 * @param prices the prices
+	 * @return the simple returns
+	 */
+	public static double[] simple(double[] prices) {
+		double[] returns = new double[Math.max(prices.length - 1, 0)];
+		for (int i = 0; i < returns.length; i++) {
+			returns[i] = prices[i + 1] / prices[i] - 1;
+		}
+		return returns;
+	}
+
+	/**
+	 * Computes logarithmic returns {@code ln(p[i + 1] / p[i])}.
+	 * @param prices the prices
+	 * @return the logarithmic returns
+	 */
+	public static double[] log(double[] prices) {
+		double[] returns = new double[Math.max(prices.length - 1, 0)];
+		for (int i = 0; i < returns.length; i++) {
+			returns[i] = Math.log(prices[i + 1] / prices[i]);
+		}
+		return returns;
+	}
+
+	/**
+	 * Computes simple returns of every column of a column-major price matrix, such as
+	 * {@link am.ik.yfinance4j.chart.HistoryPanel#matrix}.
+	 * @param prices the prices indexed by column and then by row
+	 * @return the simple returns indexed by column and then by row
+	 */
+	public static double[][] simple(double[][] prices) {
+		double[][] returns = new double[prices.length][];
+		for (int s = 0; s < prices.length; s++) {
+			returns[s] = simple(prices[s]);
+		}
+		return returns;
+	}
+
+	/**
+	 * Computes logarithmic returns of every column of a column-major price matrix.
+	 * @param prices the prices indexed by column and then by row
+	 * @return the logarithmic returns indexed by column and then by row
+	 */
+	public static double[][] log(double[][] prices) {
+		double[][] returns = new double[prices.length][];
+		for (int s = 0; s < prices.length; s++) {
+			returns[s] = log(prices[s]);
+		}
+		return returns;
+	}
+
+}
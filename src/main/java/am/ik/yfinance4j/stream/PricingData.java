@@ -0,0 +1,56 @@
+package am.ik.yfinance4j.stream;
+
+import java.time.Instant;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A price update from the Yahoo Finance streaming API, decoded from its
+ * {@code PricingData} protobuf message by {@link PricingDecoder}. Fields that are absent
+ * in a message are {@code null} for strings and 0 for numbers, since protobuf does not
+ * distinguish them from default values.
+ *
+ * @param id the ticker symbol
+ * @param price the last price
+ * @param time the time of the last price in epoch milliseconds
+ * @param currency the trading currency
+ * @param exchange the exchange code
+ * @param quoteType the quote type (e.g. 8 for equities, 20 for ETFs)
+ * @param marketHours the market session (0 pre-market, 1 regular, 2 post-market, 3
+ * extended hours overnight)
+ * @param changePercent the change from the previous close in percent
+ * @param dayVolume the trading volume of the day
+ * @param dayHigh the highest price of the day
+ * @param dayLow the lowest price of the day
+ * @param change the change from the previous close
+ * @param shortName the display name
+ * @param expireDate the expiration date of a derivative in epoch seconds
+ * @param openPrice the opening price of the day
+ * @param previousClose the previous close
+ * @param strikePrice the strike price of an option
+ * @param underlyingSymbol the underlying symbol of a derivative
+ * @param openInterest the open interest of a derivative
+ * @param optionsType the option type (0 call, 1 put)
+ * @param lastSize the size of the last trade
+ * @param bid the bid price
+ * @param bidSize the bid size
+ * @param ask the ask price
+ * @param askSize the ask size
+ * @param priceHint the number of fraction digits to display
+ * @param marketCap the market capitalization
+ */
+public record PricingData(String id, double price, long time, @Nullable String currency, @Nullable String exchange,
+		int quoteType, int marketHours, double changePercent, long dayVolume, double dayHigh, double dayLow,
+		double change, @Nullable String shortName, long expireDate, double openPrice, double previousClose,
+		double strikePrice, @Nullable String underlyingSymbol, long openInterest, int optionsType, long lastSize,
+		double bid, long bidSize, double ask, long askSize, long priceHint, double marketCap) {
+
+	/**
+	 * Returns the time of the last price.
+	 * @return the time
+	 */
+	public Instant timestamp() {
+		return Instant.ofEpochMilli(this.time);
+	}
+
+}
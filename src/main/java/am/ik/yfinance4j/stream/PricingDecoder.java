@@ -0,0 +1,246 @@
+package am.ik.yfinance4j.stream;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Decodes {@code PricingData} protobuf messages of the Yahoo Finance streaming API
+ * without generated code or reflection. The decoder walks the wire format once, reading
+ * the known fields and skipping unknown ones, so newer server versions that add fields
+ * remain compatible.
+ */
+public final class PricingDecoder {
+
+	private static final int VARINT = 0;
+
+	private static final int FIXED64 = 1;
+
+	private static final int LENGTH_DELIMITED = 2;
+
+	private static final int FIXED32 = 5;
+
+	private PricingDecoder() {
+	}
+
+	/**
+	 * Decodes a text message of the streaming API. Version 2 of the API wraps the base64
+	 * encoded protobuf message in JSON ({@code {"type":"pricing","message":"..."}}),
+	 * version 1 sends the base64 string only.
+	 * @param text the text message
+	 * @return the pricing data, or {@code null} if the message is not a pricing message
+	 * @throws IllegalArgumentException if the message is malformed
+	 */
+	public static @Nullable PricingData decodeMessage(String text) {
+		String trimmed = text.strip();
+		if (!trimmed.startsWith("{")) {
+			return decodeBase64(trimmed);
+		}
+		if (!trimmed.contains("\"pricing\"")) {
+			return null;
+		}
+		int key = trimmed.indexOf("\"message\"");
+		int start = (key >= 0) ? trimmed.indexOf('"', trimmed.indexOf(':', key) + 1) : -1;
+		int end = (start >= 0) ? trimmed.indexOf('"', start + 1) : -1;
+		if (end < 0) {
+			throw new IllegalArgumentException("Pricing message without payload: " + text);
+		}
+		// JSON may escape the '/' of the base64 alphabet
+		return decodeBase64(trimmed.substring(start + 1, end).replace("\\/", "/"));
+	}
+
+	/**
+	 * Decodes a base64 encoded {@code PricingData} message.
+	 * @param base64 the base64 string
+	 * @return the pricing data
+	 * @throws IllegalArgumentException if the message is malformed
+	 */
+	public static PricingData decodeBase64(String base64) {
+		return decode(Base64.getDecoder().decode(base64));
+	}
+
+	/**
+	 * Decodes a binary {@code PricingData} message.
+	 * @param bytes the protobuf message
+	 * @return the pricing data
+	 * @throws IllegalArgumentException if the message is malformed
+	 */
+	public static PricingData decode(byte[] bytes) {
+		Reader reader = new Reader(bytes);
+		String id = "";
+		double price = 0;
+		long time = 0;
+		String currency = null;
+		String exchange = null;
+		int quoteType = 0;
+		int marketHours = 0;
+		double changePercent = 0;
+		long dayVolume = 0;
+		double dayHigh = 0;
+		double dayLow = 0;
+		double change = 0;
+		String shortName = null;
+		long expireDate = 0;
+		double openPrice = 0;
+		double previousClose = 0;
+		double strikePrice = 0;
+		String underlyingSymbol = null;
+		long openInterest = 0;
+		int optionsType = 0;
+		long lastSize = 0;
+		double bid = 0;
+		long bidSize = 0;
+		double ask = 0;
+		long askSize = 0;
+		long priceHint = 0;
+		double marketCap = 0;
+		while (reader.hasRemaining()) {
+			long tag = reader.varint();
+			int field = (int) (tag >>> 3);
+			int wireType = (int) (tag & 0x7);
+			switch (field) {
+				case 1 -> id = reader.string(wireType);
+				case 2 -> price = reader.float32(wireType);
+				case 3 -> time = reader.sint64(wireType);
+				case 4 -> currency = reader.string(wireType);
+				case 5 -> exchange = reader.string(wireType);
+				case 6 -> quoteType = (int) reader.int64(wireType);
+				case 7 -> marketHours = (int) reader.int64(wireType);
+				case 8 -> changePercent = reader.float32(wireType);
+				case 9 -> dayVolume = reader.sint64(wireType);
+				case 10 -> dayHigh = reader.float32(wireType);
+				case 11 -> dayLow = reader.float32(wireType);
+				case 12 -> change = reader.float32(wireType);
+				case 13 -> shortName = reader.string(wireType);
+				case 14 -> expireDate = reader.sint64(wireType);
+				case 15 -> openPrice = reader.float32(wireType);
+				case 16 -> previousClose = reader.float32(wireType);
+				case 17 -> strikePrice = reader.float32(wireType);
+				case 18 -> underlyingSymbol = reader.string(wireType);
+				case 19 -> openInterest = reader.sint64(wireType);
+				case 20 -> optionsType = (int) reader.int64(wireType);
+				case 22 -> lastSize = reader.sint64(wireType);
+				case 23 -> bid = reader.float32(wireType);
+				case 24 -> bidSize = reader.sint64(wireType);
+				case 25 -> ask = reader.float32(wireType);
+				case 26 -> askSize = reader.sint64(wireType);
+				case 27 -> priceHint = reader.sint64(wireType);
+				case 33 -> marketCap = reader.float64(wireType);
+				default -> reader.skip(wireType);
+			}
+		}
+		return new PricingData(id, price, time, currency, exchange, quoteType, marketHours, changePercent, dayVolume,
+				dayHigh, dayLow, change, shortName, expireDate, openPrice, previousClose, strikePrice, underlyingSymbol,
+				openInterest, optionsType, lastSize, bid, bidSize, ask, askSize, priceHint, marketCap);
+	}
+
+	private static final class Reader {
+
+		private final byte[] bytes;
+
+		private int position;
+
+		Reader(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		boolean hasRemaining() {
+			return this.position < this.bytes.length;
+		}
+
+		long varint() {
+			long result = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				byte b = next();
+				result |= (long) (b & 0x7F) << shift;
+				if (b >= 0) {
+					return result;
+				}
+			}
+			throw new IllegalArgumentException("Malformed varint at " + this.position);
+		}
+
+		long int64(int wireType) {
+			expect(wireType, VARINT);
+			return varint();
+		}
+
+		long sint64(int wireType) {
+			long value = int64(wireType);
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+		double float32(int wireType) {
+			expect(wireType, FIXED32);
+			return Float.intBitsToFloat((int) littleEndian(4));
+		}
+
+		double float64(int wireType) {
+			expect(wireType, FIXED64);
+			return Double.longBitsToDouble(littleEndian(8));
+		}
+
+		String string(int wireType) {
+			expect(wireType, LENGTH_DELIMITED);
+			int length = length();
+			String value = new String(this.bytes, this.position, length, StandardCharsets.UTF_8);
+			this.position += length;
+			return value;
+		}
+
+		void skip(int wireType) {
+			switch (wireType) {
+				case VARINT -> varint();
+				case FIXED64 -> advance(8);
+				case LENGTH_DELIMITED -> advance(length());
+				case FIXED32 -> advance(4);
+				default ->
+					throw new IllegalArgumentException("Unsupported wire type " + wireType + " at " + this.position);
+			}
+		}
+
+		private int length() {
+			long length = varint();
+			if (length < 0 || length > this.bytes.length - this.position) {
+				throw new IllegalArgumentException("Truncated field at " + this.position);
+			}
+			return (int) length;
+		}
+
+		private long littleEndian(int size) {
+			if (this.bytes.length - this.position < size) {
+				throw new IllegalArgumentException("Truncated field at " + this.position);
+			}
+			long value = 0;
+			for (int i = 0; i < size; i++) {
+				value |= (this.bytes[this.position + i] & 0xFFL) << (8 * i);
+			}
+			this.position += size;
+			return value;
+		}
+
+		private void advance(int size) {
+			if (this.bytes.length - this.position < size) {
+				throw new IllegalArgumentException("Truncated field at " + this.position);
+			}
+			this.position += size;
+		}
+
+		private byte next() {
+			if (this.position >= this.bytes.length) {
+				throw new IllegalArgumentException("Truncated varint at " + this.position);
+			}
+			return this.bytes[this.position++];
+		}
+
+		private void expect(int wireType, int expected) {
+			if (wireType != expected) {
+				throw new IllegalArgumentException(
+						"Unexpected wire type " + wireType + " (expected " + expected + ") at " + this.position);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,24 @@
+package am.ik.yfinance4j.stream;
+
+/**
+ * Receives price updates from a {@link StreamingClient}. Callbacks are invoked on the
+ * single dispatcher thread of the client, in the order the messages were received.
+ */
+@FunctionalInterface
+public interface PricingListener {
+
+	/**
+	 * Called for every price update.
+	 * @param data the price update
+	 */
+	void onPricing(PricingData data);
+
+	/**
+	 * Called when a message could not be decoded or the connection failed. The client
+	 * keeps running and reconnects if necessary. Does nothing by default.
+	 * @param error the error
+	 */
+	default void onError(Throwable error) {
+	}
+
+}
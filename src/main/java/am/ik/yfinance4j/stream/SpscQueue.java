@@ -0,0 +1,92 @@
+package am.ik.yfinance4j.stream;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A bounded lock-free queue for exactly one producer thread and one consumer thread. The
+ * producer and the consumer each own one index and only read the other one, so no
+ * compare-and-set is needed; ordered writes ({@code lazySet}) publish the elements. Each
+ * side caches the other side's index and only re-reads it when the queue looks full or
+ * empty, which keeps the two threads from contending on the same cache line.
+ */
+final class SpscQueue<E> {
+
+	private final @Nullable Object[] buffer;
+
+	private final int mask;
+
+	private final AtomicLong head = new AtomicLong();
+
+	private final AtomicLong tail = new AtomicLong();
+
+	// only accessed by the producer
+	private long cachedHead;
+
+	// only accessed by the consumer
+	private long cachedTail;
+
+	SpscQueue(int capacity) {
+		if (capacity < 2 || capacity > (1 << 30)) {
+			throw new IllegalArgumentException("capacity must be between 2 and 2^30");
+		}
+		int size = Integer.highestOneBit(capacity - 1) << 1;
+		this.buffer = new Object[size];
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Adds an element. Must only be called by the producer thread.
+	 * @return {@code false} if the queue is full
+	 */
+	boolean offer(E element) {
+		long tail = this.tail.get();
+		if (tail - this.cachedHead >= this.buffer.length) {
+			this.cachedHead = this.head.get();
+			if (tail - this.cachedHead >= this.buffer.length) {
+				return false;
+			}
+		}
+		this.buffer[(int) (tail & this.mask)] = element;
+		this.tail.lazySet(tail + 1);
+		return true;
+	}
+
+	/**
+	 * Removes the oldest element. Must only be called by the consumer thread.
+	 * @return the element, or {@code null} if the queue is empty
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable E poll() {
+		long head = this.head.get();
+		if (head >= this.cachedTail) {
+			this.cachedTail = this.tail.get();
+			if (head >= this.cachedTail) {
+				return null;
+			}
+		}
+		int index = (int) (head & this.mask);
+		E element = (E) this.buffer[index];
+		this.buffer[index] = null;
+		this.head.lazySet(head + 1);
+		return element;
+	}
+
+	/**
+	 * Returns whether the queue is empty, re-reading the producer's index.
+	 * @return {@code true} if the queue is empty
+	 */
+	boolean isEmpty() {
+		return this.head.get() >= this.tail.get();
+	}
+
+	int size() {
+		return (int) (this.tail.get() - this.head.get());
+	}
+
+	int capacity() {
+		return this.buffer.length;
+	}
+
+}
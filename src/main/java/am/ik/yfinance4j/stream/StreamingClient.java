@@ -0,0 +1,532 @@
+package am.ik.yfinance4j.stream;
+
+import java.lang.invoke.VarHandle;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import am.ik.yfinance4j.YFinanceException;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams real-time price updates from the Yahoo Finance WebSocket API using the JDK
+ * {@link java.net.http.WebSocket} client.
+ * <p>
+ * Subscriptions are kept by the client and sent in batches of
+ * {@link Builder#batchSize(int)} symbols, so large symbol sets do not exceed the frame
+ * size accepted by the server, and they are restored automatically after a reconnect.
+ * Incoming messages are put on a bounded lock-free queue by the WebSocket thread and
+ * decoded and dispatched to the {@link PricingListener}s by a dedicated dispatcher
+ * thread, so slow listeners never block the socket. When the queue is full, new messages
+ * are dropped and counted in {@link #droppedCount()}.
+ *
+ * <pre>{@code
+ * try (StreamingClient client = StreamingClient.builder().build()) {
+ *     client.addListener(data -> System.out.println(data.id() + " " + data.price()));
+ *     client.connect();
+ *     client.subscribe(List.of("AAPL", "MSFT", "BTC-USD"));
+ *     ...
+ * }
+ * }</pre>
+ */
+public final class StreamingClient implements AutoCloseable {
+
+	/**
+	 * The default streaming endpoint.
+	 */
+	public static final URI DEFAULT_URI = URI.create("wss://streamer.finance.yahoo.com/?version=2");
+
+	private static final Logger log = LoggerFactory.getLogger(StreamingClient.class);
+
+	private final HttpClient httpClient;
+
+	private final URI uri;
+
+	private final Map<String, String> headers;
+
+	private final int batchSize;
+
+	private final Duration reconnectDelay;
+
+	private final Duration maxReconnectDelay;
+
+	private final SpscQueue<String> queue;
+
+	private final Set<String> subscriptions = ConcurrentHashMap.newKeySet();
+
+	private final List<PricingListener> listeners = new CopyOnWriteArrayList<>();
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	private final AtomicLong received = new AtomicLong();
+
+	private final Object lock = new Object();
+
+	private final ScheduledExecutorService reconnector;
+
+	private final Thread dispatcher;
+
+	private @Nullable WebSocket webSocket;
+
+	private CompletableFuture<?> sendChain = CompletableFuture.completedFuture(null);
+
+	private int reconnectAttempts;
+
+	private volatile boolean closed;
+
+	private volatile boolean parked;
+
+	private StreamingClient(Builder builder) {
+		this.httpClient = (builder.httpClient != null) ? builder.httpClient : HttpClient.newHttpClient();
+		this.uri = builder.uri;
+		this.headers = Map.copyOf(builder.headers);
+		this.batchSize = builder.batchSize;
+		this.reconnectDelay = builder.reconnectDelay;
+		this.maxReconnectDelay = builder.maxReconnectDelay;
+		this.queue = new SpscQueue<>(builder.queueCapacity);
+		this.reconnector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "yfinance4j-streaming-reconnect");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.dispatcher = new Thread(this::dispatch, "yfinance4j-streaming-dispatcher");
+		this.dispatcher.setDaemon(true);
+		this.dispatcher.start();
+	}
+
+	/**
+	 * Creates a new {@link Builder}.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Registers a listener for price updates.
+	 * @param listener the listener
+	 */
+	public void addListener(PricingListener listener) {
+		this.listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener.
+	 * @param listener the listener
+	 */
+	public void removeListener(PricingListener listener) {
+		this.listeners.remove(listener);
+	}
+
+	/**
+	 * Opens the connection and waits until it is established. Existing subscriptions are
+	 * sent once connected. Later disconnections are recovered automatically.
+	 * @throws YFinanceException if the connection cannot be established
+	 */
+	public void connect() {
+		if (this.closed) {
+			throw new IllegalStateException("Client is closed");
+		}
+		try {
+			open().join();
+		}
+		catch (CompletionException ex) {
+			throw new YFinanceException("Failed to connect to " + this.uri, ex.getCause());
+		}
+	}
+
+	/**
+	 * Subscribes to the given symbols. Symbols that are already subscribed are ignored.
+	 * @param symbols the symbols
+	 */
+	public void subscribe(Collection<String> symbols) {
+		List<String> added = new ArrayList<>();
+		for (String symbol : symbols) {
+			if (this.subscriptions.add(symbol)) {
+				added.add(symbol);
+			}
+		}
+		synchronized (this.lock) {
+			if (this.webSocket != null) {
+				send(this.webSocket, "subscribe", added);
+			}
+		}
+	}
+
+	/**
+	 * Unsubscribes from the given symbols.
+	 * @param symbols the symbols
+	 */
+	public void unsubscribe(Collection<String> symbols) {
+		List<String> removed = new ArrayList<>();
+		for (String symbol : symbols) {
+			if (this.subscriptions.remove(symbol)) {
+				removed.add(symbol);
+			}
+		}
+		synchronized (this.lock) {
+			if (this.webSocket != null) {
+				send(this.webSocket, "unsubscribe", removed);
+			}
+		}
+	}
+
+	/**
+	 * Returns the currently subscribed symbols.
+	 * @return an unmodifiable snapshot of the subscriptions
+	 */
+	public Set<String> subscriptions() {
+		return Set.copyOf(this.subscriptions);
+	}
+
+	/**
+	 * Returns whether the client is currently connected.
+	 * @return {@code true} if connected
+	 */
+	public boolean isConnected() {
+		synchronized (this.lock) {
+			return this.webSocket != null;
+		}
+	}
+
+	/**
+	 * Returns the number of messages received from the server.
+	 * @return the received message count
+	 */
+	public long receivedCount() {
+		return this.received.get();
+	}
+
+	/**
+	 * Returns the number of messages dropped because the dispatch queue was full.
+	 * @return the dropped message count
+	 */
+	public long droppedCount() {
+		return this.dropped.get();
+	}
+
+	/**
+	 * Closes the connection and stops the dispatcher thread. Messages still in the queue
+	 * are discarded.
+	 */
+	@Override
+	public void close() {
+		this.closed = true;
+		this.reconnector.shutdownNow();
+		WebSocket webSocket;
+		synchronized (this.lock) {
+			webSocket = this.webSocket;
+			this.webSocket = null;
+		}
+		if (webSocket != null) {
+			webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "").exceptionally(ex -> null);
+			webSocket.abort();
+		}
+		LockSupport.unpark(this.dispatcher);
+	}
+
+	private CompletableFuture<WebSocket> open() {
+		WebSocket.Builder builder = this.httpClient.newWebSocketBuilder();
+		this.headers.forEach(builder::header);
+		return builder.buildAsync(this.uri, new Listener()).thenApply(webSocket -> {
+			synchronized (this.lock) {
+				if (this.closed) {
+					webSocket.abort();
+					return webSocket;
+				}
+				this.webSocket = webSocket;
+				this.reconnectAttempts = 0;
+				this.sendChain = CompletableFuture.completedFuture(null);
+				send(webSocket, "subscribe", new ArrayList<>(this.subscriptions));
+			}
+			return webSocket;
+		});
+	}
+
+	private void scheduleReconnect(@Nullable WebSocket failed) {
+		synchronized (this.lock) {
+			if (failed != null && this.webSocket != failed) {
+				return;
+			}
+			this.webSocket = null;
+			if (this.closed) {
+				return;
+			}
+			long delay = Math.min(this.reconnectDelay.toMillis() << Math.min(this.reconnectAttempts, 16),
+					this.maxReconnectDelay.toMillis());
+			this.reconnectAttempts++;
+			log.debug("Reconnecting to {} in {} ms", this.uri, delay);
+			try {
+				this.reconnector.schedule(() -> {
+					open().exceptionally(ex -> {
+						notifyError(ex);
+						scheduleReconnect(null);
+						return null;
+					});
+				}, delay, TimeUnit.MILLISECONDS);
+			}
+			catch (RuntimeException ex) {
+				// the client has been closed concurrently
+			}
+		}
+	}
+
+	/**
+	 * Sends subscribe or unsubscribe messages in batches. {@link WebSocket} allows only
+	 * one outstanding send, so the messages are chained. Must be called while holding the
+	 * lock.
+	 */
+	private void send(WebSocket webSocket, String action, List<String> symbols) {
+		for (int from = 0; from < symbols.size(); from += this.batchSize) {
+			String message = message(action, symbols.subList(from, Math.min(from + this.batchSize, symbols.size())));
+			this.sendChain = this.sendChain.thenCompose(v -> webSocket.sendText(message, true)).exceptionally(ex -> {
+				notifyError(ex);
+				return null;
+			});
+		}
+	}
+
+	private static String message(String action, List<String> symbols) {
+		StringBuilder message = new StringBuilder("{\"").append(action).append("\":[");
+		for (int i = 0; i < symbols.size(); i++) {
+			if (i > 0) {
+				message.append(',');
+			}
+			message.append('"');
+			for (char c : symbols.get(i).toCharArray()) {
+				if (c == '"' || c == '\\') {
+					message.append('\\');
+				}
+				message.append(c);
+			}
+			message.append('"');
+		}
+		return message.append("]}").toString();
+	}
+
+	private void dispatch() {
+		int idle = 0;
+		while (!this.closed) {
+			String message = this.queue.poll();
+			if (message == null) {
+				// spin briefly, then park until the producer signals so that an idle
+				// stream costs no CPU
+				if (idle < 100) {
+					idle++;
+					Thread.onSpinWait();
+				}
+				else {
+					this.parked = true;
+					if (this.queue.isEmpty() && !this.closed) {
+						LockSupport.park(this);
+					}
+					this.parked = false;
+				}
+				continue;
+			}
+			idle = 0;
+			PricingData data;
+			try {
+				data = PricingDecoder.decodeMessage(message);
+			}
+			catch (RuntimeException ex) {
+				notifyError(ex);
+				continue;
+			}
+			if (data == null) {
+				continue;
+			}
+			for (PricingListener listener : this.listeners) {
+				try {
+					listener.onPricing(data);
+				}
+				catch (RuntimeException ex) {
+					log.warn("Pricing listener failed", ex);
+				}
+			}
+		}
+	}
+
+	private void notifyError(Throwable error) {
+		for (PricingListener listener : this.listeners) {
+			try {
+				listener.onError(error);
+			}
+			catch (RuntimeException ex) {
+				log.warn("Pricing listener failed", ex);
+			}
+		}
+	}
+
+	/**
+	 * Receives the frames of one connection. The JDK invokes the methods of a listener
+	 * sequentially, which makes this the single producer of the queue.
+	 */
+	private final class Listener implements WebSocket.Listener {
+
+		private final StringBuilder buffer = new StringBuilder();
+
+		@Override
+		public void onOpen(WebSocket webSocket) {
+			webSocket.request(1);
+		}
+
+		@Override
+		public @Nullable CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+			this.buffer.append(data);
+			if (last) {
+				String message = this.buffer.toString();
+				this.buffer.setLength(0);
+				received.incrementAndGet();
+				if (!queue.offer(message)) {
+					dropped.incrementAndGet();
+				}
+				// the queue publishes with an ordered write, which must not be reordered
+				// with the read of parked or the dispatcher could miss the wakeup
+				VarHandle.fullFence();
+				if (parked) {
+					LockSupport.unpark(dispatcher);
+				}
+			}
+			webSocket.request(1);
+			return null;
+		}
+
+		@Override
+		public @Nullable CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+			log.debug("Connection to {} closed: {} {}", uri, statusCode, reason);
+			scheduleReconnect(webSocket);
+			return null;
+		}
+
+		@Override
+		public void onError(WebSocket webSocket, Throwable error) {
+			notifyError(error);
+			scheduleReconnect(webSocket);
+		}
+
+	}
+
+	/**
+	 * Builder for {@link StreamingClient}.
+	 */
+	public static final class Builder {
+
+		private @Nullable HttpClient httpClient;
+
+		private URI uri = DEFAULT_URI;
+
+		private final Map<String, String> headers = new LinkedHashMap<>();
+
+		private int queueCapacity = 65536;
+
+		private int batchSize = 100;
+
+		private Duration reconnectDelay = Duration.ofSeconds(1);
+
+		private Duration maxReconnectDelay = Duration.ofSeconds(30);
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the HTTP client to open the WebSocket with. Defaults to a new client.
+		 * @param httpClient the HTTP client
+		 * @return this builder
+		 */
+		public Builder httpClient(HttpClient httpClient) {
+			this.httpClient = httpClient;
+			return this;
+		}
+
+		/**
+		 * Sets the streaming endpoint. Defaults to {@link #DEFAULT_URI}.
+		 * @param uri the endpoint
+		 * @return this builder
+		 */
+		public Builder uri(URI uri) {
+			this.uri = uri;
+			return this;
+		}
+
+		/**
+		 * Adds a header to the opening handshake, such as {@code User-Agent}.
+		 * @param name the header name
+		 * @param value the header value
+		 * @return this builder
+		 */
+		public Builder header(String name, String value) {
+			this.headers.put(name, value);
+			return this;
+		}
+
+		/**
+		 * Sets the capacity of the dispatch queue, rounded up to a power of two. Defaults
+		 * to 65536 messages.
+		 * @param queueCapacity the capacity
+		 * @return this builder
+		 */
+		public Builder queueCapacity(int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of symbols per subscribe or unsubscribe message.
+		 * Defaults to 100.
+		 * @param batchSize the batch size, at least 1
+		 * @return this builder
+		 */
+		public Builder batchSize(int batchSize) {
+			if (batchSize < 1) {
+				throw new IllegalArgumentException("batchSize must be at least 1");
+			}
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		/**
+		 * Sets the delay before the first reconnection attempt. The delay doubles with
+		 * every failed attempt up to {@code maxReconnectDelay}. Defaults to 1 second and
+		 * 30 seconds.
+		 * @param reconnectDelay the initial delay
+		 * @param maxReconnectDelay the maximum delay
+		 * @return this builder
+		 */
+		public Builder reconnectDelay(Duration reconnectDelay, Duration maxReconnectDelay) {
+			this.reconnectDelay = reconnectDelay;
+			this.maxReconnectDelay = maxReconnectDelay;
+			return this;
+		}
+
+		/**
+		 * Builds the client. It does not connect until {@link StreamingClient#connect()}
+		 * is called.
+		 * @return the client
+		 */
+		public StreamingClient build() {
+			return new StreamingClient(this);
+		}
+
+	}
+
+}
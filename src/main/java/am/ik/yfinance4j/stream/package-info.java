@@ -0,0 +1,4 @@
+@NullMarked
+package am.ik.yfinance4j.stream;
+
+import org.jspecify.annotations.NullMarked;
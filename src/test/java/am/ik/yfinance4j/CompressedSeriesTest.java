@@ -0,0 +1,161 @@
+package am.ik.yfinance4j;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Random;
+
+import am.ik.yfinance4j.chart.CompressedSeries;
+import am.ik.yfinance4j.chart.HistorySeries;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompressedSeriesTest {
+
+	// 2024-01-02 09:30 America/New_York
+	private static final long OPEN = Instant.parse("2024-01-02T14:30:00Z").getEpochSecond();
+
+	@Test
+	void shouldRoundTripLosslessly() {
+		HistorySeries series = minuteBars(5, 42);
+
+		CompressedSeries compressed = CompressedSeries.of(series, 128);
+
+		assertThat(compressed.size()).isEqualTo(series.size());
+		assertSameBars(compressed.toSeries(), series);
+		// float prices on a regular grid compress far below 9 columns x 8 bytes per bar
+		assertThat(compressed.compressedBytes()).isLessThan(series.size() * 72L / 2);
+	}
+
+	@Test
+	void shouldKeepSpecialValues() {
+		long[] timestamps = { OPEN, OPEN + 60, OPEN + 120, Long.MAX_VALUE / 2, Long.MAX_VALUE / 2 + 1 };
+		double[] values = { Double.NaN, -0.0, Double.POSITIVE_INFINITY, Double.MIN_VALUE, 1e300 };
+		long[] volume = { 0, Long.MAX_VALUE, Long.MIN_VALUE, -1, 7 };
+		HistorySeries series = new HistorySeries(null, timestamps, values, values, values, values, values, volume,
+				values, values);
+
+		HistorySeries decoded = CompressedSeries.of(series, 2).toSeries();
+
+		assertThat(decoded.timestamps()).containsExactly(timestamps);
+		assertThat(decoded.volume()).containsExactly(volume);
+		for (int i = 0; i < values.length; i++) {
+			assertThat(Double.doubleToRawLongBits(decoded.close()[i])).isEqualTo(Double.doubleToRawLongBits(values[i]));
+		}
+	}
+
+	@Test
+	void shouldDecodeRangesAcrossBlocks() {
+		HistorySeries series = minuteBars(3, 7);
+		CompressedSeries compressed = CompressedSeries.of(series, 100);
+
+		assertSameBars(compressed.toSeries(95, 310), series.slice(95, 310));
+		assertThat(compressed.toSeries(200, 200).isEmpty()).isTrue();
+		assertThatThrownBy(() -> compressed.toSeries(0, series.size() + 1))
+			.isInstanceOf(IndexOutOfBoundsException.class);
+
+		// the second session starts after an overnight gap
+		long secondSession = OPEN + 24 * 60 * 60;
+		int index = compressed.indexOf(secondSession);
+		assertThat(series.timestamps()[index]).isEqualTo(secondSession);
+		assertThat(series.timestamps()[index - 1]).isLessThan(secondSession);
+		HistorySeries firstHour = compressed.between(Instant.ofEpochSecond(secondSession),
+				Instant.ofEpochSecond(secondSession + 3600));
+		int end = index;
+		while (series.timestamps()[end] < secondSession + 3600) {
+			end++;
+		}
+		assertSameBars(firstHour, series.slice(index, end));
+		assertThat(compressed.indexOf(Long.MAX_VALUE)).isEqualTo(series.size());
+	}
+
+	@Test
+	void shouldStreamBarsWithCursor() {
+		HistorySeries series = minuteBars(2, 3);
+		CompressedSeries compressed = CompressedSeries.of(series, 64);
+
+		CompressedSeries.Cursor cursor = compressed.cursor(100);
+		int i = 100;
+		while (cursor.next()) {
+			assertThat(cursor.index()).isEqualTo(i);
+			assertThat(cursor.timestamp()).isEqualTo(series.timestamps()[i]);
+			assertThat(cursor.open()).isEqualTo(series.open()[i]);
+			assertThat(cursor.high()).isEqualTo(series.high()[i]);
+			assertThat(cursor.low()).isEqualTo(series.low()[i]);
+			assertThat(cursor.close()).isEqualTo(series.close()[i]);
+			assertThat(cursor.adjClose()).isEqualTo(series.adjClose()[i]);
+			assertThat(cursor.volume()).isEqualTo(series.volume()[i]);
+			assertThat(cursor.dividends()).isEqualTo(series.dividends()[i]);
+			i++;
+		}
+		assertThat(i).isEqualTo(series.size());
+		assertThat(compressed.cursor(series.size()).next()).isFalse();
+	}
+
+	@Test
+	void shouldAppendNewerBarsOnly() {
+		HistorySeries series = minuteBars(2, 11);
+		CompressedSeries head = CompressedSeries.of(series.slice(0, 500), 64);
+
+		// the update overlaps the last 20 bars already held
+		CompressedSeries appended = head.append(series.slice(480, series.size()));
+
+		assertThat(appended.size()).isEqualTo(series.size());
+		assertSameBars(appended.toSeries(), series);
+		assertThat(appended.append(series.slice(0, 10))).isSameAs(appended);
+		assertSameBars(CompressedSeries.of(HistorySeries.empty(null)).append(series).toSeries(), series);
+	}
+
+	private static void assertSameBars(HistorySeries actual, HistorySeries expected) {
+		assertThat(actual.size()).isEqualTo(expected.size());
+		assertThat(actual.timestamps()).containsExactly(expected.timestamps());
+		assertThat(actual.open()).containsExactly(expected.open());
+		assertThat(actual.high()).containsExactly(expected.high());
+		assertThat(actual.low()).containsExactly(expected.low());
+		assertThat(actual.close()).containsExactly(expected.close());
+		assertThat(actual.adjClose()).containsExactly(expected.adjClose());
+		assertThat(actual.volume()).containsExactly(expected.volume());
+		assertThat(actual.dividends()).containsExactly(expected.dividends());
+		assertThat(actual.splits()).containsExactly(expected.splits());
+	}
+
+	/**
+	 * Regular sessions of 390 one-minute bars with float32 prices, as returned by the
+	 * chart API, and a missing bar now and then.
+	 */
+	private static HistorySeries minuteBars(int days, long seed) {
+		Random random = new Random(seed);
+		int capacity = days * 390;
+		long[] timestamps = new long[capacity];
+		double[] open = new double[capacity];
+		double[] high = new double[capacity];
+		double[] low = new double[capacity];
+		double[] close = new double[capacity];
+		long[] volume = new long[capacity];
+		double[] dividends = new double[capacity];
+		double[] splits = new double[capacity];
+		float price = 190.0f;
+		int n = 0;
+		for (int day = 0; day < days; day++) {
+			for (int minute = 0; minute < 390; minute++) {
+				if (random.nextInt(50) == 0) {
+					continue;
+				}
+				timestamps[n] = OPEN + day * 24 * 60 * 60 + minute * 60L;
+				open[n] = price;
+				price += (random.nextInt(21) - 10) * 0.01f;
+				close[n] = price;
+				high[n] = (float) Math.max(open[n], close[n]) + random.nextInt(5) * 0.01f;
+				low[n] = (float) Math.min(open[n], close[n]) - random.nextInt(5) * 0.01f;
+				volume[n] = 1000 + random.nextInt(100_000);
+				n++;
+			}
+		}
+		dividends[n / 2] = 0.24;
+		return new HistorySeries(null, Arrays.copyOf(timestamps, n), Arrays.copyOf(open, n), Arrays.copyOf(high, n),
+				Arrays.copyOf(low, n), Arrays.copyOf(close, n), Arrays.copyOf(close, n), Arrays.copyOf(volume, n),
+				Arrays.copyOf(dividends, n), Arrays.copyOf(splits, n));
+	}
+
+}
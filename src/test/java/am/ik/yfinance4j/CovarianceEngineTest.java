@@ -0,0 +1,126 @@
+package am.ik.yfinance4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import am.ik.yfinance4j.stats.CovarianceEngine;
+import am.ik.yfinance4j.stats.Returns;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.within;
+
+class CovarianceEngineTest {
+
+	private static final double[][] RETURNS = randomReturns(10, 300);
+
+	private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+	// small tiles so that the symbols are split into several fork-join tasks
+	private final CovarianceEngine engine = CovarianceEngine.builder().blockSize(3).pool(POOL).build();
+
+	@AfterAll
+	static void tearDown() {
+		POOL.shutdown();
+	}
+
+	@Test
+	void shouldComputeReturns() {
+		assertThat(Returns.simple(new double[] { 100, 110, 99 })).containsExactly(new double[] { 0.1, -0.1 },
+				within(1e-12));
+		assertThat(Returns.log(new double[] { 1, Math.E })).containsExactly(new double[] { 1 }, within(1e-12));
+		assertThat(Returns.simple(new double[0])).isEmpty();
+	}
+
+	@Test
+	void covarianceShouldMatchNaiveComputation() {
+		double[][] covariance = this.engine.covariance(RETURNS, 20, 280);
+
+		for (int i = 0; i < RETURNS.length; i++) {
+			for (int j = 0; j < RETURNS.length; j++) {
+				assertThat(covariance[i][j]).isCloseTo(naiveCovariance(RETURNS[i], RETURNS[j], 20, 280), within(1e-15));
+			}
+		}
+	}
+
+	@Test
+	void correlationShouldBeNormalizedCovariance() {
+		double[][] correlation = this.engine.correlation(RETURNS);
+		double[][] covariance = CovarianceEngine.create().covariance(RETURNS);
+
+		for (int i = 0; i < RETURNS.length; i++) {
+			assertThat(correlation[i][i]).isCloseTo(1, within(1e-12));
+			for (int j = 0; j < RETURNS.length; j++) {
+				assertThat(correlation[i][j]).isEqualTo(correlation[j][i])
+					.isCloseTo(covariance[i][j] / Math.sqrt(covariance[i][i] * covariance[j][j]), within(1e-12));
+			}
+		}
+		// the second column is generated to correlate with the first one
+		assertThat(correlation[0][1]).isGreaterThan(0.5);
+	}
+
+	@Test
+	void rollingMatricesShouldMatchFullComputationOfEachWindow() {
+		List<Integer> ends = new ArrayList<>();
+		this.engine.rollingCorrelation(RETURNS, 50, (end, matrix) -> {
+			ends.add(end);
+			if (end % 25 == 0) {
+				double[][] expected = this.engine.correlation(RETURNS, end - 50, end);
+				for (int i = 0; i < matrix.length; i++) {
+					for (int j = 0; j < matrix.length; j++) {
+						assertThat(matrix[i][j]).isCloseTo(expected[i][j], within(1e-9));
+					}
+				}
+			}
+		});
+		this.engine.rollingCovariance(RETURNS, 2, (end, matrix) -> assertThat(matrix[3][4])
+			.isCloseTo(naiveCovariance(RETURNS[3], RETURNS[4], end - 2, end), within(1e-12)));
+
+		assertThat(ends).hasSize(251);
+		assertThat(ends.get(0)).isEqualTo(50);
+		assertThat(ends.get(250)).isEqualTo(300);
+	}
+
+	@Test
+	void shouldRejectInvalidInput() {
+		double[][] withGap = { { 0.1, Double.NaN, 0.2 }, { 0.1, 0.2, 0.3 } };
+
+		assertThatIllegalArgumentException().isThrownBy(() -> this.engine.covariance(withGap));
+		assertThatIllegalArgumentException().isThrownBy(() -> this.engine.covariance(withGap, 2, 3));
+		assertThatIllegalArgumentException().isThrownBy(() -> this.engine.rollingCorrelation(RETURNS, 301, (end, m) -> {
+		}));
+	}
+
+	private static double naiveCovariance(double[] x, double[] y, int from, int to) {
+		int n = to - from;
+		double meanX = 0;
+		double meanY = 0;
+		for (int t = from; t < to; t++) {
+			meanX += x[t] / n;
+			meanY += y[t] / n;
+		}
+		double sum = 0;
+		for (int t = from; t < to; t++) {
+			sum += (x[t] - meanX) * (y[t] - meanY);
+		}
+		return sum / (n - 1);
+	}
+
+	private static double[][] randomReturns(int k, int n) {
+		Random random = new Random(42);
+		double[][] returns = new double[k][n];
+		for (int t = 0; t < n; t++) {
+			double market = random.nextGaussian() * 0.01;
+			for (int s = 0; s < k; s++) {
+				double beta = (s < 2) ? 1 : 0.2;
+				returns[s][t] = 0.0005 + beta * market + random.nextGaussian() * 0.005;
+			}
+		}
+		return returns;
+	}
+
+}
@@ -0,0 +1,297 @@
+package am.ik.yfinance4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import am.ik.yfinance4j.QuotePollerTest.MutableClock;
+import am.ik.yfinance4j.chart.ChartRequest;
+import am.ik.yfinance4j.chart.HistorySeries;
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistoryCacheTest {
+
+	private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+	private static final long DAY = 24 * 60 * 60;
+
+	// 2024-06-15 20:00 UTC, after the close
+	private final MutableClock clock = new MutableClock(Instant.parse("2024-06-15T20:00:00Z"));
+
+	private final List<String> requests = new CopyOnWriteArrayList<>();
+
+	private volatile @Nullable Instant splitDate;
+
+	private MockServer mockServer;
+
+	private YFinance yf;
+
+	@BeforeEach
+	void setUp() {
+		this.mockServer = new MockServer(0);
+		this.mockServer.GET("/cookie", request -> Response.builder().header("Set-Cookie", "a=b").build());
+		this.mockServer.GET("/crumb", request -> Response.ok("crumb"));
+		this.mockServer.GET("/v8/finance/chart/AAPL", request -> Response.json(chartJson(request.queryParams())));
+		this.mockServer.run();
+		String baseUrl = "http://localhost:" + this.mockServer.port();
+		RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		this.yf = YFinance.builder(restClient)
+			.urls(YFinanceUrls.builder()
+				.cookieUrl(baseUrl + "/cookie")
+				.crumbUrl(baseUrl + "/crumb")
+				.chartUrl(baseUrl + "/v8/finance/chart/{ticker}")
+				.build())
+			.historyCache(HistoryCache.builder()
+				.maxAge(Duration.ofMinutes(5))
+				.maxLifetime(Duration.ofDays(7))
+				.clock(this.clock)
+				.build())
+			.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.mockServer.close();
+	}
+
+	@Test
+	void shouldAnswerContainedPeriodsAndRangesFromCache() {
+		Ticker ticker = this.yf.ticker("AAPL");
+		HistorySeries year = ticker.historySeries(period(Period.ONE_YEAR));
+
+		HistorySeries month = ticker.historySeries(period(Period.ONE_MONTH));
+		HistorySeries range = ticker.historySeries(ChartRequest.builder()
+			.start(Instant.parse("2024-03-01T00:00:00Z"))
+			.end(Instant.parse("2024-03-08T00:00:00Z"))
+			.build());
+
+		assertThat(this.requests).containsExactly("range=1y");
+		assertThat(year.size()).isEqualTo(366);
+		// 2024-05-15 16:00 local time to now
+		assertThat(Instant.ofEpochSecond(month.timestamps()[0])).isEqualTo(Instant.parse("2024-05-16T14:30:00Z"));
+		assertThat(Instant.ofEpochSecond(month.timestamps()[month.size() - 1]))
+			.isEqualTo(Instant.parse("2024-06-15T14:30:00Z"));
+		assertThat(range.timestamps()).hasSize(7);
+		assertThat(range.close()[0]).isEqualTo(close(Instant.parse("2024-03-01T14:30:00Z").getEpochSecond()));
+	}
+
+	@Test
+	void shouldResolveYearToDateInExchangeTimeZone() {
+		Ticker ticker = this.yf.ticker("AAPL");
+		ticker.historySeries(period(Period.ONE_YEAR));
+
+		HistorySeries ytd = ticker.historySeries(period(Period.YEAR_TO_DATE));
+
+		assertThat(this.requests).containsExactly("range=1y");
+		long startOfYear = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, NEW_YORK).toEpochSecond();
+		assertThat(ytd.timestamps()[0]).isEqualTo(startOfYear + 14 * 60 * 60 + 30 * 60 - 5 * 60 * 60);
+	}
+
+	@Test
+	void shouldFetchOnlyMissingEdges() {
+		Ticker ticker = this.yf.ticker("AAPL");
+		ticker.historySeries(period(Period.ONE_MONTH));
+		long monthAgo = ZonedDateTime.ofInstant(this.clock.instant(), NEW_YORK).minusMonths(1).toEpochSecond();
+
+		HistorySeries quarter = ticker.historySeries(period(Period.THREE_MONTHS));
+
+		long quarterAgo = ZonedDateTime.ofInstant(this.clock.instant(), NEW_YORK).minusMonths(3).toEpochSecond();
+		assertThat(this.requests).containsExactly("range=1mo", "period1=" + quarterAgo + "&period2=" + monthAgo);
+		assertContiguousDays(quarter);
+		assertThat(quarter.timestamps()[0]).isGreaterThanOrEqualTo(quarterAgo);
+
+		// two days later only the newest bars are fetched, from the last cached one
+		Instant lastBar = Instant.parse("2024-06-15T14:30:00Z");
+		this.clock.set(this.clock.instant().plus(Duration.ofDays(2)));
+		HistorySeries month = ticker.historySeries(period(Period.ONE_MONTH));
+
+		assertThat(this.requests).hasSize(3)
+			.last()
+			.isEqualTo("period1=" + lastBar.getEpochSecond() + "&period2=" + this.clock.instant().getEpochSecond());
+		assertContiguousDays(month);
+		assertThat(Instant.ofEpochSecond(month.timestamps()[month.size() - 1]))
+			.isEqualTo(Instant.parse("2024-06-17T14:30:00Z"));
+	}
+
+	@Test
+	void shouldKeepWindowWhenLeftEdgeHasPastDividend() {
+		Ticker ticker = this.yf.ticker("AAPL");
+		ticker.historySeries(period(Period.ONE_MONTH));
+		long monthAgo = ZonedDateTime.ofInstant(this.clock.instant(), NEW_YORK).minusMonths(1).toEpochSecond();
+
+		HistorySeries year = ticker.historySeries(period(Period.ONE_YEAR));
+
+		long yearAgo = ZonedDateTime.ofInstant(this.clock.instant(), NEW_YORK).minusYears(1).toEpochSecond();
+		assertThat(this.requests).containsExactly("range=1mo", "period1=" + yearAgo + "&period2=" + monthAgo);
+		assertContiguousDays(year);
+		int exDate = Arrays.binarySearch(year.timestamps(), Instant.parse("2024-02-09T14:30:00Z").getEpochSecond());
+		assertThat(exDate).isNotNegative();
+		assertThat(year.dividends()[exDate]).isEqualTo(0.24);
+	}
+
+	@Test
+	void shouldServeWithinMaxAgeWithoutFetching() {
+		Ticker ticker = this.yf.ticker("AAPL");
+		ticker.historySeries(period(Period.ONE_MONTH));
+
+		this.clock.set(this.clock.instant().plus(Duration.ofMinutes(4)));
+		ticker.historySeries(period(Period.ONE_MONTH));
+		assertThat(this.requests).hasSize(1);
+
+		this.clock.set(this.clock.instant().plus(Duration.ofMinutes(2)));
+		ticker.historySeries(period(Period.ONE_MONTH));
+		assertThat(this.requests).hasSize(2);
+	}
+
+	@Test
+	void shouldDropWindowWhenEdgeBringsSplit() {
+		Ticker ticker = this.yf.ticker("AAPL");
+		ticker.historySeries(period(Period.ONE_MONTH));
+
+		// a 2:1 split two days later makes Yahoo halve all earlier prices
+		this.clock.set(this.clock.instant().plus(Duration.ofDays(2)));
+		this.splitDate = Instant.parse("2024-06-17T14:30:00Z");
+		HistorySeries month = ticker.historySeries(period(Period.ONE_MONTH));
+
+		assertThat(this.requests).hasSize(3).startsWith("range=1mo").endsWith("range=1mo");
+		assertThat(this.requests.get(1)).startsWith("period1=");
+		long[] timestamps = month.timestamps();
+		assertThat(month.close()[0]).isEqualTo(close(timestamps[0]) / 2);
+		assertThat(month.close()[month.size() - 2]).isEqualTo(close(timestamps[month.size() - 2]) / 2);
+		assertThat(month.close()[month.size() - 1]).isEqualTo(close(timestamps[month.size() - 1]));
+		assertThat(month.splits()[month.size() - 1]).isEqualTo(2);
+
+		// the refetched window is cached again
+		HistorySeries again = ticker.historySeries(period(Period.ONE_MONTH));
+		assertThat(this.requests).hasSize(3);
+		assertThat(again.close()).containsExactly(month.close());
+	}
+
+	@Test
+	void shouldFetchAgainAfterMaxLifetime() {
+		Ticker ticker = this.yf.ticker("AAPL");
+		ticker.historySeries(period(Period.ONE_YEAR));
+		ChartRequest march = ChartRequest.builder()
+			.start(Instant.parse("2024-03-01T00:00:00Z"))
+			.end(Instant.parse("2024-03-08T00:00:00Z"))
+			.build();
+
+		this.clock.set(this.clock.instant().plus(Duration.ofDays(7)).minusSeconds(1));
+		ticker.historySeries(march);
+		assertThat(this.requests).hasSize(1);
+
+		this.clock.set(this.clock.instant().plusSeconds(1));
+		HistorySeries range = ticker.historySeries(march);
+		assertThat(this.requests).hasSize(2);
+		assertThat(this.requests.get(1))
+			.startsWith("period1=" + Instant.parse("2024-03-01T00:00:00Z").getEpochSecond());
+		assertThat(range.timestamps()).hasSize(7);
+	}
+
+	@Test
+	void shouldKeepIntervalsAndActionsApart() {
+		Ticker ticker = this.yf.ticker("AAPL");
+		HistorySeries withActions = ticker.historySeries(period(Period.ONE_YEAR));
+
+		HistorySeries withoutActions = ticker
+			.historySeries(ChartRequest.builder().period(Period.ONE_YEAR).actions(false).build());
+		ticker.historySeries(ChartRequest.builder().period(Period.ONE_MONTH).interval(Interval.ONE_WEEK).build());
+
+		assertThat(this.requests).containsExactly("range=1y", "range=1mo");
+		assertThat(withActions.dividends()).contains(0.24);
+		assertThat(withoutActions.dividends()).containsOnly(0.0);
+		assertThat(withoutActions.close()).containsExactly(withActions.close());
+	}
+
+	private static ChartRequest period(Period period) {
+		return ChartRequest.builder().period(period).build();
+	}
+
+	private static void assertContiguousDays(HistorySeries series) {
+		long[] timestamps = series.timestamps();
+		for (int i = 1; i < timestamps.length; i++) {
+			assertThat(timestamps[i] - timestamps[i - 1]).isEqualTo(DAY);
+			assertThat(series.close()[i]).isEqualTo(close(timestamps[i]));
+		}
+	}
+
+	private static double close(long timestamp) {
+		return 100 + (timestamp / DAY) % 50;
+	}
+
+	/**
+	 * Returns one bar per calendar day at 14:30 UTC within the requested range, with a
+	 * dividend on 2024-02-09 and, once set, a 2:1 split on {@link #splitDate}.
+	 */
+	private String chartJson(Map<String, String> params) {
+		long now = this.clock.instant().getEpochSecond();
+		long start;
+		long end;
+		String range = params.get("range");
+		if (range != null) {
+			this.requests.add("range=" + range);
+			ZonedDateTime local = this.clock.instant().atZone(NEW_YORK);
+			start = switch (range) {
+				case "1mo" -> local.minusMonths(1).toEpochSecond();
+				case "3mo" -> local.minusMonths(3).toEpochSecond();
+				case "1y" -> local.minusYears(1).toEpochSecond();
+				default -> throw new IllegalArgumentException(range);
+			};
+			end = now;
+		}
+		else {
+			this.requests.add("period1=" + params.get("period1") + "&period2=" + params.get("period2"));
+			start = Long.parseLong(params.get("period1"));
+			end = Long.parseLong(params.get("period2"));
+		}
+		List<Long> timestamps = new ArrayList<>();
+		for (long day = Math.floorDiv(start, DAY); day * DAY < end; day++) {
+			long timestamp = day * DAY + 14 * 60 * 60 + 30 * 60;
+			if (timestamp >= start && timestamp < end && timestamp <= now) {
+				timestamps.add(timestamp);
+			}
+		}
+		String ts = timestamps.stream().map(String::valueOf).collect(Collectors.joining(","));
+		Instant splitDate = this.splitDate;
+		long split = (splitDate != null) ? splitDate.getEpochSecond() : Long.MAX_VALUE;
+		String closes = timestamps.stream()
+			.map(t -> String.valueOf((t < split && split <= now) ? close(t) / 2 : close(t)))
+			.collect(Collectors.joining(","));
+		String volumes = timestamps.stream().map(t -> "1000").collect(Collectors.joining(","));
+		long dividendDate = Instant.parse("2024-02-09T14:30:00Z").getEpochSecond();
+		List<String> events = new ArrayList<>();
+		if (timestamps.contains(dividendDate) && params.containsKey("events")) {
+			events.add("""
+					"dividends":{"%1$d":{"amount":0.24,"date":%1$d}}""".formatted(dividendDate));
+		}
+		if (timestamps.contains(split) && params.containsKey("events")) {
+			events.add("""
+					"splits":{"%1$d":{"date":%1$d,"numerator":2,"denominator":1,"splitRatio":"2:1"}}"""
+				.formatted(split));
+		}
+		return """
+				{"chart":{"result":[{"meta":{"currency":"USD","symbol":"AAPL","gmtoffset":-14400,
+				"exchangeTimezoneName":"America/New_York"},"timestamp":[%1$s],
+				"indicators":{"quote":[{"open":[%2$s],"high":[%2$s],"low":[%2$s],"close":[%2$s],
+				"volume":[%3$s]}]}%4$s}],"error":null}}
+				""".formatted(ts, closes, volumes,
+				events.isEmpty() ? "" : ",\"events\":{" + String.join(",", events) + "}");
+	}
+
+}
@@ -0,0 +1,171 @@
+package am.ik.yfinance4j;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import am.ik.yfinance4j.chart.ChartRequest;
+import am.ik.yfinance4j.chart.HistoryRecord;
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HistoryExporterTest {
+
+	private static final String AAPL_JSON = """
+			{"chart":{"result":[{"meta":{"symbol":"AAPL","currency":"USD"},
+			"timestamp":[1704205800,1704292200,1704378600,1704465000],
+			"events":{"splits":{"1704465000":{"date":1704465000,"numerator":4,"denominator":1,"splitRatio":"4:1"}},
+			"dividends":{"1704292200":{"amount":0.24,"date":1704292200}}},
+			"indicators":{"quote":[{"open":[187.15,184.22,null,181.99],"high":[188.44,185.88,null,182.76],
+			"low":[183.89,183.43,null,180.17],"close":[185.64,184.25,null,181.18],"volume":[82488700,null,null,62303300]}],
+			"adjclose":[{"adjclose":[184.73,null,null,180.29]}]}}],"error":null}}""";
+
+	private static final ChartRequest REQUEST = ChartRequest.builder().period(Period.FIVE_DAYS).build();
+
+	private MockServer mockServer;
+
+	private YFinance yf;
+
+	@BeforeEach
+	void setUp() {
+		this.mockServer = new MockServer(0);
+		this.mockServer.GET("/cookie", request -> Response.builder().header("Set-Cookie", "a=b").build());
+		this.mockServer.GET("/crumb", request -> Response.ok("crumb"));
+		this.mockServer.route(request -> request.path().startsWith("/v8/finance/chart/"), request -> {
+			String symbol = request.path().substring("/v8/finance/chart/".length());
+			return switch (symbol) {
+				case "AAPL" -> Response.json(AAPL_JSON);
+				case "LONG" -> Response.json(series("LONG", LongStream.range(0, 2000).map(i -> i * 86400)));
+				case "OLD" ->
+					Response.json(series("OLD", LongStream.of(-2208988800L, -86400, 0, 951782400, 4102444799L)));
+				case "BROKEN" -> Response.json("{\"chart\":{\"result\":[{\"timestamp\":[1704205800,");
+				default -> Response.builder().status(404).contentType("application/json").body("""
+						{"chart":{"result":null,"error":{"code":"Not Found",\
+						"description":"No data found, symbol may be delisted"}}}""").build();
+			};
+		});
+		this.mockServer.run();
+		String baseUrl = "http://localhost:" + this.mockServer.port();
+		RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		this.yf = YFinance.builder(restClient)
+			.urls(YFinanceUrls.builder()
+				.cookieUrl(baseUrl + "/cookie")
+				.crumbUrl(baseUrl + "/crumb")
+				.chartUrl(baseUrl + "/v8/finance/chart/{ticker}")
+				.build())
+			.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.mockServer.close();
+	}
+
+	@Test
+	void shouldWriteCsvWithTheValuesOfHistory() throws Exception {
+		HistoryExporter exporter = HistoryExporter.builder(this.yf).build();
+		StringWriter out = new StringWriter();
+
+		long rows = exporter.export("AAPL", REQUEST, out);
+
+		assertThat(out.toString()).isEqualTo("""
+				symbol,timestamp,open,high,low,close,adjClose,volume,dividends,stockSplits
+				AAPL,2024-01-02T14:30:00Z,187.15,188.44,183.89,185.64,184.73,82488700,0,0
+				AAPL,2024-01-03T14:30:00Z,184.22,185.88,183.43,184.25,184.25,0,0.24,0
+				AAPL,2024-01-05T14:30:00Z,181.99,182.76,180.17,181.18,180.29,62303300,0,4
+				""");
+		assertThat(rows).isEqualTo(3);
+		List<HistoryRecord> history = this.yf.ticker("AAPL").history(REQUEST);
+		List<String> lines = out.toString().lines().skip(1).toList();
+		for (int i = 0; i < history.size(); i++) {
+			HistoryRecord record = history.get(i);
+			String[] fields = lines.get(i).split(",");
+			assertThat(Instant.parse(fields[1])).isEqualTo(record.timestamp());
+			assertThat(new BigDecimal(fields[5])).isEqualByComparingTo(record.close());
+			assertThat(new BigDecimal(fields[6])).isEqualByComparingTo(record.adjClose());
+			assertThat(Long.parseLong(fields[7])).isEqualTo(record.volume());
+			assertThat(new BigDecimal(fields[8])).isEqualByComparingTo(record.dividends());
+			assertThat(new BigDecimal(fields[9])).isEqualByComparingTo(record.stockSplits());
+		}
+	}
+
+	@Test
+	void shouldWriteNdjsonWithoutActionsUnlessRequested() throws Exception {
+		HistoryExporter exporter = HistoryExporter.builder(this.yf).format(HistoryExporter.Format.NDJSON).build();
+		StringWriter out = new StringWriter();
+
+		exporter.export("AAPL", ChartRequest.builder().period(Period.FIVE_DAYS).actions(false).build(), out);
+
+		assertThat(out.toString()).isEqualTo("""
+				{"symbol":"AAPL","timestamp":"2024-01-02T14:30:00Z","open":187.15,"high":188.44,"low":183.89,\
+				"close":185.64,"adjClose":184.73,"volume":82488700,"dividends":0,"stockSplits":0}
+				{"symbol":"AAPL","timestamp":"2024-01-03T14:30:00Z","open":184.22,"high":185.88,"low":183.43,\
+				"close":184.25,"adjClose":184.25,"volume":0,"dividends":0,"stockSplits":0}
+				{"symbol":"AAPL","timestamp":"2024-01-05T14:30:00Z","open":181.99,"high":182.76,"low":180.17,\
+				"close":181.18,"adjClose":180.29,"volume":62303300,"dividends":0,"stockSplits":0}
+				""");
+	}
+
+	@Test
+	void shouldFormatTimestampsLikeInstant() throws Exception {
+		HistoryExporter exporter = HistoryExporter.builder(this.yf).header(false).build();
+		StringWriter out = new StringWriter();
+
+		exporter.export("OLD", REQUEST, out);
+
+		assertThat(out.toString().lines().map(line -> line.split(",")[1]).toList()).containsExactly(
+				"1900-01-01T00:00:00Z", "1969-12-31T00:00:00Z", "1970-01-01T00:00:00Z", "2000-02-29T00:00:00Z",
+				"2099-12-31T23:59:59Z");
+	}
+
+	@Test
+	void shouldExportManySymbolsThroughReusedBuffers() throws Exception {
+		HistoryExporter exporter = HistoryExporter.builder(this.yf).bufferSize(1024).build();
+		StringWriter out = new StringWriter();
+
+		HistoryExporter.Result result = exporter.export(List.of("LONG", "GONE", "AAPL", "LONG"), REQUEST, out);
+
+		assertThat(result.symbols()).isEqualTo(3);
+		assertThat(result.rows()).isEqualTo(2000 + 3 + 2000);
+		assertThat(result.notFound()).containsExactly("GONE");
+		List<String> lines = out.toString().lines().toList();
+		assertThat(lines).hasSize(1 + 4003);
+		assertThat(lines.get(1)).isEqualTo("LONG,1970-01-01T00:00:00Z,0,1,0,1,1,100,0,0");
+		assertThat(lines.get(2001)).startsWith("AAPL,2024-01-02T14:30:00Z,187.15,");
+		assertThat(lines.get(4003)).startsWith("LONG,1975-06-23T00:00:00Z,1999,2000,1999,2000,2000,100,");
+	}
+
+	@Test
+	void shouldWriteNothingForMalformedResponse() {
+		HistoryExporter exporter = HistoryExporter.builder(this.yf).header(false).build();
+		StringWriter out = new StringWriter();
+
+		assertThatThrownBy(() -> exporter.export("BROKEN", REQUEST, out)).isInstanceOf(YFinanceException.class);
+		assertThat(out.toString()).isEmpty();
+	}
+
+	private static String series(String symbol, LongStream timestamps) {
+		long[] ts = timestamps.toArray();
+		String joined = LongStream.of(ts).mapToObj(Long::toString).collect(Collectors.joining(","));
+		String open = LongStream.range(0, ts.length).mapToObj(Long::toString).collect(Collectors.joining(","));
+		String high = LongStream.range(1, ts.length + 1).mapToObj(Long::toString).collect(Collectors.joining(","));
+		String volume = LongStream.range(0, ts.length).mapToObj(i -> "100").collect(Collectors.joining(","));
+		return """
+				{"chart":{"result":[{"meta":{"symbol":"%s"},"timestamp":[%s],
+				"indicators":{"quote":[{"open":[%s],"high":[%s],"low":[%s],"close":[%s],"volume":[%s]}],
+				"adjclose":[{"adjclose":[%s]}]}}],"error":null}}""".formatted(symbol, joined, open, high, open, high,
+				volume, high);
+	}
+
+}
@@ -0,0 +1,149 @@
+package am.ik.yfinance4j;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import am.ik.yfinance4j.chart.ChartRequest;
+import am.ik.yfinance4j.chart.HistoryPanel;
+import am.ik.yfinance4j.chart.HistoryPanel.Field;
+import am.ik.yfinance4j.chart.HistorySeries;
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class HistoryPanelTest {
+
+	private static final double NaN = Double.NaN;
+
+	// the mock timestamps are seconds apart
+	private static final ChartRequest MINUTES = ChartRequest.builder().interval(Interval.ONE_MINUTE).build();
+
+	private static MockServer mockServer;
+
+	private static YFinance yf;
+
+	@BeforeAll
+	static void setUp() {
+		mockServer = new MockServer(0);
+		mockServer.GET("/cookie", request -> Response.builder().header("Set-Cookie", "a=b").build());
+		mockServer.GET("/crumb", request -> Response.ok("crumb"));
+		mockServer.GET("/v8/finance/chart/AAA", request -> Response.json(chart("AAA", "[100,200,400]", "[1,2,4]")));
+		mockServer.GET("/v8/finance/chart/BBB", request -> Response.json(chart("BBB", "[200,300]", "[20,30]")));
+		// 2024-01-02 to 01-04 at 09:30 in New York, 01-04 and 01-05 at 09:00 in Tokyo
+		mockServer.GET("/v8/finance/chart/NYQ", request -> Response
+			.json(chart("NYQ", "America/New_York", "[1704205800,1704292200,1704378600]", "[1,2,3]")));
+		mockServer.GET("/v8/finance/chart/TYO",
+				request -> Response.json(chart("TYO", "Asia/Tokyo", "[1704326400,1704412800]", "[10,11]")));
+		mockServer.run();
+		String baseUrl = "http://localhost:" + mockServer.port();
+		RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		yf = new YFinance(restClient,
+				YFinanceUrls.builder()
+					.cookieUrl(baseUrl + "/cookie")
+					.crumbUrl(baseUrl + "/crumb")
+					.chartUrl(baseUrl + "/v8/finance/chart/{ticker}")
+					.build());
+	}
+
+	@AfterAll
+	static void tearDown() {
+		mockServer.close();
+	}
+
+	@Test
+	void shouldOuterJoinTimestamps() {
+		HistoryPanel panel = yf.download(List.of("AAA", "BBB"), MINUTES);
+
+		assertThat(panel.symbols()).containsExactly("AAA", "BBB");
+		assertThat(panel.timestamps()).containsExactly(100, 200, 300, 400);
+		assertThat(panel.column(Field.CLOSE, "AAA")).containsExactly(1, 2, NaN, 4);
+		assertThat(panel.column(Field.CLOSE, "BBB")).containsExactly(NaN, 20, 30, NaN);
+		assertThat(panel.matrix(Field.VOLUME)[1]).containsExactly(NaN, 10, 10, NaN);
+	}
+
+	@Test
+	void shouldForwardFillGaps() {
+		HistoryPanel panel = yf.download(List.of("AAA", "BBB"), MINUTES).forwardFill();
+
+		assertThat(panel.column(Field.CLOSE, "AAA")).containsExactly(1, 2, 2, 4);
+		assertThat(panel.column(Field.HIGH, "BBB")).containsExactly(NaN, 20, 30, 30);
+		assertThat(panel.column(Field.VOLUME, "BBB")).containsExactly(NaN, 10, 10, 0);
+	}
+
+	@Test
+	void shouldAlignDailyBarsOfDifferentExchangesOnTradingDate() {
+		ChartRequest daily = ChartRequest.builder().interval(Interval.ONE_DAY).build();
+
+		HistoryPanel panel = yf.download(List.of("NYQ", "TYO"), daily);
+
+		assertThat(panel.timestamps()).containsExactly(1704153600, 1704240000, 1704326400, 1704412800);
+		assertThat(panel.column(Field.CLOSE, "NYQ")).containsExactly(1, 2, 3, NaN);
+		assertThat(panel.column(Field.CLOSE, "TYO")).containsExactly(NaN, NaN, 10, 11);
+
+		Map<String, HistorySeries> series = new LinkedHashMap<>();
+		series.put("NYQ", yf.ticker("NYQ").historySeries(daily));
+		series.put("TYO", yf.ticker("TYO").historySeries(daily));
+		assertThat(HistoryPanel.of(series).size()).isEqualTo(5);
+		assertThat(HistoryPanel.of(series, Interval.ONE_DAY).size()).isEqualTo(4);
+		assertThat(HistoryPanel.of(series, Interval.ONE_HOUR).size()).isEqualTo(5);
+	}
+
+	@Test
+	void shouldMergeManySeries() {
+		Map<String, HistorySeries> series = new LinkedHashMap<>();
+		for (int s = 0; s < 10; s++) {
+			// every series covers a different stride of the axis
+			int stride = s + 1;
+			long[] timestamps = new long[100 / stride];
+			for (int i = 0; i < timestamps.length; i++) {
+				timestamps[i] = (long) i * stride;
+			}
+			series.put("S" + s, series(timestamps));
+		}
+		series.put("EMPTY", HistorySeries.empty(null));
+
+		HistoryPanel panel = HistoryPanel.of(series);
+
+		assertThat(panel.size()).isEqualTo(100);
+		for (int i = 0; i < panel.size(); i++) {
+			assertThat(panel.timestamps()[i]).isEqualTo(i);
+		}
+		assertThat(panel.column(Field.CLOSE, "S2")[6]).isEqualTo(6);
+		assertThat(panel.column(Field.CLOSE, "S2")[7]).isNaN();
+		assertThat(panel.column(Field.CLOSE, "EMPTY")).hasSize(100).containsOnly(NaN);
+		assertThatIllegalArgumentException().isThrownBy(() -> panel.column(Field.CLOSE, "UNKNOWN"));
+	}
+
+	private static HistorySeries series(long[] timestamps) {
+		int n = timestamps.length;
+		double[] values = new double[n];
+		for (int i = 0; i < n; i++) {
+			values[i] = timestamps[i];
+		}
+		return new HistorySeries(null, timestamps, values, values, values, values, values, new long[n], new double[n],
+				new double[n]);
+	}
+
+	private static String chart(String symbol, String timeZone, String timestamps, String closes) {
+		return """
+				{"chart":{"result":[{"meta":{"symbol":"%s","exchangeTimezoneName":"%s"},"timestamp":%s,
+				"indicators":{"quote":[{"open":%s,"high":%s,"low":%s,"close":%s,"volume":[10,10,10]}]}}],"error":null}}
+				""".formatted(symbol, timeZone, timestamps, closes, closes, closes, closes);
+	}
+
+	private static String chart(String symbol, String timestamps, String closes) {
+		return """
+				{"chart":{"result":[{"meta":{"symbol":"%s"},"timestamp":%s,
+				"indicators":{"quote":[{"open":%s,"high":%s,"low":%s,"close":%s,"volume":[10,10,10]}]}}],"error":null}}
+				""".formatted(symbol, timestamps, closes, closes, closes, closes);
+	}
+
+}
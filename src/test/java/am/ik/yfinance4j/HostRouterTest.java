@@ -0,0 +1,113 @@
+package am.ik.yfinance4j;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import am.ik.yfinance4j.chart.HistoryRecord;
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HostRouterTest {
+
+	private static final String HOST1 = "https://query1.example.com/v8/finance/chart/{ticker}";
+
+	private static final String HOST2 = "https://query2.example.com/v8/finance/chart/{ticker}";
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private final HostRouter router = new HostRouter(0.5, 0.5, Duration.ofSeconds(30), this.clock::get);
+
+	@Test
+	void shouldKeepConfiguredOrderWithoutSamples() {
+		assertThat(this.router.route(List.of(HOST1, HOST2))).containsExactly(HOST1, HOST2);
+	}
+
+	@Test
+	void shouldPreferHostWithLowerLatency() {
+		this.router.recordSuccess(HOST1, millis(300));
+		this.router.recordSuccess(HOST2, millis(50));
+		assertThat(this.router.route(List.of(HOST1, HOST2))).containsExactly(HOST2, HOST1);
+		assertThat(this.router.stats(HOST1).latencyMillis()).isEqualTo(300.0);
+	}
+
+	@Test
+	void shouldTrackLatencyAsEwma() {
+		this.router.recordSuccess(HOST1, millis(100));
+		this.router.recordSuccess(HOST1, millis(300));
+		assertThat(this.router.stats(HOST1).latencyMillis()).isEqualTo(200.0);
+		assertThat(this.router.stats(HOST1).samples()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldFailOverFromDegradedHost() {
+		this.router.recordSuccess(HOST1, millis(10));
+		this.router.recordSuccess(HOST2, millis(100));
+		this.router.recordFailure(HOST1, millis(10));
+		assertThat(this.router.stats(HOST1).degraded()).isTrue();
+		assertThat(this.router.route(List.of(HOST1, HOST2))).containsExactly(HOST2, HOST1);
+	}
+
+	@Test
+	void shouldProbeUnusedHostAfterInterval() {
+		this.router.recordSuccess(HOST1, millis(500));
+		this.router.recordSuccess(HOST2, millis(50));
+		assertThat(this.router.route(List.of(HOST1, HOST2))).containsExactly(HOST2, HOST1);
+		this.clock.addAndGet(Duration.ofSeconds(31).toNanos());
+		assertThat(this.router.route(List.of(HOST1, HOST2))).containsExactly(HOST1, HOST2);
+		// only a single probe per interval
+		assertThat(this.router.route(List.of(HOST1, HOST2))).containsExactly(HOST2, HOST1);
+	}
+
+	@Test
+	void shouldFailOverToAlternateHostOnServerError() throws IOException {
+		int port1 = freePort();
+		int port2 = freePort();
+		try (MockServer failing = new MockServer(port1); MockServer healthy = new MockServer(port2)) {
+			failing.fallback(Response.builder().status(503).body("unavailable").build());
+			healthy.GET("/v8/finance/chart/AAPL", request -> Response.json("""
+					{"chart":{"result":[{"meta":{"symbol":"AAPL"},"timestamp":[1700000000],
+					"indicators":{"quote":[{"open":[1.0],"high":[2.0],"low":[0.5],"close":[1.5],"volume":[10]}]}}],
+					"error":null}}
+					"""));
+			healthy.GET("/cookie", request -> Response.builder().header("Set-Cookie", "a=b").build());
+			healthy.GET("/crumb", request -> Response.ok("crumb"));
+			failing.run();
+			healthy.run();
+			String failingUrl = "http://localhost:" + port1 + "/v8/finance/chart/{ticker}";
+			String healthyUrl = "http://localhost:" + port2 + "/v8/finance/chart/{ticker}";
+			YFinanceUrls urls = YFinanceUrls.builder()
+				.cookieUrl("http://localhost:" + port2 + "/cookie")
+				.crumbUrl("http://localhost:" + port2 + "/crumb")
+				.chartUrls(failingUrl, healthyUrl)
+				.build();
+			RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+			YFinance yf = YFinance.builder(restClient).urls(urls).build();
+
+			List<HistoryRecord> history = yf.ticker("AAPL").history();
+
+			assertThat(history).hasSize(1);
+			assertThat(yf.hostRouter().stats(failingUrl).errorRate()).isEqualTo(1.0);
+			assertThat(yf.hostRouter().stats(healthyUrl).errorRate()).isZero();
+			assertThat(yf.hostRouter().route(urls.chartUrls())).containsExactly(healthyUrl, failingUrl);
+		}
+	}
+
+	private static long millis(long millis) {
+		return Duration.ofMillis(millis).toNanos();
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+}
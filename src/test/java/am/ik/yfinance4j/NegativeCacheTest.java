@@ -0,0 +1,163 @@
+package am.ik.yfinance4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import am.ik.yfinance4j.QuotePollerTest.MutableClock;
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import am.ik.yfinance4j.quote.QuoteSummaryModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NegativeCacheTest {
+
+	private final List<String> requests = new CopyOnWriteArrayList<>();
+
+	private final MutableClock clock = new MutableClock(Instant.parse("2024-01-02T00:00:00Z"));
+
+	private MockServer mockServer;
+
+	private NegativeCache negativeCache;
+
+	private YFinance yf;
+
+	@BeforeEach
+	void setUp() {
+		this.mockServer = new MockServer(0);
+		this.mockServer.GET("/cookie", request -> Response.builder().header("Set-Cookie", "a=b").build());
+		this.mockServer.GET("/crumb", request -> Response.ok("crumb"));
+		this.mockServer.route(request -> request.path().startsWith("/v8/finance/chart/"), request -> {
+			this.requests.add(request.path());
+			return Response.builder().status(404).contentType("application/json").body("""
+					{"chart":{"result":null,"error":{"code":"Not Found",\
+					"description":"No data found, symbol may be delisted"}}}""").build();
+		});
+		this.mockServer.route(request -> request.path().startsWith("/v10/finance/quoteSummary/"), request -> {
+			this.requests.add(request.path());
+			if (request.path().endsWith("/DOWN")) {
+				return Response.builder().status(503).build();
+			}
+			if (request.path().endsWith("/SPY")) {
+				return Response.builder().status(404).contentType("application/json").body("""
+						{"quoteSummary":{"result":null,"error":{"code":"Not Found",\
+						"description":"No fundamentals data found for symbol: SPY"}}}""").build();
+			}
+			if (request.path().endsWith("/EMPTY")) {
+				return Response.json("""
+						{"quoteSummary":{"result":[],"error":null}}""");
+			}
+			return Response.builder().status(404).contentType("application/json").body("""
+					{"quoteSummary":{"result":null,"error":{"code":"Not Found",\
+					"description":"Quote not found for symbol: XXXX"}}}""").build();
+		});
+		this.mockServer.run();
+		String baseUrl = "http://localhost:" + this.mockServer.port();
+		RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		this.negativeCache = NegativeCache.builder().ttl(Duration.ofHours(1)).clock(this.clock).build();
+		this.yf = YFinance.builder(restClient)
+			.urls(YFinanceUrls.builder()
+				.cookieUrl(baseUrl + "/cookie")
+				.crumbUrl(baseUrl + "/crumb")
+				.chartUrl(baseUrl + "/v8/finance/chart/{ticker}")
+				.quoteSummaryUrl(baseUrl + "/v10/finance/quoteSummary/{ticker}")
+				.build())
+			.negativeCache(this.negativeCache)
+			.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.mockServer.close();
+	}
+
+	@Test
+	void shouldShortCircuitHistoryOfNotFoundSymbol() {
+		assertThatThrownBy(() -> this.yf.ticker("XXXX").history()).isInstanceOf(SymbolNotFoundException.class)
+			.hasMessageContaining("No data found");
+		assertThatThrownBy(() -> this.yf.ticker("XXXX").history()).isInstanceOf(SymbolNotFoundException.class)
+			.hasMessageContaining("cached");
+		// the quoteSummary API is not asked either
+		assertThatThrownBy(() -> this.yf.ticker("XXXX").info()).isInstanceOf(SymbolNotFoundException.class);
+
+		assertThat(this.requests).containsExactly("/v8/finance/chart/XXXX");
+		assertThat(this.negativeCache.contains("XXXX")).isTrue();
+	}
+
+	@Test
+	void shouldShortCircuitInfoOfUnknownQuote() {
+		assertThatThrownBy(() -> this.yf.ticker("XXXX").info()).isInstanceOf(SymbolNotFoundException.class)
+			.hasMessageContaining("Quote not found");
+		assertThatThrownBy(() -> this.yf.ticker("XXXX").info()).isInstanceOf(SymbolNotFoundException.class);
+
+		assertThat(this.requests).containsExactly("/v10/finance/quoteSummary/XXXX");
+	}
+
+	@Test
+	void shouldNotCacheValidSymbolsWithoutRequestedModules() {
+		assertThatThrownBy(() -> this.yf.ticker("SPY").info(QuoteSummaryModule.INCOME_STATEMENT_HISTORY))
+			.isInstanceOf(YFinanceException.class)
+			.isNotInstanceOf(SymbolNotFoundException.class)
+			.hasMessageContaining("No fundamentals data found");
+		assertThatThrownBy(() -> this.yf.ticker("SPY").info(QuoteSummaryModule.INCOME_STATEMENT_HISTORY))
+			.isNotInstanceOf(SymbolNotFoundException.class);
+
+		assertThat(this.requests).containsExactly("/v10/finance/quoteSummary/SPY", "/v10/finance/quoteSummary/SPY");
+		assertThat(this.negativeCache.contains("SPY")).isFalse();
+	}
+
+	@Test
+	void shouldNotCacheEmptyResult() {
+		assertThatThrownBy(() -> this.yf.ticker("EMPTY").info()).isInstanceOf(YFinanceException.class)
+			.isNotInstanceOf(SymbolNotFoundException.class)
+			.hasMessageContaining("No quoteSummary result");
+
+		assertThat(this.negativeCache.contains("EMPTY")).isFalse();
+	}
+
+	@Test
+	void shouldRequestAgainAfterTtl() {
+		assertThatThrownBy(() -> this.yf.ticker("XXXX").history()).isInstanceOf(SymbolNotFoundException.class);
+		this.clock.set(this.clock.instant().plus(Duration.ofMinutes(59)));
+		assertThatThrownBy(() -> this.yf.ticker("XXXX").history()).isInstanceOf(SymbolNotFoundException.class);
+		assertThat(this.requests).hasSize(1);
+
+		this.clock.set(this.clock.instant().plus(Duration.ofMinutes(1)));
+		assertThatThrownBy(() -> this.yf.ticker("XXXX").history()).isInstanceOf(SymbolNotFoundException.class);
+		assertThat(this.requests).hasSize(2);
+	}
+
+	@Test
+	void shouldNotCacheOtherErrors() {
+		assertThatThrownBy(() -> this.yf.ticker("DOWN").info()).isNotInstanceOf(SymbolNotFoundException.class);
+		assertThatThrownBy(() -> this.yf.ticker("DOWN").info()).isNotInstanceOf(SymbolNotFoundException.class);
+
+		assertThat(this.requests).containsExactly("/v10/finance/quoteSummary/DOWN", "/v10/finance/quoteSummary/DOWN");
+		assertThat(this.negativeCache.contains("DOWN")).isFalse();
+	}
+
+	@Test
+	void shouldNeverRejectValidSymbolsWithBloomFilter() {
+		NegativeCache cache = NegativeCache.builder().bloomFilter(100, 0.01).clock(this.clock).build();
+		for (int i = 0; i < 1000; i++) {
+			cache.put("DEAD" + i);
+		}
+
+		for (int i = 0; i < 1000; i++) {
+			assertThat(cache.contains("DEAD" + i)).isTrue();
+			assertThat(cache.contains("LIVE" + i)).isFalse();
+		}
+		cache.invalidate("DEAD0");
+		assertThat(cache.contains("DEAD0")).isFalse();
+		assertThat(cache.size()).isEqualTo(999);
+	}
+
+}
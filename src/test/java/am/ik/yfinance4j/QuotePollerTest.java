@@ -0,0 +1,207 @@
+package am.ik.yfinance4j;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import am.ik.yfinance4j.quote.QuoteDelta;
+import am.ik.yfinance4j.quote.StockInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuotePollerTest {
+
+	// regular session of the mock exchange: 2024-01-02 14:30Z to 21:00Z
+	private static final long OPEN = Instant.parse("2024-01-02T14:30:00Z").getEpochSecond();
+
+	private static final long CLOSE = Instant.parse("2024-01-02T21:00:00Z").getEpochSecond();
+
+	private final Map<String, Double> prices = new ConcurrentHashMap<>();
+
+	private final AtomicInteger quoteRequests = new AtomicInteger();
+
+	private final AtomicInteger chartRequests = new AtomicInteger();
+
+	private final List<String> requestedSymbols = new CopyOnWriteArrayList<>();
+
+	private final MutableClock clock = new MutableClock(Instant.ofEpochSecond(OPEN + 60));
+
+	private MockServer mockServer;
+
+	private YFinance yf;
+
+	@BeforeEach
+	void setUp() {
+		this.mockServer = new MockServer(0);
+		this.mockServer.GET("/cookie", request -> Response.builder().header("Set-Cookie", "a=b").build());
+		this.mockServer.GET("/crumb", request -> Response.ok("crumb"));
+		this.mockServer.GET("/v7/finance/quote", request -> {
+			this.quoteRequests.incrementAndGet();
+			String symbols = request.queryParams().get("symbols");
+			this.requestedSymbols.add(symbols);
+			StringBuilder result = new StringBuilder();
+			for (String symbol : symbols.split(",")) {
+				Double price = this.prices.get(symbol);
+				if (price == null) {
+					continue;
+				}
+				if (!result.isEmpty()) {
+					result.append(',');
+				}
+				result.append("""
+						{"symbol":"%s","exchange":"%s","regularMarketPrice":%s,"currency":"USD"}""".formatted(symbol,
+						symbol.startsWith("T") ? "JPX" : "NMS", price));
+			}
+			return Response.json("{\"quoteResponse\":{\"result\":[" + result + "],\"error\":null}}");
+		});
+		this.mockServer.route(request -> request.path().startsWith("/v8/finance/chart/"), request -> {
+			this.chartRequests.incrementAndGet();
+			return Response.json("""
+					{"chart":{"result":[{"meta":{"symbol":"X","currentTradingPeriod":{
+					"pre":{"timezone":"EST","start":%d,"end":%d,"gmtoffset":-18000},
+					"regular":{"timezone":"EST","start":%d,"end":%d,"gmtoffset":-18000},
+					"post":{"timezone":"EST","start":%d,"end":%d,"gmtoffset":-18000}}},
+					"timestamp":[],"indicators":{"quote":[{}]}}],"error":null}}
+					""".formatted(OPEN - 19800, OPEN, OPEN, CLOSE, CLOSE, CLOSE + 14400));
+		});
+		this.mockServer.run();
+		String baseUrl = "http://localhost:" + this.mockServer.port();
+		RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		this.yf = new YFinance(restClient,
+				YFinanceUrls.builder()
+					.cookieUrl(baseUrl + "/cookie")
+					.crumbUrl(baseUrl + "/crumb")
+					.chartUrl(baseUrl + "/v8/finance/chart/{ticker}")
+					.quoteUrl(baseUrl + "/v7/finance/quote")
+					.build());
+		this.prices.put("AAPL", 190.0);
+		this.prices.put("MSFT", 370.0);
+		this.prices.put("GOOG", 140.0);
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.mockServer.close();
+	}
+
+	@Test
+	void shouldFetchQuotesInOneRequest() {
+		List<StockInfo> quotes = this.yf.quotes(List.of("AAPL", "MSFT", "UNKNOWN"), List.of("regularMarketPrice"));
+
+		assertThat(quotes).extracting(StockInfo::symbolNullable).containsExactly("AAPL", "MSFT");
+		assertThat(quotes.get(0).regularMarketPriceNullable()).isEqualByComparingTo("190.0");
+		assertThat(this.quoteRequests).hasValue(1);
+	}
+
+	@Test
+	void shouldDeliverOnlyChangedFields() {
+		List<QuoteDelta> deltas = new CopyOnWriteArrayList<>();
+		QuotePoller poller = QuotePoller.builder(this.yf, List.of("AAPL", "MSFT")).clock(this.clock).build();
+		poller.subscribe(deltas::add);
+
+		poller.poll();
+		assertThat(deltas).hasSize(2);
+		assertThat(deltas.get(0).changes()).containsKeys("symbol", "exchange", "regularMarketPrice", "currency");
+
+		deltas.clear();
+		poller.poll();
+		assertThat(deltas).isEmpty();
+
+		this.prices.put("MSFT", 371.5);
+		poller.poll();
+		assertThat(deltas).hasSize(1);
+		assertThat(deltas.get(0).symbol()).isEqualTo("MSFT");
+		assertThat(deltas.get(0).changes()).containsOnlyKeys("regularMarketPrice");
+		assertThat(deltas.get(0).quote().regularMarketPriceNullable()).isEqualByComparingTo("371.5");
+	}
+
+	@Test
+	void shouldBatchSymbols() {
+		QuotePoller poller = QuotePoller.builder(this.yf, List.of("AAPL", "MSFT", "GOOG", "AAPL"))
+			.batchSize(2)
+			.clock(this.clock)
+			.build();
+
+		assertThat(poller.poll()).isEqualTo(2);
+		assertThat(this.requestedSymbols).containsExactly("AAPL,MSFT", "GOOG");
+	}
+
+	@Test
+	void shouldSkipSymbolsOfClosedExchanges() {
+		QuotePoller poller = QuotePoller.builder(this.yf, List.of("AAPL", "MSFT", "GOOG")).clock(this.clock).build();
+		poller.poll();
+		assertThat(this.quoteRequests).hasValue(1);
+
+		poller.poll();
+		// one trading period lookup for the single exchange of all three symbols
+		assertThat(this.chartRequests).hasValue(1);
+		assertThat(this.quoteRequests).hasValue(2);
+
+		// within one poll interval after the close the final prices are still polled
+		this.clock.set(Instant.ofEpochSecond(CLOSE + 10));
+		assertThat(poller.poll()).isEqualTo(1);
+
+		this.clock.set(Instant.ofEpochSecond(CLOSE + 60));
+		assertThat(poller.poll()).isZero();
+		assertThat(poller.poll()).isZero();
+		assertThat(this.chartRequests).hasValue(2);
+		assertThat(this.quoteRequests).hasValue(3);
+
+		// the trading period is looked up again after the refresh interval
+		this.clock.set(Instant.ofEpochSecond(CLOSE + 3600));
+		assertThat(poller.poll()).isZero();
+		assertThat(this.chartRequests).hasValue(3);
+	}
+
+	@Test
+	void shouldKeepPollingDuringExtendedHoursWhenEnabled() {
+		QuotePoller poller = QuotePoller.builder(this.yf, List.of("AAPL")).prePost(true).clock(this.clock).build();
+		poller.poll();
+
+		this.clock.set(Instant.ofEpochSecond(CLOSE + 3600));
+		assertThat(poller.poll()).isEqualTo(1);
+	}
+
+	static final class MutableClock extends Clock {
+
+		private volatile Instant instant;
+
+		MutableClock(Instant instant) {
+			this.instant = instant;
+		}
+
+		void set(Instant instant) {
+			this.instant = instant;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+
+	}
+
+}
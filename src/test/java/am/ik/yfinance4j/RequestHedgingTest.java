@@ -0,0 +1,193 @@
+package am.ik.yfinance4j;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import am.ik.yfinance4j.chart.HistoryRecord;
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Request;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestHedgingTest {
+
+	private static final String CHART_JSON = """
+			{"chart":{"result":[{"meta":{"symbol":"AAPL"},"timestamp":[1700000000],
+			"indicators":{"quote":[{"open":[1.0],"high":[2.0],"low":[0.5],"close":[1.5],"volume":[10]}]}}],
+			"error":null}}
+			""";
+
+	private final AtomicBoolean slowOnce = new AtomicBoolean();
+
+	private final AtomicInteger chartRequests = new AtomicInteger();
+
+	private final AtomicInteger quoteRequests = new AtomicInteger();
+
+	private MockServer server1;
+
+	private MockServer server2;
+
+	private YFinanceUrls urls;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		int port1 = freePort();
+		int port2 = freePort();
+		this.server1 = new MockServer(port1);
+		this.server2 = new MockServer(port2);
+		Function<Request, Response> chart = request -> {
+			this.chartRequests.incrementAndGet();
+			if (this.slowOnce.compareAndSet(true, false)) {
+				sleep(Duration.ofSeconds(2));
+			}
+			return Response.json(CHART_JSON);
+		};
+		for (MockServer server : List.of(this.server1, this.server2)) {
+			server.GET("/v8/finance/chart/AAPL", chart);
+			server.GET("/v7/finance/quote", request -> {
+				this.quoteRequests.incrementAndGet();
+				if (this.slowOnce.compareAndSet(true, false)) {
+					sleep(Duration.ofSeconds(1));
+				}
+				return Response.json("""
+						{"quoteResponse":{"result":[{"symbol":"AAPL","regularMarketPrice":1.5}],"error":null}}""");
+			});
+			server.GET("/cookie", request -> Response.builder().header("Set-Cookie", "a=b").build());
+			server.GET("/crumb", request -> Response.ok("crumb"));
+			server.run();
+		}
+		this.urls = YFinanceUrls.builder()
+			.cookieUrl("http://localhost:" + port1 + "/cookie")
+			.crumbUrl("http://localhost:" + port1 + "/crumb")
+			.chartUrls("http://localhost:" + port1 + "/v8/finance/chart/{ticker}",
+					"http://localhost:" + port2 + "/v8/finance/chart/{ticker}")
+			.quoteUrls("http://localhost:" + port1 + "/v7/finance/quote",
+					"http://localhost:" + port2 + "/v7/finance/quote")
+			.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.server1.close();
+		this.server2.close();
+	}
+
+	@Test
+	void shouldHedgeSlowRequestToAlternateHost() {
+		YFinance yf = yfinance(HedgingPolicy.builder().percentile(0.5).minSamples(5).budgetRatio(1.0).build());
+		Ticker ticker = yf.ticker("AAPL");
+		for (int i = 0; i < 5; i++) {
+			ticker.history();
+		}
+		this.chartRequests.set(0);
+		this.slowOnce.set(true);
+
+		long start = System.nanoTime();
+		List<HistoryRecord> history = ticker.history();
+		Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+		assertThat(history).hasSize(1);
+		assertThat(elapsed).isLessThan(Duration.ofSeconds(1));
+		assertThat(this.chartRequests).hasValue(2);
+	}
+
+	@Test
+	void shouldNotHedgeWhenBudgetIsExhausted() {
+		YFinance yf = yfinance(HedgingPolicy.builder().percentile(0.5).minSamples(5).budgetRatio(0).build());
+		Ticker ticker = yf.ticker("AAPL");
+		for (int i = 0; i < 5; i++) {
+			ticker.history();
+		}
+		this.chartRequests.set(0);
+		this.slowOnce.set(true);
+
+		long start = System.nanoTime();
+		List<HistoryRecord> history = ticker.history();
+		Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+		assertThat(history).hasSize(1);
+		assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofSeconds(2));
+		assertThat(this.chartRequests).hasValue(1);
+	}
+
+	@Test
+	void shouldNotHedgeBeforeEnoughSamples() {
+		YFinance yf = yfinance(HedgingPolicy.builder().percentile(0.5).minSamples(100).budgetRatio(1.0).build());
+		this.slowOnce.set(true);
+
+		assertThat(yf.ticker("AAPL").history()).hasSize(1);
+		assertThat(this.chartRequests).hasValue(1);
+	}
+
+	@Test
+	void shouldNotHedgeBatchQuotes() {
+		YFinance yf = yfinance(HedgingPolicy.builder().percentile(0.5).minSamples(5).budgetRatio(1.0).build());
+		for (int i = 0; i < 5; i++) {
+			yf.quotes(List.of("AAPL"));
+		}
+		this.quoteRequests.set(0);
+		this.slowOnce.set(true);
+
+		assertThat(yf.quotes(List.of("AAPL"))).hasSize(1);
+		assertThat(this.quoteRequests).hasValue(1);
+	}
+
+	@Test
+	void latencyTrackerShouldReturnPercentile() {
+		LatencyTracker tracker = new LatencyTracker(100);
+		assertThat(tracker.percentile(0.9, 1)).isEqualTo(-1);
+		for (int i = 1; i <= 100; i++) {
+			tracker.record(i);
+		}
+		assertThat(tracker.percentile(0.9, 1)).isEqualTo(90);
+		assertThat(tracker.percentile(0.5, 1)).isEqualTo(50);
+	}
+
+	@Test
+	void hedgeBudgetShouldCapExtraRequests() {
+		HedgeBudget budget = new HedgeBudget(0.5, 1);
+		assertThat(budget.tryAcquire()).isFalse();
+		budget.deposit();
+		assertThat(budget.tryAcquire()).isFalse();
+		budget.deposit();
+		assertThat(budget.tryAcquire()).isTrue();
+		budget.deposit();
+		budget.deposit();
+		budget.deposit();
+		budget.deposit();
+		assertThat(budget.tryAcquire()).isTrue();
+		assertThat(budget.tryAcquire()).isFalse();
+	}
+
+	private YFinance yfinance(HedgingPolicy hedging) {
+		RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		return YFinance.builder(restClient).urls(this.urls).hedging(hedging).build();
+	}
+
+	private static void sleep(Duration duration) {
+		try {
+			Thread.sleep(duration.toMillis());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+}
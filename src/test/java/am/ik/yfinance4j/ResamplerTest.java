@@ -0,0 +1,110 @@
+package am.ik.yfinance4j;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import am.ik.yfinance4j.chart.ChartResponse;
+import am.ik.yfinance4j.chart.HistorySeries;
+import am.ik.yfinance4j.chart.Resampler;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ResamplerTest {
+
+	private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+	// 2024-01-02 09:30 America/New_York
+	private static final long OPEN = Instant.parse("2024-01-02T14:30:00Z").getEpochSecond();
+
+	private static final long DAY = 24 * 60 * 60;
+
+	@Test
+	void shouldAggregateIntradayBarsAlignedToSessionOpen() {
+		// 9:30, 9:45, 10:30, 10:45 on the first day and 9:30 on the next day
+		HistorySeries series = series(NEW_YORK, new long[] { OPEN, OPEN + 900, OPEN + 3600, OPEN + 4500, OPEN + DAY },
+				new double[] { 10, 11, 12, 13, 14 });
+
+		HistorySeries hourly = Resampler.resample(series, Interval.ONE_HOUR);
+
+		assertThat(hourly.timestamps()).containsExactly(OPEN, OPEN + 3600, OPEN + DAY);
+		assertThat(hourly.open()).containsExactly(10, 12, 14);
+		assertThat(hourly.high()).containsExactly(12, 14, 15);
+		assertThat(hourly.low()).containsExactly(9, 11, 13);
+		assertThat(hourly.close()).containsExactly(11, 13, 14);
+		assertThat(hourly.adjClose()).containsExactly(11, 13, 14);
+		assertThat(hourly.volume()).containsExactly(200, 200, 100);
+	}
+
+	@Test
+	void shouldGroupDailyBarsInExchangeTimeZone() {
+		// 19:30 local time is already the next day in UTC
+		long evening = OPEN + 10 * 3600;
+		HistorySeries series = series(NEW_YORK, new long[] { OPEN, evening, OPEN + DAY }, new double[] { 1, 2, 3 });
+
+		assertThat(Resampler.resample(series, Interval.ONE_DAY).timestamps()).containsExactly(OPEN, OPEN + DAY);
+		assertThat(Resampler.resample(series, Interval.ONE_DAY, ZoneOffset.UTC).timestamps()).containsExactly(OPEN,
+				evening);
+	}
+
+	@Test
+	void shouldGroupByWeekMonthQuarterAndTradingDays() {
+		// Tue 2024-01-02 through Tue 2024-04-02, every 7 days
+		long[] timestamps = new long[14];
+		double[] closes = new double[14];
+		for (int i = 0; i < timestamps.length; i++) {
+			timestamps[i] = OPEN + i * 7 * DAY;
+			closes[i] = i + 1;
+		}
+		HistorySeries series = series(NEW_YORK, timestamps, closes);
+
+		assertThat(Resampler.resample(series, Interval.ONE_WEEK).size()).isEqualTo(14);
+		assertThat(Resampler.resample(series, Interval.FIVE_DAYS).close()).containsExactly(5, 10, 14);
+		HistorySeries monthly = Resampler.resample(series, Interval.ONE_MONTH);
+		assertThat(monthly.close()).containsExactly(5, 9, 13, 14);
+		assertThat(monthly.volume()).containsExactly(500, 400, 400, 100);
+		assertThat(Resampler.resample(series, Interval.THREE_MONTHS).close()).containsExactly(13, 14);
+	}
+
+	@Test
+	void shouldSumDividendsAndMultiplySplits() {
+		long[] timestamps = { OPEN, OPEN + 60, OPEN + 120 };
+		HistorySeries series = new HistorySeries(null, timestamps, new double[3], new double[3], new double[3],
+				new double[3], new double[3], new long[3], new double[] { 0.1, 0, 0.2 }, new double[] { 2, 0, 3 });
+
+		HistorySeries resampled = Resampler.resample(series, Interval.ONE_DAY);
+
+		assertThat(resampled.dividends()[0]).isCloseTo(0.3, within(1e-12));
+		assertThat(resampled.splits()).containsExactly(6);
+	}
+
+	@Test
+	void shouldResolveZoneFromMeta() {
+		assertThat(Resampler.zoneOf(null)).isEqualTo(ZoneOffset.UTC);
+		assertThat(Resampler.zoneOf(meta("America/New_York", -18000))).isEqualTo(NEW_YORK);
+		assertThat(Resampler.zoneOf(meta(null, 32400))).isEqualTo(ZoneOffset.ofHours(9));
+		assertThat(Resampler.zoneOf(meta("Invalid/Zone", null))).isEqualTo(ZoneOffset.UTC);
+	}
+
+	private static HistorySeries series(ZoneId zone, long[] timestamps, double[] closes) {
+		int n = timestamps.length;
+		double[] high = new double[n];
+		double[] low = new double[n];
+		long[] volume = new long[n];
+		for (int i = 0; i < n; i++) {
+			high[i] = closes[i] + 1;
+			low[i] = closes[i] - 1;
+			volume[i] = 100;
+		}
+		return new HistorySeries(meta(zone.getId(), null), timestamps, closes.clone(), high, low, closes.clone(),
+				closes.clone(), volume, new double[n], new double[n]);
+	}
+
+	private static ChartResponse.Meta meta(String exchangeTimezoneName, Integer gmtoffset) {
+		return new ChartResponse.Meta("USD", "TEST", null, null, null, null, null, gmtoffset, null,
+				exchangeTimezoneName, null, null, null, null, null, null, null);
+	}
+
+}
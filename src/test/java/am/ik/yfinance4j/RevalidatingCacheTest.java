@@ -0,0 +1,208 @@
+package am.ik.yfinance4j;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import am.ik.yfinance4j.QuotePollerTest.MutableClock;
+import am.ik.yfinance4j.chart.ChartRequest;
+import am.ik.yfinance4j.chart.HistoryRecord;
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import am.ik.yfinance4j.quote.QuoteSummaryModule;
+import am.ik.yfinance4j.quote.StockInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RevalidatingCacheTest {
+
+	private final MutableClock clock = new MutableClock(Instant.parse("2024-01-02T15:00:00Z"));
+
+	private final List<String> requests = new CopyOnWriteArrayList<>();
+
+	private final AtomicInteger price = new AtomicInteger(100);
+
+	private volatile boolean failing;
+
+	// background refreshes run when the test says so
+	private final Queue<Runnable> refreshes = new ArrayDeque<>();
+
+	private final Executor executor = this.refreshes::add;
+
+	private MockServer mockServer;
+
+	private YFinance yf;
+
+	@BeforeEach
+	void setUp() {
+		this.mockServer = new MockServer(0);
+		this.mockServer.GET("/cookie", request -> Response.builder().header("Set-Cookie", "a=b").build());
+		this.mockServer.GET("/crumb", request -> Response.ok("crumb"));
+		this.mockServer.GET("/v10/finance/quoteSummary/AAPL", request -> {
+			this.requests.add("info " + request.queryParam("modules"));
+			if (this.failing) {
+				return Response.builder().status(500).build();
+			}
+			return Response.json("""
+					{"quoteSummary":{"result":[{"price":{"symbol":"AAPL",\
+					"regularMarketPrice":{"raw":%d},"companyOfficers":[{"name":"Tim Cook"}]}}],"error":null}}"""
+				.formatted(this.price.get()));
+		});
+		this.mockServer.GET("/v8/finance/chart/AAPL", request -> {
+			this.requests.add("chart " + request.queryParam("range"));
+			return Response.json("""
+					{"chart":{"result":[{"meta":{"symbol":"AAPL","currency":"USD"},"timestamp":[1704205800],
+					"indicators":{"quote":[{"open":[%1$d],"high":[%1$d],"low":[%1$d],"close":[%1$d],
+					"volume":[1000]}]}}],"error":null}}""".formatted(this.price.get()));
+		});
+		this.mockServer.run();
+		String baseUrl = "http://localhost:" + this.mockServer.port();
+		RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		this.yf = YFinance.builder(restClient)
+			.urls(YFinanceUrls.builder()
+				.cookieUrl(baseUrl + "/cookie")
+				.crumbUrl(baseUrl + "/crumb")
+				.chartUrl(baseUrl + "/v8/finance/chart/{ticker}")
+				.quoteSummaryUrl(baseUrl + "/v10/finance/quoteSummary/{ticker}")
+				.build())
+			.revalidatingCache(RevalidatingCache.builder()
+				.maxAge(Duration.ofSeconds(30))
+				.staleWhileRevalidate(Duration.ofMinutes(5))
+				.executor(this.executor)
+				.clock(this.clock)
+				.build())
+			.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.mockServer.close();
+	}
+
+	@Test
+	void shouldServeFreshValueWithinMaxAge() {
+		Ticker ticker = this.yf.ticker("AAPL");
+		Cached<StockInfo> first = ticker.cachedInfo(QuoteSummaryModule.PRICE);
+
+		this.clock.set(this.clock.instant().plusSeconds(30));
+		this.price.set(101);
+		Cached<StockInfo> second = ticker.cachedInfo(QuoteSummaryModule.PRICE);
+
+		assertThat(this.requests).hasSize(1);
+		assertThat(first.stale()).isFalse();
+		assertThat(first.fetchedAt()).isEqualTo(Instant.parse("2024-01-02T15:00:00Z"));
+		assertThat(second.stale()).isFalse();
+		assertThat(second.value()).isSameAs(first.value());
+		assertThat(second.age(this.clock.instant())).isEqualTo(Duration.ofSeconds(30));
+	}
+
+	@Test
+	void shouldServeStaleValueWhileRefreshingOnce() {
+		Ticker ticker = this.yf.ticker("AAPL");
+		ticker.cachedInfo(QuoteSummaryModule.PRICE);
+		this.clock.set(this.clock.instant().plusSeconds(31));
+		this.price.set(101);
+
+		Cached<StockInfo> stale = ticker.cachedInfo(QuoteSummaryModule.PRICE);
+		Cached<StockInfo> stillStale = ticker.cachedInfo(QuoteSummaryModule.PRICE);
+
+		assertThat(stale.stale()).isTrue();
+		assertThat(stale.value().regularMarketPrice()).hasValue(new BigDecimal("100"));
+		assertThat(stillStale.stale()).isTrue();
+		assertThat(this.requests).hasSize(1);
+		assertThat(this.refreshes).hasSize(1);
+
+		this.refreshes.remove().run();
+		Cached<StockInfo> refreshed = ticker.cachedInfo(QuoteSummaryModule.PRICE);
+
+		assertThat(this.requests).hasSize(2);
+		assertThat(refreshed.stale()).isFalse();
+		assertThat(refreshed.fetchedAt()).isEqualTo(this.clock.instant());
+		assertThat(refreshed.value().regularMarketPrice()).hasValue(new BigDecimal("101"));
+	}
+
+	@Test
+	void shouldFetchSynchronouslyBeyondMaxStaleness() {
+		Ticker ticker = this.yf.ticker("AAPL");
+		ticker.cachedInfo(QuoteSummaryModule.PRICE);
+		this.clock.set(this.clock.instant().plus(Duration.ofSeconds(30 + 5 * 60 + 1)));
+		this.price.set(102);
+
+		Cached<StockInfo> info = ticker.cachedInfo(QuoteSummaryModule.PRICE);
+
+		assertThat(info.stale()).isFalse();
+		assertThat(info.value().regularMarketPrice()).hasValue(new BigDecimal("102"));
+		assertThat(this.requests).hasSize(2);
+		assertThat(this.refreshes).isEmpty();
+	}
+
+	@Test
+	void shouldKeepStaleValueWhenRefreshFails() {
+		Ticker ticker = this.yf.ticker("AAPL");
+		ticker.cachedInfo(QuoteSummaryModule.PRICE);
+		this.clock.set(this.clock.instant().plusSeconds(60));
+		this.failing = true;
+
+		ticker.cachedInfo(QuoteSummaryModule.PRICE);
+		this.refreshes.remove().run();
+		Cached<StockInfo> afterFailure = ticker.cachedInfo(QuoteSummaryModule.PRICE);
+
+		assertThat(afterFailure.stale()).isTrue();
+		assertThat(afterFailure.value().regularMarketPrice()).hasValue(new BigDecimal("100"));
+		// the failed refresh is retried by the next call
+		assertThat(this.refreshes).hasSize(1);
+
+		this.clock.set(this.clock.instant().plus(Duration.ofMinutes(5)));
+		assertThatThrownBy(() -> ticker.cachedInfo(QuoteSummaryModule.PRICE)).isInstanceOf(Exception.class);
+	}
+
+	@Test
+	void shouldCacheHistoryAndInfoPerParameters() {
+		Ticker ticker = this.yf.ticker("AAPL");
+		ChartRequest month = ChartRequest.builder().period(Period.ONE_MONTH).build();
+		ChartRequest year = ChartRequest.builder().period(Period.ONE_YEAR).build();
+
+		List<HistoryRecord> first = ticker.history(month);
+		List<HistoryRecord> second = ticker.history(ChartRequest.builder().period(Period.ONE_MONTH).build());
+		ticker.history(year);
+		ticker.info(QuoteSummaryModule.PRICE);
+		ticker.info(QuoteSummaryModule.PRICE, QuoteSummaryModule.SUMMARY_DETAIL);
+		ticker.info(QuoteSummaryModule.PRICE);
+
+		assertThat(second).isSameAs(first);
+		assertThat(this.requests).containsExactly("chart 1mo", "chart 1y", "info price", "info price,summaryDetail");
+		assertThat(this.yf.revalidatingCache()).isNotNull();
+		assertThat(this.yf.revalidatingCache().size()).isEqualTo(4);
+
+		this.yf.revalidatingCache().invalidate("AAPL");
+		assertThat(this.yf.revalidatingCache().size()).isZero();
+	}
+
+	@Test
+	void shouldShareUnmodifiableValues() {
+		Ticker ticker = this.yf.ticker("AAPL");
+		List<HistoryRecord> history = ticker.history(ChartRequest.builder().period(Period.ONE_MONTH).build());
+		StockInfo info = ticker.info(QuoteSummaryModule.PRICE);
+
+		assertThatThrownBy(history::clear).isInstanceOf(UnsupportedOperationException.class);
+		assertThat(info.raw().get("companyOfficers")).isInstanceOfSatisfying(List.class,
+				officers -> assertThatThrownBy(officers::clear).isInstanceOf(UnsupportedOperationException.class));
+		assertThat(ticker.history(ChartRequest.builder().period(Period.ONE_MONTH).build())).hasSize(1);
+		assertThat(ticker.info(QuoteSummaryModule.PRICE).raw().get("companyOfficers"))
+			.isEqualTo(List.of(Map.of("name", "Tim Cook")));
+	}
+
+}
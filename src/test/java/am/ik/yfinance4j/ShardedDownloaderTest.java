@@ -0,0 +1,168 @@
+package am.ik.yfinance4j;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import am.ik.yfinance4j.QuotePollerTest.MutableClock;
+import am.ik.yfinance4j.chart.ChartRequest;
+import am.ik.yfinance4j.chart.HistorySeries;
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedDownloaderTest {
+
+	private static final ChartRequest REQUEST = ChartRequest.builder().period(Period.MAX).build();
+
+	private static final List<String> UNIVERSE = IntStream.range(0, 40).mapToObj(i -> "SYM" + i).toList();
+
+	private final MutableClock clock = new MutableClock(Instant.parse("2024-01-02T00:00:00Z"));
+
+	private final List<String> requests = new CopyOnWriteArrayList<>();
+
+	@TempDir
+	Path tempDir;
+
+	private MockServer mockServer;
+
+	private YFinance yf;
+
+	@BeforeEach
+	void setUp() {
+		this.mockServer = new MockServer(0);
+		this.mockServer.GET("/cookie", request -> Response.builder().header("Set-Cookie", "a=b").build());
+		this.mockServer.GET("/crumb", request -> Response.ok("crumb"));
+		this.mockServer.route(request -> request.path().startsWith("/v8/finance/chart/"), request -> {
+			String symbol = request.path().substring("/v8/finance/chart/".length());
+			this.requests.add(symbol);
+			return Response.json("""
+					{"chart":{"result":[{"meta":{"symbol":"%s","currency":"USD"},"timestamp":[1704205800],
+					"indicators":{"quote":[{"open":[1.0],"high":[1.0],"low":[1.0],"close":[1.0],
+					"volume":[1000]}]}}],"error":null}}""".formatted(symbol));
+		});
+		this.mockServer.run();
+		String baseUrl = "http://localhost:" + this.mockServer.port();
+		RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		this.yf = YFinance.builder(restClient)
+			.urls(YFinanceUrls.builder()
+				.cookieUrl(baseUrl + "/cookie")
+				.crumbUrl(baseUrl + "/crumb")
+				.chartUrl(baseUrl + "/v8/finance/chart/{ticker}")
+				.build())
+			.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.mockServer.close();
+	}
+
+	@Test
+	void shouldMoveFewSymbolsWhenShardCountChanges() {
+		List<String> symbols = IntStream.range(0, 5000).mapToObj(i -> "S" + i).toList();
+		ShardedDownloader<HistorySeries> sixteen = downloader("job", "w").shards(16).build();
+		ShardedDownloader<HistorySeries> seventeen = downloader("job", "w").shards(17).build();
+
+		long moved = symbols.stream().filter(symbol -> sixteen.shardOf(symbol) != seventeen.shardOf(symbol)).count();
+		int[] sizes = new int[16];
+		symbols.forEach(symbol -> sizes[sixteen.shardOf(symbol)]++);
+
+		// ideally 1/17 of the symbols move to the new shard
+		assertThat(moved).isLessThan(symbols.size() * 15 / 100);
+		assertThat(IntStream.of(sizes).min().getAsInt()).isGreaterThan(5000 / 16 / 2);
+		assertThat(IntStream.of(sizes).max().getAsInt()).isLessThan(5000 / 16 * 2);
+	}
+
+	@Test
+	void shouldDownloadEverySymbolOnceAcrossWorkers() throws Exception {
+		List<CompletableFuture<ShardedDownloader.Result>> workers = new ArrayList<>();
+		for (String workerId : List.of("worker-1", "worker-2", "worker-3")) {
+			ShardedDownloader<HistorySeries> downloader = downloader("job-1", workerId).build();
+			workers.add(CompletableFuture.supplyAsync(downloader::run));
+		}
+
+		int ran = 0;
+		for (CompletableFuture<ShardedDownloader.Result> worker : workers) {
+			ShardedDownloader.Result result = worker.get(10, TimeUnit.SECONDS);
+			assertThat(result.complete()).isTrue();
+			ran += result.ran();
+		}
+
+		assertThat(ran).isLessThanOrEqualTo(8);
+		assertThat(this.requests).hasSize(UNIVERSE.size()).containsExactlyInAnyOrderElementsOf(UNIVERSE);
+		try (Stream<Path> files = Files.list(this.tempDir)) {
+			assertThat(files.map(path -> path.getFileName().toString())).noneMatch(name -> name.endsWith(".lease"));
+		}
+	}
+
+	@Test
+	void shouldTakeOverShardOfDeadWorker() throws Exception {
+		ShardedDownloader<HistorySeries> survivor = downloader("job-1", "survivor").build();
+		int shard = survivor.shardOf("SYM0");
+		// a worker that died while holding the lease
+		long expiresAt = this.clock.millis() + Duration.ofMinutes(1).toMillis();
+		Files.writeString(this.tempDir.resolve("shard-" + shard + ".lease"), "dead\t" + expiresAt + "\n",
+				StandardCharsets.UTF_8);
+
+		CompletableFuture<ShardedDownloader.Result> future = CompletableFuture.supplyAsync(survivor::run);
+		Thread.sleep(500);
+
+		assertThat(future).isNotDone();
+		assertThat(this.requests).doesNotContain("SYM0");
+
+		this.clock.set(this.clock.instant().plus(Duration.ofMinutes(2)));
+		ShardedDownloader.Result result = future.get(10, TimeUnit.SECONDS);
+
+		assertThat(result.complete()).isTrue();
+		assertThat(result.ran()).isEqualTo(8);
+		assertThat(this.requests).containsExactlyInAnyOrderElementsOf(UNIVERSE);
+	}
+
+	@Test
+	void shouldRunOncePerJobId() {
+		ShardedDownloader.Result first = downloader("job-1", "worker-1").build().run();
+		ShardedDownloader.Result again = downloader("job-1", "worker-2").build().run();
+
+		assertThat(first.downloaded()).isEqualTo(UNIVERSE.size());
+		assertThat(again.ran()).isZero();
+		assertThat(again.complete()).isTrue();
+		assertThat(this.requests).hasSize(UNIVERSE.size());
+
+		this.requests.clear();
+		ShardedDownloader.Result next = downloader("job-2", "worker-1").build().run();
+
+		assertThat(next.downloaded()).isEqualTo(UNIVERSE.size());
+		assertThat(this.requests).containsExactlyInAnyOrderElementsOf(UNIVERSE);
+	}
+
+	private ShardedDownloader.Builder<HistorySeries> downloader(String jobId, String workerId) {
+		UniverseDownloader.Builder<HistorySeries> template = UniverseDownloader.builder(this.yf, UNIVERSE, REQUEST)
+			.sink((symbol, series) -> {
+			})
+			.parallelism(2)
+			.clock(this.clock);
+		return ShardedDownloader.builder(template, this.tempDir, jobId)
+			.workerId(workerId)
+			.shards(8)
+			.pollInterval(Duration.ofMillis(50))
+			.clock(this.clock);
+	}
+
+}
@@ -0,0 +1,196 @@
+package am.ik.yfinance4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import am.ik.yfinance4j.mockserver.PricingEncoder;
+import am.ik.yfinance4j.mockserver.StreamingServer;
+import am.ik.yfinance4j.stream.PricingData;
+import am.ik.yfinance4j.stream.PricingDecoder;
+import am.ik.yfinance4j.stream.PricingListener;
+import am.ik.yfinance4j.stream.StreamingClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class StreamingClientTest {
+
+	private StreamingServer server;
+
+	private StreamingClient client;
+
+	private final List<PricingData> updates = new CopyOnWriteArrayList<>();
+
+	private final List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		this.server = StreamingServer.start();
+		this.client = StreamingClient.builder()
+			.uri(this.server.uri())
+			.batchSize(100)
+			.reconnectDelay(Duration.ofMillis(50), Duration.ofMillis(200))
+			.build();
+		this.client.addListener(new PricingListener() {
+			@Override
+			public void onPricing(PricingData data) {
+				StreamingClientTest.this.updates.add(data);
+			}
+
+			@Override
+			public void onError(Throwable error) {
+				StreamingClientTest.this.errors.add(error);
+			}
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.client.close();
+		this.server.close();
+	}
+
+	@Test
+	void shouldDecodeAllFields() {
+		byte[] message = new PricingEncoder().string(1, "AAPL")
+			.float32(2, 190.5f)
+			.sint64(3, 1704209400000L)
+			.string(4, "USD")
+			.string(5, "NMS")
+			.int32(6, 8)
+			.int32(7, 1)
+			.float32(8, -1.25f)
+			.sint64(9, 12345678)
+			.float32(10, 192f)
+			.float32(11, 189f)
+			.float32(12, -2.5f)
+			.string(13, "Apple Inc.")
+			.float32(15, 191f)
+			.float32(16, 193f)
+			// unknown and unused fields are skipped
+			.string(99, "ignored")
+			.float64(32, 1e9)
+			.sint64(22, 100)
+			.float32(23, 190.4f)
+			.sint64(24, 300)
+			.float32(25, 190.6f)
+			.sint64(26, -1)
+			.sint64(27, 2)
+			.float64(33, 2.9e12)
+			.toByteArray();
+
+		PricingData data = PricingDecoder.decode(message);
+
+		assertThat(data.id()).isEqualTo("AAPL");
+		assertThat(data.price()).isEqualTo(190.5);
+		assertThat(data.timestamp()).hasToString("2024-01-02T15:30:00Z");
+		assertThat(data.currency()).isEqualTo("USD");
+		assertThat(data.exchange()).isEqualTo("NMS");
+		assertThat(data.quoteType()).isEqualTo(8);
+		assertThat(data.marketHours()).isEqualTo(1);
+		assertThat(data.changePercent()).isEqualTo(-1.25);
+		assertThat(data.dayVolume()).isEqualTo(12345678);
+		assertThat(data.dayHigh()).isEqualTo(192);
+		assertThat(data.dayLow()).isEqualTo(189);
+		assertThat(data.change()).isEqualTo(-2.5);
+		assertThat(data.shortName()).isEqualTo("Apple Inc.");
+		assertThat(data.openPrice()).isEqualTo(191);
+		assertThat(data.previousClose()).isEqualTo(193);
+		assertThat(data.lastSize()).isEqualTo(100);
+		assertThat(data.bid()).isEqualTo(190.4f);
+		assertThat(data.bidSize()).isEqualTo(300);
+		assertThat(data.ask()).isEqualTo(190.6f);
+		assertThat(data.askSize()).isEqualTo(-1);
+		assertThat(data.priceHint()).isEqualTo(2);
+		assertThat(data.marketCap()).isEqualTo(2.9e12);
+		assertThat(data.underlyingSymbol()).isNull();
+	}
+
+	@Test
+	void shouldDecodeBothMessageVersions() {
+		String base64 = new PricingEncoder().string(1, "MSFT").float32(2, 370f).toBase64();
+
+		assertThat(PricingDecoder.decodeMessage(base64).id()).isEqualTo("MSFT");
+		assertThat(PricingDecoder.decodeMessage("{\"type\":\"pricing\",\"message\":\"" + base64 + "\"}").price())
+			.isEqualTo(370);
+		assertThat(PricingDecoder.decodeMessage("{\"type\":\"heartbeat\"}")).isNull();
+		assertThatIllegalArgumentException().isThrownBy(() -> PricingDecoder.decode(new byte[] { 0x0A, 0x05, 'A' }));
+	}
+
+	@Test
+	void shouldSubscribeInBatchesAndDispatchUpdates() {
+		List<String> symbols = new ArrayList<>();
+		for (int i = 0; i < 250; i++) {
+			symbols.add("S" + i);
+		}
+		this.client.connect();
+		this.client.subscribe(symbols);
+		await(() -> this.server.subscriptions().size() == 250);
+		assertThat(this.server.receivedMessages()).hasSize(3);
+
+		for (int i = 0; i < 1000; i++) {
+			String symbol = "S" + (i % 250);
+			this.server.publish(symbol, new PricingEncoder().string(1, symbol).float32(2, i).toBase64());
+		}
+		await(() -> this.updates.size() == 1000);
+		assertThat(this.updates.get(999).price()).isEqualTo(999);
+		assertThat(this.client.receivedCount()).isEqualTo(1000);
+		assertThat(this.client.droppedCount()).isZero();
+
+		this.client.unsubscribe(symbols.subList(0, 200));
+		await(() -> this.server.subscriptions().size() == 50);
+		assertThat(this.client.subscriptions()).hasSize(50);
+	}
+
+	@Test
+	void shouldReportUndecodableMessagesAndKeepRunning() {
+		this.client.connect();
+		this.client.subscribe(List.of("AAPL"));
+		await(() -> this.server.subscriptions().contains("AAPL"));
+
+		this.server.broadcast("{\"type\":\"pricing\",\"message\":\"CgVB\"}");
+		this.server.publish("AAPL", new PricingEncoder().string(1, "AAPL").toBase64());
+
+		await(() -> this.updates.size() == 1);
+		assertThat(this.errors).hasSize(1);
+	}
+
+	@Test
+	void shouldResubscribeAfterReconnect() {
+		this.client.connect();
+		this.client.subscribe(List.of("AAPL", "MSFT"));
+		await(() -> this.server.subscriptions().size() == 2);
+
+		this.server.disconnectAll();
+		// wait for the subscriptions of the new connection
+		await(() -> this.server.receivedMessages().size() == 2 && this.server.connectionCount() == 1
+				&& this.server.subscriptions().size() == 2);
+
+		this.server.publish("MSFT", new PricingEncoder().string(1, "MSFT").toBase64());
+		await(() -> this.updates.size() == 1);
+		assertThat(this.client.isConnected()).isTrue();
+	}
+
+	private static void await(BooleanSupplier condition) {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) {
+				throw new AssertionError("Condition not met within 10 seconds");
+			}
+			try {
+				Thread.sleep(10);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new AssertionError(ex);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,175 @@
+package am.ik.yfinance4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import am.ik.yfinance4j.search.SymbolEntry;
+import am.ik.yfinance4j.search.SymbolIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SymbolLookupTest {
+
+	private final List<String> queries = new CopyOnWriteArrayList<>();
+
+	private MockServer mockServer;
+
+	private YFinance yf;
+
+	@TempDir
+	Path tempDir;
+
+	@BeforeEach
+	void setUp() {
+		this.mockServer = new MockServer(0);
+		this.mockServer.GET("/v1/finance/search", request -> {
+			String query = request.queryParam("q");
+			this.queries.add(query);
+			String quotes = switch (query) {
+				case "ap" ->
+					"""
+							{"symbol":"AAPL","shortname":"Apple Inc.","longname":"Apple Inc.","exchange":"NMS","quoteType":"EQUITY"},
+							{"symbol":"APP","shortname":"AppLovin Corporation","exchange":"NMS","quoteType":"EQUITY"},
+							{"symbol":"APD","longname":"Air Products and Chemicals, Inc.","exchange":"NYQ","quoteType":"EQUITY"}""";
+				case "bank" ->
+					"""
+							{"symbol":"BAC","longname":"Bank of America Corporation","exchange":"NYQ","quoteType":"EQUITY"},
+							{"symbol":"BK","longname":"The Bank of New York Mellon Corporation","exchange":"NYQ","quoteType":"EQUITY"}""";
+				case "google" -> """
+						{"symbol":"GOOG","longname":"Alphabet Inc.","exchange":"NMS","quoteType":"EQUITY"}""";
+				default -> "";
+			};
+			return Response.json("""
+					{"explains":[],"count":0,"quotes":[%s],"news":[]}""".formatted(quotes));
+		});
+		this.mockServer.run();
+		String baseUrl = "http://localhost:" + this.mockServer.port();
+		RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		this.yf = YFinance.builder(restClient)
+			.urls(YFinanceUrls.builder().searchUrl(baseUrl + "/v1/finance/search").build())
+			.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.mockServer.close();
+	}
+
+	@Test
+	void shouldSearchRemotely() {
+		List<SymbolEntry> entries = this.yf.search("ap", 10);
+
+		assertThat(entries).containsExactly(new SymbolEntry("AAPL", "Apple Inc.", "NMS", "EQUITY"),
+				new SymbolEntry("APP", "AppLovin Corporation", "NMS", "EQUITY"),
+				new SymbolEntry("APD", "Air Products and Chemicals, Inc.", "NYQ", "EQUITY"));
+	}
+
+	@Test
+	void shouldAnswerLongerPrefixesLocallyAfterCompleteSearch() {
+		SymbolLookup lookup = SymbolLookup.builder(this.yf).remoteLimit(5).build();
+
+		assertThat(lookup.lookup("ap", 10)).extracting(SymbolEntry::symbol).containsExactly("APD", "APP", "AAPL");
+		assertThat(lookup.lookup("AP", 10)).extracting(SymbolEntry::symbol).containsExactly("APD", "APP", "AAPL");
+		assertThat(lookup.lookup("app", 10)).extracting(SymbolEntry::symbol).containsExactly("APP", "AAPL");
+		assertThat(lookup.lookup("apple", 10)).extracting(SymbolEntry::symbol).containsExactly("AAPL");
+		assertThat(lookup.lookup("app", 1)).extracting(SymbolEntry::symbol).containsExactly("APP");
+		assertThat(this.queries).containsExactly("ap");
+	}
+
+	@Test
+	void shouldSearchAgainAfterIncompleteSearch() {
+		SymbolLookup lookup = SymbolLookup.builder(this.yf).remoteLimit(3).build();
+
+		lookup.lookup("ap", 10);
+		lookup.lookup("ap", 10);
+		lookup.lookup("app", 10);
+
+		// "ap" returned as many results as requested, so "app" may have more matches
+		assertThat(this.queries).containsExactly("ap", "app");
+	}
+
+	@Test
+	void shouldMatchWordsOfNames() {
+		SymbolLookup lookup = SymbolLookup.builder(this.yf).build();
+		lookup.lookup("bank", 10);
+
+		assertThat(lookup.lookup("bank of", 10)).extracting(SymbolEntry::symbol).containsExactly("BAC", "BK");
+		assertThat(lookup.lookup("bank of a", 10)).extracting(SymbolEntry::symbol).containsExactly("BAC");
+		assertThat(lookup.index().lookup("new york", 10)).extracting(SymbolEntry::symbol).containsExactly("BK");
+		assertThat(this.queries).containsExactly("bank");
+	}
+
+	@Test
+	void shouldIncludeRemoteResultsThatAreNotPrefixMatches() {
+		SymbolLookup lookup = SymbolLookup.builder(this.yf).build();
+
+		assertThat(lookup.lookup("google", 10)).extracting(SymbolEntry::symbol).containsExactly("GOOG");
+		assertThat(lookup.lookup("google", 10)).extracting(SymbolEntry::symbol).containsExactly("GOOG");
+		assertThat(lookup.lookup("alpha", 10)).extracting(SymbolEntry::symbol).containsExactly("GOOG");
+		assertThat(lookup.index().get("GOOG")).isNotNull();
+		assertThat(this.queries).containsExactly("google", "alpha");
+	}
+
+	@Test
+	void shouldPersistRemoteResultsOfSearchedPrefixes() {
+		Path file = this.tempDir.resolve("symbols.idx");
+		SymbolLookup lookup = SymbolLookup.builder(this.yf).indexFile(file).build();
+		lookup.lookup("google", 10);
+		lookup.save();
+
+		SymbolLookup reloaded = SymbolLookup.builder(this.yf).indexFile(file).build();
+
+		assertThat(reloaded.lookup("google", 10)).extracting(SymbolEntry::symbol).containsExactly("GOOG");
+		assertThat(this.queries).containsExactly("google");
+	}
+
+	@Test
+	void shouldPersistIndex() {
+		Path file = this.tempDir.resolve("symbols.idx");
+		SymbolLookup lookup = SymbolLookup.builder(this.yf).indexFile(file).build();
+		lookup.lookup("ap", 10);
+		lookup.save();
+
+		SymbolLookup reloaded = SymbolLookup.builder(this.yf).indexFile(file).build();
+
+		assertThat(reloaded.index().size()).isEqualTo(3);
+		assertThat(reloaded.lookup("app", 10)).extracting(SymbolEntry::symbol).containsExactly("APP", "AAPL");
+		assertThat(reloaded.index().get("AAPL")).isEqualTo(new SymbolEntry("AAPL", "Apple Inc.", "NMS", "EQUITY"));
+		assertThat(this.queries).containsExactly("ap");
+	}
+
+	@Test
+	void shouldRejectMalformedLinesWithLineNumber() throws Exception {
+		Path file = this.tempDir.resolve("symbols.idx");
+		Files.writeString(file, "yfinance4j-symbol-index 1\nC\tap\nP\n");
+
+		assertThatThrownBy(() -> SymbolIndex.load(file)).isInstanceOf(IOException.class)
+			.hasMessageContaining("symbols.idx:3");
+	}
+
+	@Test
+	void shouldReplaceChangedEntries() {
+		SymbolIndex index = new SymbolIndex();
+		index.addAll(List.of(new SymbolEntry("META", "Facebook, Inc.", "NMS", "EQUITY")));
+
+		int changed = index.addAll(List.of(new SymbolEntry("META", "Meta Platforms, Inc.", "NMS", "EQUITY")));
+
+		assertThat(changed).isEqualTo(1);
+		assertThat(index.size()).isEqualTo(1);
+		assertThat(index.lookup("face", 10)).isEmpty();
+		assertThat(index.lookup("meta", 10)).extracting(SymbolEntry::name).containsExactly("Meta Platforms, Inc.");
+	}
+
+}
@@ -0,0 +1,118 @@
+package am.ik.yfinance4j;
+
+import java.util.Arrays;
+
+import am.ik.yfinance4j.indicator.BollingerBands;
+import am.ik.yfinance4j.indicator.Ema;
+import am.ik.yfinance4j.indicator.Macd;
+import am.ik.yfinance4j.indicator.Rsi;
+import am.ik.yfinance4j.indicator.Sma;
+import am.ik.yfinance4j.indicator.TechnicalIndicators;
+import am.ik.yfinance4j.indicator.TechnicalIndicators.BollingerSeries;
+import am.ik.yfinance4j.indicator.TechnicalIndicators.MacdSeries;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TechnicalIndicatorsTest {
+
+	private static final double[] PRICES = { 44.34, 44.09, 44.15, 43.61, 44.33, 44.83, 45.10, 45.42, 45.84, 46.08,
+			45.89, 46.03, 45.61, 46.28, 46.28, 46.00, 46.03, 46.41, 46.22, 45.64 };
+
+	@Test
+	void shouldComputeSimpleMovingAverage() {
+		double[] sma = TechnicalIndicators.sma(new double[] { 1, 2, 3, 4, 5 }, 3);
+
+		assertThat(sma[0]).isNaN();
+		assertThat(sma[1]).isNaN();
+		assertThat(sma).containsSubsequence(2, 3, 4);
+	}
+
+	@Test
+	void shouldSeedExponentialMovingAverageWithSimpleAverage() {
+		Ema ema = new Ema(3);
+		ema.update(1);
+		ema.update(2);
+		assertThat(ema.isReady()).isFalse();
+		assertThat(ema.update(3)).isEqualTo(2);
+		assertThat(ema.update(6)).isEqualTo(4);
+	}
+
+	@Test
+	void shouldComputeWilderRsi() {
+		double[] rsi = TechnicalIndicators.rsi(PRICES, 14);
+
+		assertThat(rsi[13]).isNaN();
+		// reference values from the StockCharts worked example
+		assertThat(rsi[14]).isCloseTo(70.46, within(0.01));
+		assertThat(rsi[15]).isCloseTo(66.25, within(0.01));
+		assertThat(TechnicalIndicators.rsi(new double[] { 1, 1, 1 }, 2)[2]).isEqualTo(50);
+		assertThat(TechnicalIndicators.rsi(new double[] { 1, 2, 3 }, 2)[2]).isEqualTo(100);
+	}
+
+	@Test
+	void shouldComputeMacd() {
+		MacdSeries macd = TechnicalIndicators.macd(PRICES, 3, 6, 4);
+		Ema fast = new Ema(3);
+		Ema slow = new Ema(6);
+		double expected = Double.NaN;
+		for (double price : PRICES) {
+			expected = fast.update(price) - slow.update(price);
+		}
+
+		assertThat(macd.macd()[4]).isNaN();
+		assertThat(macd.macd()[5]).isNotNaN();
+		assertThat(macd.signal()[7]).isNaN();
+		assertThat(macd.signal()[8]).isNotNaN();
+		assertThat(macd.macd()[PRICES.length - 1]).isCloseTo(expected, within(1e-12));
+		assertThat(macd.histogram()[8]).isCloseTo(macd.macd()[8] - macd.signal()[8], within(1e-12));
+	}
+
+	@Test
+	void shouldComputeBollingerBands() {
+		BollingerSeries bands = TechnicalIndicators.bollinger(new double[] { 2, 4, 4, 4, 5, 5, 7, 9 }, 8, 2);
+
+		assertThat(bands.middle()[7]).isEqualTo(5);
+		assertThat(bands.upper()[7]).isCloseTo(9, within(1e-12));
+		assertThat(bands.lower()[7]).isCloseTo(1, within(1e-12));
+		assertThat(bands.upper()[6]).isNaN();
+	}
+
+	@Test
+	void incrementalUpdatesShouldMatchBatchComputation() {
+		double[] sma = TechnicalIndicators.sma(PRICES, 5);
+		double[] rsi = TechnicalIndicators.rsi(PRICES, 5);
+		BollingerSeries bollinger = TechnicalIndicators.bollinger(PRICES, 5, 2);
+		Sma incrementalSma = new Sma(5);
+		Rsi incrementalRsi = new Rsi(5);
+		BollingerBands incrementalBands = new BollingerBands(5, 2);
+		double[] incrementalUpper = new double[PRICES.length];
+		for (int i = 0; i < PRICES.length; i++) {
+			assertThat(Double.compare(incrementalSma.update(PRICES[i]), sma[i])).isZero();
+			assertThat(Double.compare(incrementalRsi.update(PRICES[i]), rsi[i])).isZero();
+			incrementalBands.update(PRICES[i]);
+			incrementalUpper[i] = incrementalBands.upper();
+		}
+		assertThat(Arrays.equals(incrementalUpper, bollinger.upper())).isTrue();
+		double[] naive = new double[PRICES.length];
+		for (int i = 4; i < PRICES.length; i++) {
+			naive[i] = (PRICES[i] + PRICES[i - 1] + PRICES[i - 2] + PRICES[i - 3] + PRICES[i - 4]) / 5;
+			assertThat(sma[i]).isCloseTo(naive[i], within(1e-9));
+		}
+	}
+
+	@Test
+	void resetShouldDiscardState() {
+		Macd macd = new Macd(2, 3, 2);
+		for (double price : PRICES) {
+			macd.update(price);
+		}
+		macd.reset();
+
+		assertThat(macd.isReady()).isFalse();
+		assertThat(macd.value()).isNaN();
+		assertThat(macd.signal()).isNaN();
+	}
+
+}
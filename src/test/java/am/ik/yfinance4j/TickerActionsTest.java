@@ -0,0 +1,123 @@
+package am.ik.yfinance4j;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import am.ik.yfinance4j.chart.ChartRequest;
+import am.ik.yfinance4j.chart.CorporateActions;
+import am.ik.yfinance4j.chart.DividendEvent;
+import am.ik.yfinance4j.chart.SplitEvent;
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TickerActionsTest {
+
+	private static final Map<String, String> lastQuery = new ConcurrentHashMap<>();
+
+	private static MockServer mockServer;
+
+	private static YFinance yf;
+
+	@BeforeAll
+	static void setUp() {
+		mockServer = new MockServer(0);
+		mockServer.GET("/cookie", request -> Response.builder().header("Set-Cookie", "a=b").build());
+		mockServer.GET("/crumb", request -> Response.ok("crumb"));
+		mockServer.GET("/v8/finance/chart/AAPL", request -> {
+			lastQuery.clear();
+			lastQuery.putAll(request.queryParams());
+			return Response.json("""
+					{"chart":{"result":[{"meta":{"symbol":"AAPL","currency":"USD"},
+					"timestamp":[1696132800,1704085200],
+					"indicators":{"quote":[{"open":[171.2,187.1],"high":[198.2,199.6],"low":[165.6,164.1],
+					"close":[192.5,171.5],"volume":[1,2]}]},
+					"events":{
+					  "dividends":{
+					    "1707489000":{"amount":0.24,"date":1707489000},
+					    "1699626600":{"amount":0.24,"date":1699626600}
+					  },
+					  "splits":{
+					    "1598880600":{"date":1598880600,"numerator":"4","denominator":"1","splitRatio":"4:1"},
+					    "1403530200":{"date":1403530200,"numerator":"7","denominator":"1","splitRatio":"7:1"},
+					    "1000000000":{"date":1000000000,"numerator":"x","denominator":"1","splitRatio":"x:1"}
+					  }
+					}}],"error":null}}
+					""");
+		});
+		mockServer.GET("/v8/finance/chart/NODIV", request -> Response.json("""
+				{"chart":{"result":[{"meta":{"symbol":"NODIV"},"timestamp":[1696132800],
+				"indicators":{"quote":[{"open":[1],"high":[1],"low":[1],"close":[1],"volume":[1]}]}}],"error":null}}
+				"""));
+		mockServer.run();
+		String baseUrl = "http://localhost:" + mockServer.port();
+		RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		yf = new YFinance(restClient,
+				YFinanceUrls.builder()
+					.cookieUrl(baseUrl + "/cookie")
+					.crumbUrl(baseUrl + "/crumb")
+					.chartUrl(baseUrl + "/v8/finance/chart/{ticker}")
+					.build());
+	}
+
+	@AfterAll
+	static void tearDown() {
+		mockServer.close();
+	}
+
+	@Test
+	void shouldReturnDividendsSortedByDate() {
+		List<DividendEvent> dividends = yf.ticker("AAPL").dividends();
+
+		assertThat(dividends).extracting(DividendEvent::date)
+			.containsExactly(Instant.ofEpochSecond(1699626600), Instant.ofEpochSecond(1707489000));
+		assertThat(dividends.get(0).amount()).isEqualByComparingTo("0.24");
+	}
+
+	@Test
+	void shouldReturnSplitsSkippingInvalidRatios() {
+		List<SplitEvent> splits = yf.ticker("AAPL").splits();
+
+		assertThat(splits).hasSize(2);
+		assertThat(splits.get(0).date()).isEqualTo(Instant.ofEpochSecond(1403530200));
+		assertThat(splits.get(0).ratio()).isEqualByComparingTo("7");
+		assertThat(splits.get(1).ratio()).isEqualByComparingTo("4");
+	}
+
+	@Test
+	void shouldRequestCoarsestIntervalWithEvents() {
+		yf.ticker("AAPL").actions();
+
+		assertThat(lastQuery).containsEntry("interval", "3mo").containsEntry("range", "max").containsKey("events");
+	}
+
+	@Test
+	void shouldUseRangeOfGivenRequest() {
+		Instant start = Instant.parse("2023-01-01T00:00:00Z");
+		Instant end = Instant.parse("2024-01-01T00:00:00Z");
+		CorporateActions actions = yf.ticker("AAPL")
+			.actions(ChartRequest.builder().start(start).end(end).interval(Interval.ONE_MINUTE).build());
+
+		assertThat(actions.dividends()).hasSize(2);
+		assertThat(lastQuery).containsEntry("interval", "3mo")
+			.containsEntry("period1", String.valueOf(start.getEpochSecond()))
+			.containsEntry("period2", String.valueOf(end.getEpochSecond()));
+	}
+
+	@Test
+	void shouldReturnEmptyActionsWithoutEvents() {
+		CorporateActions actions = yf.ticker("NODIV").actions();
+
+		assertThat(actions.dividends()).isEmpty();
+		assertThat(actions.splits()).isEmpty();
+	}
+
+}
@@ -0,0 +1,103 @@
+package am.ik.yfinance4j;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import am.ik.yfinance4j.chart.ChartRequest;
+import am.ik.yfinance4j.chart.FastInfo;
+import am.ik.yfinance4j.chart.History;
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TickerFastInfoTest {
+
+	private static final Map<String, String> lastQuery = new ConcurrentHashMap<>();
+
+	private static MockServer mockServer;
+
+	private static YFinance yf;
+
+	@BeforeAll
+	static void setUp() {
+		mockServer = new MockServer(0);
+		mockServer.GET("/cookie", request -> Response.builder().header("Set-Cookie", "a=b").build());
+		mockServer.GET("/crumb", request -> Response.ok("crumb"));
+		mockServer.GET("/v8/finance/chart/AAPL", request -> {
+			lastQuery.clear();
+			lastQuery.putAll(request.queryParams());
+			return Response.json("""
+					{"chart":{"result":[{"meta":{"currency":"USD","symbol":"AAPL","exchangeName":"NMS",
+					"fullExchangeName":"NasdaqGS","instrumentType":"EQUITY","firstTradeDate":345479400,
+					"regularMarketTime":1700078400,"gmtoffset":-18000,"timezone":"EST",
+					"exchangeTimezoneName":"America/New_York","regularMarketPrice":189.71,
+					"previousClose":188.01,"chartPreviousClose":188.01,"regularMarketDayHigh":190.1,
+					"regularMarketDayLow":187.5,"regularMarketVolume":53000000},
+					"timestamp":[1700058600],
+					"indicators":{"quote":[{"open":[188.5],"high":[190.1],"low":[187.5],"close":[189.71],
+					"volume":[53000000]}]}}],"error":null}}
+					""");
+		});
+		mockServer.run();
+		String baseUrl = "http://localhost:" + mockServer.port();
+		RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		yf = new YFinance(restClient,
+				YFinanceUrls.builder()
+					.cookieUrl(baseUrl + "/cookie")
+					.crumbUrl(baseUrl + "/crumb")
+					.chartUrl(baseUrl + "/v8/finance/chart/{ticker}")
+					.build());
+	}
+
+	@AfterAll
+	static void tearDown() {
+		mockServer.close();
+	}
+
+	@Test
+	void shouldReturnFastInfoFromChartMeta() {
+		FastInfo fastInfo = yf.ticker("AAPL").fastInfo();
+
+		assertThat(fastInfo.symbol()).isEqualTo("AAPL");
+		assertThat(fastInfo.currency()).isEqualTo("USD");
+		assertThat(fastInfo.exchange()).isEqualTo("NMS");
+		assertThat(fastInfo.quoteType()).isEqualTo("EQUITY");
+		assertThat(fastInfo.timezone()).isEqualTo("America/New_York");
+		assertThat(fastInfo.lastPrice()).isEqualByComparingTo("189.71");
+		assertThat(fastInfo.previousClose()).isEqualByComparingTo("188.01");
+		assertThat(fastInfo.dayHigh()).isEqualByComparingTo("190.1");
+		assertThat(fastInfo.dayLow()).isEqualByComparingTo("187.5");
+		assertThat(fastInfo.lastVolume()).isEqualTo(53000000L);
+		assertThat(fastInfo.regularMarketTime()).isEqualTo(Instant.ofEpochSecond(1700078400));
+		assertThat(fastInfo.firstTradeDate()).isEqualTo(Instant.ofEpochSecond(345479400));
+	}
+
+	@Test
+	void shouldIssueMinimalChartRequest() {
+		yf.ticker("AAPL").fastInfo();
+
+		assertThat(lastQuery).containsEntry("range", "1d")
+			.containsEntry("interval", "1d")
+			.containsEntry("includePrePost", "false")
+			.doesNotContainKey("events");
+	}
+
+	@Test
+	void shouldReturnMetaAlongsideHistory() {
+		History history = yf.ticker("AAPL").historyWithMeta(ChartRequest.builder().build());
+
+		assertThat(history.records()).hasSize(1);
+		assertThat(history.meta()).isNotNull();
+		assertThat(history.meta().exchangeTimezoneName()).isEqualTo("America/New_York");
+		assertThat(history.meta().gmtoffset()).isEqualTo(-18000);
+		assertThat(lastQuery).containsKey("events");
+	}
+
+}
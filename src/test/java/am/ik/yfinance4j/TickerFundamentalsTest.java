@@ -0,0 +1,205 @@
+package am.ik.yfinance4j;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import am.ik.yfinance4j.fundamentals.FinancialStatement;
+import am.ik.yfinance4j.fundamentals.Frequency;
+import am.ik.yfinance4j.fundamentals.Fundamentals;
+import am.ik.yfinance4j.fundamentals.Statement;
+import am.ik.yfinance4j.fundamentals.TypeKeys;
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TickerFundamentalsTest {
+
+	// data points by type key; every other requested key is returned without data
+	private static final Map<String, String> DATA = Map.of("annualTotalRevenue",
+			"""
+					[{"asOfDate":"2021-09-30","periodType":"12M","currencyCode":"USD","reportedValue":{"raw":365817000000,"fmt":"365.82B"}},
+					{"asOfDate":"2022-09-30","periodType":"12M","currencyCode":"USD","reportedValue":{"raw":394328000000,"fmt":"394.33B"}},
+					{"asOfDate":"2023-09-30","periodType":"12M","currencyCode":"USD","reportedValue":{"raw":383285000000,"fmt":"383.29B"}}]""",
+			"annualNetIncome",
+			"""
+					[{"asOfDate":"2021-09-30","periodType":"12M","currencyCode":"USD","reportedValue":{"raw":94680000000}},
+					null,
+					{"asOfDate":"2023-09-30","periodType":"12M","currencyCode":"USD","reportedValue":{"raw":96995000000}}]""",
+			"quarterlyTotalRevenue",
+			"""
+					[{"asOfDate":"2023-09-30","periodType":"3M","currencyCode":"USD","reportedValue":{"raw":89498000000}},
+					{"asOfDate":"2023-12-31","periodType":"3M","currencyCode":"USD","reportedValue":{"raw":119575000000}}]""",
+			"trailingTotalRevenue",
+			"""
+					[{"asOfDate":"2023-12-31","periodType":"TTM","currencyCode":"USD","reportedValue":{"raw":385706000000}}]""",
+			"annualTotalAssets",
+			"""
+					[{"asOfDate":"2023-09-30","periodType":"12M","currencyCode":"USD","reportedValue":{"raw":352583000000}}]""");
+
+	private final List<String> requestedTypes = new CopyOnWriteArrayList<>();
+
+	private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+
+	private final CountDownLatch concurrent = new CountDownLatch(2);
+
+	private final AtomicBoolean overlapped = new AtomicBoolean(true);
+
+	private volatile boolean awaitConcurrent;
+
+	private MockServer mockServer;
+
+	private YFinance yf;
+
+	@BeforeEach
+	void setUp() {
+		this.mockServer = new MockServer(0, this.serverExecutor);
+		this.mockServer.GET("/cookie", request -> Response.builder().header("Set-Cookie", "a=b").build());
+		this.mockServer.GET("/crumb", request -> Response.ok("crumb"));
+		this.mockServer.route(request -> request.path().startsWith("/timeseries/"), request -> {
+			if (request.path().endsWith("/NONE")) {
+				return Response
+					.json("""
+							{"timeseries":{"result":null,"error":{"code":"Bad Request","description":"Invalid symbol"}}}""");
+			}
+			String types = request.queryParams().get("type");
+			this.requestedTypes.add(types);
+			if (this.awaitConcurrent) {
+				this.concurrent.countDown();
+				try {
+					if (!this.concurrent.await(5, TimeUnit.SECONDS)) {
+						this.overlapped.set(false);
+					}
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			List<String> results = new ArrayList<>();
+			for (String type : types.split(",")) {
+				String data = DATA.get(type);
+				results.add((data != null) ? """
+						{"meta":{"symbol":["AAPL"],"type":["%1$s"]},"timestamp":[1632960000],"%1$s":%2$s}"""
+					.formatted(type, data) : """
+							{"meta":{"symbol":["AAPL"],"type":["%s"]}}""".formatted(type));
+			}
+			return Response.json("{\"timeseries\":{\"result\":[" + String.join(",", results) + "],\"error\":null}}");
+		});
+		this.mockServer.run();
+		String baseUrl = "http://localhost:" + this.mockServer.port();
+		RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		this.yf = new YFinance(restClient,
+				YFinanceUrls.builder()
+					.cookieUrl(baseUrl + "/cookie")
+					.crumbUrl(baseUrl + "/crumb")
+					.timeseriesUrl(baseUrl + "/timeseries/{ticker}")
+					.build());
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.mockServer.close();
+		this.serverExecutor.shutdownNow();
+	}
+
+	@Test
+	void shouldDecodeStatementIntoMatrix() {
+		FinancialStatement income = this.yf.ticker("AAPL").incomeStatement(Frequency.ANNUAL);
+
+		assertThat(income.frequency()).isEqualTo(Frequency.ANNUAL);
+		assertThat(income.currency()).isEqualTo("USD");
+		// rows follow the order of the statement, periods are ascending
+		assertThat(income.metrics()).containsExactly("TotalRevenue", "NetIncome");
+		assertThat(income.periods()).containsExactly(LocalDate.of(2021, 9, 30), LocalDate.of(2022, 9, 30),
+				LocalDate.of(2023, 9, 30));
+		assertThat(income.row("TotalRevenue")).containsExactly(365817000000d, 394328000000d, 383285000000d);
+		assertThat(income.value("NetIncome", LocalDate.of(2022, 9, 30))).isNaN();
+		assertThat(income.value(1, 2)).isEqualTo(96995000000d);
+		assertThat(income.latest("NetIncome")).isEqualTo(96995000000d);
+		assertThat(income.indexOf("EBITDA")).isEqualTo(-1);
+		assertThatThrownBy(() -> income.row("EBITDA")).isInstanceOf(IllegalArgumentException.class);
+		assertThat(this.requestedTypes).allSatisfy(types -> assertThat(types).doesNotContain("quarterly"));
+	}
+
+	@Test
+	void shouldFetchAllStatementsWithFewPackedRequests() {
+		Fundamentals fundamentals = this.yf.ticker("AAPL").fundamentals();
+
+		List<String> requested = this.requestedTypes.stream()
+			.flatMap(types -> Arrays.stream(types.split(",")))
+			.toList();
+		int expected = 0;
+		for (Statement statement : Statement.values()) {
+			for (Frequency frequency : Frequency.values()) {
+				if (statement.supports(frequency)) {
+					expected += statement.metrics().size();
+				}
+			}
+		}
+		assertThat(requested).hasSize(expected).doesNotHaveDuplicates().doesNotContain("trailingTotalAssets");
+		assertThat(this.requestedTypes).hasSizeBetween(2, 5)
+			.allSatisfy(types -> assertThat(types.length()).isLessThanOrEqualTo(TypeKeys.DEFAULT_MAX_LENGTH));
+		assertThat(fundamentals.annual().metrics()).containsExactly("TotalRevenue", "NetIncome", "TotalAssets");
+		assertThat(fundamentals.quarterly().row("TotalRevenue")).containsExactly(89498000000d, 119575000000d);
+		assertThat(fundamentals.trailing().periods()).containsExactly(LocalDate.of(2023, 12, 31));
+		assertThat(fundamentals.trailing().latest("TotalRevenue")).isEqualTo(385706000000d);
+	}
+
+	@Test
+	void shouldSendFirstBatchWhileOthersAreInFlight() {
+		this.awaitConcurrent = true;
+		this.yf.ticker("AAPL").fundamentals();
+
+		assertThat(this.requestedTypes).hasSizeGreaterThan(1);
+		assertThat(this.overlapped).isTrue();
+	}
+
+	@Test
+	void shouldFetchSelectedMetrics() {
+		Fundamentals fundamentals = this.yf.ticker("AAPL")
+			.fundamentals(List.of("TotalAssets", "TotalRevenue"), List.of(Frequency.ANNUAL, Frequency.QUARTERLY));
+
+		assertThat(this.requestedTypes)
+			.containsExactly("annualTotalAssets,annualTotalRevenue,quarterlyTotalAssets,quarterlyTotalRevenue");
+		assertThat(fundamentals.annual().metrics()).containsExactly("TotalAssets", "TotalRevenue");
+		assertThat(fundamentals.trailing().isEmpty()).isTrue();
+	}
+
+	@Test
+	void shouldRejectTrailingBalanceSheet() {
+		assertThatThrownBy(() -> this.yf.ticker("AAPL").balanceSheet(Frequency.TRAILING))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThat(this.requestedTypes).isEmpty();
+	}
+
+	@Test
+	void shouldThrowOnApiError() {
+		assertThatThrownBy(() -> this.yf.ticker("NONE").cashFlow(Frequency.ANNUAL))
+			.isInstanceOf(YFinanceException.class)
+			.hasMessageContaining("Invalid symbol");
+	}
+
+	@Test
+	void shouldPackTypeKeysUpToMaxLength() {
+		List<String> packed = TypeKeys.pack(List.of("aaaa", "bbbb", "cccc", "dddddddddddd", "ee"), 10);
+
+		assertThat(packed).containsExactly("aaaa,bbbb", "cccc", "dddddddddddd", "ee");
+		assertThat(TypeKeys.pack(List.of(), 10)).isEmpty();
+	}
+
+}
@@ -0,0 +1,119 @@
+package am.ik.yfinance4j;
+
+import am.ik.yfinance4j.chart.ChartRequest;
+import am.ik.yfinance4j.chart.HistorySeries;
+import am.ik.yfinance4j.chart.PriceAdjuster;
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class TickerHistorySeriesTest {
+
+	private static MockServer mockServer;
+
+	private static YFinance yf;
+
+	@BeforeAll
+	static void setUp() {
+		mockServer = new MockServer(0);
+		mockServer.GET("/cookie", request -> Response.builder().header("Set-Cookie", "a=b").build());
+		mockServer.GET("/crumb", request -> Response.ok("crumb"));
+		mockServer.GET("/v8/finance/chart/TEST", request -> Response.json("""
+				{"chart":{"result":[{"meta":{"symbol":"TEST","currency":"USD"},
+				"timestamp":[100,200,300,400,500],
+				"indicators":{"quote":[{"open":[10,20,null,20,10],"high":[11,21,null,21,11],
+				"low":[9,19,null,19,9],"close":[10,20,null,20,10],"volume":[100,100,null,100,200]}],
+				"adjclose":[{"adjclose":[9.9,19.8,null,20,10]}]},
+				"events":{
+				  "dividends":{"400":{"amount":2,"date":400}},
+				  "splits":{"500":{"date":500,"numerator":"2","denominator":"1","splitRatio":"2:1"}}
+				}}],"error":null}}
+				"""));
+		mockServer.GET("/v8/finance/chart/ERROR", request -> Response.json("""
+				{"chart":{"result":null,"error":{"code":"Bad Request","description":"Invalid input - interval"}}}
+				"""));
+		mockServer.run();
+		String baseUrl = "http://localhost:" + mockServer.port();
+		RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		yf = new YFinance(restClient,
+				YFinanceUrls.builder()
+					.cookieUrl(baseUrl + "/cookie")
+					.crumbUrl(baseUrl + "/crumb")
+					.chartUrl(baseUrl + "/v8/finance/chart/{ticker}")
+					.build());
+	}
+
+	@AfterAll
+	static void tearDown() {
+		mockServer.close();
+	}
+
+	@Test
+	void shouldDecodeColumnsSkippingIncompleteBars() {
+		HistorySeries series = yf.ticker("TEST").historySeries(ChartRequest.builder().actions(true).build());
+
+		assertThat(series.size()).isEqualTo(4);
+		assertThat(series.meta()).isNotNull();
+		assertThat(series.timestamps()).containsExactly(100, 200, 400, 500);
+		assertThat(series.close()).containsExactly(10, 20, 20, 10);
+		assertThat(series.adjClose()).containsExactly(9.9, 19.8, 20, 10);
+		assertThat(series.volume()).containsExactly(100, 100, 100, 200);
+		assertThat(series.dividends()).containsExactly(0, 0, 2, 0);
+		assertThat(series.splits()).containsExactly(0, 0, 0, 2);
+		assertThat(series.toRecords()).hasSize(4);
+		assertThat(series.slice(1, 3).timestamps()).containsExactly(200, 400);
+	}
+
+	@Test
+	void shouldThrowOnErrorBody() {
+		assertThatThrownBy(() -> yf.ticker("ERROR").historySeries(ChartRequest.builder().build()))
+			.isInstanceOf(YFinanceException.class)
+			.hasMessageContaining("Bad Request");
+	}
+
+	@Test
+	void shouldAdjustSplitAdjustedPricesForDividendsOnly() {
+		HistorySeries series = yf.ticker("TEST").historySeries(ChartRequest.builder().actions(true).build());
+		PriceAdjuster adjuster = PriceAdjuster.forSplitAdjustedPrices();
+
+		assertThat(adjuster.priceFactors(series)).containsExactly(new double[] { 0.9, 0.9, 1, 1 }, within(1e-12));
+
+		HistorySeries adjusted = adjuster.autoAdjust(series);
+		assertThat(adjusted.close()).containsExactly(new double[] { 9, 18, 20, 10 }, within(1e-12));
+		assertThat(adjusted.adjClose()).isEqualTo(adjusted.close());
+		assertThat(adjusted.high()).containsExactly(new double[] { 9.9, 18.9, 21, 11 }, within(1e-12));
+		assertThat(adjusted.volume()).containsExactly(100, 100, 100, 200);
+		// the input is left untouched
+		assertThat(series.close()).containsExactly(10, 20, 20, 10);
+	}
+
+	@Test
+	void shouldBackAdjustKeepingUnadjustedClose() {
+		HistorySeries series = yf.ticker("TEST").historySeries(ChartRequest.builder().actions(true).build());
+
+		HistorySeries adjusted = PriceAdjuster.forSplitAdjustedPrices().backAdjust(series);
+
+		assertThat(adjusted.close()).containsExactly(10, 20, 20, 10);
+		assertThat(adjusted.adjClose()).containsExactly(new double[] { 9, 18, 20, 10 }, within(1e-12));
+		assertThat(adjusted.open()).containsExactly(new double[] { 9, 18, 20, 10 }, within(1e-12));
+	}
+
+	@Test
+	void shouldAdjustRawPricesForSplitsAndDividends() {
+		HistorySeries series = yf.ticker("TEST").historySeries(ChartRequest.builder().actions(true).build());
+
+		HistorySeries adjusted = PriceAdjuster.forRawPrices().autoAdjust(series);
+
+		assertThat(adjusted.close()).containsExactly(new double[] { 4.5, 9, 10, 10 }, within(1e-12));
+		assertThat(adjusted.volume()).containsExactly(200, 200, 200, 200);
+	}
+
+}
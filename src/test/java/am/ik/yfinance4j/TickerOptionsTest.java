@@ -0,0 +1,189 @@
+package am.ik.yfinance4j;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import am.ik.yfinance4j.options.OptionChain;
+import am.ik.yfinance4j.options.OptionTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TickerOptionsTest {
+
+	// 2024-01-19, 2024-01-26 and 2024-02-16 at 00:00 UTC
+	private static final long[] EXPIRATIONS = { 1705622400L, 1706227200L, 1708041600L };
+
+	private final List<String> requestedDates = new CopyOnWriteArrayList<>();
+
+	// when enabled, both later expirations must be in flight at the same time to pass
+	// this latch
+	private final CountDownLatch concurrent = new CountDownLatch(2);
+
+	private volatile boolean awaitConcurrent;
+
+	private final AtomicBoolean overlapped = new AtomicBoolean(true);
+
+	private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+
+	private MockServer mockServer;
+
+	private YFinance yf;
+
+	@BeforeEach
+	void setUp() {
+		this.mockServer = new MockServer(0, this.serverExecutor);
+		this.mockServer.GET("/cookie", request -> Response.builder().header("Set-Cookie", "a=b").build());
+		this.mockServer.GET("/crumb", request -> Response.ok("crumb"));
+		this.mockServer.route(request -> request.path().startsWith("/v7/finance/options/"), request -> {
+			String symbol = request.path().substring("/v7/finance/options/".length());
+			if (symbol.equals("NONE")) {
+				return Response.json("""
+						{"optionChain":{"result":[],"error":{"code":"Not Found","description":"No data found"}}}""");
+			}
+			String date = request.queryParams().get("date");
+			this.requestedDates.add(date != null ? date : "");
+			long expiration = (date != null) ? Long.parseLong(date) : EXPIRATIONS[0];
+			if (this.awaitConcurrent && expiration != EXPIRATIONS[0]) {
+				this.concurrent.countDown();
+				try {
+					if (!this.concurrent.await(5, TimeUnit.SECONDS)) {
+						this.overlapped.set(false);
+					}
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return Response.json(optionsJson(symbol, expiration));
+		});
+		this.mockServer.run();
+		String baseUrl = "http://localhost:" + this.mockServer.port();
+		RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		this.yf = YFinance.builder(restClient)
+			.urls(YFinanceUrls.builder()
+				.cookieUrl(baseUrl + "/cookie")
+				.crumbUrl(baseUrl + "/crumb")
+				.optionsUrl(baseUrl + "/v7/finance/options/{ticker}")
+				.build())
+			.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.yf.close();
+		this.mockServer.close();
+		this.serverExecutor.shutdownNow();
+	}
+
+	@Test
+	void shouldListExpirations() {
+		List<LocalDate> expirations = this.yf.ticker("AAPL").options();
+
+		assertThat(expirations).containsExactly(LocalDate.of(2024, 1, 19), LocalDate.of(2024, 1, 26),
+				LocalDate.of(2024, 2, 16));
+		assertThat(this.requestedDates).containsExactly("");
+	}
+
+	@Test
+	void shouldFetchChainOfExpiration() {
+		OptionChain chain = this.yf.ticker("AAPL").optionChain(LocalDate.of(2024, 1, 26));
+
+		assertThat(this.requestedDates).containsExactly("1706227200");
+		assertThat(chain.underlyingSymbol()).isEqualTo("AAPL");
+		assertThat(chain.expiration()).isEqualTo(LocalDate.of(2024, 1, 26));
+		OptionTable calls = chain.calls();
+		assertThat(calls.size()).isEqualTo(3);
+		assertThat(calls.strikes()).containsExactly(180.0, 190.0, 200.0);
+		assertThat(calls.contractSymbols()).containsExactly("AAPL240126C00180000", "AAPL240126C00190000",
+				"AAPL240126C00200000");
+		assertThat(calls.bids()[1]).isEqualTo(3.1);
+		assertThat(calls.openInterests()[1]).isEqualTo(1200L);
+		assertThat(calls.inTheMoney()).containsExactly(true, false, false);
+		// volume and implied volatility are missing for the 200 strike
+		assertThat(calls.volumes()[2]).isZero();
+		assertThat(calls.impliedVolatilities()[2]).isNaN();
+		assertThat(chain.puts().strikes()).containsExactly(185.0);
+	}
+
+	@Test
+	void shouldLookUpStrikes() {
+		OptionTable calls = this.yf.ticker("AAPL").optionChain(LocalDate.of(2024, 1, 19)).calls();
+
+		assertThat(calls.indexOf(190.0)).isEqualTo(1);
+		assertThat(calls.indexOf(195.0)).isNegative();
+		assertThat(calls.nearest(193.0)).isEqualTo(1);
+		assertThat(calls.nearest(196.0)).isEqualTo(2);
+		assertThat(calls.nearest(10.0)).isEqualTo(0);
+		assertThat(calls.nearest(999.0)).isEqualTo(2);
+	}
+
+	@Test
+	void shouldFetchAllExpirationsConcurrently() {
+		this.awaitConcurrent = true;
+		List<OptionChain> chains = this.yf.ticker("AAPL").optionChains();
+
+		assertThat(chains).extracting(OptionChain::expiration)
+			.containsExactly(LocalDate.of(2024, 1, 19), LocalDate.of(2024, 1, 26), LocalDate.of(2024, 2, 16));
+		assertThat(chains).allSatisfy(chain -> assertThat(chain.calls().size()).isEqualTo(3));
+		assertThat(chains.get(2).calls().contractSymbols()[0]).isEqualTo("AAPL240216C00180000");
+		// the nearest chain comes with the expiration list and is not requested again
+		assertThat(this.requestedDates).hasSize(3).containsOnlyOnce("", "1706227200", "1708041600");
+		assertThat(this.overlapped).isTrue();
+	}
+
+	@Test
+	void shouldShutDownOnlyTheDefaultFetchExecutorOnClose() {
+		this.yf.close();
+
+		assertThatThrownBy(() -> this.yf.ticker("AAPL").optionChains()).isInstanceOf(RejectedExecutionException.class);
+		ExecutorService fetchExecutor = Executors.newSingleThreadExecutor();
+		YFinance.builder(RestClient.create()).fetchExecutor(fetchExecutor).build().close();
+		assertThat(fetchExecutor.isShutdown()).isFalse();
+		fetchExecutor.shutdown();
+	}
+
+	@Test
+	void shouldThrowOnApiError() {
+		assertThatThrownBy(() -> this.yf.ticker("NONE").options()).isInstanceOf(YFinanceException.class)
+			.hasMessageContaining("Not Found");
+	}
+
+	private static String optionsJson(String symbol, long expiration) {
+		String day = LocalDate.ofEpochDay(expiration / 86400).toString().replace("-", "").substring(2);
+		// contracts are deliberately out of strike order
+		return """
+				{"optionChain":{"result":[{"underlyingSymbol":"%1$s",
+				"expirationDates":[%3$d,%4$d,%5$d],"strikes":[180.0,185.0,190.0,200.0],
+				"quote":{"regularMarketPrice":192.5},
+				"options":[{"expirationDate":%2$d,"hasMiniOptions":false,
+				"calls":[
+				{"contractSymbol":"%1$s%6$sC00190000","strike":190.0,"currency":"USD","lastPrice":3.2,"bid":3.1,"ask":3.3,
+				"volume":500,"openInterest":1200,"impliedVolatility":0.21,"inTheMoney":false,"lastTradeDate":%2$d},
+				{"contractSymbol":"%1$s%6$sC00200000","strike":200.0,"currency":"USD","lastPrice":0.4,"bid":0.35,
+				"ask":0.45,"openInterest":800,"inTheMoney":false},
+				{"contractSymbol":"%1$s%6$sC00180000","strike":180.0,"currency":"USD","lastPrice":12.5,"bid":12.4,
+				"ask":12.6,"volume":40,"openInterest":300,"impliedVolatility":0.25,"inTheMoney":true}],
+				"puts":[
+				{"contractSymbol":"%1$s%6$sP00185000","strike":185.0,"currency":"USD","lastPrice":1.1,"bid":1.0,
+				"ask":1.2,"volume":100,"openInterest":400,"impliedVolatility":0.23,"inTheMoney":false}]}]}],
+				"error":null}}
+				"""
+			.formatted(symbol, expiration, EXPIRATIONS[0], EXPIRATIONS[1], EXPIRATIONS[2], day);
+	}
+
+}
@@ -0,0 +1,258 @@
+package am.ik.yfinance4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import am.ik.yfinance4j.QuotePollerTest.MutableClock;
+import am.ik.yfinance4j.chart.ChartRequest;
+import am.ik.yfinance4j.chart.HistorySeries;
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UniverseDownloaderTest {
+
+	private static final ChartRequest REQUEST = ChartRequest.builder().period(Period.MAX).build();
+
+	private static final List<String> UNIVERSE = List.of("AAPL", "MSFT", "GOOG", "AMZN", "META");
+
+	private final MutableClock clock = new MutableClock(Instant.parse("2024-01-02T00:00:00Z"));
+
+	private final List<String> requests = new CopyOnWriteArrayList<>();
+
+	private final Map<String, HistorySeries> stored = new ConcurrentHashMap<>();
+
+	private final Set<String> unavailable = ConcurrentHashMap.newKeySet();
+
+	private final CountDownLatch slowStarted = new CountDownLatch(1);
+
+	@TempDir
+	Path tempDir;
+
+	private MockServer mockServer;
+
+	private YFinance yf;
+
+	@BeforeEach
+	void setUp() {
+		this.mockServer = new MockServer(0, Executors.newFixedThreadPool(2));
+		this.mockServer.GET("/cookie", request -> Response.builder().header("Set-Cookie", "a=b").build());
+		this.mockServer.GET("/crumb", request -> Response.ok("crumb"));
+		this.mockServer.route(request -> request.path().startsWith("/v8/finance/chart/"), request -> {
+			String symbol = request.path().substring("/v8/finance/chart/".length());
+			this.requests.add(symbol);
+			if (symbol.equals("SLOW")) {
+				this.slowStarted.countDown();
+				sleep(Duration.ofMillis(300));
+			}
+			if (this.unavailable.contains(symbol)) {
+				return Response.builder().status(503).build();
+			}
+			if (symbol.equals("GONE")) {
+				return Response.builder().status(404).contentType("application/json").body("""
+						{"chart":{"result":null,"error":{"code":"Not Found",\
+						"description":"No data found, symbol may be delisted"}}}""").build();
+			}
+			return Response.json("""
+					{"chart":{"result":[{"meta":{"symbol":"%s","currency":"USD"},"timestamp":[1704205800],
+					"indicators":{"quote":[{"open":[1.0],"high":[1.0],"low":[1.0],"close":[1.0],
+					"volume":[1000]}]}}],"error":null}}""".formatted(symbol));
+		});
+		this.mockServer.run();
+		String baseUrl = "http://localhost:" + this.mockServer.port();
+		RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		this.yf = YFinance.builder(restClient)
+			.urls(YFinanceUrls.builder()
+				.cookieUrl(baseUrl + "/cookie")
+				.crumbUrl(baseUrl + "/crumb")
+				.chartUrl(baseUrl + "/v8/finance/chart/{ticker}")
+				.build())
+			.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.mockServer.close();
+	}
+
+	@Test
+	void shouldResumeWithoutRedoingCompletedSymbols() {
+		Path checkpoint = this.tempDir.resolve("backfill.checkpoint");
+		UniverseDownloader<HistorySeries> crashing = downloader(UNIVERSE, checkpoint, (symbol, series) -> {
+			if (symbol.equals("AMZN")) {
+				throw new IOException("disk full");
+			}
+			this.stored.put(symbol, series);
+		});
+
+		assertThatThrownBy(crashing::run).isInstanceOf(UncheckedIOException.class).hasMessageContaining("disk full");
+		assertThat(this.stored).containsOnlyKeys("AAPL", "MSFT", "GOOG");
+
+		this.requests.clear();
+		UniverseDownloader.Result result = downloader(UNIVERSE, checkpoint, this::store).run();
+
+		assertThat(this.requests).containsExactly("AMZN", "META");
+		assertThat(result.run()).isEqualTo(1);
+		assertThat(result.downloaded()).isEqualTo(2);
+		assertThat(result.skipped()).isEqualTo(3);
+		assertThat(result.complete()).isTrue();
+		assertThat(this.stored).containsOnlyKeys(UNIVERSE.toArray(String[]::new));
+	}
+
+	@Test
+	void shouldStartNewRunWithStalestSymbolsFirst() throws IOException {
+		Path checkpoint = this.tempDir.resolve("backfill.checkpoint");
+		downloader(List.of("AAPL", "MSFT"), checkpoint, this::store).run();
+		this.clock.set(this.clock.instant().plus(Duration.ofDays(1)));
+		// MSFT completed run 1, so it starts run 2
+		UniverseDownloader.Result second = downloader(List.of("MSFT"), checkpoint, this::store).run();
+		this.clock.set(this.clock.instant().plus(Duration.ofDays(1)));
+
+		this.requests.clear();
+		UniverseDownloader.Result third = downloader(List.of("AAPL", "GOOG", "MSFT"), checkpoint, this::store).run();
+
+		// never downloaded first, then the one last updated in run 1
+		assertThat(this.requests).containsExactly("GOOG", "AAPL");
+		assertThat(second.run()).isEqualTo(2);
+		assertThat(third.run()).isEqualTo(2);
+		assertThat(third.skipped()).isEqualTo(1);
+		// header, run, one line per earlier symbol and the lines of this call
+		assertThat(Files.readAllLines(checkpoint, StandardCharsets.UTF_8)).hasSize(2 + 2 + 2);
+	}
+
+	@Test
+	void shouldRecordNotFoundAndRetryFailuresOnly() {
+		Path checkpoint = this.tempDir.resolve("backfill.checkpoint");
+		this.unavailable.add("MSFT");
+		List<String> symbols = List.of("AAPL", "GONE", "MSFT");
+
+		UniverseDownloader.Result first = downloader(symbols, checkpoint, this::store).run();
+
+		assertThat(first.downloaded()).isEqualTo(1);
+		assertThat(first.notFound()).isEqualTo(1);
+		assertThat(first.failed()).containsExactly("MSFT");
+		assertThat(first.complete()).isFalse();
+
+		this.unavailable.clear();
+		this.requests.clear();
+		UniverseDownloader.Result second = downloader(symbols, checkpoint, this::store).run();
+
+		assertThat(this.requests).containsExactly("MSFT");
+		assertThat(second.run()).isEqualTo(1);
+		assertThat(second.complete()).isTrue();
+	}
+
+	@Test
+	void shouldStopAfterConsecutiveFailures() {
+		Path checkpoint = this.tempDir.resolve("backfill.checkpoint");
+		this.unavailable.addAll(UNIVERSE);
+
+		UniverseDownloader.Result result = UniverseDownloader.builder(this.yf, UNIVERSE, REQUEST)
+			.checkpointFile(checkpoint)
+			.sink(this::store)
+			.parallelism(1)
+			.maxConsecutiveFailures(2)
+			.build()
+			.run();
+
+		assertThat(result.stopped()).isTrue();
+		assertThat(result.failed()).containsExactly("AAPL", "MSFT");
+		assertThat(this.requests).containsOnly("AAPL", "MSFT");
+	}
+
+	@Test
+	void shouldWaitForOtherWorkersWhenSinkFails() {
+		Path checkpoint = this.tempDir.resolve("backfill.checkpoint");
+		UniverseDownloader<HistorySeries> crashing = UniverseDownloader
+			.builder(this.yf, List.of("AAPL", "SLOW"), REQUEST)
+			.checkpointFile(checkpoint)
+			.sink((symbol, series) -> {
+				if (symbol.equals("AAPL")) {
+					await(this.slowStarted);
+					throw new IOException("disk full");
+				}
+				this.stored.put(symbol, series);
+			})
+			.parallelism(2)
+			.clock(this.clock)
+			.build();
+
+		assertThatThrownBy(crashing::run).isInstanceOf(UncheckedIOException.class).hasMessageContaining("disk full");
+		// the other worker finished its symbol and checkpointed it before the journal was
+		// closed
+		assertThat(this.stored).containsOnlyKeys("SLOW");
+
+		this.requests.clear();
+		downloader(List.of("AAPL", "SLOW"), checkpoint, this::store).run();
+		assertThat(this.requests).containsExactly("AAPL");
+	}
+
+	@Test
+	void shouldIgnoreTornLastLine() throws IOException {
+		Path checkpoint = this.tempDir.resolve("backfill.checkpoint");
+		downloader(List.of("AAPL", "MSFT"), checkpoint, this::store).run();
+		downloader(List.of("AAPL", "MSFT", "GOOG"), checkpoint, this::store).run();
+		// a crash while appending the record of GOOG
+		String content = Files.readString(checkpoint);
+		Files.writeString(checkpoint, content.substring(0, content.length() - 8));
+
+		this.requests.clear();
+		downloader(List.of("AAPL", "MSFT", "GOOG"), checkpoint, this::store).run();
+
+		assertThat(this.requests).containsExactly("GOOG");
+	}
+
+	private UniverseDownloader<HistorySeries> downloader(List<String> symbols, Path checkpoint,
+			UniverseDownloader.Sink<HistorySeries> sink) {
+		return UniverseDownloader.builder(this.yf, symbols, REQUEST)
+			.checkpointFile(checkpoint)
+			.sink(sink)
+			.parallelism(1)
+			.clock(this.clock)
+			.build();
+	}
+
+	private static void sleep(Duration duration) {
+		try {
+			Thread.sleep(duration.toMillis());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void store(String symbol, HistorySeries series) {
+		this.stored.put(symbol, series);
+	}
+
+}
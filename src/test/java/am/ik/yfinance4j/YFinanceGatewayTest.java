@@ -0,0 +1,190 @@
+package am.ik.yfinance4j;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import am.ik.yfinance4j.chart.ChartRequest;
+import am.ik.yfinance4j.chart.HistoryRecord;
+import am.ik.yfinance4j.mockserver.MockServer;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import am.ik.yfinance4j.quote.QuoteSummaryModule;
+import am.ik.yfinance4j.quote.StockInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class YFinanceGatewayTest {
+
+	private static final String CHART_JSON = """
+			{"chart":{"result":[{"meta":{"symbol":"AAPL","currency":"USD"},"timestamp":[1704205800,1704292200],
+			"indicators":{"quote":[{"open":[187.15,184.22],"high":[188.44,185.88],"low":[183.89,183.43],
+			"close":[185.64,184.25],"volume":[82488700,58414500]}]}}],"error":null}}""";
+
+	private final List<String> upstreamRequests = new CopyOnWriteArrayList<>();
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private volatile boolean blockChart;
+
+	private MockServer upstream;
+
+	private YFinanceGateway gateway;
+
+	private RestClient restClient;
+
+	@BeforeEach
+	void setUp() {
+		this.upstream = new MockServer(0, Executors.newFixedThreadPool(4));
+		this.upstream.GET("/cookie", request -> {
+			this.upstreamRequests.add("cookie");
+			return Response.builder().header("Set-Cookie", "A3=upstream").build();
+		});
+		this.upstream.GET("/crumb", request -> {
+			this.upstreamRequests.add("crumb");
+			return Response.ok("upstream-crumb");
+		});
+		this.upstream.route(request -> request.path().startsWith("/v8/finance/chart/"), request -> {
+			this.upstreamRequests.add(
+					request.path() + " crumb=" + request.queryParam("crumb") + " range=" + request.queryParam("range"));
+			if (this.blockChart) {
+				try {
+					this.release.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			if (request.path().endsWith("/NOPE")) {
+				return Response.builder().status(404).contentType("application/json").body("""
+						{"chart":{"result":null,"error":{"code":"Not Found",\
+						"description":"No data found, symbol may be delisted"}}}""").build();
+			}
+			return Response.json(CHART_JSON);
+		});
+		this.upstream.route(request -> request.path().startsWith("/v10/finance/quoteSummary/"), request -> {
+			this.upstreamRequests.add(request.path() + " modules=" + request.queryParam("modules"));
+			return Response.json("""
+					{"quoteSummary":{"result":[{"price":{"symbol":"AAPL",\
+					"regularMarketPrice":{"raw":185.64}}}],"error":null}}""");
+		});
+		this.upstream.run();
+		String baseUrl = "http://localhost:" + this.upstream.port();
+		this.restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		this.gateway = YFinanceGateway.builder(this.restClient)
+			.urls(YFinanceUrls.builder()
+				.cookieUrl(baseUrl + "/cookie")
+				.crumbUrl(baseUrl + "/crumb")
+				.chartUrl(baseUrl + "/v8/finance/chart/{ticker}")
+				.quoteSummaryUrl(baseUrl + "/v10/finance/quoteSummary/{ticker}")
+				.build())
+			.build();
+		this.gateway.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.release.countDown();
+		this.gateway.close();
+		this.upstream.close();
+	}
+
+	@Test
+	void shouldListenOnLoopbackByDefault() {
+		assertThat(this.gateway.address()).isEqualTo(InetAddress.getLoopbackAddress());
+		YFinance yf = new YFinance(this.restClient, this.gateway.urls());
+		assertThat(yf.ticker("AAPL").history(ChartRequest.builder().period(Period.FIVE_DAYS).build())).isNotEmpty();
+	}
+
+	@Test
+	void shouldShareOneSessionAndCacheAcrossClients() {
+		YFinance first = new YFinance(this.restClient, this.gateway.urls());
+		YFinance second = new YFinance(this.restClient, this.gateway.urls());
+		ChartRequest request = ChartRequest.builder().period(Period.FIVE_DAYS).build();
+
+		List<HistoryRecord> history = first.ticker("AAPL").history(request);
+		List<HistoryRecord> cached = second.ticker("AAPL").history(request);
+		StockInfo info = second.ticker("AAPL").info(QuoteSummaryModule.PRICE);
+
+		assertThat(history).hasSize(2);
+		assertThat(cached).isEqualTo(history);
+		assertThat(info.symbol()).hasValue("AAPL");
+		// the clients' own crumb is replaced with the one of the gateway's session
+		assertThat(this.upstreamRequests).containsExactly("cookie", "crumb",
+				"/v8/finance/chart/AAPL crumb=upstream-crumb range=5d", "/v10/finance/quoteSummary/AAPL modules=price");
+		assertThat(this.gateway.upstreamRequests()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldCoalesceConcurrentRequests() throws Exception {
+		this.blockChart = true;
+		ChartRequest request = ChartRequest.builder().period(Period.ONE_MONTH).build();
+		ExecutorService clients = Executors.newFixedThreadPool(8);
+		try {
+			List<CompletableFuture<List<HistoryRecord>>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				YFinance yf = new YFinance(this.restClient, this.gateway.urls());
+				futures.add(CompletableFuture.supplyAsync(() -> yf.ticker("AAPL").history(request), clients));
+			}
+			// let the clients reach the gateway before the upstream responds
+			Thread.sleep(300);
+			this.release.countDown();
+
+			for (CompletableFuture<List<HistoryRecord>> future : futures) {
+				assertThat(future.get(5, TimeUnit.SECONDS)).hasSize(2);
+			}
+		}
+		finally {
+			clients.shutdownNow();
+		}
+		assertThat(this.gateway.upstreamRequests()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldPassErrorsThroughWithoutCaching() {
+		YFinance yf = new YFinance(this.restClient, this.gateway.urls());
+		Ticker ticker = yf.ticker("NOPE");
+
+		assertThatThrownBy(ticker::history).isInstanceOf(SymbolNotFoundException.class);
+		assertThatThrownBy(ticker::history).isInstanceOf(SymbolNotFoundException.class);
+
+		assertThat(this.gateway.upstreamRequests()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldLimitUpstreamRate() {
+		this.gateway.close();
+		String baseUrl = "http://localhost:" + this.upstream.port();
+		this.gateway = YFinanceGateway.builder(this.restClient)
+			.urls(YFinanceUrls.builder()
+				.cookieUrl(baseUrl + "/cookie")
+				.crumbUrl(baseUrl + "/crumb")
+				.chartUrl(baseUrl + "/v8/finance/chart/{ticker}")
+				.build())
+			.rateLimit(10, 1)
+			.build();
+		this.gateway.start();
+		Ticker ticker = new YFinance(this.restClient, this.gateway.urls()).ticker("AAPL");
+
+		long start = System.nanoTime();
+		for (Period period : List.of(Period.ONE_DAY, Period.FIVE_DAYS, Period.ONE_MONTH, Period.THREE_MONTHS)) {
+			ticker.history(ChartRequest.builder().period(period).build());
+		}
+
+		// four distinct requests at 10 per second take at least 300ms
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(290));
+		assertThat(this.gateway.upstreamRequests()).isEqualTo(4);
+	}
+
+}
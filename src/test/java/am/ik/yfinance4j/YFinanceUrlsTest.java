@@ -166,6 +166,21 @@ class YFinanceUrlsTest {
 			.isEqualTo("https://query2.finance.yahoo.com/v8/finance/chart/{ticker}");
 		assertThat(YFinanceUrls.DEFAULT.quoteSummaryUrl())
 			.isEqualTo("https://query2.finance.yahoo.com/v10/finance/quoteSummary/{ticker}");
+		assertThat(YFinanceUrls.DEFAULT.chartUrls()).containsExactly(
+				"https://query2.finance.yahoo.com/v8/finance/chart/{ticker}",
+				"https://query1.finance.yahoo.com/v8/finance/chart/{ticker}");
+		assertThat(YFinanceUrls.DEFAULT.quoteSummaryUrls()).containsExactly(
+				"https://query2.finance.yahoo.com/v10/finance/quoteSummary/{ticker}",
+				"https://query1.finance.yahoo.com/v10/finance/quoteSummary/{ticker}");
+		assertThat(YFinanceUrls.DEFAULT.quoteUrls()).containsExactly(
+				"https://query2.finance.yahoo.com/v7/finance/quote",
+				"https://query1.finance.yahoo.com/v7/finance/quote");
+		assertThat(YFinanceUrls.DEFAULT.optionsUrl())
+			.isEqualTo("https://query2.finance.yahoo.com/v7/finance/options/{ticker}");
+		assertThat(YFinanceUrls.DEFAULT.timeseriesUrls()).containsExactly(
+				"https://query2.finance.yahoo.com/ws/fundamentals-timeseries/v1/finance/timeseries/{ticker}",
+				"https://query1.finance.yahoo.com/ws/fundamentals-timeseries/v1/finance/timeseries/{ticker}");
+		assertThat(YFinanceUrls.DEFAULT.searchUrl()).isEqualTo("https://query2.finance.yahoo.com/v1/finance/search");
 	}
 
 	@Test
@@ -178,4 +193,12 @@ class YFinanceUrlsTest {
 		assertThat(urls.quoteSummaryUrl()).isEqualTo(YFinanceUrls.DEFAULT.quoteSummaryUrl());
 	}
 
+	@Test
+	void singleUrlShouldReplaceAlternateHosts() {
+		YFinanceUrls urls = YFinanceUrls.builder().chartUrl("https://custom.example.com/chart/{ticker}").build();
+
+		assertThat(urls.chartUrls()).containsExactly("https://custom.example.com/chart/{ticker}");
+		assertThat(urls.quoteSummaryUrls()).isEqualTo(YFinanceUrls.DEFAULT.quoteSummaryUrls());
+	}
+
 }
@@ -0,0 +1,234 @@
+package am.ik.yfinance4j.arrow;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import am.ik.yfinance4j.chart.HistoryPanel;
+import am.ik.yfinance4j.chart.HistorySeries;
+import am.ik.yfinance4j.quote.StockInfo;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.apache.arrow.vector.util.Text;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ArrowExportTest {
+
+	private static final double NaN = Double.NaN;
+
+	private BufferAllocator allocator;
+
+	@BeforeEach
+	void setUp() {
+		this.allocator = new RootAllocator();
+	}
+
+	@AfterEach
+	void tearDown() {
+		assertThat(this.allocator.getAllocatedMemory()).isZero();
+		this.allocator.close();
+	}
+
+	@Test
+	void shouldWriteHistorySeriesInBatchesToStream() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (HistoryArrowWriter writer = HistoryArrowWriter.builder(out)
+			.allocator(this.allocator)
+			.batchSize(2)
+			.build()) {
+			writer.write("AAPL", series(new long[] { 100, 200, 300 }, new double[] { 10, 11, 12 }));
+			writer.write("MSFT", series(new long[] { 100 }, new double[] { 20 }));
+		}
+
+		List<List<Object>> rows = new ArrayList<>();
+		List<Integer> batches = new ArrayList<>();
+		try (ArrowReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), this.allocator)) {
+			assertThat(reader.getVectorSchemaRoot().getSchema()).isEqualTo(HistoryArrowWriter.schema());
+			while (reader.loadNextBatch()) {
+				batches.add(reader.getVectorSchemaRoot().getRowCount());
+				rows.addAll(rows(reader.getVectorSchemaRoot()));
+			}
+		}
+		assertThat(batches).containsExactly(2, 1, 1);
+		assertThat(rows).containsExactly(List.of("AAPL", 100L, 10.0, 11.0, 9.0, 10.5, 10.4, 1000L, 0.0, 0.0),
+				List.of("AAPL", 200L, 11.0, 12.0, 10.0, 11.5, 11.4, 1000L, 0.0, 0.0),
+				List.of("AAPL", 300L, 12.0, 13.0, 11.0, 12.5, 12.4, 1000L, 0.0, 0.0),
+				List.of("MSFT", 100L, 20.0, 21.0, 19.0, 20.5, 20.4, 1000L, 0.0, 0.0));
+	}
+
+	@Test
+	void shouldWritePanelToFileSkippingRowsWithoutClose() throws Exception {
+		Map<String, HistorySeries> series = new LinkedHashMap<>();
+		series.put("AAPL", series(new long[] { 100, 200, 300 }, new double[] { 10, 11, 12 }));
+		series.put("MSFT",
+				new HistorySeries(null, new long[] { 100, 300 }, new double[] { 20, NaN }, new double[] { 21, 31 },
+						new double[] { 19, 29 }, new double[] { 20.5, 30.5 }, new double[] { 20.4, 30.4 },
+						new long[] { 1000, 2000 }, new double[2], new double[2]));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (HistoryArrowWriter writer = HistoryArrowWriter.builder(out)
+			.format(ArrowFormat.FILE)
+			.allocator(this.allocator)
+			.build()) {
+			writer.write(HistoryPanel.of(series));
+		}
+
+		List<List<Object>> rows = new ArrayList<>();
+		try (ArrowFileReader reader = new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(out.toByteArray()),
+				this.allocator)) {
+			assertThat(reader.getRecordBlocks()).hasSize(2);
+			while (reader.loadNextBatch()) {
+				rows.addAll(rows(reader.getVectorSchemaRoot()));
+			}
+		}
+		assertThat(rows).hasSize(5);
+		assertThat(rows.get(3)).containsExactly("MSFT", 100L, 20.0, 21.0, 19.0, 20.5, 20.4, 1000L, null, null);
+		assertThat(rows.get(4)).containsExactly("MSFT", 300L, null, 31.0, 29.0, 30.5, 30.4, 2000L, null, null);
+	}
+
+	@Test
+	void shouldNotCloseOutputStream() throws Exception {
+		AtomicBoolean closed = new AtomicBoolean();
+		ByteArrayOutputStream out = new ByteArrayOutputStream() {
+			@Override
+			public void close() throws IOException {
+				closed.set(true);
+			}
+		};
+		HistoryArrowWriter.builder(out).allocator(this.allocator).build().close();
+		QuoteArrowWriter.builder(out).allocator(this.allocator).build().close();
+
+		assertThat(closed).isFalse();
+		assertThat(out.size()).isPositive();
+		assertThatIllegalArgumentException().isThrownBy(() -> HistoryArrowWriter.builder(out).batchSize(0));
+	}
+
+	@Test
+	void shouldInferQuoteColumnTypesFromFirstBatch() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (QuoteArrowWriter writer = QuoteArrowWriter.builder(out).allocator(this.allocator).build()) {
+			writer.write(List.of(
+					quote("regularMarketPrice", 185.64, "regularMarketVolume", 82488700L, "symbol", "AAPL", "tradeable",
+							false, "bid", 185),
+					quote("symbol", "MSFT", "regularMarketPrice", 370.87, "bid", 370.5, "earnings", Map.of("a", 1))));
+			writer.write(List.of(quote("symbol", "AAPL", "regularMarketPrice", 186, "regularMarketVolume", "n/a")));
+		}
+
+		List<List<Object>> rows = new ArrayList<>();
+		try (ArrowReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), this.allocator)) {
+			VectorSchemaRoot root = reader.getVectorSchemaRoot();
+			assertThat(root.getSchema().getFields()).extracting(Field::getName)
+				.containsExactly("symbol", "regularMarketPrice", "regularMarketVolume", "tradeable", "bid");
+			assertThat(root.getSchema().getFields()).extracting(Field::getType)
+				.containsExactly(ArrowType.Utf8.INSTANCE, new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE),
+						new ArrowType.Int(64, true), ArrowType.Bool.INSTANCE,
+						new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE));
+			while (reader.loadNextBatch()) {
+				rows.addAll(rows(root));
+			}
+		}
+		assertThat(rows).containsExactly(List.of("AAPL", 185.64, 82488700L, false, 185.0),
+				Arrays.asList("MSFT", 370.87, null, null, 370.5), Arrays.asList("AAPL", 186.0, null, null, null));
+	}
+
+	@Test
+	void shouldKeepFractionalPricesAfterWholeFirstBatch() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (QuoteArrowWriter writer = QuoteArrowWriter.builder(out).allocator(this.allocator).build()) {
+			writer.write(List.of(quote("symbol", "7203.T", "regularMarketPrice", 2850, "regularMarketVolume", 100)));
+			writer.write(List.of(quote("symbol", "7203.T", "regularMarketPrice", 2851.5, "regularMarketVolume", 200)));
+			assertThatIllegalArgumentException()
+				.isThrownBy(() -> writer
+					.write(List.of(quote("symbol", "7203.T", "regularMarketPrice", 2852, "regularMarketVolume", 0.5))))
+				.withMessageContaining("regularMarketVolume");
+		}
+
+		List<List<Object>> rows = new ArrayList<>();
+		try (ArrowReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), this.allocator)) {
+			VectorSchemaRoot root = reader.getVectorSchemaRoot();
+			assertThat(root.getSchema().getFields()).extracting(Field::getType)
+				.containsExactly(ArrowType.Utf8.INSTANCE, new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE),
+						new ArrowType.Int(64, true));
+			while (reader.loadNextBatch()) {
+				rows.addAll(rows(root));
+			}
+		}
+		assertThat(rows).containsExactly(List.of("7203.T", 2850.0, 100L), List.of("7203.T", 2851.5, 200L));
+	}
+
+	@Test
+	void shouldWriteConfiguredQuoteFieldsToFile() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (QuoteArrowWriter writer = QuoteArrowWriter.builder(out)
+			.format(ArrowFormat.FILE)
+			.fields(List.of("symbol", "regularMarketPrice"))
+			.allocator(this.allocator)
+			.build()) {
+			writer.write(List.of(quote("symbol", "AAPL", "regularMarketPrice", 185.64, "bid", 185.5)));
+		}
+
+		try (ArrowFileReader reader = new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(out.toByteArray()),
+				this.allocator)) {
+			assertThat(reader.loadNextBatch()).isTrue();
+			assertThat(rows(reader.getVectorSchemaRoot())).containsExactly(List.of("AAPL", 185.64));
+		}
+	}
+
+	private static HistorySeries series(long[] timestamps, double[] open) {
+		int n = timestamps.length;
+		double[] high = new double[n];
+		double[] low = new double[n];
+		double[] close = new double[n];
+		double[] adjClose = new double[n];
+		long[] volume = new long[n];
+		for (int i = 0; i < n; i++) {
+			high[i] = open[i] + 1;
+			low[i] = open[i] - 1;
+			close[i] = open[i] + 0.5;
+			adjClose[i] = open[i] + 0.4;
+			volume[i] = 1000;
+		}
+		return new HistorySeries(null, timestamps, open, high, low, close, adjClose, volume, new double[n],
+				new double[n]);
+	}
+
+	private static StockInfo quote(Object... keyValues) {
+		Map<String, Object> raw = new LinkedHashMap<>();
+		for (int i = 0; i < keyValues.length; i += 2) {
+			raw.put((String) keyValues[i], keyValues[i + 1]);
+		}
+		return new StockInfo(raw);
+	}
+
+	private static List<List<Object>> rows(VectorSchemaRoot root) {
+		List<List<Object>> rows = new ArrayList<>();
+		for (int i = 0; i < root.getRowCount(); i++) {
+			List<Object> row = new ArrayList<>();
+			for (int c = 0; c < root.getFieldVectors().size(); c++) {
+				Object value = root.getVector(c).getObject(i);
+				row.add((value instanceof Text text) ? text.toString() : value);
+			}
+			rows.add(row);
+		}
+		return rows;
+	}
+
+}
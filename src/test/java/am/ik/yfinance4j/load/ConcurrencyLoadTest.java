@@ -0,0 +1,140 @@
+package am.ik.yfinance4j.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import am.ik.yfinance4j.CrumbManager;
+import am.ik.yfinance4j.YFinance;
+import am.ik.yfinance4j.mockserver.Fixture;
+import am.ik.yfinance4j.mockserver.Fixture.Kind;
+import am.ik.yfinance4j.mockserver.LatencyDistribution;
+import am.ik.yfinance4j.mockserver.ReplayServer;
+import am.ik.yfinance4j.quote.QuoteSummaryModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Exercises {@link YFinance} and {@link CrumbManager} under real concurrency against a
+ * multi-threaded {@link ReplayServer}. The load can be raised to production rates with
+ * {@code -Dyfinance4j.load.workers=<n>} and {@code -Dyfinance4j.load.requests=<n>}.
+ */
+class ConcurrencyLoadTest {
+
+	private static final int WORKERS = Integer.getInteger("yfinance4j.load.workers", 16);
+
+	private static final int REQUESTS = Integer.getInteger("yfinance4j.load.requests", 20);
+
+	@TempDir
+	static Path fixtures;
+
+	private ReplayServer replay;
+
+	private CrumbManager crumbManager;
+
+	private YFinance yf;
+
+	@BeforeAll
+	static void writeFixtures() {
+		new Fixture(Kind.COOKIE, "/cookie", Map.of(), 404, Map.of("Set-Cookie", "A3=load; path=/"), "").write(fixtures);
+		new Fixture(Kind.CRUMB, "/crumb", Map.of(), 200, Map.of("Content-Type", "text/plain"), "load-crumb")
+			.write(fixtures);
+		new Fixture(Kind.CHART, "/v8/finance/chart/AAPL", Map.of(), 200, Map.of("Content-Type", "application/json"), """
+				{"chart":{"result":[{"meta":{"symbol":"AAPL","currency":"USD"},
+				"timestamp":[1700000000,1700086400,1700172800],
+				"indicators":{"quote":[{"open":[148.0,149.0,150.0],"high":[151.0,152.0,153.0],
+				"low":[147.0,148.5,149.0],"close":[150.0,151.0,152.0],"volume":[1000000,1200000,1100000]}],
+				"adjclose":[{"adjclose":[149.5,150.5,151.5]}]}}],"error":null}}
+				""").write(fixtures);
+		new Fixture(Kind.QUOTE_SUMMARY, "/v10/finance/quoteSummary/AAPL", Map.of(), 200,
+				Map.of("Content-Type", "application/json"), """
+						{"quoteSummary":{"result":[{"price":{"shortName":"Apple Inc.","currency":"USD",
+						"regularMarketPrice":{"raw":150.0,"fmt":"150.00"}}}],"error":null}}
+						""")
+			.write(fixtures);
+	}
+
+	@BeforeEach
+	void setUp() {
+		this.replay = ReplayServer.builder(fixtures)
+			.threads(32)
+			.latency(LatencyDistribution.logNormal(Duration.ofMillis(2), 0.5))
+			.start();
+		RestClient restClient = RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).build();
+		this.crumbManager = new CrumbManager(restClient, this.replay.urls());
+		this.yf = YFinance.builder(restClient).urls(this.replay.urls()).crumbManager(this.crumbManager).build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.replay.close();
+	}
+
+	@Test
+	void platformThreads() throws Exception {
+		LoadReport report = LoadTestHarness.scenario("platform threads")
+			.workers(WORKERS)
+			.requestsPerWorker(REQUESTS)
+			.crumbRefreshes(this.crumbManager::refreshCount)
+			.run(this::historyAndInfo);
+		assertConsistent(report);
+
+		assertThat(report.errors()).isZero();
+		assertThat(report.requests()).isEqualTo((long) WORKERS * REQUESTS);
+		// concurrent first use must not trigger one handshake per thread
+		assertThat(report.crumbRefreshes()).isEqualTo(1);
+		assertThat(this.replay.requests(Kind.CRUMB)).isEqualTo(1);
+	}
+
+	@Test
+	void virtualThreads() throws Exception {
+		assumeTrue(LoadTestHarness.virtualThreadsSupported(), "virtual threads require Java 21+");
+		LoadReport report = LoadTestHarness.scenario("virtual threads")
+			.workers(WORKERS * 4)
+			.requestsPerWorker(Math.max(1, REQUESTS / 4))
+			.virtualThreads(true)
+			.crumbRefreshes(this.crumbManager::refreshCount)
+			.run(this::historyAndInfo);
+		assertConsistent(report);
+
+		assertThat(report.errors()).isZero();
+		assertThat(report.crumbRefreshes()).isEqualTo(1);
+	}
+
+	@Test
+	void crumbInvalidatedMidRun() throws Exception {
+		LoadReport report = LoadTestHarness.scenario("crumb invalidated mid-run")
+			.workers(WORKERS)
+			.requestsPerWorker(REQUESTS)
+			.crumbRefreshes(this.crumbManager::refreshCount)
+			.midRun(this.replay::rotateCrumb)
+			.run(this::historyAndInfo);
+		assertConsistent(report);
+
+		assertThat(report.errors()).isZero();
+		// the initial handshake plus exactly one refresh shared by all rejected requests
+		assertThat(report.crumbRefreshes()).isEqualTo(2);
+		assertThat(this.crumbManager.crumb()).isEqualTo(this.replay.currentCrumb());
+	}
+
+	private static void assertConsistent(LoadReport report) {
+		assertThat(report.p50()).isLessThanOrEqualTo(report.p90());
+		assertThat(report.p90()).isLessThanOrEqualTo(report.p99());
+		assertThat(report.p99()).isLessThanOrEqualTo(report.max());
+		assertThat(report.throughput()).isPositive();
+	}
+
+	private void historyAndInfo() {
+		assertThat(this.yf.ticker("AAPL").history()).hasSize(3);
+		assertThat(this.yf.ticker("AAPL").info(QuoteSummaryModule.PRICE).shortName()).hasValue("Apple Inc.");
+	}
+
+}
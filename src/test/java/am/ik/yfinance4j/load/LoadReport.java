@@ -0,0 +1,46 @@
+package am.ik.yfinance4j.load;
+
+import java.time.Duration;
+
+/**
+ * Result of a {@link LoadTestHarness} run.
+ *
+ * @param scenario the scenario name
+ * @param workers the number of concurrent workers
+ * @param requests the number of completed requests (successful or not)
+ * @param errors the number of failed requests
+ * @param elapsed the wall-clock duration of the run
+ * @param p50 the median latency
+ * @param p90 the 90th percentile latency
+ * @param p99 the 99th percentile latency
+ * @param max the maximum latency
+ * @param allocatedBytes bytes allocated by the worker threads, or -1 if not measurable
+ * @param crumbRefreshes cookie/crumb refreshes performed during the run
+ */
+public record LoadReport(String scenario, int workers, long requests, long errors, Duration elapsed, Duration p50,
+		Duration p90, Duration p99, Duration max, long allocatedBytes, long crumbRefreshes) {
+
+	public double throughput() {
+		return this.requests / Math.max(1e-9, this.elapsed.toNanos() / 1e9);
+	}
+
+	public double allocationRateMbPerSecond() {
+		if (this.allocatedBytes < 0) {
+			return Double.NaN;
+		}
+		return this.allocatedBytes / 1_048_576.0 / Math.max(1e-9, this.elapsed.toNanos() / 1e9);
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"%-28s workers=%4d requests=%6d errors=%4d throughput=%9.1f req/s p50=%6.2fms p90=%6.2fms p99=%6.2fms max=%7.2fms alloc=%8.1f MB/s crumbRefreshes=%d",
+				this.scenario, this.workers, this.requests, this.errors, throughput(), millis(this.p50),
+				millis(this.p90), millis(this.p99), millis(this.max), allocationRateMbPerSecond(), this.crumbRefreshes);
+	}
+
+	private static double millis(Duration duration) {
+		return duration.toNanos() / 1e6;
+	}
+
+}
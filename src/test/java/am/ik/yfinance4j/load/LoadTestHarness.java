@@ -0,0 +1,173 @@
+package am.ik.yfinance4j.load;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Drives a request concurrently from many workers and collects throughput, latency
+ * percentiles, allocation and crumb refresh counts.
+ *
+ * <pre>{@code
+ * LoadReport report = LoadTestHarness.scenario("history")
+ *     .workers(64)
+ *     .requestsPerWorker(100)
+ *     .crumbRefreshes(crumbManager::refreshCount)
+ *     .run(() -> yf.ticker("AAPL").history());
+ * }</pre>
+ */
+public final class LoadTestHarness {
+
+	private final String scenario;
+
+	private int workers = Runtime.getRuntime().availableProcessors();
+
+	private int requestsPerWorker = 100;
+
+	private boolean virtualThreads;
+
+	private LongSupplier crumbRefreshes = () -> 0;
+
+	private Runnable midRun = () -> {
+	};
+
+	private LoadTestHarness(String scenario) {
+		this.scenario = scenario;
+	}
+
+	public static LoadTestHarness scenario(String scenario) {
+		return new LoadTestHarness(scenario);
+	}
+
+	/**
+	 * Returns whether the running JVM supports virtual threads (Java 21+). The library
+	 * targets Java 17, so they are created reflectively.
+	 */
+	public static boolean virtualThreadsSupported() {
+		return Runtime.version().feature() >= 21;
+	}
+
+	public LoadTestHarness workers(int workers) {
+		this.workers = workers;
+		return this;
+	}
+
+	public LoadTestHarness requestsPerWorker(int requestsPerWorker) {
+		this.requestsPerWorker = requestsPerWorker;
+		return this;
+	}
+
+	public LoadTestHarness virtualThreads(boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+		return this;
+	}
+
+	public LoadTestHarness crumbRefreshes(LongSupplier crumbRefreshes) {
+		this.crumbRefreshes = crumbRefreshes;
+		return this;
+	}
+
+	/**
+	 * Sets an action executed once, when half of all requests have completed.
+	 */
+	public LoadTestHarness midRun(Runnable midRun) {
+		this.midRun = midRun;
+		return this;
+	}
+
+	public LoadReport run(Runnable request) throws Exception {
+		long total = (long) this.workers * this.requestsPerWorker;
+		long[][] latencies = new long[this.workers][this.requestsPerWorker];
+		AtomicLong completed = new AtomicLong();
+		AtomicLong errors = new AtomicLong();
+		AtomicLong allocated = new AtomicLong();
+		AtomicBoolean allocationMeasurable = new AtomicBoolean(true);
+		AtomicBoolean midRunDone = new AtomicBoolean();
+		CountDownLatch startSignal = new CountDownLatch(1);
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		long refreshesBefore = this.crumbRefreshes.getAsLong();
+		List<Future<?>> futures = new ArrayList<>(this.workers);
+		ExecutorService executor = newExecutor();
+		try {
+			for (int w = 0; w < this.workers; w++) {
+				long[] workerLatencies = latencies[w];
+				futures.add(executor.submit(() -> {
+					startSignal.await();
+					long allocatedBefore = allocatedBytes(threads);
+					for (int i = 0; i < this.requestsPerWorker; i++) {
+						long start = System.nanoTime();
+						try {
+							request.run();
+						}
+						catch (RuntimeException ex) {
+							errors.incrementAndGet();
+						}
+						workerLatencies[i] = System.nanoTime() - start;
+						if (completed.incrementAndGet() >= total / 2 && midRunDone.compareAndSet(false, true)) {
+							this.midRun.run();
+						}
+					}
+					long allocatedAfter = allocatedBytes(threads);
+					if (allocatedBefore < 0 || allocatedAfter < 0) {
+						allocationMeasurable.set(false);
+					}
+					else {
+						allocated.addAndGet(allocatedAfter - allocatedBefore);
+					}
+					return null;
+				}));
+			}
+			long start = System.nanoTime();
+			startSignal.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+			long[] sorted = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+			return new LoadReport(this.scenario, this.workers, completed.get(), errors.get(), elapsed,
+					percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+					Duration.ofNanos(sorted.length == 0 ? 0 : sorted[sorted.length - 1]),
+					allocationMeasurable.get() ? allocated.get() : -1,
+					this.crumbRefreshes.getAsLong() - refreshesBefore);
+		}
+		finally {
+			executor.shutdownNow();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+	}
+
+	private ExecutorService newExecutor() throws ReflectiveOperationException {
+		if (this.virtualThreads) {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}
+		return Executors.newFixedThreadPool(this.workers);
+	}
+
+	private static long allocatedBytes(ThreadMXBean threads) {
+		if (threads instanceof com.sun.management.ThreadMXBean sunThreads
+				&& sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled()) {
+			return sunThreads.getCurrentThreadAllocatedBytes();
+		}
+		return -1;
+	}
+
+	private static Duration percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return Duration.ZERO;
+		}
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return Duration.ofNanos(sorted[Math.min(Math.max(index, 0), sorted.length - 1)]);
+	}
+
+}
@@ -0,0 +1,140 @@
+package am.ik.yfinance4j.mockserver;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * A recorded HTTP exchange with Yahoo Finance. Each fixture is stored as a pair of files
+ * in a fixture directory: {@code <name>.properties} holding the request and response
+ * metadata and {@code <name>.body} holding the exact response payload.
+ */
+public record Fixture(Kind kind, String path, Map<String, String> query, int status, Map<String, String> headers,
+		String body) {
+
+	public enum Kind {
+
+		COOKIE, CRUMB, CHART, QUOTE_SUMMARY, OTHER;
+
+		static Kind of(URI uri) {
+			String path = uri.getPath() == null ? "" : uri.getPath();
+			if (path.contains("/finance/chart/")) {
+				return CHART;
+			}
+			if (path.contains("/finance/quoteSummary/")) {
+				return QUOTE_SUMMARY;
+			}
+			if (path.contains("getcrumb") || path.endsWith("/crumb")) {
+				return CRUMB;
+			}
+			if ("fc.yahoo.com".equals(uri.getHost()) || path.endsWith("/cookie")) {
+				return COOKIE;
+			}
+			return OTHER;
+		}
+
+	}
+
+	/**
+	 * Parses a raw query string the same way {@link MockServer.Request} does, dropping
+	 * the {@code crumb} parameter since it differs between sessions.
+	 */
+	public static Map<String, String> normalizeQuery(String rawQuery) {
+		Map<String, String> params = new HashMap<>();
+		if (rawQuery != null && !rawQuery.isEmpty()) {
+			for (String pair : rawQuery.split("&")) {
+				String[] keyValue = pair.split("=", 2);
+				if (keyValue.length == 2 && !keyValue[0].equals("crumb")) {
+					params.put(keyValue[0], keyValue[1]);
+				}
+			}
+		}
+		return params;
+	}
+
+	/**
+	 * Returns whether this fixture answers a request with the given path and query.
+	 */
+	public boolean matches(String requestPath, Map<String, String> requestQuery) {
+		if (!this.path.equals(requestPath)) {
+			return false;
+		}
+		Map<String, String> normalized = new HashMap<>(requestQuery);
+		normalized.remove("crumb");
+		return this.query.equals(normalized);
+	}
+
+	public String name() {
+		String base = this.kind.name().toLowerCase() + "-" + this.path.replaceAll("[^A-Za-z0-9._-]", "_");
+		return base + "-" + Integer.toHexString(this.query.hashCode());
+	}
+
+	public void write(Path directory) {
+		Properties properties = new Properties();
+		properties.setProperty("kind", this.kind.name());
+		properties.setProperty("path", this.path);
+		properties.setProperty("status", String.valueOf(this.status));
+		this.query.forEach((key, value) -> properties.setProperty("query." + key, value));
+		this.headers.forEach((key, value) -> properties.setProperty("header." + key, value));
+		try {
+			Files.createDirectories(directory);
+			try (Writer writer = Files.newBufferedWriter(directory.resolve(name() + ".properties"))) {
+				properties.store(writer, "yfinance4j fixture");
+			}
+			Files.writeString(directory.resolve(name() + ".body"), this.body, StandardCharsets.UTF_8);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public static List<Fixture> load(Path directory) {
+		List<Fixture> fixtures = new ArrayList<>();
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : files.sorted().toList()) {
+				String fileName = file.getFileName().toString();
+				if (fileName.endsWith(".properties")) {
+					String name = fileName.substring(0, fileName.length() - ".properties".length());
+					fixtures.add(read(file, directory.resolve(name + ".body")));
+				}
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return fixtures;
+	}
+
+	private static Fixture read(Path metadata, Path body) throws IOException {
+		Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(metadata)) {
+			properties.load(reader);
+		}
+		Map<String, String> query = new HashMap<>();
+		Map<String, String> headers = new LinkedHashMap<>();
+		for (String key : properties.stringPropertyNames()) {
+			if (key.startsWith("query.")) {
+				query.put(key.substring("query.".length()), properties.getProperty(key));
+			}
+			else if (key.startsWith("header.")) {
+				headers.put(key.substring("header.".length()), properties.getProperty(key));
+			}
+		}
+		return new Fixture(Kind.valueOf(properties.getProperty("kind")), properties.getProperty("path"), query,
+				Integer.parseInt(properties.getProperty("status")), headers,
+				Files.exists(body) ? Files.readString(body, StandardCharsets.UTF_8) : "");
+	}
+
+}
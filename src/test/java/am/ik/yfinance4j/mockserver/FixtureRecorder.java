@@ -0,0 +1,118 @@
+package am.ik.yfinance4j.mockserver;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import am.ik.yfinance4j.mockserver.Fixture.Kind;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * {@link ClientHttpRequestInterceptor} that captures the cookie, crumb, chart and
+ * quoteSummary exchanges of a {@code RestClient} into a fixture directory that can be
+ * served by {@link ReplayServer}.
+ *
+ * <pre>{@code
+ * RestClient restClient = RestClient.builder()
+ *     .requestInterceptor(new FixtureRecorder(Path.of("target/fixtures")))
+ *     .build();
+ * }</pre>
+ */
+public class FixtureRecorder implements ClientHttpRequestInterceptor {
+
+	private static final String[] RECORDED_HEADERS = { HttpHeaders.CONTENT_TYPE, HttpHeaders.SET_COOKIE };
+
+	private final Path directory;
+
+	private final AtomicInteger recorded = new AtomicInteger();
+
+	public FixtureRecorder(Path directory) {
+		this.directory = directory;
+	}
+
+	public int recorded() {
+		return this.recorded.get();
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		ClientHttpResponse response = execution.execute(request, body);
+		URI uri = request.getURI();
+		Kind kind = Kind.of(uri);
+		if (kind == Kind.OTHER) {
+			return response;
+		}
+		byte[] payload;
+		try (InputStream in = response.getBody()) {
+			payload = in.readAllBytes();
+		}
+		Map<String, String> headers = new LinkedHashMap<>();
+		for (String name : RECORDED_HEADERS) {
+			String value = response.getHeaders().getFirst(name);
+			if (value != null) {
+				headers.put(name, value);
+			}
+		}
+		String path = switch (kind) {
+			case COOKIE -> "/cookie";
+			case CRUMB -> "/crumb";
+			default -> uri.getPath();
+		};
+		new Fixture(kind, path, Fixture.normalizeQuery(uri.getRawQuery()), response.getStatusCode().value(), headers,
+				new String(payload, StandardCharsets.UTF_8))
+			.write(this.directory);
+		this.recorded.incrementAndGet();
+		return new BufferedResponse(response, payload);
+	}
+
+	private static final class BufferedResponse implements ClientHttpResponse {
+
+		private final ClientHttpResponse delegate;
+
+		private final byte[] body;
+
+		BufferedResponse(ClientHttpResponse delegate, byte[] body) {
+			this.delegate = delegate;
+			this.body = body;
+		}
+
+		@Override
+		public HttpStatusCode getStatusCode() throws IOException {
+			return this.delegate.getStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return this.delegate.getStatusText();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.delegate.getHeaders();
+		}
+
+		@Override
+		public InputStream getBody() {
+			return new ByteArrayInputStream(this.body);
+		}
+
+		@Override
+		public void close() {
+			this.delegate.close();
+		}
+
+	}
+
+}
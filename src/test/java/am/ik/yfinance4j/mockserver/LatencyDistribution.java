@@ -0,0 +1,38 @@
+package am.ik.yfinance4j.mockserver;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribution of simulated response latencies used by {@link ReplayServer}.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+	Duration sample(RandomGenerator random);
+
+	static LatencyDistribution none() {
+		return random -> Duration.ZERO;
+	}
+
+	static LatencyDistribution fixed(Duration latency) {
+		return random -> latency;
+	}
+
+	static LatencyDistribution uniform(Duration min, Duration max) {
+		long minNanos = min.toNanos();
+		long maxNanos = max.toNanos();
+		return random -> Duration.ofNanos(minNanos + (long) (random.nextDouble() * (maxNanos - minNanos)));
+	}
+
+	/**
+	 * Log-normal distribution, which resembles real request latencies with a long tail.
+	 * @param median the median latency
+	 * @param sigma the standard deviation of the underlying normal distribution
+	 */
+	static LatencyDistribution logNormal(Duration median, double sigma) {
+		double mu = Math.log(median.toNanos());
+		return random -> Duration.ofNanos((long) Math.exp(mu + sigma * random.nextGaussian()));
+	}
+
+}
@@ -13,12 +13,20 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 public class MockServer implements AutoCloseable {
 
+	static {
+		// without TCP_NODELAY every response waits for the client's delayed ACK (~40ms)
+		if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+	}
+
 	private final HttpServer server;
 
 	private final List<Rule> rules = new ArrayList<>();
@@ -27,9 +35,19 @@ public class MockServer implements AutoCloseable {
 
 	private final HttpContext context;
 
+	private final ExecutorService executor;
+
 	private Response fallbackResponse = Response.notFound();
 
 	public MockServer(int port) {
+		this(port, Executors.newSingleThreadExecutor());
+	}
+
+	/**
+	 * Creates a mock server handling requests on the given executor. Use a multi-threaded
+	 * executor when handlers are slow or when the server is driven concurrently.
+	 */
+	public MockServer(int port, ExecutorService executor) {
 		try {
 			this.server = HttpServer.create(new InetSocketAddress(port), 0);
 		}
@@ -38,7 +56,8 @@ public class MockServer implements AutoCloseable {
 		}
 		this.port = port;
 		this.context = this.server.createContext("/", new MockHandler());
-		this.server.setExecutor(Executors.newSingleThreadExecutor());
+		this.executor = executor;
+		this.server.setExecutor(executor);
 	}
 
 	public void addFilter(Filter filter) {
@@ -46,7 +65,7 @@ public class MockServer implements AutoCloseable {
 	}
 
 	public int port() {
-		return port;
+		return port != 0 ? port : server.getAddress().getPort();
 	}
 
 	public MockServer GET(String path, Function<Request, Response> responseFunction) {
@@ -100,6 +119,7 @@ public class MockServer implements AutoCloseable {
 	@Override
 	public void close() {
 		server.stop(0);
+		executor.shutdownNow();
 	}
 
 	public record Request(HttpMethod method, String path, Map<String, String> queryParams, String body) {
@@ -0,0 +1,74 @@
+package am.ik.yfinance4j.mockserver;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes {@code PricingData} protobuf messages for {@link StreamingServer}. Only the
+ * fields set on the encoder are written, in the order they are set.
+ */
+public class PricingEncoder {
+
+	private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+	public PricingEncoder string(int field, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		tag(field, 2);
+		varint(bytes.length);
+		this.out.writeBytes(bytes);
+		return this;
+	}
+
+	public PricingEncoder float32(int field, float value) {
+		tag(field, 5);
+		int bits = Float.floatToIntBits(value);
+		for (int i = 0; i < 4; i++) {
+			this.out.write(bits >>> (8 * i));
+		}
+		return this;
+	}
+
+	public PricingEncoder float64(int field, double value) {
+		tag(field, 1);
+		long bits = Double.doubleToLongBits(value);
+		for (int i = 0; i < 8; i++) {
+			this.out.write((int) (bits >>> (8 * i)));
+		}
+		return this;
+	}
+
+	public PricingEncoder sint64(int field, long value) {
+		tag(field, 0);
+		varint((value << 1) ^ (value >> 63));
+		return this;
+	}
+
+	public PricingEncoder int32(int field, int value) {
+		tag(field, 0);
+		varint(value);
+		return this;
+	}
+
+	public byte[] toByteArray() {
+		return this.out.toByteArray();
+	}
+
+	public String toBase64() {
+		return Base64.getEncoder().encodeToString(toByteArray());
+	}
+
+	private void tag(int field, int wireType) {
+		varint(((long) field << 3) | wireType);
+	}
+
+	private void varint(long value) {
+		long v = value;
+		while ((v & ~0x7FL) != 0) {
+			this.out.write((int) ((v & 0x7F) | 0x80));
+			v >>>= 7;
+		}
+		this.out.write((int) v);
+	}
+
+}
@@ -0,0 +1,287 @@
+package am.ik.yfinance4j.mockserver;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import am.ik.yfinance4j.YFinanceUrls;
+import am.ik.yfinance4j.mockserver.Fixture.Kind;
+import am.ik.yfinance4j.mockserver.MockServer.Request;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+
+/**
+ * Serves fixtures captured by {@link FixtureRecorder} on top of {@link MockServer}, with
+ * configurable latency, 429/401 injection and crumb rotation. Requests carrying a crumb
+ * other than the current one are rejected with 401 like Yahoo Finance does.
+ *
+ * <pre>{@code
+ * try (ReplayServer replay = ReplayServer.builder(Path.of("src/test/resources/fixtures"))
+ *         .latency(LatencyDistribution.logNormal(Duration.ofMillis(80), 0.5))
+ *         .tooManyRequestsRate(0.01)
+ *         .start()) {
+ *     YFinance yf = new YFinance(restClient, replay.urls());
+ * }
+ * }</pre>
+ */
+public class ReplayServer implements AutoCloseable {
+
+	private static final String INVALID_CRUMB = """
+			{"finance":{"result":null,"error":{"code":"Unauthorized","description":"Invalid Crumb"}}}""";
+
+	private static final String TOO_MANY_REQUESTS = "Too Many Requests";
+
+	private final MockServer server;
+
+	private final List<Fixture> fixtures;
+
+	private final LatencyDistribution latency;
+
+	private final double tooManyRequestsRate;
+
+	private final double unauthorizedRate;
+
+	private final long crumbRotationNanos;
+
+	private final SplittableRandom random;
+
+	private final String recordedCrumb;
+
+	private final AtomicInteger crumbGeneration = new AtomicInteger();
+
+	private final AtomicLong lastRotation = new AtomicLong(System.nanoTime());
+
+	private final Map<Kind, AtomicLong> requests = new EnumMap<>(Kind.class);
+
+	private final AtomicLong injectedErrors = new AtomicLong();
+
+	private ReplayServer(Builder builder) {
+		this.fixtures = Fixture.load(builder.directory);
+		this.latency = builder.latency;
+		this.tooManyRequestsRate = builder.tooManyRequestsRate;
+		this.unauthorizedRate = builder.unauthorizedRate;
+		this.crumbRotationNanos = builder.crumbRotation.toNanos();
+		this.random = new SplittableRandom(builder.seed);
+		this.recordedCrumb = this.fixtures.stream()
+			.filter(fixture -> fixture.kind() == Kind.CRUMB)
+			.map(Fixture::body)
+			.findFirst()
+			.orElse("replay-crumb");
+		for (Kind kind : Kind.values()) {
+			this.requests.put(kind, new AtomicLong());
+		}
+		this.server = new MockServer(builder.port, Executors.newFixedThreadPool(builder.threads));
+		this.server.GET("/cookie", request -> cookie());
+		this.server.GET("/crumb", request -> respond(Kind.CRUMB, () -> Response.ok(currentCrumb())));
+		this.server.route(request -> request.path().contains("/finance/chart/"),
+				request -> respond(Kind.CHART, () -> replay(request)));
+		this.server.route(request -> request.path().contains("/finance/quoteSummary/"),
+				request -> respond(Kind.QUOTE_SUMMARY, () -> replay(request)));
+	}
+
+	public static Builder builder(Path directory) {
+		return new Builder(directory);
+	}
+
+	public int port() {
+		return this.server.port();
+	}
+
+	public String baseUrl() {
+		return "http://localhost:" + port();
+	}
+
+	/**
+	 * Returns {@link YFinanceUrls} pointing every endpoint at this server.
+	 */
+	public YFinanceUrls urls() {
+		return YFinanceUrls.builder()
+			.cookieUrl(baseUrl() + "/cookie")
+			.crumbUrl(baseUrl() + "/crumb")
+			.chartUrl(baseUrl() + "/v8/finance/chart/{ticker}")
+			.quoteSummaryUrl(baseUrl() + "/v10/finance/quoteSummary/{ticker}")
+			.build();
+	}
+
+	/**
+	 * Invalidates the current crumb immediately.
+	 */
+	public void rotateCrumb() {
+		this.crumbGeneration.incrementAndGet();
+		this.lastRotation.set(System.nanoTime());
+	}
+
+	public String currentCrumb() {
+		if (this.crumbRotationNanos > 0) {
+			long last = this.lastRotation.get();
+			long now = System.nanoTime();
+			if (now - last >= this.crumbRotationNanos && this.lastRotation.compareAndSet(last, now)) {
+				this.crumbGeneration.incrementAndGet();
+			}
+		}
+		int generation = this.crumbGeneration.get();
+		return generation == 0 ? this.recordedCrumb : this.recordedCrumb + "-" + generation;
+	}
+
+	public long requests(Kind kind) {
+		return this.requests.get(kind).get();
+	}
+
+	public long injectedErrors() {
+		return this.injectedErrors.get();
+	}
+
+	@Override
+	public void close() {
+		this.server.close();
+	}
+
+	private Response cookie() {
+		return respond(Kind.COOKIE,
+				() -> this.fixtures.stream()
+					.filter(fixture -> fixture.kind() == Kind.COOKIE)
+					.findFirst()
+					.map(ReplayServer::toResponse)
+					.orElseGet(() -> Response.builder().status(404).header("Set-Cookie", "A3=replay; path=/").build()));
+	}
+
+	private Response replay(Request request) {
+		if (!currentCrumb().equals(request.queryParam("crumb"))) {
+			return Response.builder().status(401).contentType("application/json").body(INVALID_CRUMB).build();
+		}
+		Response fallback = null;
+		for (Fixture fixture : this.fixtures) {
+			if (fixture.matches(request.path(), request.queryParams())) {
+				return toResponse(fixture);
+			}
+			if (fallback == null && fixture.path().equals(request.path())) {
+				fallback = toResponse(fixture);
+			}
+		}
+		return fallback != null ? fallback : Response.notFound();
+	}
+
+	private Response respond(Kind kind, Supplier<Response> response) {
+		this.requests.get(kind).incrementAndGet();
+		double tooManyRequests;
+		double unauthorized;
+		Duration delay;
+		synchronized (this.random) {
+			tooManyRequests = this.random.nextDouble();
+			unauthorized = this.random.nextDouble();
+			delay = this.latency.sample(this.random);
+		}
+		sleep(delay);
+		if (kind != Kind.COOKIE && kind != Kind.CRUMB) {
+			if (tooManyRequests < this.tooManyRequestsRate) {
+				this.injectedErrors.incrementAndGet();
+				return Response.builder().status(429).contentType("text/plain").body(TOO_MANY_REQUESTS).build();
+			}
+			if (unauthorized < this.unauthorizedRate) {
+				this.injectedErrors.incrementAndGet();
+				return Response.builder().status(401).contentType("application/json").body(INVALID_CRUMB).build();
+			}
+		}
+		return response.get();
+	}
+
+	private static Response toResponse(Fixture fixture) {
+		return Response.builder().status(fixture.status()).headers(fixture.headers()).body(fixture.body()).build();
+	}
+
+	private static void sleep(Duration delay) {
+		if (delay.isZero() || delay.isNegative()) {
+			return;
+		}
+		try {
+			Thread.sleep(delay.toMillis(), delay.toNanosPart() % 1_000_000);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public static class Builder {
+
+		private final Path directory;
+
+		private int port;
+
+		private int threads = 16;
+
+		private LatencyDistribution latency = LatencyDistribution.none();
+
+		private double tooManyRequestsRate;
+
+		private double unauthorizedRate;
+
+		private Duration crumbRotation = Duration.ZERO;
+
+		private long seed = 42;
+
+		private Builder(Path directory) {
+			this.directory = directory;
+		}
+
+		/**
+		 * Port to listen on; 0 (the default) picks a free port.
+		 */
+		public Builder port(int port) {
+			this.port = port;
+			return this;
+		}
+
+		public Builder threads(int threads) {
+			this.threads = threads;
+			return this;
+		}
+
+		public Builder latency(LatencyDistribution latency) {
+			this.latency = latency;
+			return this;
+		}
+
+		/**
+		 * Probability of answering a chart or quoteSummary request with 429.
+		 */
+		public Builder tooManyRequestsRate(double tooManyRequestsRate) {
+			this.tooManyRequestsRate = tooManyRequestsRate;
+			return this;
+		}
+
+		/**
+		 * Probability of answering a chart or quoteSummary request with 401.
+		 */
+		public Builder unauthorizedRate(double unauthorizedRate) {
+			this.unauthorizedRate = unauthorizedRate;
+			return this;
+		}
+
+		/**
+		 * Interval after which the current crumb is invalidated; zero disables rotation.
+		 */
+		public Builder crumbRotation(Duration crumbRotation) {
+			this.crumbRotation = crumbRotation;
+			return this;
+		}
+
+		public Builder seed(long seed) {
+			this.seed = seed;
+			return this;
+		}
+
+		public ReplayServer start() {
+			ReplayServer replayServer = new ReplayServer(this);
+			replayServer.server.run();
+			return replayServer;
+		}
+
+	}
+
+}
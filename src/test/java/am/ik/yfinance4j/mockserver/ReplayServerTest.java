@@ -0,0 +1,138 @@
+package am.ik.yfinance4j.mockserver;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import am.ik.yfinance4j.YFinance;
+import am.ik.yfinance4j.YFinanceUrls;
+import am.ik.yfinance4j.chart.HistoryRecord;
+import am.ik.yfinance4j.mockserver.Fixture.Kind;
+import am.ik.yfinance4j.mockserver.MockServer.Response;
+import am.ik.yfinance4j.quote.QuoteSummaryModule;
+import am.ik.yfinance4j.quote.StockInfo;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReplayServerTest {
+
+	@TempDir
+	static Path fixtures;
+
+	private static final RestClient restClient = RestClient.builder()
+		.requestFactory(new JdkClientHttpRequestFactory())
+		.build();
+
+	@BeforeAll
+	static void record() {
+		try (MockServer origin = new MockServer(0)) {
+			origin.GET("/cookie", request -> Response.builder().status(404).header("Set-Cookie", "A3=origin").build());
+			origin.GET("/crumb", request -> Response.ok("origin-crumb"));
+			origin.GET("/v8/finance/chart/AAPL", request -> Response.json("""
+					{"chart":{"result":[{"meta":{"symbol":"AAPL","currency":"USD"},
+					"timestamp":[1700000000,1700086400],
+					"indicators":{"quote":[{"open":[148.0,149.0],"high":[151.0,152.0],"low":[147.0,148.5],
+					"close":[150.0,151.0],"volume":[1000000,1200000]}]}}],"error":null}}
+					"""));
+			origin.GET("/v10/finance/quoteSummary/AAPL", request -> Response.json("""
+					{"quoteSummary":{"result":[{"price":{"shortName":"Apple Inc.","currency":"USD"}}],"error":null}}
+					"""));
+			origin.run();
+			String baseUrl = "http://localhost:" + origin.port();
+			FixtureRecorder recorder = new FixtureRecorder(fixtures);
+			RestClient recording = RestClient.builder()
+				.requestFactory(new JdkClientHttpRequestFactory())
+				.requestInterceptor(recorder)
+				.build();
+			YFinance yf = new YFinance(recording,
+					YFinanceUrls.builder()
+						.cookieUrl(baseUrl + "/cookie")
+						.crumbUrl(baseUrl + "/crumb")
+						.chartUrl(baseUrl + "/v8/finance/chart/{ticker}")
+						.quoteSummaryUrl(baseUrl + "/v10/finance/quoteSummary/{ticker}")
+						.build());
+			yf.ticker("AAPL").history();
+			yf.ticker("AAPL").info(QuoteSummaryModule.PRICE);
+			assertThat(recorder.recorded()).isEqualTo(4);
+		}
+	}
+
+	@Test
+	void shouldRecordExchangesAsFixtures() throws Exception {
+		List<Fixture> loaded = Fixture.load(fixtures);
+		assertThat(loaded).extracting(Fixture::kind)
+			.containsExactlyInAnyOrder(Kind.CHART, Kind.COOKIE, Kind.CRUMB, Kind.QUOTE_SUMMARY);
+		Fixture cookie = loaded.stream().filter(fixture -> fixture.kind() == Kind.COOKIE).findFirst().orElseThrow();
+		assertThat(cookie.status()).isEqualTo(404);
+		assertThat(cookie.headers()).containsEntry("Set-Cookie", "A3=origin");
+		Fixture chart = loaded.stream().filter(fixture -> fixture.kind() == Kind.CHART).findFirst().orElseThrow();
+		assertThat(chart.query()).containsEntry("interval", "1d").doesNotContainKey("crumb");
+		try (var files = Files.list(fixtures)) {
+			assertThat(files.filter(file -> file.toString().endsWith(".body"))).hasSize(4);
+		}
+	}
+
+	@Test
+	void shouldReplayRecordedFixtures() {
+		try (ReplayServer replay = ReplayServer.builder(fixtures).start()) {
+			YFinance yf = new YFinance(restClient, replay.urls());
+			List<HistoryRecord> history = yf.ticker("AAPL").history();
+			StockInfo info = yf.ticker("AAPL").info(QuoteSummaryModule.PRICE);
+
+			assertThat(history).hasSize(2);
+			assertThat(history.get(1).close()).isEqualByComparingTo("151.0");
+			assertThat(info.shortName()).hasValue("Apple Inc.");
+			assertThat(replay.requests(Kind.CHART)).isEqualTo(1);
+			assertThat(replay.requests(Kind.CRUMB)).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void shouldApplyLatencyDistribution() {
+		try (ReplayServer replay = ReplayServer.builder(fixtures)
+			.latency(LatencyDistribution.fixed(Duration.ofMillis(150)))
+			.start()) {
+			YFinance yf = new YFinance(restClient, replay.urls());
+			yf.ticker("AAPL").history();
+			long start = System.nanoTime();
+			yf.ticker("AAPL").history();
+			assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(150));
+		}
+	}
+
+	@Test
+	void shouldInjectTooManyRequests() {
+		try (ReplayServer replay = ReplayServer.builder(fixtures).tooManyRequestsRate(1.0).start()) {
+			YFinance yf = new YFinance(restClient, replay.urls());
+			assertThatThrownBy(() -> yf.ticker("AAPL").history()).isInstanceOfSatisfying(
+					RestClientResponseException.class, ex -> assertThat(ex.getStatusCode().value()).isEqualTo(429));
+			assertThat(replay.injectedErrors()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void shouldRejectRotatedCrumb() {
+		try (ReplayServer replay = ReplayServer.builder(fixtures).start()) {
+			String crumb = replay.currentCrumb();
+			String url = replay.baseUrl() + "/v8/finance/chart/AAPL?interval=1d&crumb={crumb}";
+			assertThat(restClient.get().uri(url, crumb).retrieve().toBodilessEntity().getStatusCode().value())
+				.isEqualTo(200);
+
+			replay.rotateCrumb();
+
+			assertThat(replay.currentCrumb()).isNotEqualTo(crumb);
+			assertThatThrownBy(() -> restClient.get().uri(url, crumb).retrieve().toBodilessEntity())
+				.isInstanceOfSatisfying(RestClientResponseException.class,
+						ex -> assertThat(ex.getStatusCode().value()).isEqualTo(401));
+		}
+	}
+
+}
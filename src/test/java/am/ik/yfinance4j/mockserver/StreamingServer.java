@@ -0,0 +1,314 @@
+package am.ik.yfinance4j.mockserver;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A minimal RFC 6455 WebSocket server standing in for the Yahoo Finance streaming API. It
+ * accepts {@code {"subscribe":[...]}} and {@code {"unsubscribe":[...]}} messages and
+ * sends {@code {"type":"pricing","message":"<base64>"}} frames to the connections
+ * subscribed to a symbol.
+ *
+ * <pre>{@code
+ * try (StreamingServer server = StreamingServer.start()) {
+ *     StreamingClient client = StreamingClient.builder().uri(server.uri()).build();
+ *     ...
+ *     server.publish("AAPL", new PricingEncoder().string(1, "AAPL").float32(2, 190f).toBase64());
+ * }
+ * }</pre>
+ */
+public class StreamingServer implements AutoCloseable {
+
+	private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+	private static final Pattern ACTION = Pattern.compile("\"(subscribe|unsubscribe)\"\\s*:\\s*\\[([^\\]]*)\\]");
+
+	private static final Pattern SYMBOL = Pattern.compile("\"([^\"]*)\"");
+
+	private final ServerSocket serverSocket;
+
+	private final List<Connection> connections = new CopyOnWriteArrayList<>();
+
+	private final List<String> receivedMessages = new CopyOnWriteArrayList<>();
+
+	private StreamingServer() throws IOException {
+		this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+		Thread acceptor = new Thread(this::accept, "streaming-server-acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	public static StreamingServer start() {
+		try {
+			return new StreamingServer();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	public URI uri() {
+		return URI.create("ws://localhost:" + this.serverSocket.getLocalPort() + "/?version=2");
+	}
+
+	/**
+	 * Sends a pricing message to every connection subscribed to the symbol.
+	 * @return the number of connections the message was sent to
+	 */
+	public int publish(String symbol, String base64) {
+		String message = "{\"type\":\"pricing\",\"message\":\"" + base64 + "\"}";
+		int sent = 0;
+		for (Connection connection : this.connections) {
+			if (connection.subscriptions.contains(symbol)) {
+				connection.sendText(message);
+				sent++;
+			}
+		}
+		return sent;
+	}
+
+	/**
+	 * Sends a raw text frame to every connection.
+	 */
+	public void broadcast(String message) {
+		for (Connection connection : this.connections) {
+			connection.sendText(message);
+		}
+	}
+
+	/**
+	 * Returns the symbols subscribed by any open connection.
+	 */
+	public Set<String> subscriptions() {
+		Set<String> subscriptions = ConcurrentHashMap.newKeySet();
+		for (Connection connection : this.connections) {
+			subscriptions.addAll(connection.subscriptions);
+		}
+		return subscriptions;
+	}
+
+	public int connectionCount() {
+		return this.connections.size();
+	}
+
+	public List<String> receivedMessages() {
+		return this.receivedMessages;
+	}
+
+	/**
+	 * Drops all connections without a close handshake, as a network failure would.
+	 */
+	public void disconnectAll() {
+		for (Connection connection : this.connections) {
+			connection.close();
+		}
+	}
+
+	@Override
+	public void close() {
+		try {
+			this.serverSocket.close();
+		}
+		catch (IOException ex) {
+			// ignore
+		}
+		disconnectAll();
+	}
+
+	private void accept() {
+		while (!this.serverSocket.isClosed()) {
+			try {
+				Socket socket = this.serverSocket.accept();
+				Thread thread = new Thread(() -> serve(socket), "streaming-server-connection");
+				thread.setDaemon(true);
+				thread.start();
+			}
+			catch (IOException ex) {
+				return;
+			}
+		}
+	}
+
+	private void serve(Socket socket) {
+		Connection connection = new Connection(socket);
+		try (socket) {
+			InputStream in = new BufferedInputStream(socket.getInputStream());
+			handshake(in, socket.getOutputStream());
+			this.connections.add(connection);
+			while (true) {
+				Frame frame = Frame.read(in);
+				if (frame == null || frame.opcode() == 0x8) {
+					connection.sendFrame(0x8, new byte[0]);
+					return;
+				}
+				if (frame.opcode() == 0x9) {
+					connection.sendFrame(0xA, frame.payload());
+				}
+				else if (frame.opcode() == 0x1) {
+					String text = new String(frame.payload(), StandardCharsets.UTF_8);
+					this.receivedMessages.add(text);
+					Matcher action = ACTION.matcher(text);
+					while (action.find()) {
+						Matcher symbol = SYMBOL.matcher(action.group(2));
+						while (symbol.find()) {
+							if (action.group(1).equals("subscribe")) {
+								connection.subscriptions.add(symbol.group(1));
+							}
+							else {
+								connection.subscriptions.remove(symbol.group(1));
+							}
+						}
+					}
+				}
+			}
+		}
+		catch (IOException ex) {
+			// connection dropped
+		}
+		finally {
+			this.connections.remove(connection);
+		}
+	}
+
+	private static void handshake(InputStream in, OutputStream out) throws IOException {
+		String key = null;
+		String line;
+		while (!(line = readLine(in)).isEmpty()) {
+			int colon = line.indexOf(':');
+			if (colon > 0 && line.substring(0, colon).trim().equalsIgnoreCase("Sec-WebSocket-Key")) {
+				key = line.substring(colon + 1).trim();
+			}
+		}
+		if (key == null) {
+			throw new IOException("Missing Sec-WebSocket-Key");
+		}
+		String accept;
+		try {
+			accept = Base64.getEncoder()
+				.encodeToString(MessageDigest.getInstance("SHA-1")
+					.digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.US_ASCII)));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+		out.write(("HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+				+ "Sec-WebSocket-Accept: " + accept + "\r\n\r\n")
+			.getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+	}
+
+	private static String readLine(InputStream in) throws IOException {
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+		int b;
+		while ((b = in.read()) != -1 && b != '\n') {
+			if (b != '\r') {
+				line.write(b);
+			}
+		}
+		if (b == -1) {
+			throw new IOException("Connection closed during handshake");
+		}
+		return line.toString(StandardCharsets.US_ASCII);
+	}
+
+	private record Frame(int opcode, byte[] payload) {
+
+		static Frame read(InputStream in) throws IOException {
+			int first = in.read();
+			int second = in.read();
+			if (first == -1 || second == -1) {
+				return null;
+			}
+			long length = second & 0x7F;
+			if (length == 126) {
+				length = (in.read() << 8) | in.read();
+			}
+			else if (length == 127) {
+				length = 0;
+				for (int i = 0; i < 8; i++) {
+					length = (length << 8) | in.read();
+				}
+			}
+			byte[] mask = ((second & 0x80) != 0) ? in.readNBytes(4) : null;
+			byte[] payload = in.readNBytes((int) length);
+			if (mask != null) {
+				for (int i = 0; i < payload.length; i++) {
+					payload[i] ^= mask[i % 4];
+				}
+			}
+			// fragmented client messages are not used by the client under test
+			return new Frame(first & 0x0F, payload);
+		}
+
+	}
+
+	private static final class Connection {
+
+		private final Socket socket;
+
+		private final Set<String> subscriptions = ConcurrentHashMap.newKeySet();
+
+		Connection(Socket socket) {
+			this.socket = socket;
+		}
+
+		void sendText(String text) {
+			try {
+				sendFrame(0x1, text.getBytes(StandardCharsets.UTF_8));
+			}
+			catch (IOException ex) {
+				close();
+			}
+		}
+
+		synchronized void sendFrame(int opcode, byte[] payload) throws IOException {
+			OutputStream out = this.socket.getOutputStream();
+			out.write(0x80 | opcode);
+			if (payload.length < 126) {
+				out.write(payload.length);
+			}
+			else if (payload.length < 65536) {
+				out.write(126);
+				out.write(payload.length >>> 8);
+				out.write(payload.length);
+			}
+			else {
+				out.write(127);
+				for (int i = 7; i >= 0; i--) {
+					out.write((int) ((long) payload.length >>> (8 * i)));
+				}
+			}
+			out.write(payload);
+			out.flush();
+		}
+
+		void close() {
+			try {
+				this.socket.close();
+			}
+			catch (IOException ex) {
+				// ignore
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,42 @@
+package am.ik.yfinance4j.mockserver;
+
+import java.nio.file.Path;
+
+import am.ik.yfinance4j.Interval;
+import am.ik.yfinance4j.Period;
+import am.ik.yfinance4j.YFinance;
+import am.ik.yfinance4j.chart.ChartRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Captures real Yahoo Finance exchanges for {@link ReplayServer}. Run explicitly with
+ * {@code ./mvnw test -Dtest=YahooFixtureRecordingTest -Dyfinance4j.fixtures=target/fixtures}.
+ */
+@EnabledIfSystemProperty(named = "yfinance4j.fixtures", matches = ".+")
+class YahooFixtureRecordingTest {
+
+	@Test
+	void recordFixtures() {
+		FixtureRecorder recorder = new FixtureRecorder(Path.of(System.getProperty("yfinance4j.fixtures")));
+		RestClient restClient = RestClient.builder()
+			.requestFactory(new JdkClientHttpRequestFactory())
+			.defaultHeader("User-Agent", "Mozilla/5.0")
+			.requestInterceptor(recorder)
+			.build();
+		YFinance yf = new YFinance(restClient);
+		for (String symbol : new String[] { "AAPL", "MSFT", "7203.T" }) {
+			yf.ticker(symbol).history();
+			yf.ticker(symbol).history(ChartRequest.builder().period(Period.MAX).interval(Interval.ONE_DAY).build());
+			yf.ticker(symbol)
+				.history(ChartRequest.builder().period(Period.FIVE_DAYS).interval(Interval.ONE_MINUTE).build());
+			yf.ticker(symbol).info();
+		}
+		assertThat(recorder.recorded()).isGreaterThan(2);
+	}
+
+}
@@ -0,0 +1,49 @@
+package am.ik.yfinance4j.stream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpscQueueTest {
+
+	@Test
+	void shouldRejectElementsWhenFull() {
+		SpscQueue<Integer> queue = new SpscQueue<>(3);
+
+		assertThat(queue.capacity()).isEqualTo(4);
+		for (int i = 0; i < 4; i++) {
+			assertThat(queue.offer(i)).isTrue();
+		}
+		assertThat(queue.offer(4)).isFalse();
+		assertThat(queue.poll()).isEqualTo(0);
+		assertThat(queue.offer(4)).isTrue();
+		assertThat(queue.size()).isEqualTo(4);
+	}
+
+	@Test
+	void shouldPreserveOrderAcrossThreads() throws Exception {
+		SpscQueue<Integer> queue = new SpscQueue<>(64);
+		int count = 100_000;
+		Thread producer = new Thread(() -> {
+			for (int i = 0; i < count; i++) {
+				while (!queue.offer(i)) {
+					Thread.yield();
+				}
+			}
+		});
+		producer.start();
+		int expected = 0;
+		while (expected < count) {
+			Integer value = queue.poll();
+			if (value == null) {
+				Thread.yield();
+				continue;
+			}
+			assertThat(value).isEqualTo(expected);
+			expected++;
+		}
+		producer.join();
+		assertThat(queue.poll()).isNull();
+	}
+
+}